@@ -0,0 +1,153 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.datahelix.generator.benchmarks;
+
+import com.scottlogic.datahelix.generator.common.output.OutputCompression;
+import com.scottlogic.datahelix.generator.common.output.OutputFormat;
+import com.scottlogic.datahelix.generator.core.config.detail.*;
+import com.scottlogic.datahelix.generator.orchestrator.guice.AllConfigSource;
+
+import java.io.File;
+import java.nio.file.Path;
+
+public class BenchmarkConfigSource implements AllConfigSource {
+    private final File profileFile;
+
+    public BenchmarkConfigSource(File profileFile) {
+        this.profileFile = profileFile;
+    }
+
+    @Override
+    public DataGenerationType getGenerationType() {
+        return DataGenerationType.RANDOM;
+    }
+
+    @Override
+    public CombinationStrategyType getCombinationStrategyType() {
+        return CombinationStrategyType.MINIMAL;
+    }
+
+    @Override
+    public Long getMaxRows() {
+        return null;
+    }
+
+    @Override
+    public boolean getInfiniteOutput() {
+        return true;
+    }
+
+    @Override
+    public boolean getParallelPartitions() {
+        return false;
+    }
+
+    @Override
+    public int getThreads() {
+        return 1;
+    }
+
+    @Override
+    public int getShardIndex() {
+        return 0;
+    }
+
+    @Override
+    public int getShardCount() {
+        return 1;
+    }
+
+    @Override
+    public Long getSeed() {
+        return ProfileBenchmarkState.SEED;
+    }
+
+    @Override
+    public RandomNumberGeneratorType getRandomNumberGeneratorType() {
+        return RandomNumberGeneratorType.SPLITTABLE;
+    }
+
+    @Override
+    public boolean getUniqueRandom() {
+        return false;
+    }
+
+    @Override
+    public UniquenessCheckType getUniquenessCheckType() {
+        return UniquenessCheckType.NONE;
+    }
+
+    @Override
+    public MonitorType getMonitorType() {
+        return MonitorType.QUIET;
+    }
+
+    @Override
+    public VisualiserLevel getVisualiserLevel() {
+        return VisualiserLevel.OFF;
+    }
+
+    @Override
+    public Path getVisualiserOutputFolder() {
+        return new File(".").toPath();
+    }
+
+    @Override
+    public File getProfileFile() {
+        return profileFile;
+    }
+
+    @Override
+    public String fromFilePath() {
+        return "";
+    }
+
+    @Override
+    public OutputFormat getOutputFormat() {
+        return OutputFormat.CSV;
+    }
+
+    @Override
+    public OutputCompression getOutputCompression() {
+        return OutputCompression.AUTO;
+    }
+
+    @Override
+    public Long getMaxRowsPerFile() {
+        return null;
+    }
+
+    @Override
+    public Long getMaxBytesPerFile() {
+        return null;
+    }
+
+    @Override
+    public Path getOutputPath() {
+        return null;
+    }
+
+    @Override
+    public boolean overwriteOutputFiles() {
+        return false;
+    }
+
+    @Override
+    public boolean useStdOut() {
+        return true;
+    }
+}
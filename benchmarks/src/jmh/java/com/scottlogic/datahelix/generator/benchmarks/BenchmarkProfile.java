@@ -0,0 +1,39 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.datahelix.generator.benchmarks;
+
+import java.io.File;
+
+/**
+ * Example profiles the benchmarks are run against, chosen to cover a range of profile shapes.
+ */
+public enum BenchmarkProfile {
+    DEMO_TRADES("demoTrades/profile.json"),
+    USER_ACCOUNT("userAccount/profile.json"),
+    RELATIONAL("relational/profile.json");
+
+    private final String path;
+
+    BenchmarkProfile(String path) {
+        this.path = path;
+    }
+
+    public File getFile() {
+        String examplesDirectory = System.getProperty("datahelix.examples", "examples");
+        return new File(examplesDirectory, path).getAbsoluteFile();
+    }
+}
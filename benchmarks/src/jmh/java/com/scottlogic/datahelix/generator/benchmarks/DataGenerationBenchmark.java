@@ -0,0 +1,48 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.datahelix.generator.benchmarks;
+
+import com.scottlogic.datahelix.generator.core.generation.DataGenerator;
+import com.scottlogic.datahelix.generator.core.generation.DecisionTreeDataGenerator;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rows per second of the whole generation pipeline, from decision tree to generated rows.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class DataGenerationBenchmark extends ProfileBenchmarkState {
+    private DataGenerator dataGenerator;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dataGenerator = injector.getInstance(DecisionTreeDataGenerator.class);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void generateData(Blackhole blackhole) {
+        dataGenerator.generateData(profile).limit(ROWS).forEach(blackhole::consume);
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.datahelix.generator.benchmarks;
+
+import com.scottlogic.datahelix.generator.common.output.GeneratedObject;
+import com.scottlogic.datahelix.generator.common.output.batch.ColumnBatch;
+import com.scottlogic.datahelix.generator.core.generation.DecisionTreeDataGenerator;
+import com.scottlogic.datahelix.generator.output.writer.DataSetWriter;
+import com.scottlogic.datahelix.generator.output.writer.OutputWriterFactory;
+import com.scottlogic.datahelix.generator.output.writer.csv.CsvOutputWriterFactory;
+import com.scottlogic.datahelix.generator.output.writer.json.JsonOutputWriterFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Rows per second written by each output format, writing rows generated up front to a stream which discards them.
+ * Rows are written either one at a time, or gathered into column batches first as they are for writers which read
+ * whole columns; the batched figure includes the cost of filling the batches. Batches are filled from rows which
+ * have already been generated, so neither figure includes generation, which batching does not change.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class DataSetWriterBenchmark extends ProfileBenchmarkState {
+    private static final int BATCH_SIZE = 1024;
+
+    public enum Format {
+        CSV,
+        JSON
+    }
+
+    @Param({"CSV", "JSON"})
+    public Format format;
+
+    private OutputWriterFactory outputWriterFactory;
+    private List<GeneratedObject> rows;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        outputWriterFactory = format == Format.CSV
+            ? new CsvOutputWriterFactory(false)
+            : new JsonOutputWriterFactory(true);
+        rows = injector.getInstance(DecisionTreeDataGenerator.class).generateData(profile)
+            .limit(ROWS)
+            .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void writeRows() throws IOException {
+        try (DataSetWriter writer = outputWriterFactory.createWriter(new DiscardingOutputStream(), profile.getFields())) {
+            for (GeneratedObject row : rows) {
+                writer.writeRow(row);
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void writeBatches() throws IOException {
+        try (DataSetWriter writer = outputWriterFactory.createWriter(new DiscardingOutputStream(), profile.getFields())) {
+            Iterator<ColumnBatch> batches = ColumnBatch.batches(rows.stream(), profile.getFields(), BATCH_SIZE).iterator();
+            while (batches.hasNext()) {
+                writer.writeBatch(batches.next());
+            }
+        }
+    }
+
+    private static class DiscardingOutputStream extends OutputStream {
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+        }
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.datahelix.generator.benchmarks;
+
+import com.scottlogic.datahelix.generator.common.RandomNumberGenerator;
+import com.scottlogic.datahelix.generator.common.whitelist.DistributedList;
+import com.scottlogic.datahelix.generator.common.whitelist.WeightedElement;
+import com.scottlogic.datahelix.generator.core.utils.SplittableRandomNumberGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Weighted picks per second from a DistributedList, compared with the cumulative weight binary search it used to do,
+ * which copied every cumulative weight into a new list on each pick.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class DistributedListBenchmark {
+    @Param({"100", "10000", "100000"})
+    public int size;
+
+    private DistributedList<String> list;
+    private List<WeightedElement<String>> cumulativeWeights;
+    private RandomNumberGenerator randomNumberGenerator;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        randomNumberGenerator = new SplittableRandomNumberGenerator(ProfileBenchmarkState.SEED);
+
+        List<WeightedElement<String>> weights = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            weights.add(new WeightedElement<>("value" + i, randomNumberGenerator.nextDouble(1, 100)));
+        }
+        list = new DistributedList<>(weights);
+
+        cumulativeWeights = new ArrayList<>(size);
+        double runningTotal = 0.0D;
+        for (WeightedElement<String> holder : list.distributedList()) {
+            runningTotal += holder.weight();
+            cumulativeWeights.add(new WeightedElement<>(holder.element(), runningTotal));
+        }
+    }
+
+    @Benchmark
+    public String aliasMethod() {
+        return list.pickRandomly(randomNumberGenerator);
+    }
+
+    @Benchmark
+    public String cumulativeBinarySearch() {
+        double value = 1.0D - randomNumberGenerator.nextDouble(0.0D, 1.0D);
+        List<Double> weights = cumulativeWeights.stream()
+            .map(WeightedElement::weight)
+            .collect(Collectors.toList());
+
+        int index = Collections.binarySearch(weights, value, Double::compare);
+        index = index < 0 ? Math.min(-index - 1, weights.size() - 1) : index;
+        return cumulativeWeights.get(index).element();
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.datahelix.generator.benchmarks;
+
+import com.scottlogic.datahelix.generator.core.fieldspecs.FieldSpecGroup;
+import com.scottlogic.datahelix.generator.core.fieldspecs.RowSpec;
+import com.scottlogic.datahelix.generator.core.generation.databags.DataBag;
+import com.scottlogic.datahelix.generator.core.generation.grouped.FieldSpecGroupValueGenerator;
+import com.scottlogic.datahelix.generator.core.generation.grouped.RowSpecGrouper;
+import com.scottlogic.datahelix.generator.core.walker.decisionbased.RowSpecTreeSolver;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Values per second, generating one random value for each group of related fields in the profile's first row spec
+ * in turn.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class FieldSpecGroupValueGeneratorBenchmark extends ProfileBenchmarkState {
+    private FieldSpecGroupValueGenerator fieldSpecGroupValueGenerator;
+    private List<FieldSpecGroup> groups;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fieldSpecGroupValueGenerator = injector.getInstance(FieldSpecGroupValueGenerator.class);
+        RowSpec rowSpec = injector.getInstance(RowSpecTreeSolver.class).createRowSpecs(tree)
+            .findFirst()
+            .orElseThrow(() -> new IllegalStateException("Profile " + benchmarkProfile + " has no row specs"));
+        groups = new ArrayList<>(RowSpecGrouper.createGroups(rowSpec));
+    }
+
+    @Benchmark
+    public Optional<DataBag> generate() {
+        int index = next;
+        next = (next + 1) % groups.size();
+        return fieldSpecGroupValueGenerator.generate(groups.get(index)).findFirst();
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.datahelix.generator.benchmarks;
+
+import com.scottlogic.datahelix.generator.common.profile.Field;
+import com.scottlogic.datahelix.generator.core.decisiontree.ConstraintNode;
+import com.scottlogic.datahelix.generator.core.decisiontree.DecisionNode;
+import com.scottlogic.datahelix.generator.core.fieldspecs.FieldSpec;
+import com.scottlogic.datahelix.generator.core.fieldspecs.FieldSpecMerger;
+import com.scottlogic.datahelix.generator.core.profile.constraints.atomic.AtomicConstraint;
+import com.scottlogic.datahelix.generator.core.reducer.ConstraintReducer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Merges per second, merging the field specs of every pair of atomic constraints on the same field anywhere in the
+ * profile's decision tree.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class FieldSpecMergerBenchmark extends ProfileBenchmarkState {
+    private FieldSpecMerger fieldSpecMerger;
+    private final List<FieldSpec> lefts = new ArrayList<>();
+    private final List<FieldSpec> rights = new ArrayList<>();
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fieldSpecMerger = injector.getInstance(FieldSpecMerger.class);
+        ConstraintReducer constraintReducer = injector.getInstance(ConstraintReducer.class);
+
+        Map<Field, List<FieldSpec>> fieldSpecsByField = new HashMap<>();
+        addFieldSpecs(tree.getRootNode(), constraintReducer, fieldSpecsByField);
+
+        for (List<FieldSpec> fieldSpecs : fieldSpecsByField.values()) {
+            for (int left = 0; left < fieldSpecs.size(); left++) {
+                for (int right = left; right < fieldSpecs.size(); right++) {
+                    lefts.add(fieldSpecs.get(left));
+                    rights.add(fieldSpecs.get(right));
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public Optional<FieldSpec> merge() {
+        int index = next;
+        next = (next + 1) % lefts.size();
+        return fieldSpecMerger.merge(lefts.get(index), rights.get(index), false);
+    }
+
+    private static void addFieldSpecs(
+        ConstraintNode node,
+        ConstraintReducer constraintReducer,
+        Map<Field, List<FieldSpec>> fieldSpecsByField) {
+        for (AtomicConstraint constraint : node.getAtomicConstraints()) {
+            constraintReducer.reduceConstraintsToFieldSpec(constraint.getField(), Collections.singleton(constraint))
+                .ifPresent(fieldSpec -> fieldSpecsByField
+                    .computeIfAbsent(constraint.getField(), field -> new ArrayList<>())
+                    .add(fieldSpec));
+        }
+        for (DecisionNode decision : node.getDecisions()) {
+            for (ConstraintNode option : decision.getOptions()) {
+                addFieldSpecs(option, constraintReducer, fieldSpecsByField);
+            }
+        }
+    }
+}
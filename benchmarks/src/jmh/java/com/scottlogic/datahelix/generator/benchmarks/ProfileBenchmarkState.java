@@ -0,0 +1,65 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.datahelix.generator.benchmarks;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.scottlogic.datahelix.generator.core.decisiontree.DecisionTree;
+import com.scottlogic.datahelix.generator.core.decisiontree.DecisionTreeFactory;
+import com.scottlogic.datahelix.generator.core.generation.DataGeneratorMonitor;
+import com.scottlogic.datahelix.generator.core.generation.UpfrontTreePruner;
+import com.scottlogic.datahelix.generator.core.guice.GenerationPipelineModule;
+import com.scottlogic.datahelix.generator.core.profile.Profile;
+import com.scottlogic.datahelix.generator.core.utils.SplittableRandomNumberGenerator;
+import com.scottlogic.datahelix.generator.orchestrator.guice.AllModule;
+import com.scottlogic.datahelix.generator.profile.reader.ProfileReader;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+
+import java.io.IOException;
+
+/**
+ * Loads one of the example profiles and creates the generator components for a single pipeline, in the same way as
+ * the command line does. Benchmarks which extend this are run once for each example profile.
+ */
+public abstract class ProfileBenchmarkState {
+    /**
+     * Number of rows produced by each invocation of the benchmarks which report rows per second.
+     */
+    public static final int ROWS = 1000;
+    static final long SEED = 42;
+
+    @Param({"DEMO_TRADES", "USER_ACCOUNT", "RELATIONAL"})
+    public BenchmarkProfile benchmarkProfile;
+
+    protected Injector injector;
+    protected Profile profile;
+    protected DecisionTree tree;
+
+    @Setup(Level.Trial)
+    public void setUpProfile() throws IOException {
+        BenchmarkConfigSource config = new BenchmarkConfigSource(benchmarkProfile.getFile());
+        injector = Guice.createInjector(new AllModule(config))
+            .createChildInjector(new GenerationPipelineModule(new SplittableRandomNumberGenerator(SEED), 0, 1));
+
+        profile = injector.getInstance(ProfileReader.class).read(config.getProfileFile());
+        DecisionTree initialTree = injector.getInstance(DecisionTreeFactory.class).analyse(profile);
+        tree = injector.getInstance(UpfrontTreePruner.class)
+            .runUpfrontPrune(initialTree, injector.getInstance(DataGeneratorMonitor.class));
+    }
+}
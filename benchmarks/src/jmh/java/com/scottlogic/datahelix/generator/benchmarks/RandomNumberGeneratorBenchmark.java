@@ -0,0 +1,74 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.datahelix.generator.benchmarks;
+
+import com.scottlogic.datahelix.generator.common.RandomNumberGenerator;
+import com.scottlogic.datahelix.generator.core.config.detail.RandomNumberGeneratorType;
+import com.scottlogic.datahelix.generator.core.utils.JavaUtilRandomNumberGenerator;
+import com.scottlogic.datahelix.generator.core.utils.SplittableRandomNumberGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Random values per second from each random number generator implementation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class RandomNumberGeneratorBenchmark {
+    private static final BigDecimal SMALL_LOWER = new BigDecimal("0.00");
+    private static final BigDecimal SMALL_UPPER = new BigDecimal("1000000.00");
+    private static final BigDecimal LARGE_LOWER = new BigDecimal("-1e20").setScale(20);
+    private static final BigDecimal LARGE_UPPER = new BigDecimal("1e20").setScale(20);
+
+    @Param({"SPLITTABLE", "JAVA_UTIL"})
+    public RandomNumberGeneratorType type;
+
+    private RandomNumberGenerator randomNumberGenerator;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        randomNumberGenerator = type == RandomNumberGeneratorType.SPLITTABLE
+            ? new SplittableRandomNumberGenerator(ProfileBenchmarkState.SEED)
+            : new JavaUtilRandomNumberGenerator(ProfileBenchmarkState.SEED);
+    }
+
+    @Benchmark
+    public long nextLong() {
+        return randomNumberGenerator.nextLong(0, 1_000_000_000_000L);
+    }
+
+    @Benchmark
+    public double nextDouble() {
+        return randomNumberGenerator.nextDouble(0, 1);
+    }
+
+    @Benchmark
+    public BigDecimal nextBigDecimalWithinLongRange() {
+        return randomNumberGenerator.nextBigDecimal(SMALL_LOWER, SMALL_UPPER);
+    }
+
+    @Benchmark
+    public BigDecimal nextBigDecimalBeyondLongRange() {
+        return randomNumberGenerator.nextBigDecimal(LARGE_LOWER, LARGE_UPPER);
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.datahelix.generator.benchmarks;
+
+import com.scottlogic.datahelix.generator.common.RandomNumberGenerator;
+import com.scottlogic.datahelix.generator.core.generation.string.generators.RegexStringGenerator;
+import com.scottlogic.datahelix.generator.core.utils.SplittableRandomNumberGenerator;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.scottlogic.datahelix.generator.benchmarks.ProfileBenchmarkState.ROWS;
+
+/**
+ * Strings per second generated at random from regular expressions like those used in the example profiles.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class RegexStringGeneratorBenchmark {
+    @Param({"[A-Z]{2}[0-9]{6}", "J[a-z]{0,5}", "[a-z]{1,10}@[a-z]{2,8}\\.(com|org|co\\.uk)"})
+    public String regex;
+
+    private RegexStringGenerator regexStringGenerator;
+    private RandomNumberGenerator randomNumberGenerator;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        regexStringGenerator = new RegexStringGenerator(regex, true);
+        randomNumberGenerator = new SplittableRandomNumberGenerator(ProfileBenchmarkState.SEED);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void generateRandomValues(Blackhole blackhole) {
+        regexStringGenerator.generateRandomValues(randomNumberGenerator).limit(ROWS).forEach(blackhole::consume);
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.datahelix.generator.benchmarks;
+
+import com.scottlogic.datahelix.generator.core.fieldspecs.RowSpec;
+import com.scottlogic.datahelix.generator.core.walker.decisionbased.RowSpecTreeSolver;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Row specs per second, solving the profile's decision tree for one randomly picked row spec at a time, as random
+ * generation does for each row when there are too many row specs to cache.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class RowSpecTreeSolverBenchmark extends ProfileBenchmarkState {
+    private RowSpecTreeSolver rowSpecTreeSolver;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        rowSpecTreeSolver = injector.getInstance(RowSpecTreeSolver.class);
+    }
+
+    @Benchmark
+    public Optional<RowSpec> createRowSpecs() {
+        return rowSpecTreeSolver.createRowSpecs(tree).findFirst();
+    }
+}
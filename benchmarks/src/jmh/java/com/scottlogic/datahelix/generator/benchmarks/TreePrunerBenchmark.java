@@ -0,0 +1,87 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.datahelix.generator.benchmarks;
+
+import com.scottlogic.datahelix.generator.common.profile.Field;
+import com.scottlogic.datahelix.generator.core.decisiontree.ConstraintNode;
+import com.scottlogic.datahelix.generator.core.decisiontree.DecisionNode;
+import com.scottlogic.datahelix.generator.core.fieldspecs.FieldSpec;
+import com.scottlogic.datahelix.generator.core.fieldspecs.FieldSpecFactory;
+import com.scottlogic.datahelix.generator.core.profile.constraints.atomic.AtomicConstraint;
+import com.scottlogic.datahelix.generator.core.walker.pruner.Merged;
+import com.scottlogic.datahelix.generator.core.walker.pruner.TreePruner;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Prunes per second, pruning the root node of the profile combined with each option of each of its decisions, in the
+ * same way as the row spec tree solver does when it picks an option.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class TreePrunerBenchmark extends ProfileBenchmarkState {
+    private TreePruner treePruner;
+    private final List<ConstraintNode> nodes = new ArrayList<>();
+    private final List<Map<Field, FieldSpec>> fieldSpecs = new ArrayList<>();
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        treePruner = injector.getInstance(TreePruner.class);
+
+        ConstraintNode rootNode = tree.getRootNode();
+        addCase(rootNode, rootNode);
+        for (DecisionNode decision : rootNode.getDecisions()) {
+            ConstraintNode rootWithoutDecision = rootNode.builder().removeDecision(decision).build();
+            for (ConstraintNode option : decision.getOptions()) {
+                ConstraintNode combined = rootWithoutDecision.builder()
+                    .addDecisions(option.getDecisions())
+                    .addAtomicConstraints(option.getAtomicConstraints())
+                    .addRelations(option.getRelations())
+                    .build();
+                addCase(combined, option);
+            }
+        }
+    }
+
+    @Benchmark
+    public Merged<ConstraintNode> pruneConstraintNode() {
+        int index = next;
+        next = (next + 1) % nodes.size();
+        return treePruner.pruneConstraintNode(nodes.get(index), fieldSpecs.get(index));
+    }
+
+    private void addCase(ConstraintNode node, ConstraintNode option) {
+        nodes.add(node);
+        fieldSpecs.add(option.getAtomicConstraints().stream()
+            .map(AtomicConstraint::getField)
+            .distinct()
+            .collect(Collectors.toMap(
+                Function.identity(),
+                field -> FieldSpecFactory.fromType(field.getType()))));
+    }
+}
@@ -21,7 +21,14 @@ import java.math.BigDecimal;
 public interface RandomNumberGenerator {
     int nextInt();
     int nextInt(int bound);
-    long nextLong(long lowerInclusive, long upperInclusive);
+    long nextLong(long lowerInclusive, long upperExclusive);
     double nextDouble(double lowerInclusive, double upperExclusive);
     BigDecimal nextBigDecimal(BigDecimal lowerInclusive, BigDecimal upperExclusive);
+
+    /**
+     * Create a new generator whose values are independent of this one's, for use on another thread. Generators are
+     * not safe to share between threads, so each thread should be given its own generator split from a common one.
+     * Splitting advances this generator, so splitting a seeded generator in the same order gives the same generators.
+     */
+    RandomNumberGenerator split();
 }
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.datahelix.generator.common.output;
+
+import com.scottlogic.datahelix.generator.common.profile.FieldSchema;
+
+/** A generated object whose values can be read by the ordinal of their field in a {@link FieldSchema} */
+public interface IndexedGeneratedObject extends GeneratedObject {
+    /**
+     * Read the formatted value of the field with the given ordinal in the schema. Objects backed by the same schema
+     * answer this without looking the field up.
+     */
+    Object getFormattedValue(FieldSchema schema, int ordinal);
+
+    /**
+     * Read the unformatted value of the field with the given ordinal in the schema
+     */
+    Object getValue(FieldSchema schema, int ordinal);
+
+    /**
+     * Read the formatted value of the field with the given ordinal in the schema from any generated object, by
+     * ordinal where it supports it and by field otherwise
+     */
+    static Object formattedValueOf(GeneratedObject row, FieldSchema schema, int ordinal) {
+        if (row instanceof IndexedGeneratedObject) {
+            return ((IndexedGeneratedObject) row).getFormattedValue(schema, ordinal);
+        }
+        return row.getFormattedValue(schema.getField(ordinal));
+    }
+
+    /**
+     * Read the unformatted value of the field with the given ordinal in the schema from any generated object, by
+     * ordinal where it supports it and by field otherwise
+     */
+    static Object valueOf(GeneratedObject row, FieldSchema schema, int ordinal) {
+        if (row instanceof IndexedGeneratedObject) {
+            return ((IndexedGeneratedObject) row).getValue(schema, ordinal);
+        }
+        return row.getValue(schema.getField(ordinal));
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.datahelix.generator.common.output;
+
+import java.nio.file.Path;
+
+public enum OutputCompression {
+    AUTO,
+    NONE,
+    GZIP,
+    ZSTD;
+
+    /**
+     * @return the compression this setting selects for the given file, choosing by file extension when set to AUTO
+     */
+    public OutputCompression resolve(Path path) {
+        if (this != AUTO) {
+            return this;
+        }
+
+        String fileName = path.getFileName().toString().toLowerCase();
+        if (fileName.endsWith(".gz")) {
+            return GZIP;
+        }
+        if (fileName.endsWith(".zst") || fileName.endsWith(".zstd")) {
+            return ZSTD;
+        }
+        return NONE;
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.datahelix.generator.common.output;
+
+import com.scottlogic.datahelix.generator.common.profile.Field;
+import com.scottlogic.datahelix.generator.common.profile.FieldType;
+
+import java.math.BigDecimal;
+import java.util.IllegalFormatException;
+
+/** Applies the formatting of a field to a generated value */
+public final class ValueFormatter {
+    private ValueFormatter() {}
+
+    public static Object format(Field field, Object value) {
+        String formatting = field.getFormatting();
+
+        if (formatting == null || value == null) {
+            return value;
+        }
+
+        try
+        {
+            if (field.getType() == FieldType.NUMERIC && (formatting.contains("d") || formatting.contains("x") || formatting.contains("o")))
+            {
+                long l = ((BigDecimal) value).longValueExact();
+                return String.format(formatting, l);
+            }
+            if (field.getType() == FieldType.NUMERIC && (formatting.contains("a")))
+            {
+                double d = ((BigDecimal) value).doubleValue();
+                return String.format(formatting, d);
+            }
+            return String.format(formatting, value);
+        }
+        catch (IllegalFormatException e)
+        {
+            return value;
+        }
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.datahelix.generator.common.output.batch;
+
+import com.scottlogic.datahelix.generator.common.output.GeneratedObject;
+import com.scottlogic.datahelix.generator.common.output.IndexedGeneratedObject;
+import com.scottlogic.datahelix.generator.common.profile.Field;
+import com.scottlogic.datahelix.generator.common.profile.FieldSchema;
+import com.scottlogic.datahelix.generator.common.profile.Fields;
+
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A block of generated rows held column by column, one {@link ColumnVector} per external field, indexed by the
+ * ordinal of the field in the schema of the profile. Writers which can consume whole columns avoid a virtual call and
+ * a boxed value per field of every row.
+ */
+public final class ColumnBatch {
+    private final FieldSchema schema;
+    private final ColumnVector[] columns;
+    private final int capacity;
+    private int size;
+
+    public ColumnBatch(Fields fields, int capacity) {
+        this.schema = fields.getSchema();
+        this.columns = new ColumnVector[schema.size()];
+        this.capacity = capacity;
+        fields.getExternalStream().forEach(field ->
+            columns[schema.ordinalOf(field)] = ColumnVector.forField(field, capacity));
+    }
+
+    /**
+     * Group a stream of rows into batches of the given size; the last batch may be smaller. The same batch is refilled
+     * for each element of the stream, so each batch must be consumed before the next is taken.
+     */
+    public static Stream<ColumnBatch> batches(Stream<? extends GeneratedObject> rows, Fields fields, int batchSize) {
+        Iterator<? extends GeneratedObject> iterator = rows.iterator();
+        ColumnBatch batch = new ColumnBatch(fields, batchSize);
+        Spliterators.AbstractSpliterator<ColumnBatch> spliterator =
+            new Spliterators.AbstractSpliterator<ColumnBatch>(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+                @Override
+                public boolean tryAdvance(Consumer<? super ColumnBatch> action) {
+                    if (!iterator.hasNext()) {
+                        return false;
+                    }
+
+                    batch.clear();
+                    while (!batch.isFull() && iterator.hasNext()) {
+                        batch.add(iterator.next());
+                    }
+                    action.accept(batch);
+                    return true;
+                }
+            };
+
+        return StreamSupport.stream(spliterator, false).onClose(rows::close);
+    }
+
+    public void add(GeneratedObject row) {
+        if (isFull()) {
+            throw new IllegalStateException("ColumnBatch is full");
+        }
+
+        for (int ordinal = 0; ordinal < columns.length; ordinal++) {
+            if (columns[ordinal] != null) {
+                columns[ordinal].set(size, IndexedGeneratedObject.valueOf(row, schema, ordinal));
+            }
+        }
+        size++;
+    }
+
+    /**
+     * Empty the batch, keeping its columns to be refilled
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    public boolean isFull() {
+        return size == capacity;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public FieldSchema getSchema() {
+        return schema;
+    }
+
+    /**
+     * @return the column of the field with the given ordinal, or null if the field is internal to the profile
+     */
+    public ColumnVector getColumn(int ordinal) {
+        return columns[ordinal];
+    }
+
+    /**
+     * @return a view of one row of the batch, for writers which consume rows
+     */
+    public GeneratedObject getRow(int row) {
+        return new RowView(row);
+    }
+
+    private class RowView implements IndexedGeneratedObject {
+        private final int row;
+
+        RowView(int row) {
+            this.row = row;
+        }
+
+        @Override
+        public Object getFormattedValue(Field field) {
+            return getColumnFor(field).getFormatted(row);
+        }
+
+        @Override
+        public Object getValue(Field field) {
+            return getColumnFor(field).get(row);
+        }
+
+        @Override
+        public Object getFormattedValue(FieldSchema schema, int ordinal) {
+            return schema == ColumnBatch.this.schema
+                ? getColumnAt(ordinal).getFormatted(row)
+                : getFormattedValue(schema.getField(ordinal));
+        }
+
+        @Override
+        public Object getValue(FieldSchema schema, int ordinal) {
+            return schema == ColumnBatch.this.schema
+                ? getColumnAt(ordinal).get(row)
+                : getValue(schema.getField(ordinal));
+        }
+
+        private ColumnVector getColumnFor(Field field) {
+            int ordinal = schema.ordinalOf(field);
+            if (ordinal < 0) {
+                throw new IllegalStateException("ColumnBatch has no column for " + field);
+            }
+            return getColumnAt(ordinal);
+        }
+
+        private ColumnVector getColumnAt(int ordinal) {
+            ColumnVector column = columns[ordinal];
+            if (column == null) {
+                throw new IllegalStateException("ColumnBatch has no column for " + schema.getField(ordinal));
+            }
+            return column;
+        }
+    }
+}
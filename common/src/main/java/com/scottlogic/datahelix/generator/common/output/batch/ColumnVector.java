@@ -0,0 +1,113 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.datahelix.generator.common.output.batch;
+
+import com.scottlogic.datahelix.generator.common.output.ValueFormatter;
+import com.scottlogic.datahelix.generator.common.profile.Field;
+
+/**
+ * The values of one field for every row of a {@link ColumnBatch}, held in primitive arrays where the type of the field
+ * allows it. Values which cannot be held in the primitive form of the column, such as numbers too wide for a long or
+ * values of an unexpected type, are kept as objects alongside it, so no value is ever lost.
+ */
+public abstract class ColumnVector {
+    private final Field field;
+    private final boolean[] nulls;
+    private Object[] otherValues;
+
+    protected ColumnVector(Field field, int capacity) {
+        this.field = field;
+        this.nulls = new boolean[capacity];
+    }
+
+    public static ColumnVector forField(Field field, int capacity) {
+        switch (field.getType()) {
+            case NUMERIC:
+                return new DecimalColumnVector(field, capacity);
+            case DATETIME:
+                return new TimestampColumnVector(field, capacity);
+            case TIME:
+                return new TimeColumnVector(field, capacity);
+            case BOOLEAN:
+                return new BooleanColumnVector(field, capacity);
+            default:
+                return new StringColumnVector(field, capacity);
+        }
+    }
+
+    public Field getField() {
+        return field;
+    }
+
+    public int capacity() {
+        return nulls.length;
+    }
+
+    /**
+     * Set the value of a row, replacing any value it held before
+     */
+    public final void set(int row, Object value) {
+        nulls[row] = value == null;
+        if (otherValues != null) {
+            otherValues[row] = null;
+        }
+        if (value == null) {
+            return;
+        }
+
+        if (!setValue(row, value)) {
+            if (otherValues == null) {
+                otherValues = new Object[nulls.length];
+            }
+            otherValues[row] = value;
+        }
+    }
+
+    public boolean isNull(int row) {
+        return nulls[row];
+    }
+
+    /**
+     * @return whether the value of the row is not held in the primitive form of this column, and must be read with
+     * {@link #get(int)}
+     */
+    public boolean isOther(int row) {
+        return otherValues != null && otherValues[row] != null;
+    }
+
+    public final Object get(int row) {
+        if (nulls[row]) {
+            return null;
+        }
+        if (isOther(row)) {
+            return otherValues[row];
+        }
+        return getValue(row);
+    }
+
+    public Object getFormatted(int row) {
+        return ValueFormatter.format(field, get(row));
+    }
+
+    /**
+     * Store a non-null value in the primitive form of this column
+     * @return false if the value cannot be held in the primitive form
+     */
+    protected abstract boolean setValue(int row, Object value);
+
+    protected abstract Object getValue(int row);
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.datahelix.generator.common.output.batch;
+
+import com.scottlogic.datahelix.generator.common.profile.Field;
+
+import java.math.BigDecimal;
+
+/** Numeric values held as an unscaled long and a scale per row */
+public class DecimalColumnVector extends ColumnVector {
+    private static final int MAXIMUM_LONG_PRECISION = 18;
+
+    private final long[] unscaledValues;
+    private final int[] scales;
+
+    DecimalColumnVector(Field field, int capacity) {
+        super(field, capacity);
+        this.unscaledValues = new long[capacity];
+        this.scales = new int[capacity];
+    }
+
+    public long getUnscaledValue(int row) {
+        return unscaledValues[row];
+    }
+
+    public int getScale(int row) {
+        return scales[row];
+    }
+
+    @Override
+    protected boolean setValue(int row, Object value) {
+        if (!(value instanceof BigDecimal)) {
+            return false;
+        }
+
+        // any 18 digit number fits in a long; whole numbers are read without building their unscaled BigInteger
+        BigDecimal decimal = (BigDecimal) value;
+        if (decimal.precision() > MAXIMUM_LONG_PRECISION) {
+            return false;
+        }
+
+        unscaledValues[row] = decimal.scale() == 0 ? decimal.longValueExact() : decimal.unscaledValue().longValue();
+        scales[row] = decimal.scale();
+        return true;
+    }
+
+    @Override
+    protected Object getValue(int row) {
+        return BigDecimal.valueOf(unscaledValues[row], scales[row]);
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.datahelix.generator.common.output.batch;
+
+import com.scottlogic.datahelix.generator.common.profile.Field;
+
+import java.time.LocalTime;
+
+/** Time values held as nanoseconds since midnight */
+public class TimeColumnVector extends ColumnVector {
+    private final long[] nanosOfDay;
+
+    TimeColumnVector(Field field, int capacity) {
+        super(field, capacity);
+        this.nanosOfDay = new long[capacity];
+    }
+
+    public long getNanoOfDay(int row) {
+        return nanosOfDay[row];
+    }
+
+    @Override
+    protected boolean setValue(int row, Object value) {
+        if (!(value instanceof LocalTime)) {
+            return false;
+        }
+
+        nanosOfDay[row] = ((LocalTime) value).toNanoOfDay();
+        return true;
+    }
+
+    @Override
+    protected Object getValue(int row) {
+        return LocalTime.ofNanoOfDay(nanosOfDay[row]);
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.datahelix.generator.common.output.batch;
+
+import com.scottlogic.datahelix.generator.common.profile.Field;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+/** Date-time values in UTC held as seconds and nanoseconds since the epoch */
+public class TimestampColumnVector extends ColumnVector {
+    private final long[] epochSeconds;
+    private final int[] nanos;
+
+    TimestampColumnVector(Field field, int capacity) {
+        super(field, capacity);
+        this.epochSeconds = new long[capacity];
+        this.nanos = new int[capacity];
+    }
+
+    public long getEpochSecond(int row) {
+        return epochSeconds[row];
+    }
+
+    public int getNano(int row) {
+        return nanos[row];
+    }
+
+    @Override
+    protected boolean setValue(int row, Object value) {
+        if (!(value instanceof OffsetDateTime) || !((OffsetDateTime) value).getOffset().equals(ZoneOffset.UTC)) {
+            return false;
+        }
+
+        OffsetDateTime dateTime = (OffsetDateTime) value;
+        epochSeconds[row] = dateTime.toEpochSecond();
+        nanos[row] = dateTime.getNano();
+        return true;
+    }
+
+    @Override
+    protected Object getValue(int row) {
+        return OffsetDateTime.ofInstant(Instant.ofEpochSecond(epochSeconds[row], nanos[row]), ZoneOffset.UTC);
+    }
+}
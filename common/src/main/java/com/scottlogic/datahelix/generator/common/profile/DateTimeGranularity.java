@@ -50,6 +50,14 @@ public class DateTimeGranularity implements Granularity<OffsetDateTime> {
         return new DateTimeGranularity(Enum.valueOf(ChronoUnit.class, workingDay ? "DAYS" : offsetUnitUpperCase), workingDay);
     }
 
+    public ChronoUnit getChronoUnit() {
+        return chronoUnit;
+    }
+
+    public boolean isWorkingDay() {
+        return workingDay;
+    }
+
     @Override
     public Granularity<OffsetDateTime> getFinestGranularity() {
         return DateTimeDefaults.get().granularity();
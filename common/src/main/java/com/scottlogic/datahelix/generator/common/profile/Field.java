@@ -26,6 +26,7 @@ public class Field {
     private final boolean internal;
     private final boolean nullable;
     private final String generator;
+    private final int hashCode;
 
     public Field(String name, SpecificFieldType type, boolean unique, String formatting, boolean internal, boolean nullable, String generator) {
         this.name = name;
@@ -35,6 +36,7 @@ public class Field {
         this.internal = internal;
         this.nullable = nullable;
         this.generator = generator;
+        this.hashCode = Objects.hash(name, unique, formatting, type, nullable, generator);
     }
 
     public FieldType getType() {
@@ -76,7 +78,8 @@ public class Field {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         Field field = (Field) o;
-        return Objects.equals(name, field.name)
+        return hashCode == field.hashCode
+            && Objects.equals(name, field.name)
             && Objects.equals(unique, field.unique)
             && Objects.equals(type, field.type)
             && Objects.equals(formatting, field.formatting)
@@ -86,7 +89,7 @@ public class Field {
 
     @Override
     public int hashCode() {
-        return Objects.hash(name, unique, formatting, type, nullable, generator);
+        return hashCode;
     }
 
     public String getName()
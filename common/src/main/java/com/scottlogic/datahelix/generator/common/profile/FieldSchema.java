@@ -0,0 +1,71 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.datahelix.generator.common.profile;
+
+import java.util.*;
+
+/**
+ * Assigns each field of a profile a dense ordinal, so that per-row values can be held in an array indexed by field
+ * rather than in a map. Schemas are immutable and are shared between every row generated for the same profile.
+ */
+public final class FieldSchema {
+    public static final FieldSchema EMPTY = new FieldSchema(Collections.emptyList());
+
+    private final Field[] fields;
+    private final Map<Field, Integer> ordinals;
+
+    public FieldSchema(Collection<Field> fields) {
+        this.ordinals = new HashMap<>();
+        List<Field> distinctFields = new ArrayList<>();
+        for (Field field : fields) {
+            if (!ordinals.containsKey(field)) {
+                ordinals.put(field, distinctFields.size());
+                distinctFields.add(field);
+            }
+        }
+        this.fields = distinctFields.toArray(new Field[0]);
+    }
+
+    /**
+     * @return the ordinal of the field, or -1 if the field is not part of this schema
+     */
+    public int ordinalOf(Field field) {
+        Integer ordinal = ordinals.get(field);
+        return ordinal == null ? -1 : ordinal;
+    }
+
+    public boolean contains(Field field) {
+        return ordinals.containsKey(field);
+    }
+
+    public Field getField(int ordinal) {
+        return fields[ordinal];
+    }
+
+    public int size() {
+        return fields.length;
+    }
+
+    public List<Field> getFields() {
+        return Collections.unmodifiableList(Arrays.asList(fields));
+    }
+
+    @Override
+    public String toString() {
+        return "FieldSchema" + Arrays.toString(fields);
+    }
+}
@@ -25,4 +25,5 @@ public interface Fields extends Iterable<Field> {
     Stream<Field> stream();
     Stream<Field> getExternalStream();
     List<Field> asList();
+    FieldSchema getSchema();
 }
\ No newline at end of file
@@ -22,9 +22,19 @@ import java.util.stream.Stream;
 
 public class ProfileFields implements Fields {
     private final List<Field> fields;
+    private final FieldSchema schema;
 
     public ProfileFields(List<Field> fields) {
+        this(fields, new FieldSchema(fields));
+    }
+
+    /**
+     * Create a subset of the fields of a profile which shares the schema of the whole profile, so that rows generated
+     * for different subsets can be combined without re-indexing their values
+     */
+    public ProfileFields(List<Field> fields, FieldSchema schema) {
         this.fields = fields;
+        this.schema = schema;
     }
 
     public Field getByName(String fieldName) {
@@ -55,6 +65,11 @@ public class ProfileFields implements Fields {
         return fields;
     }
 
+    @Override
+    public FieldSchema getSchema() {
+        return schema;
+    }
+
     @Override
     public boolean equals(Object obj) {
         if (obj == null) {
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.datahelix.generator.common.util;
+
+import java.lang.ref.WeakReference;
+import java.util.Iterator;
+import java.util.Spliterators;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Spliterator which consumes a source stream on a worker thread, handing elements over through a bounded lock-free
+ * buffer. The order of the source stream is preserved. The worker stops when the stream is closed, or when the
+ * consumer is no longer reachable, so abandoned streams do not keep a worker alive.
+ */
+public class PrefetchingSpliterator<T> extends Spliterators.AbstractSpliterator<T> {
+    private final Producer<T> producer;
+    private boolean finished;
+
+    /**
+     * Create a stream whose elements are produced ahead of time on the given executor
+     * @param source   supplier of the stream to consume, invoked on the worker thread; elements must not be null
+     * @param executor executor to run the worker on
+     * @param capacity maximum number of elements to produce ahead of the consumer
+     * @return a sequential stream of the elements of the source stream, in order
+     */
+    public static <T> Stream<T> prefetch(Supplier<Stream<T>> source, Executor executor, int capacity) {
+        PrefetchingSpliterator<T> spliterator = new PrefetchingSpliterator<>(capacity);
+        spliterator.producer.start(source, executor, spliterator);
+        return StreamSupport.stream(spliterator, false).onClose(spliterator.producer::cancel);
+    }
+
+    private PrefetchingSpliterator(int capacity) {
+        super(Long.MAX_VALUE, ORDERED | NONNULL);
+        this.producer = new Producer<>(capacity);
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        if (finished) {
+            return false;
+        }
+
+        Object item = producer.take();
+        if (item == Producer.END) {
+            finished = true;
+            return false;
+        }
+        if (item instanceof Failure) {
+            finished = true;
+            throw ((Failure) item).asRuntimeException();
+        }
+
+        @SuppressWarnings("unchecked")
+        T element = (T) item;
+        action.accept(element);
+        return true;
+    }
+
+    /**
+     * The worker side of the handoff. Deliberately holds only a weak reference to the consuming spliterator.
+     */
+    private static class Producer<T> {
+        private static final Object END = new Object();
+
+        private final SingleProducerSingleConsumerBuffer buffer;
+        private volatile boolean cancelled;
+
+        Producer(int capacity) {
+            this.buffer = new SingleProducerSingleConsumerBuffer(capacity);
+        }
+
+        void start(Supplier<Stream<T>> source, Executor executor, PrefetchingSpliterator<T> consumer) {
+            WeakReference<PrefetchingSpliterator<T>> consumerReference = new WeakReference<>(consumer);
+            executor.execute(() -> produce(source, consumerReference));
+        }
+
+        void cancel() {
+            cancelled = true;
+            buffer.clear();
+        }
+
+        Object take() {
+            for (int attempt = 0; ; attempt++) {
+                Object item = buffer.poll();
+                if (item != null) {
+                    return item;
+                }
+                if (Thread.interrupted()) {
+                    Thread.currentThread().interrupt();
+                    cancel();
+                    throw new IllegalStateException("Interrupted while waiting for prefetched data");
+                }
+                SingleProducerSingleConsumerBuffer.idle(attempt);
+            }
+        }
+
+        private void produce(Supplier<Stream<T>> source, WeakReference<?> consumerReference) {
+            try (Stream<T> stream = source.get()) {
+                Iterator<T> iterator = stream.iterator();
+                while (iterator.hasNext()) {
+                    if (!offer(iterator.next(), consumerReference)) {
+                        return;
+                    }
+                }
+                offer(END, consumerReference);
+            } catch (RuntimeException | Error e) {
+                offer(new Failure(e), consumerReference);
+            }
+        }
+
+        private boolean offer(Object item, WeakReference<?> consumerReference) {
+            for (int attempt = 0; !cancelled && consumerReference.get() != null; attempt++) {
+                if (buffer.offer(item)) {
+                    return true;
+                }
+                SingleProducerSingleConsumerBuffer.idle(attempt);
+            }
+            return false;
+        }
+    }
+
+    private static class Failure {
+        private final Throwable cause;
+
+        Failure(Throwable cause) {
+            this.cause = cause;
+        }
+
+        RuntimeException asRuntimeException() {
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            return (RuntimeException) cause;
+        }
+    }
+}
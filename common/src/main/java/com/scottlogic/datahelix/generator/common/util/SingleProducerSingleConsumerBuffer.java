@@ -0,0 +1,88 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.datahelix.generator.common.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Bounded lock-free ring buffer for handing elements from exactly one producer thread to exactly one consumer thread.
+ * Callers that find the buffer full or empty should back off with {@link #idle(int)}.
+ */
+class SingleProducerSingleConsumerBuffer {
+    private static final int SPINS_BEFORE_PARKING = 100;
+    private static final long PARK_NANOS = 10_000;
+
+    private final Object[] buffer;
+    private final int mask;
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+
+    SingleProducerSingleConsumerBuffer(int minimumCapacity) {
+        int capacity = Integer.highestOneBit(Math.max(1, minimumCapacity - 1)) << 1;
+        this.buffer = new Object[capacity];
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * @return false if the buffer is full; may only be called from the producer thread
+     */
+    boolean offer(Object item) {
+        long currentTail = tail.get();
+        if (currentTail - head.get() == buffer.length) {
+            return false;
+        }
+
+        buffer[(int) currentTail & mask] = item;
+        tail.lazySet(currentTail + 1);
+        return true;
+    }
+
+    /**
+     * @return the next item, or null if the buffer is empty; may only be called from the consumer thread
+     */
+    Object poll() {
+        long currentHead = head.get();
+        if (currentHead == tail.get()) {
+            return null;
+        }
+
+        int index = (int) currentHead & mask;
+        Object item = buffer[index];
+        buffer[index] = null;
+        head.lazySet(currentHead + 1);
+        return item;
+    }
+
+    void clear() {
+        while (poll() != null) {
+            // discard
+        }
+    }
+
+    /**
+     * Back off after a failed offer or poll, spinning briefly before parking the thread
+     * @param attempt number of consecutive failed attempts
+     */
+    static void idle(int attempt) {
+        if (attempt < SPINS_BEFORE_PARKING) {
+            Thread.yield();
+        } else {
+            LockSupport.parkNanos(PARK_NANOS);
+        }
+    }
+}
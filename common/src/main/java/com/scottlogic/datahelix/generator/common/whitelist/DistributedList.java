@@ -18,6 +18,7 @@ package com.scottlogic.datahelix.generator.common.whitelist;
 
 import com.scottlogic.datahelix.generator.common.RandomNumberGenerator;
 
+import java.math.BigDecimal;
 import java.util.*;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -27,7 +28,15 @@ public class DistributedList<T> {
 
     private final List<WeightedElement<T>> underlyingWeights;
 
-    private final List<WeightedElement<T>> underlyingCumulativeWeights;
+    /**
+     * Alias table for weighted sampling, built on first use by {@link #pickRandomly}
+     */
+    private volatile AliasSampler sampler;
+
+    /**
+     * Elements grouped by value, built on first use by {@link #contains} or {@link #elementsEqualTo}
+     */
+    private volatile Map<Object, List<WeightedElement<T>>> index;
 
     public DistributedList(final List<WeightedElement<T>> underlyingWeights) {
         if (underlyingWeights.contains(null)) {
@@ -36,7 +45,6 @@ public class DistributedList<T> {
 
         List<WeightedElement<T>> normalisedWeights = normalise(underlyingWeights);
         this.underlyingWeights = Collections.unmodifiableList(normalisedWeights);
-        this.underlyingCumulativeWeights = cumulative(normalisedWeights);
     }
 
     private static <T> List<WeightedElement<T>> normalise(final List<WeightedElement<T>> denormalised) {
@@ -61,28 +69,6 @@ public class DistributedList<T> {
                 .collect(Collectors.toList()));
     }
 
-    private static <T> List<WeightedElement<T>> cumulative(List<WeightedElement<T>> nonCumulative) {
-        List<WeightedElement<T>> cumulative = new LinkedList<>();
-        double runningTotal = 0.0D;
-        for (WeightedElement<T> holder : nonCumulative) {
-            runningTotal += holder.weight();
-            cumulative.add(new WeightedElement<>(holder.element(), runningTotal));
-        }
-
-        if (!cumulative.isEmpty()) {
-           replaceLastCumulativeElement(cumulative);
-        }
-
-        return new ArrayList<>(cumulative);
-    }
-
-    private static <T> void replaceLastCumulativeElement(List<WeightedElement<T>> cumulative) {
-        int lastIndex = cumulative.size() - 1;
-        WeightedElement<T> last = cumulative.get(lastIndex);
-        cumulative.remove(lastIndex);
-        cumulative.add(new WeightedElement<>(last.element(), 1.0D));
-    }
-
     @SuppressWarnings("unchecked")
     public static <T> DistributedList<T> empty() {
         return (DistributedList<T>) EMPTY;
@@ -93,31 +79,13 @@ public class DistributedList<T> {
     }
 
     public T pickRandomly(RandomNumberGenerator random) {
-        return getElementFromCumulativeDistribution(1.0D - random.nextDouble(0.0D, 1.0D));
-    }
-
-    private T getElementFromCumulativeDistribution(final double value) {
-        List<Double> weights = underlyingCumulativeWeights.stream()
-            .map(WeightedElement::weight)
-            .collect(Collectors.toList());
-
-        final int index = binarySearch(weights, value);
-
-        return underlyingCumulativeWeights.get(index).element();
-    }
-
-    private static int binarySearch(List<Double> weights, double target) {
-        final int index = Collections.binarySearch(weights, target, Double::compare);
-
-        // We need to resolve the index.
-        // A positive index represents an exact match
-        // A negative index represents an inexact match
-        // See Collections.binarySearch javadoc for more information
-        if (index < 0) {
-            return (-index) - 1;
-        } else {
-            return index;
+        AliasSampler sampler = this.sampler;
+        if (sampler == null) {
+            sampler = new AliasSampler(underlyingWeights);
+            this.sampler = sampler;
         }
+
+        return underlyingWeights.get(sampler.sample(random.nextDouble(0.0D, 1.0D))).element();
     }
 
     @Override
@@ -149,4 +117,115 @@ public class DistributedList<T> {
     public boolean isEmpty(){
         return distributedList().isEmpty();
     }
+
+    public int size() {
+        return underlyingWeights.size();
+    }
+
+    /**
+     * Get the element at the given position, in constant time
+     */
+    public T get(int index) {
+        return underlyingWeights.get(index).element();
+    }
+
+    /**
+     * Check whether the given value is in the list, in constant time. Numbers are compared by numeric value, so
+     * 1.0 is considered to be in a list containing 1.
+     */
+    public boolean contains(Object value) {
+        return getIndex().containsKey(indexKey(value));
+    }
+
+    /**
+     * Get every element of the list equal to the given value, in constant time. Numbers are compared by numeric
+     * value, as in {@link #contains}.
+     * @return the matching elements with their weights, in list order, or an empty list if there are none
+     */
+    public List<WeightedElement<T>> elementsEqualTo(Object value) {
+        return getIndex().getOrDefault(indexKey(value), Collections.emptyList());
+    }
+
+    private Map<Object, List<WeightedElement<T>>> getIndex() {
+        Map<Object, List<WeightedElement<T>>> index = this.index;
+        if (index == null) {
+            index = new HashMap<>();
+            for (WeightedElement<T> holder : underlyingWeights) {
+                index.computeIfAbsent(indexKey(holder.element()), key -> new ArrayList<>(1)).add(holder);
+            }
+            this.index = index;
+        }
+        return index;
+    }
+
+    private static Object indexKey(Object value) {
+        if (value instanceof BigDecimal) {
+            BigDecimal number = (BigDecimal) value;
+            return number.signum() == 0 ? BigDecimal.ZERO : number.stripTrailingZeros();
+        }
+        return value;
+    }
+
+    /**
+     * Vose's alias method: picks an index in proportion to its weight in constant time, from a single uniform value.
+     * The value selects a column, and its fractional part selects between the column's own index and its alias.
+     */
+    private static final class AliasSampler {
+        private final double[] probability;
+        private final int[] alias;
+
+        AliasSampler(List<? extends WeightedElement<?>> normalisedWeights) {
+            int size = normalisedWeights.size();
+            if (size == 0) {
+                throw new IllegalStateException("Cannot pick from an empty list");
+            }
+
+            probability = new double[size];
+            alias = new int[size];
+            double[] scaled = new double[size];
+            int[] small = new int[size];
+            int[] large = new int[size];
+            int smallCount = 0;
+            int largeCount = 0;
+
+            for (int i = 0; i < size; i++) {
+                alias[i] = i;
+                scaled[i] = normalisedWeights.get(i).weight() * size;
+                if (scaled[i] < 1.0D) {
+                    small[smallCount++] = i;
+                } else {
+                    large[largeCount++] = i;
+                }
+            }
+
+            while (smallCount > 0 && largeCount > 0) {
+                int less = small[--smallCount];
+                int more = large[--largeCount];
+
+                probability[less] = scaled[less];
+                alias[less] = more;
+
+                scaled[more] = (scaled[more] + scaled[less]) - 1.0D;
+                if (scaled[more] < 1.0D) {
+                    small[smallCount++] = more;
+                } else {
+                    large[largeCount++] = more;
+                }
+            }
+
+            // Anything left over is within rounding error of 1
+            while (largeCount > 0) {
+                probability[large[--largeCount]] = 1.0D;
+            }
+            while (smallCount > 0) {
+                probability[small[--smallCount]] = 1.0D;
+            }
+        }
+
+        int sample(double uniform) {
+            double scaled = uniform * probability.length;
+            int column = Math.min((int) scaled, probability.length - 1);
+            return scaled - column < probability[column] ? column : alias[column];
+        }
+    }
 }
@@ -50,4 +50,9 @@ public class TestRandomNumberGenerator implements RandomNumberGenerator {
     public BigDecimal nextBigDecimal(BigDecimal lowerInclusive, BigDecimal upperExclusive) {
         return BigDecimal.valueOf(nextDouble(lowerInclusive.doubleValue(), upperExclusive.doubleValue()));
     }
+
+    @Override
+    public RandomNumberGenerator split() {
+        return this;
+    }
 }
\ No newline at end of file
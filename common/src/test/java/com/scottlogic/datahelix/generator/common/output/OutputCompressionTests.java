@@ -0,0 +1,48 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.datahelix.generator.common.output;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Paths;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+class OutputCompressionTests {
+    @Test
+    void resolve_autoWithGzipExtension_returnsGzip() {
+        assertThat(OutputCompression.AUTO.resolve(Paths.get("out", "data.csv.GZ")), is(OutputCompression.GZIP));
+    }
+
+    @Test
+    void resolve_autoWithZstdExtension_returnsZstd() {
+        assertThat(OutputCompression.AUTO.resolve(Paths.get("data.json.zst")), is(OutputCompression.ZSTD));
+        assertThat(OutputCompression.AUTO.resolve(Paths.get("data.json.zstd")), is(OutputCompression.ZSTD));
+    }
+
+    @Test
+    void resolve_autoWithOtherExtension_returnsNone() {
+        assertThat(OutputCompression.AUTO.resolve(Paths.get("data.csv")), is(OutputCompression.NONE));
+    }
+
+    @Test
+    void resolve_explicitCompression_ignoresExtension() {
+        assertThat(OutputCompression.GZIP.resolve(Paths.get("data.csv")), is(OutputCompression.GZIP));
+        assertThat(OutputCompression.NONE.resolve(Paths.get("data.csv.gz")), is(OutputCompression.NONE));
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.datahelix.generator.common.output.batch;
+
+import com.scottlogic.datahelix.generator.common.output.GeneratedObject;
+import com.scottlogic.datahelix.generator.common.profile.Field;
+import com.scottlogic.datahelix.generator.common.profile.Fields;
+import com.scottlogic.datahelix.generator.common.profile.ProfileFields;
+import com.scottlogic.datahelix.generator.common.profile.StandardSpecificFieldType;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static com.scottlogic.datahelix.generator.common.profile.FieldBuilder.createField;
+import static com.scottlogic.datahelix.generator.common.profile.FieldBuilder.createInternalField;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ColumnBatchTests {
+    private final Field decimal = createField("decimal", StandardSpecificFieldType.DECIMAL.toSpecificFieldType());
+    private final Field dateTime = createField("datetime", StandardSpecificFieldType.DATETIME.toSpecificFieldType());
+    private final Field time = createField("time", StandardSpecificFieldType.TIME.toSpecificFieldType());
+    private final Field bool = createField("boolean", StandardSpecificFieldType.BOOLEAN.toSpecificFieldType());
+    private final Field text = createField("text");
+    private final Field internal = createInternalField("internal");
+    private final Fields fields = new ProfileFields(Arrays.asList(decimal, dateTime, time, bool, text, internal));
+
+    @Test
+    void add_valuesOfEachType_readsBackEqualValuesFromPrimitiveColumns() {
+        BigDecimal number = new BigDecimal("-123.450");
+        OffsetDateTime instant = OffsetDateTime.of(2020, 2, 29, 12, 30, 15, 123_000_000, ZoneOffset.UTC);
+        LocalTime clock = LocalTime.of(23, 59, 1);
+        ColumnBatch batch = new ColumnBatch(fields, 2);
+
+        batch.add(row(number, instant, clock, true, "a"));
+        batch.add(row(null, null, null, null, null));
+
+        GeneratedObject first = batch.getRow(0);
+        assertThat(first.getValue(decimal), equalTo(number));
+        assertThat(first.getValue(dateTime), equalTo(instant));
+        assertThat(first.getValue(time), equalTo(clock));
+        assertThat(first.getValue(bool), equalTo(true));
+        assertThat(first.getValue(text), equalTo("a"));
+        assertThat(batch.getColumn(0), instanceOf(DecimalColumnVector.class));
+        assertThat(batch.getColumn(0).isOther(0), is(false));
+        assertThat(batch.getColumn(1).isOther(0), is(false));
+
+        GeneratedObject second = batch.getRow(1);
+        assertThat(second.getValue(decimal), nullValue());
+        assertThat(second.getValue(text), nullValue());
+        assertThat(batch.isFull(), is(true));
+    }
+
+    @Test
+    void add_valuesWhichDoNotFitThePrimitiveColumn_keepsValuesAsObjects() {
+        BigDecimal wide = new BigDecimal("123456789012345678901234567890");
+        OffsetDateTime offset = OffsetDateTime.of(2020, 1, 1, 0, 0, 0, 0, ZoneOffset.ofHours(1));
+        ColumnBatch batch = new ColumnBatch(fields, 1);
+
+        batch.add(row(wide, offset, LocalTime.MIDNIGHT, false, 1));
+
+        assertThat(batch.getColumn(0).isOther(0), is(true));
+        assertThat(batch.getRow(0).getValue(decimal), equalTo(wide));
+        assertThat(batch.getRow(0).getValue(dateTime), equalTo(offset));
+        assertThat(batch.getRow(0).getValue(text), equalTo(1));
+    }
+
+    @Test
+    void getRow_internalField_throws() {
+        ColumnBatch batch = new ColumnBatch(fields, 1);
+        batch.add(row(BigDecimal.ONE, null, null, null, "a"));
+
+        assertThat(batch.getColumn(fields.getSchema().ordinalOf(internal)), nullValue());
+        assertThrows(IllegalStateException.class, () -> batch.getRow(0).getValue(internal));
+    }
+
+    @Test
+    void batches_moreRowsThanBatchSize_producesFullBatchesThenRemainder() {
+        Stream<GeneratedObject> rows = Stream.of("a", "b", "c", "d", "e")
+            .map(value -> row(null, null, null, null, value));
+
+        List<Integer> sizes = new ArrayList<>();
+        List<Object> firstValues = new ArrayList<>();
+        ColumnBatch.batches(rows, fields, 2).forEach(batch -> {
+            sizes.add(batch.size());
+            firstValues.add(batch.getRow(0).getValue(text));
+        });
+
+        assertThat(sizes, contains(2, 2, 1));
+        assertThat(firstValues, contains("a", "c", "e"));
+    }
+
+    @Test
+    void set_rowRefilledAfterClear_replacesNullAndOtherValues() {
+        ColumnBatch batch = new ColumnBatch(fields, 2);
+        batch.add(row(null, OffsetDateTime.of(2020, 1, 1, 0, 0, 0, 0, ZoneOffset.ofHours(1)), null, null, null));
+        batch.clear();
+
+        batch.add(row(BigDecimal.ONE, OffsetDateTime.of(2020, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC), null, null, "a"));
+
+        GeneratedObject row = batch.getRow(0);
+        assertThat(row.getValue(decimal), equalTo(BigDecimal.ONE));
+        assertThat(row.getValue(dateTime), equalTo(OffsetDateTime.of(2020, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC)));
+        assertThat(batch.getColumn(fields.getSchema().ordinalOf(dateTime)).isOther(0), is(false));
+        assertThat(batch.size(), equalTo(1));
+    }
+
+    private GeneratedObject row(Object decimalValue, Object dateTimeValue, Object timeValue, Object boolValue, Object textValue) {
+        Map<Field, Object> values = new HashMap<>();
+        values.put(decimal, decimalValue);
+        values.put(dateTime, dateTimeValue);
+        values.put(time, timeValue);
+        values.put(bool, boolValue);
+        values.put(text, textValue);
+        return new GeneratedObject() {
+            @Override
+            public Object getFormattedValue(Field field) {
+                return getValue(field);
+            }
+
+            @Override
+            public Object getValue(Field field) {
+                if (!values.containsKey(field)) {
+                    throw new IllegalStateException("No value for " + field);
+                }
+                return values.get(field);
+            }
+        };
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.datahelix.generator.common.profile;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static com.scottlogic.datahelix.generator.common.profile.FieldBuilder.createField;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
+
+class FieldSchemaTests {
+    @Test
+    void ordinalOf_fieldsInSchema_returnsPositionOfFirstOccurrence() {
+        Field first = createField("first");
+        Field second = createField("second");
+
+        FieldSchema schema = new FieldSchema(Arrays.asList(first, second, first));
+
+        assertThat(schema.size(), equalTo(2));
+        assertThat(schema.ordinalOf(first), equalTo(0));
+        assertThat(schema.ordinalOf(second), equalTo(1));
+        assertThat(schema.getField(1), sameInstance(second));
+        assertThat(schema.getFields(), contains(first, second));
+    }
+
+    @Test
+    void ordinalOf_fieldNotInSchema_returnsMinusOne() {
+        FieldSchema schema = new FieldSchema(Arrays.asList(createField("first")));
+
+        assertThat(schema.ordinalOf(createField("other")), equalTo(-1));
+    }
+
+    @Test
+    void getSchema_subsetOfProfileFields_sharesSchemaOfWholeProfile() {
+        Field first = createField("first");
+        Field second = createField("second");
+        ProfileFields profileFields = new ProfileFields(Arrays.asList(first, second));
+
+        ProfileFields subset = new ProfileFields(Arrays.asList(second), profileFields.getSchema());
+
+        assertThat(subset.getSchema(), sameInstance(profileFields.getSchema()));
+        assertThat(subset.getSchema().ordinalOf(second), equalTo(1));
+    }
+}
@@ -19,10 +19,14 @@ package com.scottlogic.datahelix.generator.common.whitelist;
 import com.scottlogic.datahelix.generator.common.RandomNumberGenerator;
 import org.junit.jupiter.api.Test;
 
+import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -67,6 +71,48 @@ class DistributedListTest {
         return new DistributedList<>(holders);
     }
 
+    @Test
+    public void testContainsFindsElementsByValue() {
+        DistributedList<String> set = DistributedList.uniform(Arrays.asList("first", "second"));
+
+        assertTrue(set.contains(new String("second")));
+        assertFalse(set.contains("third"));
+        assertFalse(set.contains(null));
+    }
+
+    @Test
+    public void testContainsComparesNumbersByNumericValue() {
+        DistributedList<BigDecimal> set = DistributedList.uniform(Arrays.asList(new BigDecimal("1.50"), BigDecimal.ZERO));
+
+        assertTrue(set.contains(new BigDecimal("1.5")));
+        assertTrue(set.contains(new BigDecimal("0.000")));
+        assertFalse(set.contains(new BigDecimal("15")));
+    }
+
+    @Test
+    public void testElementsEqualToReturnsEveryMatchingElement() {
+        WeightedElement<String> first = new WeightedElement<>("a", 1.0D);
+        WeightedElement<String> second = new WeightedElement<>("b", 1.0D);
+        WeightedElement<String> third = new WeightedElement<>("a", 2.0D);
+        DistributedList<String> set = new DistributedList<>(Arrays.asList(first, second, third));
+
+        List<Double> weights = set.elementsEqualTo("a").stream()
+            .map(WeightedElement::weight)
+            .collect(Collectors.toList());
+
+        assertEquals(Arrays.asList(0.25D, 0.5D), weights);
+        assertTrue(set.elementsEqualTo("c").isEmpty());
+    }
+
+    @Test
+    public void testGetReturnsElementsInListOrder() {
+        DistributedList<String> set = DistributedList.uniform(Arrays.asList("first", "second", "third"));
+
+        assertEquals(3, set.size());
+        assertEquals("second", set.get(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> set.get(3));
+    }
+
     @Test
     public void testRandomPick() {
         DistributedList<String> set = prepareTwoElementSet();
@@ -86,6 +132,52 @@ class DistributedListTest {
         assertEquals(fourthValue, otherFourthValue);
     }
 
+    @Test
+    public void testWeightedPickUsesEachColumnAndItsAlias() {
+        DistributedList<String> set = prepareWeightedSet();
+
+        // Three columns, each a third of the range: "rare" keeps the first 0.3 of its column and "common" the rest,
+        // "uncommon" keeps the first 0.6 of its column and "common" the rest, and "common" keeps all of its own
+        assertEquals("rare", set.pickRandomly(mockOfRandom(0.0D)));
+        assertEquals("rare", set.pickRandomly(mockOfRandom(0.09D)));
+        assertEquals("common", set.pickRandomly(mockOfRandom(0.11D)));
+        assertEquals("common", set.pickRandomly(mockOfRandom(0.33D)));
+        assertEquals("uncommon", set.pickRandomly(mockOfRandom(0.34D)));
+        assertEquals("uncommon", set.pickRandomly(mockOfRandom(0.53D)));
+        assertEquals("common", set.pickRandomly(mockOfRandom(0.54D)));
+        assertEquals("common", set.pickRandomly(mockOfRandom(0.66D)));
+        assertEquals("common", set.pickRandomly(mockOfRandom(0.67D)));
+        assertEquals("common", set.pickRandomly(mockOfRandom(0.99D)));
+    }
+
+    @Test
+    public void testWeightedPickOfUpperBoundPicksFromLastColumn() {
+        DistributedList<String> set = prepareWeightedSet();
+
+        assertEquals("common", set.pickRandomly(mockOfRandom(1.0D)));
+    }
+
+    @Test
+    public void testWeightedPickIsInProportionToWeights() {
+        DistributedList<String> set = prepareWeightedSet();
+        int steps = 10_000;
+
+        Map<String, Long> picks = IntStream.range(0, steps)
+            .mapToObj(step -> set.pickRandomly(mockOfRandom(step / (double) steps)))
+            .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+
+        assertEquals(0.1D, picks.get("rare") / (double) steps, 0.001D);
+        assertEquals(0.2D, picks.get("uncommon") / (double) steps, 0.001D);
+        assertEquals(0.7D, picks.get("common") / (double) steps, 0.001D);
+    }
+
+    private static DistributedList<String> prepareWeightedSet() {
+        return new DistributedList<>(Arrays.asList(
+            new WeightedElement<>("rare", 0.1D),
+            new WeightedElement<>("uncommon", 0.2D),
+            new WeightedElement<>("common", 0.7D)));
+    }
+
     private static RandomNumberGenerator mockOfRandom(double value) {
         RandomNumberGenerator generator = mock(RandomNumberGenerator.class);
         when(generator.nextDouble(0.0D, 1.0D)).thenReturn(value);
@@ -17,6 +17,7 @@
 package com.scottlogic.datahelix.generator.core.decisiontree.treepartitioning;
 
 import com.scottlogic.datahelix.generator.common.profile.Field;
+import com.scottlogic.datahelix.generator.common.profile.FieldSchema;
 import com.scottlogic.datahelix.generator.common.profile.Fields;
 import com.scottlogic.datahelix.generator.common.profile.ProfileFields;
 import com.scottlogic.datahelix.generator.core.decisiontree.ConstraintNodeBuilder;
@@ -78,6 +79,9 @@ public class TreePartitioner {
             .stream()
             .filter(field -> Objects.isNull(partitions.getPartitionId(field)));
 
+        // partitions share the schema of the whole tree so their rows can be merged by ordinal
+        final FieldSchema schema = decisionTree.getFields().getSchema();
+
         return Stream.concat(
             partitions
                 .getPartitions()
@@ -89,12 +93,12 @@ public class TreePartitioner {
                         .addRelations(partition.getRelations())
                         .setDecisions(partition.getDecisionNodes())
                         .build(),
-                    new ProfileFields(new ArrayList<>(partition.fields))
+                    new ProfileFields(new ArrayList<>(partition.fields), schema)
                 )),
             unpartitionedFields
                 .map(field -> new DecisionTree(
                     new ConstraintNodeBuilder().build(),
-                    new ProfileFields(Collections.singletonList(field))
+                    new ProfileFields(Collections.singletonList(field), schema)
                 ))
             );
     }
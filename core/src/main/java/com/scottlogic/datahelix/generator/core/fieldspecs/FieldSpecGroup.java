@@ -18,6 +18,7 @@
 package com.scottlogic.datahelix.generator.core.fieldspecs;
 
 import com.scottlogic.datahelix.generator.common.profile.Field;
+import com.scottlogic.datahelix.generator.common.profile.FieldSchema;
 import com.scottlogic.datahelix.generator.core.fieldspecs.relations.EqualToOffsetRelation;
 import com.scottlogic.datahelix.generator.core.fieldspecs.relations.EqualToRelation;
 import com.scottlogic.datahelix.generator.core.fieldspecs.relations.FieldSpecRelation;
@@ -34,10 +35,17 @@ public final class FieldSpecGroup {
 
     private final Collection<FieldSpecRelation> relations;
 
+    private final FieldSchema schema;
+
     public FieldSpecGroup(Map<Field, FieldSpec> fieldSpecs, Collection<FieldSpecRelation> relations) {
+        this(fieldSpecs, relations, new FieldSchema(fieldSpecs.keySet()));
+    }
+
+    public FieldSpecGroup(Map<Field, FieldSpec> fieldSpecs, Collection<FieldSpecRelation> relations, FieldSchema schema) {
         validateFieldSpecs(fieldSpecs, relations);
         this.fieldSpecs = fieldSpecs;
         this.relations = relations;
+        this.schema = schema;
     }
 
     private void validateFieldSpecs(Map<Field, FieldSpec> fieldSpecs, Collection<FieldSpecRelation> relations) {
@@ -76,4 +84,11 @@ public final class FieldSpecGroup {
         return relations;
     };
 
+    /**
+     * @return the schema of the row this group belongs to, against which the values generated for it are indexed
+     */
+    public FieldSchema schema() {
+        return schema;
+    }
+
 }
@@ -16,6 +16,8 @@
 
 package com.scottlogic.datahelix.generator.core.fieldspecs;
 
+import com.google.inject.Inject;
+import com.google.inject.name.Named;
 import com.scottlogic.datahelix.generator.common.whitelist.DistributedList;
 import com.scottlogic.datahelix.generator.common.whitelist.WeightedElement;
 import com.scottlogic.datahelix.generator.core.restrictions.bool.BooleanRestrictionsMerger;
@@ -23,16 +25,34 @@ import com.scottlogic.datahelix.generator.core.restrictions.string.StringRestric
 import com.scottlogic.datahelix.generator.core.restrictions.TypedRestrictions;
 import com.scottlogic.datahelix.generator.core.restrictions.linear.LinearRestrictionsMerger;
 import com.scottlogic.datahelix.generator.common.SetUtils;
+import com.scottlogic.datahelix.generator.core.utils.LruCache;
 
+import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
 /**
  * Returns a FieldSpec that permits only data permitted by all of its inputs
+ * <p>
+ * Merges can optionally be memoised in a bounded cache, as the same pairs of FieldSpecs are merged many times over
+ * while pruning and walking a tree.
  */
 public class FieldSpecMerger {
     private final RestrictionsMergeOperation restrictionMergeOperation =
         new RestrictionsMergeOperation(new LinearRestrictionsMerger(), new StringRestrictionsMerger(), new BooleanRestrictionsMerger());
+    private final LruCache<MergeKey, Optional<FieldSpec>> cache;
+
+    public FieldSpecMerger() {
+        this(0);
+    }
+
+    /**
+     * @param cacheSize maximum number of merge results to remember, or 0 to merge every time
+     */
+    @Inject
+    public FieldSpecMerger(@Named("config:fieldSpecMergeCacheSize") int cacheSize) {
+        this.cache = cacheSize > 0 ? new LruCache<>("FieldSpec merge cache", cacheSize) : null;
+    }
 
     /**
      * Null parameters are permitted, and are synonymous with an empty FieldSpec
@@ -40,6 +60,23 @@ public class FieldSpecMerger {
      * Returning an empty Optional conveys that the fields were unmergeable.
      */
     public Optional<FieldSpec> merge(FieldSpec left, FieldSpec right, boolean useFinestGranularityAvailable) {
+        if (cache == null) {
+            return mergeUncached(left, right, useFinestGranularityAvailable);
+        }
+
+        return cache.computeIfAbsent(
+            new MergeKey(left, right, useFinestGranularityAvailable),
+            key -> mergeUncached(key.left, key.right, key.useFinestGranularityAvailable));
+    }
+
+    /**
+     * @return the cache of merge results, empty if merges are not cached
+     */
+    public Optional<LruCache<?, ?>> getCache() {
+        return Optional.ofNullable(cache);
+    }
+
+    private Optional<FieldSpec> mergeUncached(FieldSpec left, FieldSpec right, boolean useFinestGranularityAvailable) {
         if (nullOnly(left) || nullOnly(right)){
             return nullOnlyOrEmpty(bothAreNullable(left, right));
         }
@@ -71,12 +108,10 @@ public class FieldSpecMerger {
         return new WeightedElement<>(left.element(), left.weight() + right.weight());
     }
 
-    //TODO try a performance test with this replaced with combineSetWithRestrictions()
-
     private Optional<FieldSpec> mergeSets(WhitelistFieldSpec left, WhitelistFieldSpec right) {
+        DistributedList<Object> rightWhitelist = right.getWhitelist();
         DistributedList<Object> set = new DistributedList<>(left.getWhitelist().distributedList().stream()
-            .flatMap(leftHolder -> right.getWhitelist().distributedList().stream()
-                .filter(rightHolder -> elementsEqual(leftHolder, rightHolder))
+            .flatMap(leftHolder -> rightWhitelist.elementsEqualTo(leftHolder.element()).stream()
                 .map(rightHolder -> mergeElements(leftHolder, rightHolder)))
             .distinct()
             .collect(Collectors.toList()));
@@ -84,9 +119,6 @@ public class FieldSpecMerger {
         FieldSpec newFieldSpec = set.isEmpty() ? FieldSpecFactory.nullOnly() : FieldSpecFactory.fromList(set);
         return addNullability(left.isNullable(), right.isNullable(), newFieldSpec);
     }
-    private static <T> boolean elementsEqual(WeightedElement<T> left, WeightedElement<T> right) {
-        return left.element().equals(right.element());
-    }
 
     private Optional<FieldSpec> combineSetWithRestrictions(WhitelistFieldSpec set, FieldSpec restrictions) {
         DistributedList<Object> newSet = new DistributedList<>(
@@ -143,4 +175,33 @@ public class FieldSpecMerger {
     private Optional<FieldSpec> nullOnlyOrEmpty(boolean nullable) {
         return nullable ? Optional.of(FieldSpecFactory.nullOnly()) : Optional.empty();
     }
+
+    private static final class MergeKey {
+        private final FieldSpec left;
+        private final FieldSpec right;
+        private final boolean useFinestGranularityAvailable;
+        private final int hashCode;
+
+        MergeKey(FieldSpec left, FieldSpec right, boolean useFinestGranularityAvailable) {
+            this.left = left;
+            this.right = right;
+            this.useFinestGranularityAvailable = useFinestGranularityAvailable;
+            this.hashCode = Objects.hash(left, right, useFinestGranularityAvailable);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            MergeKey that = (MergeKey) o;
+            return useFinestGranularityAvailable == that.useFinestGranularityAvailable &&
+                Objects.equals(left, that.left) &&
+                Objects.equals(right, that.right);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
 }
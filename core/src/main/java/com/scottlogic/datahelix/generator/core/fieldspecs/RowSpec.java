@@ -17,6 +17,7 @@
 package com.scottlogic.datahelix.generator.core.fieldspecs;
 
 import com.scottlogic.datahelix.generator.common.profile.Field;
+import com.scottlogic.datahelix.generator.common.profile.FieldSchema;
 import com.scottlogic.datahelix.generator.common.profile.Fields;
 import com.scottlogic.datahelix.generator.core.fieldspecs.relations.FieldSpecRelation;
 
@@ -32,6 +33,8 @@ public class RowSpec {
 
     private final Map<Field, FieldSpec> fieldToFieldSpec;
 
+    private final FieldSpec[] fieldSpecsByOrdinal;
+
     private final List<FieldSpecRelation> relations;
     public RowSpec(Fields fields,
                    Map<Field, FieldSpec> fieldToFieldSpec,
@@ -39,6 +42,18 @@ public class RowSpec {
         this.fields = fields;
         this.fieldToFieldSpec = fieldToFieldSpec;
         this.relations = relations;
+        this.fieldSpecsByOrdinal = indexFieldSpecs(fields.getSchema(), fieldToFieldSpec);
+    }
+
+    private static FieldSpec[] indexFieldSpecs(FieldSchema schema, Map<Field, FieldSpec> fieldToFieldSpec) {
+        FieldSpec[] fieldSpecs = new FieldSpec[schema.size()];
+        fieldToFieldSpec.forEach((field, fieldSpec) -> {
+            int ordinal = schema.ordinalOf(field);
+            if (ordinal >= 0) {
+                fieldSpecs[ordinal] = fieldSpec;
+            }
+        });
+        return fieldSpecs;
     }
 
     public Fields getFields() {
@@ -46,7 +61,10 @@ public class RowSpec {
     }
 
     public FieldSpec getSpecForField(Field field) {
-        FieldSpec ownFieldSpec = this.fieldToFieldSpec.get(field);
+        int ordinal = fields.getSchema().ordinalOf(field);
+        FieldSpec ownFieldSpec = ordinal >= 0
+            ? fieldSpecsByOrdinal[ordinal]
+            : this.fieldToFieldSpec.get(field);
 
         if (ownFieldSpec == null) {
             return FieldSpecFactory.fromType(field.getType());
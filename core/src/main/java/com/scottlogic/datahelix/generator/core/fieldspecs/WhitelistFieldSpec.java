@@ -35,7 +35,7 @@ public class WhitelistFieldSpec extends FieldSpec {
 
     @Override
     public boolean canCombineWithWhitelistValue(Object value) {
-        return whitelist.list().contains(value);
+        return whitelist.contains(value);
     }
 
     @Override
@@ -43,8 +43,8 @@ public class InMapIndexRelation implements FieldSpecRelation
     public FieldSpec createModifierFromOtherFieldSpec(FieldSpec otherFieldSpec) {
         List<Object> whiteList = new ArrayList<>();
 
-        for (int i = 0; i < underlyingList.list().size(); i++) {
-            Object testingElement = underlyingList.list().get(i);
+        for (int i = 0; i < underlyingList.size(); i++) {
+            Object testingElement = underlyingList.get(i);
             if (otherFieldSpec.canCombineWithWhitelistValue(testingElement)) {
                 whiteList.add(BigDecimal.valueOf(i));
             }
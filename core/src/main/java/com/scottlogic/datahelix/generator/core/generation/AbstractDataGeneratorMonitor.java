@@ -20,19 +20,41 @@ import com.google.inject.Inject;
 
 import java.io.PrintWriter;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
 
 public abstract class AbstractDataGeneratorMonitor implements DataGeneratorMonitor {
     final PrintWriter writer;
 
-    private List<String> linesToPrintAtEndOfGeneration = new ArrayList<>();
+    // Pipelines report to the same monitor from their own threads
+    private final List<String> linesToPrintAtEndOfGeneration = Collections.synchronizedList(new ArrayList<>());
+    private final LongAdder rowsCheckedForUniqueness = new LongAdder();
+    private final LongAdder rowsRejectedAsDuplicates = new LongAdder();
 
     @Inject
     AbstractDataGeneratorMonitor(PrintWriter writer) {
         this.writer = writer;
     }
 
+    @Override
+    public void rowCheckedForUniqueness(boolean duplicate) {
+        rowsCheckedForUniqueness.increment();
+        if (duplicate) {
+            rowsRejectedAsDuplicates.increment();
+        }
+    }
+
     public void endGeneration() {
+        long checked = rowsCheckedForUniqueness.sum();
+        long rejected = rowsRejectedAsDuplicates.sum();
+        if (checked > 0) {
+            writer.println(String.format(
+                "Unique fields: %d of %d rows rejected as duplicates (%.2f%%)",
+                rejected,
+                checked,
+                rejected * 100.0 / checked));
+        }
         linesToPrintAtEndOfGeneration.forEach(writer::println);
     }
 
@@ -18,9 +18,28 @@ package com.scottlogic.datahelix.generator.core.generation;
 
 import com.scottlogic.datahelix.generator.core.profile.Profile;
 import com.scottlogic.datahelix.generator.common.output.GeneratedObject;
+import com.scottlogic.datahelix.generator.common.output.batch.ColumnBatch;
 
 import java.util.stream.Stream;
 
 public interface DataGenerator {
     Stream<GeneratedObject> generateData(Profile profile);
+
+    /**
+     * Produce the rows of {@link #generateData(Profile)} after the first few. Generators which can work out where a
+     * row falls reach it without generating the rows before it.
+     * @param rowsToSkip number of rows to leave out
+     */
+    default Stream<GeneratedObject> generateData(Profile profile, long rowsToSkip) {
+        return generateData(profile).skip(rowsToSkip);
+    }
+
+    /**
+     * Produce the same rows as {@link #generateData(Profile)}, in the same order, in column-oriented batches. The
+     * batches are filled from the rows once they are generated, so each value is still produced row by row.
+     * @param batchSize number of rows in each batch; the last batch may be smaller
+     */
+    default Stream<ColumnBatch> generateBatches(Profile profile, int batchSize) {
+        return ColumnBatch.batches(generateData(profile), profile.getFields(), batchSize);
+    }
 }
@@ -21,6 +21,7 @@ import com.scottlogic.datahelix.generator.common.output.GeneratedObject;
 public interface DataGeneratorMonitor {
     default void generationStarting() {}
     default void rowEmitted(GeneratedObject row) {}
+    default void rowCheckedForUniqueness(boolean duplicate) {}
     default void endGeneration() {}
     void addLineToPrintAtEndOfGeneration(String line);
 }
@@ -17,31 +17,44 @@
 package com.scottlogic.datahelix.generator.core.generation;
 
 import com.google.inject.Inject;
+import com.google.inject.name.Named;
 import com.scottlogic.datahelix.generator.common.RandomNumberGenerator;
 import com.scottlogic.datahelix.generator.common.profile.Field;
 import com.scottlogic.datahelix.generator.core.config.detail.DataGenerationType;
 import com.scottlogic.datahelix.generator.core.fieldspecs.FieldSpec;
 import com.scottlogic.datahelix.generator.core.generation.databags.DataBagValue;
 import com.scottlogic.datahelix.generator.core.generation.fieldvaluesources.FieldValueSource;
-import com.scottlogic.datahelix.generator.core.utils.JavaUtilRandomNumberGenerator;
+import com.scottlogic.datahelix.generator.core.utils.RandomSeeds;
 
+import java.util.Objects;
 import java.util.stream.Stream;
 
 public class FieldSpecValueGenerator {
     private final DataGenerationType dataType;
     private final RandomNumberGenerator randomNumberGenerator;
+    private final long uniqueValueOffset;
+    private final int uniqueValueStride;
+    private final long masterSeed;
+    private final boolean uniqueRandom;
 
     @Inject
     public FieldSpecValueGenerator(DataGenerationType dataGenerationType,
-                                   JavaUtilRandomNumberGenerator randomNumberGenerator) {
+                                   RandomNumberGenerator randomNumberGenerator,
+                                   @Named("config:uniqueValueOffset") long uniqueValueOffset,
+                                   @Named("config:uniqueValueStride") int uniqueValueStride,
+                                   @Named("config:masterSeed") long masterSeed,
+                                   @Named("config:uniqueRandom") boolean uniqueRandom) {
         this.dataType = dataGenerationType;
         this.randomNumberGenerator = randomNumberGenerator;
+        this.uniqueValueOffset = uniqueValueOffset;
+        this.uniqueValueStride = uniqueValueStride;
+        this.masterSeed = masterSeed;
+        this.uniqueRandom = uniqueRandom;
     }
 
     public FieldSpecValueGenerator(DataGenerationType dataGenerationType,
                                    RandomNumberGenerator randomNumberGenerator) {
-        this.dataType = dataGenerationType;
-        this.randomNumberGenerator = randomNumberGenerator;
+        this(dataGenerationType, randomNumberGenerator, 0, 1, 0, false);
     }
 
     public boolean isRandom() {
@@ -51,14 +64,22 @@ public class FieldSpecValueGenerator {
     public Stream<DataBagValue> generate(Field field, FieldSpec spec) {
         FieldValueSource fieldValueSource = spec.getFieldValueSource();
 
-        return getDataValues(fieldValueSource, field.isUnique())
+        return getDataValues(fieldValueSource, field)
             .map(DataBagValue::new);
     }
 
-    private Stream<Object> getDataValues(FieldValueSource source, boolean unique) {
-        if (unique) {
-            return source.generateAllValues();
-        } 
+    private Stream<Object> getDataValues(FieldValueSource source, Field field) {
+        if (field.isUnique() && isRandom() && uniqueRandom) {
+            // every pipeline and shard shares the order, so that between them each value is still emitted once
+            long key = RandomSeeds.derive(masterSeed, Objects.hashCode(field.getName()));
+            return source.generateUniqueRandomValues(key, uniqueValueOffset, uniqueValueStride);
+        }
+
+        if (field.isUnique()) {
+            return uniqueValueOffset == 0 && uniqueValueStride == 1
+                ? source.generateAllValues()
+                : source.generateAllValues(uniqueValueOffset, uniqueValueStride);
+        }
 
         switch (dataType) {
             case FULL_SEQUENTIAL:
@@ -70,4 +91,3 @@ public class FieldSpecValueGenerator {
         }
     }
 }
-
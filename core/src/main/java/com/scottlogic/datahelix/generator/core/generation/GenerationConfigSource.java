@@ -19,6 +19,8 @@ package com.scottlogic.datahelix.generator.core.generation;
 import com.scottlogic.datahelix.generator.core.config.detail.CombinationStrategyType;
 import com.scottlogic.datahelix.generator.core.config.detail.DataGenerationType;
 import com.scottlogic.datahelix.generator.core.config.detail.MonitorType;
+import com.scottlogic.datahelix.generator.core.config.detail.RandomNumberGeneratorType;
+import com.scottlogic.datahelix.generator.core.config.detail.UniquenessCheckType;
 import com.scottlogic.datahelix.generator.core.config.detail.VisualiserLevel;
 
 import java.nio.file.Path;
@@ -28,6 +30,14 @@ public interface GenerationConfigSource  {
     CombinationStrategyType getCombinationStrategyType();
     Long getMaxRows();
     boolean getInfiniteOutput();
+    boolean getParallelPartitions();
+    int getThreads();
+    int getShardIndex();
+    int getShardCount();
+    Long getSeed();
+    RandomNumberGeneratorType getRandomNumberGeneratorType();
+    boolean getUniqueRandom();
+    UniquenessCheckType getUniquenessCheckType();
 
     MonitorType getMonitorType();
 
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.datahelix.generator.core.generation;
+
+import com.scottlogic.datahelix.generator.core.decisiontree.DecisionTree;
+import com.scottlogic.datahelix.generator.core.generation.combinationstrategies.CombinationStrategy;
+import com.scottlogic.datahelix.generator.core.generation.databags.DataBag;
+import com.scottlogic.datahelix.generator.core.walker.DecisionTreeWalker;
+import com.scottlogic.datahelix.generator.core.walker.DecisionTreeWalkerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * The decision trees a profile is generated from, after they have been pruned, partitioned and optimised. The trees
+ * are immutable, so a plan can be walked any number of times, e.g. once for each parent row of a relationship. Each
+ * walk has walkers of its own, so a walk which is abandoned while its partitions are still being walked on other
+ * threads shares no random state with the next one.
+ */
+public final class GenerationPlan {
+    private static final GenerationPlan CONTRADICTORY = new GenerationPlan(Collections.emptyList());
+
+    private final List<DecisionTree> partitions;
+
+    private GenerationPlan(List<DecisionTree> partitions) {
+        this.partitions = partitions;
+    }
+
+    /**
+     * @param partitions the partitions of the profile
+     */
+    public static GenerationPlan of(List<DecisionTree> partitions) {
+        return new GenerationPlan(Collections.unmodifiableList(new ArrayList<>(partitions)));
+    }
+
+    /**
+     * @return a plan for a wholly contradictory profile, which produces no data
+     */
+    public static GenerationPlan contradictory() {
+        return CONTRADICTORY;
+    }
+
+    public boolean isContradictory() {
+        return this == CONTRADICTORY;
+    }
+
+    /**
+     * @return the independent partitions of the profile's decision tree, each already optimised
+     */
+    public List<DecisionTree> getPartitions() {
+        return partitions;
+    }
+
+    /**
+     * @param walkerFactory creates the walker for each partition; every walker is created before this returns, in
+     *                      partition order, so the random stream each partition is given does not depend on which
+     *                      thread it is walked on
+     * @return a walk of each partition, in order, by a new walker of its own
+     */
+    public Stream<Supplier<Stream<DataBag>>> walkPartitions(DecisionTreeWalkerFactory walkerFactory) {
+        List<Supplier<Stream<DataBag>>> walks = new ArrayList<>(partitions.size());
+        for (DecisionTree partition : partitions) {
+            DecisionTreeWalker walker = walkerFactory.createWalker();
+            walks.add(() -> walker.walk(partition));
+        }
+        return walks.stream();
+    }
+
+    /**
+     * @param partitionCombiner how the walks of the partitions are combined into rows
+     * @param walkerFactory     creates the walker for each partition
+     * @param skip              number of rows to leave out; a profile with a single partition leaves them out while
+     *                          walking it
+     * @return the rows of the plan after the first few
+     */
+    public Stream<DataBag> walk(CombinationStrategy partitionCombiner, DecisionTreeWalkerFactory walkerFactory, long skip) {
+        if (partitions.size() == 1) {
+            return walkerFactory.createWalker().walk(partitions.get(0), skip);
+        }
+        return partitionCombiner.permute(walkPartitions(walkerFactory), skip);
+    }
+}
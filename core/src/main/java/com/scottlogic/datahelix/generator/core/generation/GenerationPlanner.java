@@ -0,0 +1,99 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.datahelix.generator.core.generation;
+
+import com.google.inject.Inject;
+import com.scottlogic.datahelix.generator.core.config.detail.VisualiserLevel;
+import com.scottlogic.datahelix.generator.core.decisiontree.DecisionTree;
+import com.scottlogic.datahelix.generator.core.decisiontree.DecisionTreeFactory;
+import com.scottlogic.datahelix.generator.core.decisiontree.DecisionTreeOptimiser;
+import com.scottlogic.datahelix.generator.core.decisiontree.treepartitioning.TreePartitioner;
+import com.scottlogic.datahelix.generator.core.generation.visualiser.Visualiser;
+import com.scottlogic.datahelix.generator.core.generation.visualiser.VisualiserFactory;
+import com.scottlogic.datahelix.generator.core.profile.Profile;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Plans each profile once for the whole run. A plan holds no random state, so it is shared by every pipeline, and
+ * the trees are only visualised and any contradictions only reported once, however many pipelines there are.
+ */
+public class GenerationPlanner {
+    private static final String INITIAL_TREE_VISUALISER_TITLE = "01_Initial_Tree";
+    private static final String PRUNED_TREE_VISUALISER_TITLE = "02_Pruned_Tree";
+    private final DecisionTreeFactory decisionTreeGenerator;
+    private final TreePartitioner treePartitioner;
+    private final DecisionTreeOptimiser treeOptimiser;
+    private final DataGeneratorMonitor monitor;
+    private final UpfrontTreePruner upfrontTreePruner;
+    private final VisualiserFactory visualiserFactory;
+
+    // Relationships generate their profile once for every parent row, so each profile is only planned once.
+    // Planning holds the lock, so a profile first needed by several pipelines at once is still only planned once
+    private final Map<Profile, GenerationPlan> plans = Collections.synchronizedMap(new IdentityHashMap<>());
+
+    @Inject
+    public GenerationPlanner(
+        DecisionTreeFactory decisionTreeGenerator,
+        TreePartitioner treePartitioner,
+        DecisionTreeOptimiser optimiser,
+        DataGeneratorMonitor monitor,
+        UpfrontTreePruner upfrontTreePruner,
+        VisualiserFactory visualiserFactory) {
+        this.decisionTreeGenerator = decisionTreeGenerator;
+        this.treePartitioner = treePartitioner;
+        this.treeOptimiser = optimiser;
+        this.monitor = monitor;
+        this.upfrontTreePruner = upfrontTreePruner;
+        this.visualiserFactory = visualiserFactory;
+    }
+
+    /**
+     * @return the plan for the profile, which is created the first time it is asked for
+     */
+    public GenerationPlan plan(Profile profile) {
+        return plans.computeIfAbsent(profile, this::createPlan);
+    }
+
+    private GenerationPlan createPlan(Profile profile) {
+        DecisionTree decisionTree = decisionTreeGenerator.analyse(profile);
+        visualiseTree(decisionTree,  INITIAL_TREE_VISUALISER_TITLE);
+
+        decisionTree = upfrontTreePruner.runUpfrontPrune(decisionTree, monitor);
+        visualiseTree(decisionTree, PRUNED_TREE_VISUALISER_TITLE);
+        if (decisionTree.getRootNode() == null) {
+            return GenerationPlan.contradictory();
+        }
+
+        List<DecisionTree> partitions = treePartitioner
+            .splitTreeIntoPartitions(decisionTree)
+            .map(treeOptimiser::optimiseTree)
+            .collect(Collectors.toList());
+
+        return GenerationPlan.of(partitions);
+    }
+
+    private void visualiseTree(DecisionTree decisionTree, String title) {
+        try (Visualiser visualiser = visualiserFactory.create(VisualiserLevel.STANDARD, title)) {
+            visualiser.printTree(title, decisionTree);
+        }
+    }
+}
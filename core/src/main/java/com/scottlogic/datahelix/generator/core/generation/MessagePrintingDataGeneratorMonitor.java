@@ -17,12 +17,22 @@
 package com.scottlogic.datahelix.generator.core.generation;
 
 import com.scottlogic.datahelix.generator.common.output.GeneratedObject;
+import com.scottlogic.datahelix.generator.core.utils.LruCache;
 
 import java.io.PrintWriter;
+import java.util.Collection;
+import java.util.Collections;
 
 public class MessagePrintingDataGeneratorMonitor extends AbstractDataGeneratorMonitor {
+    private final Collection<LruCache<?, ?>> caches;
+
     public MessagePrintingDataGeneratorMonitor(PrintWriter writer) {
+        this(writer, Collections.emptyList());
+    }
+
+    public MessagePrintingDataGeneratorMonitor(PrintWriter writer, Collection<LruCache<?, ?>> caches) {
         super(writer);
+        this.caches = caches;
     }
 
     private void println(String message) {
@@ -34,4 +44,10 @@ public class MessagePrintingDataGeneratorMonitor extends AbstractDataGeneratorMo
         println("RowSpec emitted");
     }
 
+    @Override
+    public void endGeneration() {
+        caches.forEach(cache -> println(cache.toString()));
+        super.endGeneration();
+    }
+
 }
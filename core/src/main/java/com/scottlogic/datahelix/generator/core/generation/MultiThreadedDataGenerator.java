@@ -0,0 +1,125 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.datahelix.generator.core.generation;
+
+import com.scottlogic.datahelix.generator.common.output.GeneratedObject;
+import com.scottlogic.datahelix.generator.core.profile.Profile;
+import com.scottlogic.datahelix.generator.core.profile.relationships.Relationship;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static com.scottlogic.datahelix.generator.common.util.PrefetchingSpliterator.prefetch;
+
+/**
+ * Runs several independent generation pipelines, each on its own thread, and merges their rows.
+ * Rows are taken from each pipeline in turn, so the output only depends on what each pipeline produces and not on
+ * how the threads are scheduled. The pipelines share one planner, and the profile is planned on the calling thread
+ * before any pipeline starts.
+ */
+public class MultiThreadedDataGenerator implements DataGenerator {
+    private static final ExecutorService WORKERS = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "datahelix-pipeline-worker");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final GenerationPlanner planner;
+    private final List<DataGenerator> pipelines;
+    private final int handoffSize;
+
+    //created by DataGeneratorProvider
+    public MultiThreadedDataGenerator(GenerationPlanner planner, List<DataGenerator> pipelines, int handoffSize) {
+        this.planner = planner;
+        this.pipelines = pipelines;
+        this.handoffSize = handoffSize;
+    }
+
+    @Override
+    public Stream<GeneratedObject> generateData(Profile profile) {
+        planAhead(profile);
+
+        List<Stream<GeneratedObject>> pipelineStreams = pipelines.stream()
+            .map(pipeline -> prefetch(() -> pipeline.generateData(profile), WORKERS, handoffSize))
+            .collect(Collectors.toList());
+
+        Iterator<GeneratedObject> iterator = new RoundRobinIterator(pipelineStreams.stream()
+            .map(Stream::iterator)
+            .collect(Collectors.toList()));
+
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false)
+            .onClose(() -> pipelineStreams.forEach(Stream::close));
+    }
+
+    private void planAhead(Profile profile) {
+        planner.plan(profile);
+        if (profile.getRelationships() == null) {
+            return;
+        }
+
+        // A relationship without a profile is reported when its rows are generated
+        profile.getRelationships().stream()
+            .map(Relationship::getProfile)
+            .filter(Objects::nonNull)
+            .forEach(this::planAhead);
+    }
+
+    private static class RoundRobinIterator implements Iterator<GeneratedObject> {
+        private final List<Iterator<GeneratedObject>> remaining;
+        private int index;
+
+        RoundRobinIterator(List<Iterator<GeneratedObject>> iterators) {
+            this.remaining = new ArrayList<>(iterators);
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!remaining.isEmpty()) {
+                if (remaining.get(index).hasNext()) {
+                    return true;
+                }
+
+                remaining.remove(index);
+                if (index == remaining.size()) {
+                    index = 0;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public GeneratedObject next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            GeneratedObject next = remaining.get(index).next();
+            index = (index + 1) % remaining.size();
+            return next;
+        }
+    }
+}
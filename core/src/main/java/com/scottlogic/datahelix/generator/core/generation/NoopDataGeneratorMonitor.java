@@ -23,4 +23,9 @@ public class NoopDataGeneratorMonitor extends AbstractDataGeneratorMonitor {
         super(new PrintWriter(System.err));
     }
     // don't override any of the default no-op implementations from the interface
+
+    @Override
+    public void rowCheckedForUniqueness(boolean duplicate) {
+        // the uniqueness summary is only reported by the monitors which print progress
+    }
 }
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.datahelix.generator.core.generation;
+
+import java.util.Objects;
+
+/**
+ * The slice of rows, out of the rows of a whole run, which one shard of that run is responsible for producing.
+ * Shards are contiguous and disjoint, and together cover every row of the run in order.
+ */
+public class ShardRange {
+    private final long start;
+    private final long end;
+
+    private ShardRange(long start, long end) {
+        this.start = start;
+        this.end = end;
+    }
+
+    /**
+     * @param totalRows  number of rows in the whole run
+     * @param shardIndex zero-based index of the shard
+     * @param shardCount number of shards the run is split into
+     * @return the rows the given shard is responsible for, sized to within one row of every other shard
+     */
+    public static ShardRange of(long totalRows, int shardIndex, int shardCount) {
+        if (shardCount < 1 || shardIndex < 0 || shardIndex >= shardCount) {
+            throw new IllegalArgumentException(
+                "Shard index " + shardIndex + " is not valid for a shard count of " + shardCount);
+        }
+
+        return new ShardRange(
+            boundary(totalRows, shardIndex, shardCount),
+            boundary(totalRows, shardIndex + 1, shardCount));
+    }
+
+    private static long boundary(long totalRows, long shardIndex, long shardCount) {
+        // equivalent to totalRows * shardIndex / shardCount, without overflowing
+        return (totalRows / shardCount) * shardIndex + ((totalRows % shardCount) * shardIndex) / shardCount;
+    }
+
+    public long getStart() {
+        return start;
+    }
+
+    public long getSize() {
+        return end - start;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ShardRange that = (ShardRange) o;
+        return start == that.start && end == that.end;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(start, end);
+    }
+
+    @Override
+    public String toString() {
+        return "[" + start + ", " + end + ")";
+    }
+}
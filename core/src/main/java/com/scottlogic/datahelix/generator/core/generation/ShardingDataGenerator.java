@@ -0,0 +1,44 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.datahelix.generator.core.generation;
+
+import com.scottlogic.datahelix.generator.common.output.GeneratedObject;
+import com.scottlogic.datahelix.generator.core.profile.Profile;
+
+import java.util.stream.Stream;
+
+public class ShardingDataGenerator implements DataGenerator {
+    private final DataGenerator dataGenerator;
+    private final long rowsToSkip;
+    private final long rowsToEmit;
+
+    //created by DataGeneratorProvider
+    public ShardingDataGenerator(
+        DataGenerator dataGenerator,
+        long rowsToSkip,
+        long rowsToEmit) {
+        this.dataGenerator = dataGenerator;
+        this.rowsToSkip = rowsToSkip;
+        this.rowsToEmit = rowsToEmit;
+    }
+
+    @Override
+    public Stream<GeneratedObject> generateData(Profile profile) {
+        return dataGenerator.generateData(profile, rowsToSkip)
+            .limit(rowsToEmit);
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.datahelix.generator.core.generation;
+
+import com.scottlogic.datahelix.generator.common.output.GeneratedObject;
+import com.scottlogic.datahelix.generator.common.profile.Field;
+import com.scottlogic.datahelix.generator.core.generation.uniqueness.UniqueValueTracker;
+import com.scottlogic.datahelix.generator.core.profile.Profile;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Drops any row which repeats a value already emitted for one of the profile's unique fields, whichever way the value
+ * was produced. Null values are not tracked. Stops once too many rows in a row have been dropped, as the unique
+ * fields have then most likely run out of values.
+ */
+public class UniqueFieldsDataGenerator implements DataGenerator {
+    private final DataGenerator dataGenerator;
+    private final Supplier<UniqueValueTracker> trackerFactory;
+    private final DataGeneratorMonitor monitor;
+    private final int maxConsecutiveRejections;
+
+    //created by DataGeneratorProvider
+    public UniqueFieldsDataGenerator(
+        DataGenerator dataGenerator,
+        Supplier<UniqueValueTracker> trackerFactory,
+        DataGeneratorMonitor monitor,
+        int maxConsecutiveRejections) {
+        this.dataGenerator = dataGenerator;
+        this.trackerFactory = trackerFactory;
+        this.monitor = monitor;
+        this.maxConsecutiveRejections = maxConsecutiveRejections;
+    }
+
+    @Override
+    public Stream<GeneratedObject> generateData(Profile profile) {
+        List<Field> uniqueFields = profile.getFields().stream()
+            .filter(Field::isUnique)
+            .collect(Collectors.toList());
+        Stream<GeneratedObject> rows = dataGenerator.generateData(profile);
+        if (uniqueFields.isEmpty()) {
+            return rows;
+        }
+
+        List<UniqueValueTracker> trackers = uniqueFields.stream()
+            .map(field -> trackerFactory.get())
+            .collect(Collectors.toList());
+        UniqueRowSpliterator spliterator = new UniqueRowSpliterator(rows.iterator(), uniqueFields, trackers);
+        return StreamSupport.stream(spliterator, false)
+            .onClose(() -> {
+                trackers.forEach(UniqueValueTracker::close);
+                rows.close();
+            });
+    }
+
+    private class UniqueRowSpliterator extends Spliterators.AbstractSpliterator<GeneratedObject> {
+        private final Iterator<GeneratedObject> rows;
+        private final List<Field> uniqueFields;
+        private final List<UniqueValueTracker> trackers;
+
+        UniqueRowSpliterator(Iterator<GeneratedObject> rows, List<Field> uniqueFields, List<UniqueValueTracker> trackers) {
+            super(Long.MAX_VALUE, ORDERED | NONNULL);
+            this.rows = rows;
+            this.uniqueFields = uniqueFields;
+            this.trackers = trackers;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super GeneratedObject> action) {
+            for (int rejections = 0; rows.hasNext(); ) {
+                GeneratedObject row = rows.next();
+                boolean duplicate = isDuplicate(row);
+                monitor.rowCheckedForUniqueness(duplicate);
+                if (!duplicate) {
+                    track(row);
+                    action.accept(row);
+                    return true;
+                }
+
+                if (++rejections >= maxConsecutiveRejections) {
+                    monitor.addLineToPrintAtEndOfGeneration(
+                        "Stopped after " + rejections + " consecutive rows repeated a value of a unique field; " +
+                            "the unique fields may have run out of values.");
+                    return false;
+                }
+            }
+            return false;
+        }
+
+        private boolean isDuplicate(GeneratedObject row) {
+            for (int i = 0; i < uniqueFields.size(); i++) {
+                Object value = row.getValue(uniqueFields.get(i));
+                if (value != null && trackers.get(i).contains(value)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void track(GeneratedObject row) {
+            for (int i = 0; i < uniqueFields.size(); i++) {
+                Object value = row.getValue(uniqueFields.get(i));
+                if (value != null) {
+                    trackers.get(i).add(value);
+                }
+            }
+        }
+    }
+}
@@ -23,4 +23,21 @@ import java.util.stream.Stream;
 
 public interface CombinationStrategy {
     Stream<DataBag> permute(Stream<Supplier<Stream<DataBag>>> dataBagSequences);
+
+    /**
+     * Produce the combinations of {@link #permute(Stream)} after the first few, which strategies that can work out
+     * where a combination falls reach without producing the combinations before it
+     * @param skip number of combinations to leave out
+     */
+    default Stream<DataBag> permute(Stream<Supplier<Stream<DataBag>>> dataBagSequences, long skip) {
+        return permute(dataBagSequences).skip(skip);
+    }
+
+    /**
+     * @param limit the most combinations to count; counting stops once this many have been found
+     * @return the number of combinations {@link #permute(Stream)} would produce, up to the limit
+     */
+    default long count(Stream<Supplier<Stream<DataBag>>> dataBagSequences, long limit) {
+        return permute(dataBagSequences).limit(limit).count();
+    }
 }
@@ -19,7 +19,9 @@ package com.scottlogic.datahelix.generator.core.generation.combinationstrategies
 import com.scottlogic.datahelix.generator.core.generation.databags.DataBag;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static com.scottlogic.datahelix.generator.common.util.FlatMappingSpliterator.flatMap;
@@ -30,6 +32,55 @@ public class ExhaustiveCombinationStrategy implements CombinationStrategy {
         return flatten(dataBagSequences.iterator()).get();
     }
 
+    /**
+     * Every bag of the first sequence is combined with every combination of the others, so whole bags of the first
+     * sequence are skipped at a time, and only the others need to be counted
+     */
+    @Override
+    public Stream<DataBag> permute(Stream<Supplier<Stream<DataBag>>> dataBagSequences, long skip) {
+        return skip(dataBagSequences.collect(Collectors.toList()), skip);
+    }
+
+    @Override
+    public long count(Stream<Supplier<Stream<DataBag>>> dataBagSequences, long limit) {
+        long count = 1;
+        for (Supplier<Stream<DataBag>> dataBags : (Iterable<Supplier<Stream<DataBag>>>) dataBagSequences::iterator) {
+            long sequenceCount = dataBags.get().limit(limit).count();
+            if (sequenceCount == 0) {
+                return 0;
+            }
+            count = count > limit / sequenceCount ? limit : Math.min(count * sequenceCount, limit);
+        }
+        return count;
+    }
+
+    private Stream<DataBag> skip(List<Supplier<Stream<DataBag>>> dataBagSequences, long skip) {
+        if (skip == 0) {
+            return flatten(dataBagSequences.iterator()).get();
+        }
+
+        Supplier<Stream<DataBag>> firstDataBagStream = dataBagSequences.get(0);
+        if (dataBagSequences.size() == 1) {
+            return firstDataBagStream.get().skip(skip);
+        }
+
+        List<Supplier<Stream<DataBag>>> otherSequences = dataBagSequences.subList(1, dataBagSequences.size());
+        long otherCombinations = count(otherSequences.stream(), skip + 1);
+        if (otherCombinations == 0) {
+            return Stream.empty();
+        }
+
+        Supplier<Stream<DataBag>> otherDataBags = flatten(otherSequences.iterator());
+        long remainder = skip % otherCombinations;
+        AtomicBoolean first = new AtomicBoolean(true);
+        return flatMap(
+            firstDataBagStream.get().skip(skip / otherCombinations),
+            currentBag ->
+                (first.getAndSet(false) ? skip(otherSequences, remainder) : otherDataBags.get())
+                    .map(subBag ->
+                        DataBag.merge(currentBag, subBag)));
+    }
+
     public Supplier<Stream<DataBag>> flatten(Iterator<Supplier<Stream<DataBag>>> remainingBags) {
         Supplier<Stream<DataBag>> firstDataBagStream = remainingBags.next();
 
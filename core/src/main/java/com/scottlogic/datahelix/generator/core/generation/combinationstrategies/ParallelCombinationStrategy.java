@@ -0,0 +1,96 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.datahelix.generator.core.generation.combinationstrategies;
+
+import com.scottlogic.datahelix.generator.core.generation.databags.DataBag;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static com.scottlogic.datahelix.generator.common.util.PrefetchingSpliterator.prefetch;
+
+/**
+ * Decorates another combination strategy so that partitions are walked on worker threads, each filling a bounded
+ * queue ahead of the underlying strategy. The underlying strategy combines the partitions in the same order as it
+ * would sequentially, and each partition is walked with its own random number generator, so the output is unchanged.
+ *
+ * Only partitions which the underlying strategy walks once are given a worker. The exhaustive strategy walks every
+ * inner partition again for each row of the outer one, so only its outermost partition is. A partition is walked on
+ * the consuming thread when every worker is busy.
+ */
+public class ParallelCombinationStrategy implements CombinationStrategy {
+    private final CombinationStrategy underlyingStrategy;
+    private final PartitionWorkers workers;
+    private final int prefetchSize;
+    private final boolean outermostPartitionOnly;
+
+    /**
+     * @param underlyingStrategy     strategy to combine the partitions with
+     * @param workers                workers to walk partitions on
+     * @param prefetchSize           number of rows each worker may produce ahead of the underlying strategy
+     * @param outermostPartitionOnly true if the underlying strategy walks any but the first partition more than once
+     */
+    public ParallelCombinationStrategy(
+        CombinationStrategy underlyingStrategy,
+        PartitionWorkers workers,
+        int prefetchSize,
+        boolean outermostPartitionOnly) {
+        this.underlyingStrategy = underlyingStrategy;
+        this.workers = workers;
+        this.prefetchSize = prefetchSize;
+        this.outermostPartitionOnly = outermostPartitionOnly;
+    }
+
+    @Override
+    public Stream<DataBag> permute(Stream<Supplier<Stream<DataBag>>> dataBagSequences) {
+        // The underlying strategies never close the partitions they consume, so the workers started for this
+        // combination are stopped when it is closed
+        List<Stream<DataBag>> started = new ArrayList<>();
+        return permute(dataBagSequences, started).onClose(() -> started.forEach(Stream::close));
+    }
+
+    private Stream<DataBag> permute(Stream<Supplier<Stream<DataBag>>> dataBagSequences, List<Stream<DataBag>> started) {
+        if (!outermostPartitionOnly) {
+            return underlyingStrategy.permute(dataBagSequences.map(sequence -> prefetching(sequence, started)));
+        }
+
+        Iterator<Supplier<Stream<DataBag>>> sequences = dataBagSequences.iterator();
+        if (!sequences.hasNext()) {
+            return underlyingStrategy.permute(Stream.empty());
+        }
+
+        Supplier<Stream<DataBag>> outermost = prefetching(sequences.next(), started);
+        Stream.Builder<Supplier<Stream<DataBag>>> builder = Stream.<Supplier<Stream<DataBag>>>builder().add(outermost);
+        sequences.forEachRemaining(builder);
+        return underlyingStrategy.permute(builder.build());
+    }
+
+    private Supplier<Stream<DataBag>> prefetching(
+        Supplier<Stream<DataBag>> dataBagSequence,
+        List<Stream<DataBag>> started) {
+        return () -> {
+            Stream<DataBag> stream = workers.reserve()
+                .map(worker -> prefetch(dataBagSequence, worker, prefetchSize))
+                .orElseGet(dataBagSequence);
+            started.add(stream);
+            return stream;
+        };
+    }
+}
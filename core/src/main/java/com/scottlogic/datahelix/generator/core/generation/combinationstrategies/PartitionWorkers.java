@@ -0,0 +1,65 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.datahelix.generator.core.generation.combinationstrategies;
+
+import com.google.inject.Inject;
+import com.google.inject.name.Named;
+
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+/**
+ * A fixed number of worker threads, shared by every {@link ParallelCombinationStrategy} in a run. Work is only ever
+ * given to an idle worker and never queued, because a partition of random data never ends: one queued behind it
+ * would never start, and the rows waiting on it would never be produced.
+ */
+public class PartitionWorkers {
+    private final ExecutorService executor;
+    private final Semaphore idleWorkers;
+
+    @Inject
+    public PartitionWorkers(@Named("config:partitionWorkerCount") int workerCount) {
+        this.executor = Executors.newFixedThreadPool(workerCount, runnable -> {
+            Thread thread = new Thread(runnable, "datahelix-partition-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.idleWorkers = new Semaphore(workerCount);
+    }
+
+    /**
+     * Reserve an idle worker
+     * @return an executor which runs exactly one task on the reserved worker, freeing it when the task ends, or empty
+     * if every worker is busy
+     */
+    Optional<Executor> reserve() {
+        if (!idleWorkers.tryAcquire()) {
+            return Optional.empty();
+        }
+
+        return Optional.of(task -> executor.execute(() -> {
+            try {
+                task.run();
+            } finally {
+                idleWorkers.release();
+            }
+        }));
+    }
+}
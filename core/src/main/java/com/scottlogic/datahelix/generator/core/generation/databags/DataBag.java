@@ -16,22 +16,47 @@
 
 package com.scottlogic.datahelix.generator.core.generation.databags;
 
-import com.scottlogic.datahelix.generator.common.output.GeneratedObject;
+import com.scottlogic.datahelix.generator.common.output.IndexedGeneratedObject;
+import com.scottlogic.datahelix.generator.common.output.ValueFormatter;
 import com.scottlogic.datahelix.generator.common.profile.Field;
-import com.scottlogic.datahelix.generator.common.profile.FieldType;
-import com.scottlogic.datahelix.generator.common.util.FlatMappingSpliterator;
+import com.scottlogic.datahelix.generator.common.profile.FieldSchema;
 
-import java.math.BigDecimal;
 import java.util.*;
 
+/**
+ * The values generated for some or all of the fields of a profile, held in an array indexed by the ordinal of each
+ * field in a {@link FieldSchema}. Bags built against the same schema are merged by copying arrays.
+ */
+public class DataBag implements IndexedGeneratedObject {
+    public static final DataBag empty = new DataBag(FieldSchema.EMPTY, new DataBagValue[0]);
 
-public class DataBag implements GeneratedObject {
-    public static final DataBag empty = new DataBag(new HashMap<>());
-
-    private final Map<Field, DataBagValue> fieldToValue;
+    private final FieldSchema schema;
+    private final DataBagValue[] values;
 
     public DataBag(Map<Field, DataBagValue> fieldToValue) {
-        this.fieldToValue = fieldToValue;
+        this.schema = new FieldSchema(fieldToValue.keySet());
+        this.values = new DataBagValue[schema.size()];
+        fieldToValue.forEach((field, value) -> values[schema.ordinalOf(field)] = value);
+    }
+
+    private DataBag(FieldSchema schema, DataBagValue[] values) {
+        this.schema = schema;
+        this.values = values;
+    }
+
+    /**
+     * Create a bag holding a value for a single field, indexed by the given schema so it can later be merged with
+     * other bags of the same schema by ordinal
+     */
+    public static DataBag of(FieldSchema schema, Field field, DataBagValue value) {
+        int ordinal = schema.ordinalOf(field);
+        if (ordinal < 0) {
+            return new DataBag(Collections.singletonMap(field, value));
+        }
+
+        DataBagValue[] values = new DataBagValue[schema.size()];
+        values[ordinal] = value;
+        return new DataBag(schema, values);
     }
 
     @Override
@@ -41,39 +66,45 @@ public class DataBag implements GeneratedObject {
 
     @Override
     public Object getFormattedValue(Field field) {
-        Object value = getValue(field);
-        String formatting = field.getFormatting();
+        return ValueFormatter.format(field, getValue(field));
+    }
 
-        if (formatting == null || value == null) {
-            return value;
+    @Override
+    public Object getValue(FieldSchema schema, int ordinal) {
+        if (schema != this.schema) {
+            return getValue(schema.getField(ordinal));
         }
 
-        try
-        {
-            if (field.getType() == FieldType.NUMERIC && (formatting.contains("d") || formatting.contains("x") || formatting.contains("o")))
-            {
-                long l = ((BigDecimal) value).longValueExact();
-                return String.format(formatting, l);
-            }
-            if (field.getType() == FieldType.NUMERIC && (formatting.contains("a")))
-            {
-                double d = ((BigDecimal) value).doubleValue();
-                return String.format(formatting, d);
-            }
-            return String.format(formatting, value);
-        }
-        catch (IllegalFormatException e)
-        {
-            return value;
+        DataBagValue value = values[ordinal];
+        if (value == null) {
+            throw new IllegalStateException("DataBag has no value stored for " + schema.getField(ordinal));
         }
+
+        return value.getValue();
+    }
+
+    @Override
+    public Object getFormattedValue(FieldSchema schema, int ordinal) {
+        return ValueFormatter.format(schema.getField(ordinal), getValue(schema, ordinal));
     }
 
     public DataBagValue getDataBagValue(Field field) {
-        if (!fieldToValue.containsKey(field)) {
+        int ordinal = schema.ordinalOf(field);
+        if (ordinal < 0 || values[ordinal] == null) {
             throw new IllegalStateException("DataBag has no value stored for " + field);
         }
 
-        return fieldToValue.get(field);
+        return values[ordinal];
+    }
+
+    private Map<Field, DataBagValue> toMap() {
+        Map<Field, DataBagValue> fieldToValue = new HashMap<>();
+        for (int ordinal = 0; ordinal < values.length; ordinal++) {
+            if (values[ordinal] != null) {
+                fieldToValue.put(schema.getField(ordinal), values[ordinal]);
+            }
+        }
+        return fieldToValue;
     }
 
     @Override
@@ -81,39 +112,83 @@ public class DataBag implements GeneratedObject {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         DataBag generatedObject = (DataBag) o;
-        return Objects.equals(fieldToValue, generatedObject.fieldToValue);
+        if (schema == generatedObject.schema) {
+            return Arrays.equals(values, generatedObject.values);
+        }
+        return Objects.equals(toMap(), generatedObject.toMap());
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(fieldToValue);
+        return Objects.hash(toMap());
     }
 
     public static DataBag merge(DataBag... bags) {
+        FieldSchema sharedSchema = null;
+        for (DataBag bag : bags) {
+            if (bag.values.length == 0) {
+                continue;
+            }
+            if (sharedSchema == null) {
+                sharedSchema = bag.schema;
+            } else if (sharedSchema != bag.schema) {
+                return mergeFieldByField(bags);
+            }
+        }
+
+        if (sharedSchema == null) {
+            return empty;
+        }
+
+        DataBagValue[] mergedValues = new DataBagValue[sharedSchema.size()];
+        for (DataBag bag : bags) {
+            DataBagValue[] values = bag.values;
+            for (int ordinal = 0; ordinal < values.length; ordinal++) {
+                if (values[ordinal] == null) {
+                    continue;
+                }
+                if (mergedValues[ordinal] != null) {
+                    throw overlapOn(sharedSchema.getField(ordinal));
+                }
+                mergedValues[ordinal] = values[ordinal];
+            }
+        }
+
+        return new DataBag(sharedSchema, mergedValues);
+    }
+
+    private static DataBag mergeFieldByField(DataBag... bags) {
         Map<Field, DataBagValue> newFieldToValue = new HashMap<>();
 
-        FlatMappingSpliterator.flatMap(Arrays.stream(bags)
-            .map(r -> r.fieldToValue.entrySet().stream()),
-            entrySetStream -> entrySetStream)
-            .forEach(entry -> {
-                if (newFieldToValue.containsKey(entry.getKey()))
-                    throw new IllegalArgumentException("Databags can't be merged because they overlap on field " + entry.getKey().getName());
+        for (DataBag bag : bags) {
+            bag.toMap().forEach((field, value) -> {
+                if (newFieldToValue.containsKey(field))
+                    throw overlapOn(field);
 
-                newFieldToValue.put(entry.getKey(), entry.getValue());
+                newFieldToValue.put(field, value);
             });
+        }
 
         return new DataBag(newFieldToValue);
     }
 
+    private static IllegalArgumentException overlapOn(Field field) {
+        return new IllegalArgumentException("Databags can't be merged because they overlap on field " + field.getName());
+    }
+
     @Override
     public String toString() {
         return "DataBag{" +
-            "fieldToValue=" + fieldToValue +
+            "fieldToValue=" + toMap() +
             '}';
     }
 
     public boolean isUnique(){
-        return fieldToValue.keySet().stream()
-            .anyMatch(Field::isUnique);
+        for (int ordinal = 0; ordinal < values.length; ordinal++) {
+            if (values[ordinal] != null && schema.getField(ordinal).isUnique()) {
+                return true;
+            }
+        }
+        return false;
     }
 }
@@ -38,11 +38,27 @@ public class RowSpecDataBagGenerator {
     }
 
     public Stream<DataBag> createDataBags(RowSpec rowSpec) {
-        Stream<Supplier<Stream<DataBag>>> dataBagsForGroups =
-            RowSpecGrouper.createGroups(rowSpec).stream()
-                .map(group -> () -> generator.generate(group));
+        return combinationStrategy.permute(dataBagsForGroups(rowSpec));
+    }
+
+    /**
+     * @param skip number of the row spec's data bags to leave out
+     */
+    public Stream<DataBag> createDataBags(RowSpec rowSpec, long skip) {
+        return combinationStrategy.permute(dataBagsForGroups(rowSpec), skip);
+    }
+
+    /**
+     * @param limit the most data bags to count
+     * @return the number of data bags {@link #createDataBags(RowSpec)} would produce, up to the limit
+     */
+    public long countDataBags(RowSpec rowSpec, long limit) {
+        return combinationStrategy.count(dataBagsForGroups(rowSpec), limit);
+    }
 
-        return combinationStrategy.permute(dataBagsForGroups);
+    private Stream<Supplier<Stream<DataBag>>> dataBagsForGroups(RowSpec rowSpec) {
+        return RowSpecGrouper.createGroups(rowSpec).stream()
+            .map(group -> () -> generator.generate(group));
     }
 
 }
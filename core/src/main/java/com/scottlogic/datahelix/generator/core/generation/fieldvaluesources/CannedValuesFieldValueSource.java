@@ -18,6 +18,7 @@ package com.scottlogic.datahelix.generator.core.generation.fieldvaluesources;
 
 import com.scottlogic.datahelix.generator.common.whitelist.DistributedList;
 import com.scottlogic.datahelix.generator.common.RandomNumberGenerator;
+import com.scottlogic.datahelix.generator.core.utils.IndexPermutation;
 
 import java.util.Objects;
 import java.util.stream.Stream;
@@ -39,6 +40,13 @@ public class CannedValuesFieldValueSource implements FieldValueSource {
         return Stream.generate(() -> pickFromDistribution(randomNumberGenerator));
     }
 
+    @Override
+    public Stream<Object> generateUniqueRandomValues(long key, long offset, int stride) {
+        return new IndexPermutation(allValues.size(), key)
+            .permutedIndexes(offset, stride)
+            .mapToObj(index -> allValues.get((int) index));
+    }
+
     private Object pickFromDistribution(RandomNumberGenerator random) {
         return allValues.pickRandomly(random);
     }
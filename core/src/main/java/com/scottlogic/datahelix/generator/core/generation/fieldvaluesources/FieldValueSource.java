@@ -23,6 +23,33 @@ import java.util.stream.Stream;
 public interface FieldValueSource<T> {
     Stream<T> generateAllValues();
 
+    /**
+     * Produce every stride-th value of {@link #generateAllValues()}, starting from the value at the given offset.
+     * Sources which can reach a value by its position, without producing the values before it, should override this.
+     * @param offset position of the first value to produce
+     * @param stride distance between the positions of consecutive values, must be positive
+     */
+    default Stream<T> generateAllValues(long offset, int stride) {
+        Stream<T> values = generateAllValues().skip(offset);
+        if (stride == 1) {
+            return values;
+        }
+
+        long[] position = {0};
+        return values.filter(value -> position[0]++ % stride == 0);
+    }
+
+    /**
+     * Produce the same values as {@link #generateAllValues(long, int)}, each once, in a pseudo-random order.
+     * Sources which can reach a value by its position should override this; others produce the values in order.
+     * @param key    seed for the order, which must be the same for every stream sharing the values by offset and stride
+     * @param offset position of the first value to produce
+     * @param stride distance between the positions of consecutive values, must be positive
+     */
+    default Stream<T> generateUniqueRandomValues(long key, long offset, int stride) {
+        return generateAllValues(offset, stride);
+    }
+
     Stream<T> generateRandomValues(RandomNumberGenerator randomNumberGenerator);
 }
 
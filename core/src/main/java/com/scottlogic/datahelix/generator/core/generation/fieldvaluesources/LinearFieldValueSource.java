@@ -19,8 +19,10 @@ package com.scottlogic.datahelix.generator.core.generation.fieldvaluesources;
 import com.scottlogic.datahelix.generator.core.restrictions.linear.LinearRestrictions;
 import com.scottlogic.datahelix.generator.common.RandomNumberGenerator;
 
+import java.util.NavigableSet;
 import java.util.Objects;
 import java.util.Set;
+import java.util.TreeSet;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -30,17 +32,22 @@ public class LinearFieldValueSource<T extends Comparable<T>> implements FieldVal
     private final LinearRestrictions<T> restrictions;
     private final Set<T> blacklist;
 
+    /**
+     * The blacklist ordered by compareTo, which unlike equals treats 2 and 2.0 as the same value
+     */
+    private final NavigableSet<T> sortedBlacklist;
+
     public LinearFieldValueSource(LinearRestrictions<T> restrictions, Set<T> blacklist) {
         this.restrictions = restrictions;
         this.blacklist = blacklist.stream()
             .map(i -> restrictions.getGranularity().trimToGranularity(i))
             .collect(Collectors.toSet());
+        this.sortedBlacklist = new TreeSet<>(this.blacklist);
     }
 
     @Override
     public Stream<T> generateAllValues() {
-        return stream(new LinearIterator<>(restrictions))
-            .filter(this::notInBlacklist);
+        return stream(new LinearIterator<>(restrictions, sortedBlacklist));
     }
 
     @Override
@@ -53,9 +60,8 @@ public class LinearFieldValueSource<T extends Comparable<T>> implements FieldVal
             .filter(this::notInBlacklist);
     }
 
-    // we call this instead of .contains because .contains doesn't treat 2 and 2.0 as equal
     private boolean notInBlacklist(T t) {
-        return blacklist.stream().noneMatch(x->x.compareTo(t)==0);
+        return sortedBlacklist.isEmpty() || !sortedBlacklist.contains(t);
     }
 
     @Override
@@ -18,17 +18,35 @@ package com.scottlogic.datahelix.generator.core.generation.fieldvaluesources;
 
 import com.scottlogic.datahelix.generator.core.restrictions.linear.LinearRestrictions;
 
+import java.util.Collections;
 import java.util.Iterator;
+import java.util.NavigableSet;
 
+/**
+ * Iterates over every value permitted by the restrictions in ascending order, skipping any blacklisted values.
+ * The blacklist is walked alongside the values, so each value is checked in constant time.
+ */
 public class LinearIterator<T extends Comparable<T>> implements Iterator<T> {
     private final LinearRestrictions<T> linearRestrictions;
+    private final Iterator<T> blacklistIterator;
+    private T nextBlacklisted;
     private T next;
     private T current;
 
     public LinearIterator(LinearRestrictions<T> linearRestrictions) {
+        this(linearRestrictions, Collections.emptyNavigableSet());
+    }
+
+    /**
+     * @param blacklist values to skip, ordered consistently with their compareTo
+     */
+    public LinearIterator(LinearRestrictions<T> linearRestrictions, NavigableSet<T> blacklist) {
         this.linearRestrictions = linearRestrictions;
         next = linearRestrictions.getMin();
         current = next;
+        blacklistIterator = blacklist.tailSet(next, true).iterator();
+        nextBlacklisted = blacklistIterator.hasNext() ? blacklistIterator.next() : null;
+        skipBlacklisted();
     }
 
     @Override
@@ -39,8 +57,25 @@ public class LinearIterator<T extends Comparable<T>> implements Iterator<T> {
 
     @Override
     public T next() {
+        T value = next;
         current = next;
         next = linearRestrictions.getGranularity().getNext(next);
-        return current;
+        skipBlacklisted();
+        return value;
+    }
+
+    private void skipBlacklisted() {
+        while (nextBlacklisted != null && hasNext()) {
+            int comparison = nextBlacklisted.compareTo(next);
+            if (comparison > 0) {
+                return;
+            }
+
+            if (comparison == 0) {
+                current = next;
+                next = linearRestrictions.getGranularity().getNext(next);
+            }
+            nextBlacklisted = blacklistIterator.hasNext() ? blacklistIterator.next() : null;
+        }
     }
 }
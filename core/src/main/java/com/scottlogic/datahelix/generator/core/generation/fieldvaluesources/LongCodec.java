@@ -0,0 +1,135 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.datahelix.generator.core.generation.fieldvaluesources;
+
+import com.scottlogic.datahelix.generator.common.profile.DateTimeGranularity;
+import com.scottlogic.datahelix.generator.common.profile.Granularity;
+import com.scottlogic.datahelix.generator.common.profile.NumericGranularity;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Maps the values of a linear type one-to-one onto a range of longs, one long per step of granularity, so that they
+ * can be generated and stepped through without creating an object for every intermediate value.
+ */
+abstract class LongCodec<T> {
+    private static final BigDecimal LONG_MIN = BigDecimal.valueOf(Long.MIN_VALUE);
+    private static final BigDecimal LONG_MAX = BigDecimal.valueOf(Long.MAX_VALUE);
+
+    /**
+     * Get a codec for values of the given granularity
+     * @return the codec, or empty if values of this granularity can't be represented as consecutive longs
+     */
+    @SuppressWarnings("unchecked")
+    static <T> Optional<LongCodec<T>> forGranularity(Granularity<T> granularity) {
+        if (NumericGranularity.INTEGER_DEFAULT.equals(granularity)) {
+            return Optional.of((LongCodec<T>) IntegerCodec.INSTANCE);
+        }
+
+        if (granularity instanceof DateTimeGranularity && !((DateTimeGranularity) granularity).isWorkingDay()) {
+            switch (((DateTimeGranularity) granularity).getChronoUnit()) {
+                case MILLIS:
+                case SECONDS:
+                case MINUTES:
+                case HOURS:
+                case DAYS:
+                    long unitMillis = ((DateTimeGranularity) granularity).getChronoUnit().getDuration().toMillis();
+                    return Optional.of((LongCodec<T>) new FixedUnitDateTimeCodec(unitMillis));
+                default:
+                    // months and years vary in length
+                    return Optional.empty();
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    /**
+     * @return whether the value can be represented, in which case toLong will not overflow
+     */
+    abstract boolean canEncode(T value);
+
+    /**
+     * @return the number of steps from the origin to the value, rounded down
+     */
+    abstract long toLong(T value);
+
+    abstract T fromLong(long value);
+
+    private static final class IntegerCodec extends LongCodec<BigDecimal> {
+        private static final IntegerCodec INSTANCE = new IntegerCodec();
+
+        @Override
+        boolean canEncode(BigDecimal value) {
+            return value.compareTo(LONG_MIN) >= 0 && value.compareTo(LONG_MAX) <= 0;
+        }
+
+        @Override
+        long toLong(BigDecimal value) {
+            return value.setScale(0, RoundingMode.FLOOR).longValueExact();
+        }
+
+        @Override
+        BigDecimal fromLong(long value) {
+            return BigDecimal.valueOf(value);
+        }
+    }
+
+    private static final class FixedUnitDateTimeCodec extends LongCodec<OffsetDateTime> {
+        // epoch milliseconds overflow a long around 292 million years either side of 1970
+        private static final long MAX_YEARS_FROM_EPOCH = 290_000_000L;
+
+        private final long unitMillis;
+
+        FixedUnitDateTimeCodec(long unitMillis) {
+            this.unitMillis = unitMillis;
+        }
+
+        @Override
+        boolean canEncode(OffsetDateTime value) {
+            return Math.abs((long) value.getYear()) < MAX_YEARS_FROM_EPOCH;
+        }
+
+        @Override
+        long toLong(OffsetDateTime value) {
+            return Math.floorDiv(value.toInstant().toEpochMilli(), unitMillis);
+        }
+
+        @Override
+        OffsetDateTime fromLong(long value) {
+            return OffsetDateTime.ofInstant(Instant.ofEpochMilli(value * unitMillis), ZoneOffset.UTC);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            return unitMillis == ((FixedUnitDateTimeCodec) o).unitMillis;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(unitMillis);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.datahelix.generator.core.generation.fieldvaluesources;
+
+import com.scottlogic.datahelix.generator.common.RandomNumberGenerator;
+import com.scottlogic.datahelix.generator.core.restrictions.linear.LinearRestrictions;
+import com.scottlogic.datahelix.generator.core.utils.IndexPermutation;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * Generates the same values as a {@link LinearFieldValueSource}, for integers and for datetimes with a fixed length
+ * granularity, by stepping through and picking from a range of longs. Values are only created as they are emitted,
+ * rather than for every step and every blacklist check.
+ */
+public class LongLinearFieldValueSource<T> implements FieldValueSource<T> {
+    private final LongCodec<T> codec;
+    private final long min;
+    private final long max;
+    private final long[] blacklist;
+
+    private LongLinearFieldValueSource(LongCodec<T> codec, long min, long max, long[] blacklist) {
+        this.codec = codec;
+        this.min = min;
+        this.max = max;
+        this.blacklist = blacklist;
+    }
+
+    /**
+     * Create a source for the given restrictions if they can be represented as a range of longs
+     * @return the source, or empty if the restrictions need a {@link LinearFieldValueSource}
+     */
+    public static <T extends Comparable<T>> Optional<FieldValueSource<T>> create(LinearRestrictions<T> restrictions, Set<T> blacklist) {
+        Optional<LongCodec<T>> optionalCodec = LongCodec.forGranularity(restrictions.getGranularity());
+        if (!optionalCodec.isPresent()) {
+            return Optional.empty();
+        }
+
+        LongCodec<T> codec = optionalCodec.get();
+        if (!codec.canEncode(restrictions.getMin()) || !codec.canEncode(restrictions.getMax())) {
+            return Optional.empty();
+        }
+
+        long min = codec.toLong(restrictions.getMin());
+        long max = codec.toLong(restrictions.getMax());
+
+        // values are stepped from the minimum, so it must fall exactly on a step for the values to be the same
+        if (!codec.fromLong(min).equals(restrictions.getMin()) || max < min || !rangeSizeFitsInLong(min, max)) {
+            return Optional.empty();
+        }
+
+        long[] blacklisted = blacklist.stream()
+            .map(value -> restrictions.getGranularity().trimToGranularity(value))
+            .filter(codec::canEncode)
+            .mapToLong(codec::toLong)
+            .filter(value -> value >= min && value <= max)
+            .sorted()
+            .distinct()
+            .toArray();
+
+        return Optional.of(new LongLinearFieldValueSource<>(codec, min, max, blacklisted));
+    }
+
+    private static boolean rangeSizeFitsInLong(long min, long max) {
+        try {
+            Math.addExact(Math.subtractExact(max, min), 1);
+            return true;
+        } catch (ArithmeticException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public Stream<T> generateAllValues() {
+        return withoutBlacklisted(LongStream.rangeClosed(min, max))
+            .mapToObj(codec::fromLong);
+    }
+
+    @Override
+    public Stream<T> generateRandomValues(RandomNumberGenerator randomNumberGenerator) {
+        // the size of the range is checked to fit in a long on creation, whereas max + 1 overflows at Long.MAX_VALUE
+        long size = max - min + 1;
+        return withoutBlacklisted(LongStream.generate(() -> min + randomNumberGenerator.nextLong(0, size)))
+            .mapToObj(codec::fromLong);
+    }
+
+    @Override
+    public Stream<T> generateUniqueRandomValues(long key, long offset, int stride) {
+        LongStream positions = new IndexPermutation(max - min + 1, key).permutedIndexes(offset, stride);
+        return withoutBlacklisted(positions.map(position -> min + position))
+            .mapToObj(codec::fromLong);
+    }
+
+    private LongStream withoutBlacklisted(LongStream values) {
+        return blacklist.length == 0
+            ? values
+            : values.filter(value -> Arrays.binarySearch(blacklist, value) < 0);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+
+        LongLinearFieldValueSource<?> otherSource = (LongLinearFieldValueSource<?>) obj;
+        return min == otherSource.min &&
+            max == otherSource.max &&
+            codec.equals(otherSource.codec) &&
+            Arrays.equals(blacklist, otherSource.blacklist);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(codec, min, max, Arrays.hashCode(blacklist));
+    }
+}
@@ -36,6 +36,14 @@ public class NullAppendingValueSource<T> implements FieldValueSource<T> {
             nullOnly.stream());
     }
 
+    @Override
+    public Stream<T> generateUniqueRandomValues(long key, long offset, int stride) {
+        // the null comes last, so only the stream starting from the first position emits it
+        return Stream.concat(
+            underlyingSource.generateUniqueRandomValues(key, offset, stride),
+            offset == 0 ? nullOnly.stream() : Stream.empty());
+    }
+
     @Override
     public Stream<T> generateRandomValues(RandomNumberGenerator randomNumberGenerator) {
         Iterator<T> randomValues = underlyingSource.generateRandomValues(randomNumberGenerator).iterator();
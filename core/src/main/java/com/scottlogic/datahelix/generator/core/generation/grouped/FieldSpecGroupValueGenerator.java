@@ -38,12 +38,20 @@ import static com.scottlogic.datahelix.generator.common.util.FlatMappingSplitera
 public class FieldSpecGroupValueGenerator {
     private final CombinationStrategyType combinationStrategy;
     private final FieldSpecValueGenerator underlyingGenerator;
-    private final FieldSpecMerger fieldSpecMerger = new FieldSpecMerger();
+    private final FieldSpecMerger fieldSpecMerger;
 
-    @Inject
     public FieldSpecGroupValueGenerator(FieldSpecValueGenerator underlyingGenerator, CombinationStrategyType combinationStrategy) {
+        this(underlyingGenerator, combinationStrategy, new FieldSpecMerger());
+    }
+
+    @Inject
+    public FieldSpecGroupValueGenerator(
+        FieldSpecValueGenerator underlyingGenerator,
+        CombinationStrategyType combinationStrategy,
+        FieldSpecMerger fieldSpecMerger) {
         this.underlyingGenerator = underlyingGenerator;
         this.combinationStrategy = combinationStrategy;
+        this.fieldSpecMerger = fieldSpecMerger;
     }
 
     public Stream<DataBag> generate(FieldSpecGroup group) {
@@ -51,13 +59,13 @@ public class FieldSpecGroupValueGenerator {
 
         if (group.fieldSpecs().size() == 1) {
             return underlyingGenerator.generate(first, group.fieldSpecs().get(first))
-                .map(val -> toDataBag(first, val));
+                .map(val -> DataBag.of(group.schema(), first, val));
         }
 
         FieldSpec firstSpec = updateFirstSpecFromRelations(first, group);
 
         Stream<DataBag> firstDataBagValues = underlyingGenerator.generate(first, firstSpec)
-            .map(value -> toDataBag(first, value));
+            .map(value -> DataBag.of(group.schema(), first, value));
 
         return flatMap(
             firstDataBagValues,
@@ -143,7 +151,7 @@ public class FieldSpecGroupValueGenerator {
 
         Map<Field, FieldSpec> newFieldSpecs = applyGranularitiesToFieldSpecs(group.fieldSpecs(), newFieldSpecsDefaultGranularities);
 
-        return new FieldSpecGroup(newFieldSpecs, nonUpdatedRelations);
+        return new FieldSpecGroup(newFieldSpecs, nonUpdatedRelations, group.schema());
     }
 
     private Map<Field, FieldSpec> applyGranularitiesToFieldSpecs(Map<Field, FieldSpec> original, Map<Field, FieldSpec> withoutGranularities) {
@@ -191,15 +199,9 @@ public class FieldSpecGroupValueGenerator {
         }
     }
 
-    private DataBag toDataBag(Field field, DataBagValue value) {
-        Map<Field, DataBagValue> map = new HashMap<>();
-        map.put(field, value);
-        return new DataBag(map);
-    }
-
     private FieldSpecGroup removeSpecFromGroup(Field first, FieldSpecGroup group) {
         HashMap<Field, FieldSpec> newFieldSpecs = new HashMap<>(group.fieldSpecs());
         newFieldSpecs.remove(first);
-        return new FieldSpecGroup(newFieldSpecs, group.relations());
+        return new FieldSpecGroup(newFieldSpecs, group.relations(), group.schema());
     }
 }
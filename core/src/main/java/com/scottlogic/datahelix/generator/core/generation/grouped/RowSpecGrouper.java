@@ -113,7 +113,7 @@ public class RowSpecGrouper {
         Map<Field, FieldSpec> fieldSpecMap = fields.stream()
             .collect(Collectors.toMap(field -> field, rowSpec::getSpecForField));
 
-        return new FieldSpecGroup(fieldSpecMap, relations);
+        return new FieldSpecGroup(fieldSpecMap, relations, rowSpec.getFields().getSchema());
     }
 
     private static <T> void addToBoth(T element, Collection<T> first, Collection<T> second) {
@@ -17,10 +17,12 @@
 package com.scottlogic.datahelix.generator.core.generation.relationships;
 
 import com.scottlogic.datahelix.generator.common.profile.Field;
+import com.scottlogic.datahelix.generator.common.profile.FieldSchema;
 import com.scottlogic.datahelix.generator.common.profile.FieldType;
 import com.scottlogic.datahelix.generator.common.profile.Fields;
 import com.scottlogic.datahelix.generator.common.profile.SpecificFieldType;
 
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 import java.util.stream.Stream;
@@ -33,9 +35,11 @@ public class ExtentAugmentedFields implements Fields {
     private static final Field max = new Field(maxField, integer, false, null, false, true, null);
 
     private final Fields underlying;
+    private final FieldSchema schema;
 
     public ExtentAugmentedFields(Fields fields) {
         this.underlying = fields;
+        this.schema = new FieldSchema(Arrays.asList(stream().toArray(Field[]::new)));
     }
 
     @Override
@@ -73,6 +77,11 @@ public class ExtentAugmentedFields implements Fields {
         return underlying.asList();
     }
 
+    @Override
+    public FieldSchema getSchema() {
+        return schema;
+    }
+
     @Override
     public Iterator<Field> iterator() {
         return underlying.iterator();
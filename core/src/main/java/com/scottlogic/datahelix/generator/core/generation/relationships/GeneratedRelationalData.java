@@ -17,15 +17,17 @@
 package com.scottlogic.datahelix.generator.core.generation.relationships;
 
 import com.scottlogic.datahelix.generator.common.output.GeneratedObject;
+import com.scottlogic.datahelix.generator.common.output.IndexedGeneratedObject;
 import com.scottlogic.datahelix.generator.common.output.RelationalGeneratedObject;
 import com.scottlogic.datahelix.generator.common.output.SubGeneratedObject;
 import com.scottlogic.datahelix.generator.common.profile.Field;
+import com.scottlogic.datahelix.generator.common.profile.FieldSchema;
 import com.scottlogic.datahelix.generator.core.profile.relationships.Relationship;
 
 import java.util.HashMap;
 import java.util.Map;
 
-public class GeneratedRelationalData implements GeneratedObject, RelationalGeneratedObject {
+public class GeneratedRelationalData implements IndexedGeneratedObject, RelationalGeneratedObject {
     private final GeneratedObject underlyingObject;
     private final Map<String, SubGeneratedObject> subObjects = new HashMap<>();
 
@@ -38,6 +40,16 @@ public class GeneratedRelationalData implements GeneratedObject, RelationalGener
         return underlyingObject.getFormattedValue(field);
     }
 
+    @Override
+    public Object getFormattedValue(FieldSchema schema, int ordinal) {
+        return IndexedGeneratedObject.formattedValueOf(underlyingObject, schema, ordinal);
+    }
+
+    @Override
+    public Object getValue(FieldSchema schema, int ordinal) {
+        return IndexedGeneratedObject.valueOf(underlyingObject, schema, ordinal);
+    }
+
     @Override
     public Object getValue(Field field) {
         return underlyingObject.getValue(field);
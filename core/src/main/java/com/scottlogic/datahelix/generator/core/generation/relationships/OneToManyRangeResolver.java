@@ -32,14 +32,15 @@ import com.scottlogic.datahelix.generator.core.walker.pruner.Merged;
 import com.scottlogic.datahelix.generator.core.walker.pruner.TreePruner;
 
 import java.math.BigDecimal;
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.Collections;
+import java.util.*;
 
 public class OneToManyRangeResolver {
     private final DecisionTreeFactory factory;
     private final TreePruner treePruner;
 
+    // The extents of a relationship are resolved for every parent row, so the tree for them is only built once
+    private final Map<Collection<Constraint>, DecisionTree> extentTrees = Collections.synchronizedMap(new IdentityHashMap<>());
+
     @Inject
     public OneToManyRangeResolver(
         DecisionTreeFactory factory,
@@ -52,10 +53,10 @@ public class OneToManyRangeResolver {
         OneToManyRange range = new OneToManyRange(0, null);
 
         ExtentAugmentedFields extentAugmentedFields = new ExtentAugmentedFields(profileFields);
-        DecisionTree tree = factory.analyse(new Profile(
+        DecisionTree tree = extentTrees.computeIfAbsent(constraints, extents -> factory.analyse(new Profile(
             extentAugmentedFields,
-            new ArrayList<>(constraints),
-            Collections.emptyList())
+            new ArrayList<>(extents),
+            Collections.emptyList()))
         );
 
         //apply each value of generatedObject to the tree
@@ -25,10 +25,10 @@ import com.scottlogic.datahelix.generator.common.profile.Fields;
 import com.scottlogic.datahelix.generator.core.generation.DataGenerator;
 import com.scottlogic.datahelix.generator.core.profile.constraints.Constraint;
 import com.scottlogic.datahelix.generator.core.profile.relationships.Relationship;
-import com.scottlogic.datahelix.generator.core.utils.JavaUtilRandomNumberGenerator;
 
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public class OneToManyRelationshipProcessor implements RelationshipProcessor {
     private final RandomNumberGenerator randomNumberGenerator;
@@ -36,7 +36,7 @@ public class OneToManyRelationshipProcessor implements RelationshipProcessor {
 
     @Inject
     public OneToManyRelationshipProcessor(
-        JavaUtilRandomNumberGenerator randomNumberGenerator,
+        RandomNumberGenerator randomNumberGenerator,
         OneToManyRangeResolver rangeResolver) {
         this.randomNumberGenerator = randomNumberGenerator;
         this.rangeResolver = rangeResolver;
@@ -53,6 +53,16 @@ public class OneToManyRelationshipProcessor implements RelationshipProcessor {
 
         int numberOfObjects = getNumberOfObjectsToProduce(range.getMin(), range.getMax());
 
+        // Produced now rather than when the row is written, so the sub-profile is only ever walked on the thread of
+        // the pipeline whose random number generator it uses. Closed once enough rows are taken, so no partition of
+        // the sub-profile is still walked afterwards
+        List<GeneratedObject> data;
+        try (Stream<GeneratedObject> subObjects = dataGenerator.generateData(relationship.getProfile())) {
+            data = subObjects
+                .limit(numberOfObjects)
+                .collect(Collectors.toList());
+        }
+
         generatedObject.addSubObject(relationship, new SubGeneratedObject() {
             @Override
             public List<Field> getFields() {
@@ -61,9 +71,7 @@ public class OneToManyRelationshipProcessor implements RelationshipProcessor {
 
             @Override
             public List<GeneratedObject> getData() {
-                return dataGenerator.generateData(relationship.getProfile())
-                    .limit(numberOfObjects)
-                    .collect(Collectors.toList());
+                return data;
             }
 
             @Override
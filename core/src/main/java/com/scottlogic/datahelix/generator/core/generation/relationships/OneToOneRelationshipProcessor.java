@@ -26,11 +26,15 @@ import com.scottlogic.datahelix.generator.core.profile.relationships.Relationshi
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public class OneToOneRelationshipProcessor implements RelationshipProcessor {
     @Override
     public void processRelationship(Fields profileFields, Relationship relationship, GeneratedRelationalData generatedObject, DataGenerator dataGenerator) {
-        Optional<GeneratedObject> subObject = dataGenerator.generateData(relationship.getProfile()).limit(1).findFirst();
+        Optional<GeneratedObject> subObject;
+        try (Stream<GeneratedObject> subObjects = dataGenerator.generateData(relationship.getProfile())) {
+            subObject = subObjects.findFirst();
+        }
         if (!subObject.isPresent()) {
             return;
         }
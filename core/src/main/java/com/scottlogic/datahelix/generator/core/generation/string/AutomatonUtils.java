@@ -60,6 +60,19 @@ public class AutomatonUtils {
      * @return The created automaton
      */
     public static Automaton createAutomaton(String regexStr, boolean matchFullString, Map<String, Automaton> cache) {
+        Automaton generatedAutomaton = createAutomaton(regexStr, matchFullString);
+        cache.put(regexStr, generatedAutomaton);
+        return generatedAutomaton;
+    }
+
+    /**
+     * Create an automaton for the given regex, restricted to printable ASCII characters and determinised
+     *
+     * @param regexStr        The string to create the automaton from
+     * @param matchFullString Whether the string represents a matchingRegex (true) or containingRegex (false) expression
+     * @return The created automaton
+     */
+    public static Automaton createAutomaton(String regexStr, boolean matchFullString) {
         final String anchoredStr = convertEndAnchors(regexStr, matchFullString);
         final String requotedStr = escapeCharacters(anchoredStr);
         final RegExp bricsRegExp = expandShorthandClasses(requotedStr);
@@ -74,7 +87,6 @@ public class AutomatonUtils {
         // https://en.wikipedia.org/wiki/Nondeterministic_finite_automaton#Equivalence_to_DFA
         // for details.
         generatedAutomaton.determinize();
-        cache.put(regexStr, generatedAutomaton);
         return generatedAutomaton;
     }
 
@@ -0,0 +1,254 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.datahelix.generator.core.generation.string;
+
+import dk.brics.automaton.Automaton;
+import dk.brics.automaton.State;
+import dk.brics.automaton.Transition;
+
+import java.util.*;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * Gives direct access by position to the strings of a finite automaton, in the order that
+ * {@link com.scottlogic.datahelix.generator.core.generation.string.iterators.FiniteStringAutomatonIterator} produces
+ * them, by counting the strings reachable from each state. The automaton must be deterministic, as those built from
+ * regexes are.
+ * <p>
+ * Counts too large for a long are held as {@link Long#MAX_VALUE}; every long index can still be reached, but the
+ * count and the rank of strings beyond that point are only known to be at least that large.
+ * </p>
+ */
+public class RankedAutomaton {
+    private final int[] transitionOffsets;
+    private final char[] minimums;
+    private final char[] maximums;
+    private final int[] destinations;
+    private final boolean[] producesString;
+    private final long[] counts;
+
+    private RankedAutomaton(
+        int[] transitionOffsets,
+        char[] minimums,
+        char[] maximums,
+        int[] destinations,
+        boolean[] producesString,
+        long[] counts) {
+        this.transitionOffsets = transitionOffsets;
+        this.minimums = minimums;
+        this.maximums = maximums;
+        this.destinations = destinations;
+        this.producesString = producesString;
+        this.counts = counts;
+    }
+
+    /**
+     * Count the strings of the given automaton. The automaton is only read, but must not be modified by another
+     * thread while this runs.
+     * @param automaton the automaton to rank the strings of
+     * @return the ranked automaton, or empty if the automaton accepts infinitely many strings
+     */
+    public static Optional<RankedAutomaton> create(Automaton automaton) {
+        List<State> states = new ArrayList<>();
+        Map<State, Integer> stateNumbers = new IdentityHashMap<>();
+        List<List<Transition>> stateTransitions = new ArrayList<>();
+        states.add(automaton.getInitialState());
+        stateNumbers.put(automaton.getInitialState(), 0);
+        int transitionCount = 0;
+        for (int i = 0; i < states.size(); i++) {
+            List<Transition> transitions = states.get(i).getSortedTransitions(true);
+            stateTransitions.add(transitions);
+            transitionCount += transitions.size();
+            for (Transition transition : transitions) {
+                if (!stateNumbers.containsKey(transition.getDest())) {
+                    stateNumbers.put(transition.getDest(), states.size());
+                    states.add(transition.getDest());
+                }
+            }
+        }
+
+        int stateCount = states.size();
+        int[] transitionOffsets = new int[stateCount + 1];
+        char[] minimums = new char[transitionCount];
+        char[] maximums = new char[transitionCount];
+        int[] destinations = new int[transitionCount];
+        int[] incomingTransitions = new int[stateCount];
+        boolean[] producesString = new boolean[stateCount];
+        int transitionIndex = 0;
+        for (int state = 0; state < stateCount; state++) {
+            transitionOffsets[state] = transitionIndex;
+            for (Transition transition : stateTransitions.get(state)) {
+                minimums[transitionIndex] = transition.getMin();
+                maximums[transitionIndex] = transition.getMax();
+                destinations[transitionIndex] = stateNumbers.get(transition.getDest());
+                incomingTransitions[destinations[transitionIndex]]++;
+                transitionIndex++;
+            }
+            // the iterator yields a string on reaching any state it cannot leave, as well as on accepting states
+            producesString[state] = states.get(state).isAccept()
+                || (state != 0 && stateTransitions.get(state).isEmpty());
+        }
+        transitionOffsets[stateCount] = transitionIndex;
+
+        int[] order = new int[stateCount];
+        int ordered = 0;
+        for (int state = 0; state < stateCount; state++) {
+            if (incomingTransitions[state] == 0) {
+                order[ordered++] = state;
+            }
+        }
+        for (int next = 0; next < ordered; next++) {
+            int state = order[next];
+            for (int transition = transitionOffsets[state]; transition < transitionOffsets[state + 1]; transition++) {
+                if (--incomingTransitions[destinations[transition]] == 0) {
+                    order[ordered++] = destinations[transition];
+                }
+            }
+        }
+        if (ordered < stateCount) {
+            return Optional.empty();
+        }
+
+        long[] counts = new long[stateCount];
+        for (int next = stateCount - 1; next >= 0; next--) {
+            int state = order[next];
+            long count = producesString[state] ? 1 : 0;
+            for (int transition = transitionOffsets[state]; transition < transitionOffsets[state + 1]; transition++) {
+                count = saturatedAdd(
+                    count,
+                    saturatedMultiply(maximums[transition] - minimums[transition] + 1, counts[destinations[transition]]));
+            }
+            counts[state] = count;
+        }
+
+        return Optional.of(new RankedAutomaton(
+            transitionOffsets,
+            minimums,
+            maximums,
+            destinations,
+            producesString,
+            counts));
+    }
+
+    /**
+     * @return the number of strings, or {@link Long#MAX_VALUE} if there are at least that many
+     */
+    public long count() {
+        return counts[0];
+    }
+
+    /**
+     * @param index position of the string, from zero
+     * @return the string at the given position
+     */
+    public String nth(long index) {
+        if (index < 0 || index >= count()) {
+            throw new IndexOutOfBoundsException("No string at index " + index + ", count is " + count());
+        }
+
+        StringBuilder builder = new StringBuilder();
+        int state = 0;
+        long remaining = index;
+        while (true) {
+            if (producesString[state]) {
+                if (remaining == 0) {
+                    return builder.toString();
+                }
+                remaining--;
+            }
+
+            for (int transition = transitionOffsets[state]; ; transition++) {
+                long stringsAfterCharacter = counts[destinations[transition]];
+                long stringsInTransition = saturatedMultiply(
+                    maximums[transition] - minimums[transition] + 1,
+                    stringsAfterCharacter);
+                if (remaining < stringsInTransition) {
+                    builder.append((char) (minimums[transition] + remaining / stringsAfterCharacter));
+                    remaining %= stringsAfterCharacter;
+                    state = destinations[transition];
+                    break;
+                }
+                remaining -= stringsInTransition;
+            }
+        }
+    }
+
+    /**
+     * @param string the string to find
+     * @return the position of the given string, or -1 if it is not one of the strings
+     */
+    public long rank(String string) {
+        int state = 0;
+        long rank = 0;
+        for (int position = 0; position < string.length(); position++) {
+            char character = string.charAt(position);
+            if (producesString[state]) {
+                rank = saturatedAdd(rank, 1);
+            }
+
+            int nextState = -1;
+            for (int transition = transitionOffsets[state]; transition < transitionOffsets[state + 1]; transition++) {
+                long stringsAfterCharacter = counts[destinations[transition]];
+                if (character >= minimums[transition] && character <= maximums[transition]) {
+                    rank = saturatedAdd(rank, saturatedMultiply(character - minimums[transition], stringsAfterCharacter));
+                    nextState = destinations[transition];
+                    break;
+                }
+                rank = saturatedAdd(
+                    rank,
+                    saturatedMultiply(maximums[transition] - minimums[transition] + 1, stringsAfterCharacter));
+            }
+
+            if (nextState < 0) {
+                return -1;
+            }
+            state = nextState;
+        }
+
+        return producesString[state] ? rank : -1;
+    }
+
+    /**
+     * Produce every stride-th string, in order, starting from the one at the given offset
+     * @param offset position of the first string to produce
+     * @param stride distance between the positions of consecutive strings, must be positive
+     * @return the strings at the positions offset, offset + stride, offset + 2 * stride and so on
+     */
+    public Stream<String> generateFrom(long offset, int stride) {
+        if (offset >= count()) {
+            return Stream.empty();
+        }
+
+        long values = (count() - 1 - offset) / stride + 1;
+        return LongStream.iterate(offset, index -> index + stride)
+            .limit(values)
+            .mapToObj(this::nth);
+    }
+
+    private static long saturatedAdd(long left, long right) {
+        long sum = left + right;
+        return sum < 0 ? Long.MAX_VALUE : sum;
+    }
+
+    private static long saturatedMultiply(long left, long right) {
+        if (left != 0 && right > Long.MAX_VALUE / left) {
+            return Long.MAX_VALUE;
+        }
+        return left * right;
+    }
+}
@@ -0,0 +1,253 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.datahelix.generator.core.generation.string.factorys;
+
+import com.scottlogic.datahelix.generator.common.RandomNumberGenerator;
+import com.scottlogic.datahelix.generator.common.ValidationException;
+import dk.brics.automaton.Automaton;
+import dk.brics.automaton.State;
+import dk.brics.automaton.Transition;
+
+import java.util.*;
+
+/**
+ * Draws random strings from an automaton without walking it state by state.
+ * <p>
+ * On construction the states are numbered and their sorted transitions flattened into arrays, and for every length
+ * the number of accepted strings of that length starting from each state is counted. A string is then drawn by first
+ * picking its length uniformly from the lengths the automaton accepts, and then picking each character weighted by
+ * the number of ways the rest of the string can be completed, so every accepted string of that length is equally
+ * likely and no draw is ever retried.
+ * </p>
+ * <p>
+ * Counts are held as doubles, scaled per length so they cannot overflow; only their ratios within a length are used.
+ * Surrogate characters are never produced, matching {@link RandomStringFactory}.
+ * </p>
+ */
+public class UniformRandomStringSampler {
+    /**
+     * Largest number of counts to hold for one automaton; larger automatons are not sampled this way.
+     */
+    private static final long MAX_TABLE_SIZE = 1 << 21;
+
+    private final int initialState;
+    private final int[] transitionOffsets;
+    private final char[] minimums;
+    private final char[] maximums;
+    private final int[] characterCounts;
+    private final int[] destinations;
+    private final double[][] counts;
+    private final double[] scales;
+    private final int[] lengths;
+
+    private UniformRandomStringSampler(
+        int initialState,
+        int[] transitionOffsets,
+        char[] minimums,
+        char[] maximums,
+        int[] characterCounts,
+        int[] destinations,
+        double[][] counts,
+        double[] scales,
+        int[] lengths) {
+        this.initialState = initialState;
+        this.transitionOffsets = transitionOffsets;
+        this.minimums = minimums;
+        this.maximums = maximums;
+        this.characterCounts = characterCounts;
+        this.destinations = destinations;
+        this.counts = counts;
+        this.scales = scales;
+        this.lengths = lengths;
+    }
+
+    /**
+     * Prepare a sampler for the given automaton. The automaton is only read, but must not be modified by another
+     * thread while this runs.
+     * @param automaton the automaton to draw strings from
+     * @param maxLength the longest string to produce, if the automaton accepts strings of unbounded length
+     * @return the sampler, or empty if the automaton is too large to hold the counts for
+     */
+    public static Optional<UniformRandomStringSampler> create(Automaton automaton, int maxLength) {
+        List<State> states = new ArrayList<>();
+        Map<State, Integer> stateNumbers = new IdentityHashMap<>();
+        List<List<Transition>> stateTransitions = new ArrayList<>();
+        states.add(automaton.getInitialState());
+        stateNumbers.put(automaton.getInitialState(), 0);
+        int transitionCount = 0;
+        for (int i = 0; i < states.size(); i++) {
+            List<Transition> transitions = states.get(i).getSortedTransitions(false);
+            stateTransitions.add(transitions);
+            transitionCount += transitions.size();
+            for (Transition transition : transitions) {
+                if (!stateNumbers.containsKey(transition.getDest())) {
+                    stateNumbers.put(transition.getDest(), states.size());
+                    states.add(transition.getDest());
+                }
+            }
+        }
+
+        int stateCount = states.size();
+        int[] transitionOffsets = new int[stateCount + 1];
+        char[] minimums = new char[transitionCount];
+        char[] maximums = new char[transitionCount];
+        int[] characterCounts = new int[transitionCount];
+        int[] destinations = new int[transitionCount];
+        int transitionIndex = 0;
+        for (int state = 0; state < stateCount; state++) {
+            transitionOffsets[state] = transitionIndex;
+            for (Transition transition : stateTransitions.get(state)) {
+                minimums[transitionIndex] = transition.getMin();
+                maximums[transitionIndex] = transition.getMax();
+                characterCounts[transitionIndex] = countValidCharacters(transition.getMin(), transition.getMax());
+                destinations[transitionIndex] = stateNumbers.get(transition.getDest());
+                transitionIndex++;
+            }
+        }
+        transitionOffsets[stateCount] = transitionIndex;
+
+        // any accepted string of stateCount or more characters must pass through a cycle, so only then is the
+        // automaton unbounded and maxLength applies
+        int longestLength = Math.max(maxLength, stateCount);
+        List<double[]> countsByLength = new ArrayList<>();
+        List<Double> scalesByLength = new ArrayList<>();
+        double[] acceptCounts = new double[stateCount];
+        for (int state = 0; state < stateCount; state++) {
+            acceptCounts[state] = states.get(state).isAccept() ? 1 : 0;
+        }
+        countsByLength.add(acceptCounts);
+        scalesByLength.add(1d);
+
+        for (int length = 1; length <= longestLength; length++) {
+            if ((long) stateCount * (length + 1) > MAX_TABLE_SIZE) {
+                return Optional.empty();
+            }
+
+            double[] shorter = countsByLength.get(length - 1);
+            double[] current = new double[stateCount];
+            double largest = 0;
+            for (int state = 0; state < stateCount; state++) {
+                double count = 0;
+                for (int transition = transitionOffsets[state]; transition < transitionOffsets[state + 1]; transition++) {
+                    count += characterCounts[transition] * shorter[destinations[transition]];
+                }
+                current[state] = count;
+                largest = Math.max(largest, count);
+            }
+
+            if (largest == 0) {
+                break;
+            }
+            for (int state = 0; state < stateCount; state++) {
+                current[state] /= largest;
+            }
+            countsByLength.add(current);
+            scalesByLength.add(largest);
+        }
+
+        boolean unbounded = countsByLength.size() > stateCount;
+        int lengthLimit = unbounded ? Math.min(maxLength, countsByLength.size() - 1) : countsByLength.size() - 1;
+        int[] lengths = new int[lengthLimit + 1];
+        int lengthCount = 0;
+        for (int length = 0; length <= lengthLimit; length++) {
+            if (countsByLength.get(length)[0] > 0) {
+                lengths[lengthCount++] = length;
+            }
+        }
+
+        double[] scales = new double[scalesByLength.size()];
+        for (int length = 0; length < scales.length; length++) {
+            scales[length] = scalesByLength.get(length);
+        }
+
+        return Optional.of(new UniformRandomStringSampler(
+            0,
+            transitionOffsets,
+            minimums,
+            maximums,
+            characterCounts,
+            destinations,
+            countsByLength.toArray(new double[0][]),
+            scales,
+            Arrays.copyOf(lengths, lengthCount)));
+    }
+
+    /**
+     * @return the approximate number of bytes held by the sampler's tables, for bounding how many are cached
+     */
+    public long sizeInBytes() {
+        long size = (long) Integer.BYTES * (transitionOffsets.length + characterCounts.length + destinations.length + lengths.length)
+            + (long) Character.BYTES * (minimums.length + maximums.length)
+            + (long) Double.BYTES * scales.length;
+        for (double[] lengthCounts : counts) {
+            size += (long) Double.BYTES * lengthCounts.length;
+        }
+        return size;
+    }
+
+    public String createRandomString(RandomNumberGenerator random) {
+        if (lengths.length == 0) {
+            throw new ValidationException("No possible states from the current regex");
+        }
+
+        int length = lengths[random.nextInt(lengths.length)];
+        char[] characters = new char[length];
+        int state = initialState;
+        for (int position = 0; position < length; position++) {
+            int remaining = length - position;
+            double[] completions = counts[remaining - 1];
+            // the transitions' weights sum to the number of completions from this state, rescaled to the next length
+            double target = random.nextDouble(0, counts[remaining][state] * scales[remaining]);
+
+            int chosen = -1;
+            for (int transition = transitionOffsets[state]; transition < transitionOffsets[state + 1]; transition++) {
+                double weight = characterCounts[transition] * completions[destinations[transition]];
+                if (weight == 0) {
+                    continue;
+                }
+                chosen = transition;
+                if (target < weight) {
+                    break;
+                }
+                target -= weight;
+            }
+
+            int characterIndex = (int) Math.min(target / completions[destinations[chosen]], characterCounts[chosen] - 1);
+            characters[position] = getCharacter(chosen, characterIndex);
+            state = destinations[chosen];
+        }
+
+        return new String(characters);
+    }
+
+    private char getCharacter(int transition, int index) {
+        char minimum = minimums[transition];
+        int belowSurrogates = countCharacters(minimum, Math.min(maximums[transition], Character.MIN_SURROGATE - 1));
+        return index < belowSurrogates
+            ? (char) (minimum + index)
+            : (char) (Math.max(minimum, Character.MAX_SURROGATE + 1) + index - belowSurrogates);
+    }
+
+    private static int countValidCharacters(char minimum, char maximum) {
+        return countCharacters(minimum, Math.min(maximum, Character.MIN_SURROGATE - 1))
+            + countCharacters(Math.max(minimum, Character.MAX_SURROGATE + 1), maximum);
+    }
+
+    private static int countCharacters(int minimum, int maximum) {
+        return Math.max(0, maximum - minimum + 1);
+    }
+}
@@ -18,22 +18,29 @@ package com.scottlogic.datahelix.generator.core.generation.string.generators;
 
 import com.github.javafaker.Faker;
 import com.scottlogic.datahelix.generator.common.RandomNumberGenerator;
+import com.scottlogic.datahelix.generator.common.util.DelegatingRandom;
 import com.scottlogic.datahelix.generator.common.util.OrderedRandom;
 
 import java.lang.reflect.InvocationTargetException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
 import java.util.stream.Stream;
 
 public class FakerGenerator implements StringGenerator {
 
     private final StringGenerator underlyingRegexGenerator;
     private final String fakerSpec;
-    private final Faker randomFaker;
+    /**
+     * Random fakers, keyed on the random number generator they draw from, so that faker values come from the same
+     * seeded source as the rest of generation
+     */
+    private final Map<RandomNumberGenerator, Faker> randomFakers = Collections.synchronizedMap(new WeakHashMap<>());
     private final Faker orderedFaker;
 
     public FakerGenerator(StringGenerator underlyingRegexGenerator, String fakerSpec) {
         this.underlyingRegexGenerator = underlyingRegexGenerator;
         this.fakerSpec = fakerSpec;
-        randomFaker = new Faker();
         orderedFaker = new Faker(new OrderedRandom());
     }
 
@@ -67,6 +74,10 @@ public class FakerGenerator implements StringGenerator {
 
     @Override
     public Stream<String> generateRandomValues(RandomNumberGenerator randomNumberGenerator) {
+        Faker randomFaker = randomFakers.computeIfAbsent(
+            randomNumberGenerator,
+            generator -> new Faker(new DelegatingRandom(generator)));
+
         return Stream.generate(() -> getFakerValue(randomFaker))
             .filter(underlyingRegexGenerator::validate);
     }
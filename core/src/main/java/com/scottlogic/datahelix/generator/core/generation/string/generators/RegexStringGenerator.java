@@ -16,13 +16,20 @@
 
 package com.scottlogic.datahelix.generator.core.generation.string.generators;
 
+import com.google.inject.Inject;
+import com.google.inject.name.Named;
 import com.scottlogic.datahelix.generator.common.RandomNumberGenerator;
 import com.scottlogic.datahelix.generator.common.profile.FieldType;
+import com.scottlogic.datahelix.generator.common.util.Defaults;
 import com.scottlogic.datahelix.generator.core.fieldspecs.FieldSpecFactory;
 import com.scottlogic.datahelix.generator.core.generation.string.AutomatonUtils;
+import com.scottlogic.datahelix.generator.core.generation.string.RankedAutomaton;
 import com.scottlogic.datahelix.generator.core.generation.string.factorys.RandomStringFactory;
+import com.scottlogic.datahelix.generator.core.generation.string.factorys.UniformRandomStringSampler;
 import com.scottlogic.datahelix.generator.core.generation.string.iterators.FiniteStringAutomatonIterator;
 import com.scottlogic.datahelix.generator.core.restrictions.string.StringRestrictions;
+import com.scottlogic.datahelix.generator.core.utils.IndexPermutation;
+import com.scottlogic.datahelix.generator.core.utils.LruCache;
 import dk.brics.automaton.Automaton;
 
 import java.util.*;
@@ -32,35 +39,109 @@ import java.util.stream.StreamSupport;
 
 public class RegexStringGenerator implements StringGenerator {
     /**
-     * Cache of all matching regex automatons, keyed on their regex
+     * Cache of automatons, keyed on the patterns and operations they were built from. Covers single regexes as well
+     * as intersections, complements and blacklists, so that the same combinations are only built once however many
+     * row specs use them.
      */
-    private static final Map<String, Automaton> matchingRegexAutomatonCache = new HashMap<>();
+    private static volatile LruCache<AutomatonKey, Automaton> automatonCache = createAutomatonCache(1024);
 
     /**
-     * Cache of all containing regex automatons, keyed on their regex
+     * Default total size of the samplers held in {@link #samplerCache}, used until the cache is configured.
      */
-    private static final Map<String, Automaton> containingRegexAutomatonCache = new HashMap<>();
+    private static final long DEFAULT_SAMPLER_CACHE_BYTES = 64L << 20;
+
+    /**
+     * Approximate size of a sampler cache entry besides the sampler's tables, so that empty entries still count.
+     */
+    private static final long SAMPLER_ENTRY_OVERHEAD_BYTES = 64;
+
+    /**
+     * Cache of samplers for drawing random strings, keyed as the automatons they were prepared from, and bounded by
+     * the total size of their tables. Empty where the automaton is too large to sample uniformly, in which case
+     * strings are drawn by walking the automaton instead.
+     */
+    private static volatile LruCache<AutomatonKey, Optional<UniformRandomStringSampler>> samplerCache =
+        createSamplerCache(DEFAULT_SAMPLER_CACHE_BYTES);
+
+    /**
+     * Cache of string counts for reaching strings by position, keyed as the automatons they were counted from. Empty
+     * where the automaton accepts infinitely many strings.
+     */
+    private static final LruCache<AutomatonKey, Optional<RankedAutomaton>> rankedAutomatonCache =
+        new LruCache<>("Regex ranking cache", 64);
+
+    /**
+     * Cached automatons are shared between generators and threads, and dk.brics operations may update the state of
+     * any automaton they are given, such as by renumbering its states. Every operation on a cached automaton is
+     * therefore made while holding this lock, and strings are generated lazily from a private clone.
+     */
+    private static final Object automatonOperationLock = new Object();
 
     private static final RegexStringGenerator DEFAULT = (RegexStringGenerator) ((StringRestrictions) FieldSpecFactory.fromType(FieldType.STRING).getRestrictions()).createGenerator();
 
-    private Automaton automaton;
+    private final Automaton automaton;
+    private final AutomatonKey automatonKey;
 
     private RandomStringFactory randomStringFactory = new RandomStringFactory();
     private final RegexPattern regexPattern;
 
-    private RegexStringGenerator(Automaton automaton, RegexPattern regexPattern) {
+    private RegexStringGenerator(AutomatonKey automatonKey, Automaton automaton, RegexPattern regexPattern) {
+        this.automatonKey = automatonKey;
         this.automaton = automaton;
         this.regexPattern = regexPattern;
     }
 
     public RegexStringGenerator(String regexStr, boolean matchFullString) {
-        Map<String, Automaton> cache = matchFullString ? matchingRegexAutomatonCache : containingRegexAutomatonCache;
-        Automaton generatedAutomaton = cache.containsKey(regexStr)
-            ? cache.get(regexStr)
-            : AutomatonUtils.createAutomaton(regexStr, matchFullString, cache);
-
+        this.automatonKey = AutomatonKey.regex(regexStr, matchFullString);
+        this.automaton = automatonCache.computeIfAbsent(
+            automatonKey,
+            key -> AutomatonUtils.createAutomaton(regexStr, matchFullString));
         this.regexPattern = new SingleRegexPattern(regexStr, matchFullString);
-        this.automaton = generatedAutomaton;
+    }
+
+    /**
+     * Replace the caches shared by all regex generators with empty ones of the given sizes.
+     * @param automatonCacheSize largest number of automatons to hold
+     * @param samplerCacheBytes  largest total size in bytes of the random string samplers to hold
+     */
+    @Inject
+    public static void configureCaches(
+        @Named("config:regexAutomatonCacheSize") int automatonCacheSize,
+        @Named("config:regexSamplerCacheBytes") long samplerCacheBytes) {
+        automatonCache = createAutomatonCache(automatonCacheSize);
+        samplerCache = createSamplerCache(samplerCacheBytes);
+    }
+
+    private static LruCache<AutomatonKey, Automaton> createAutomatonCache(int maximumSize) {
+        return new LruCache<>("Regex automaton cache", maximumSize);
+    }
+
+    private static LruCache<AutomatonKey, Optional<UniformRandomStringSampler>> createSamplerCache(long maximumBytes) {
+        return new LruCache<>(
+            "Regex sampler cache",
+            maximumBytes,
+            sampler -> SAMPLER_ENTRY_OVERHEAD_BYTES + sampler.map(UniformRandomStringSampler::sizeInBytes).orElse(0L));
+    }
+
+    /**
+     * @return the cache shared by all regex generators, for reporting its statistics
+     */
+    public static LruCache<?, ?> getAutomatonCache() {
+        return automatonCache;
+    }
+
+    /**
+     * @return the cache of random string samplers shared by all regex generators, for reporting its statistics
+     */
+    public static LruCache<?, ?> getSamplerCache() {
+        return samplerCache;
+    }
+
+    /**
+     * @return the cache of ranked automatons shared by all regex generators, for reporting its statistics
+     */
+    public static LruCache<?, ?> getRankedAutomatonCache() {
+        return rankedAutomatonCache;
     }
 
     @Override
@@ -72,20 +153,24 @@ public class RegexStringGenerator implements StringGenerator {
         }
 
         if (this.automaton != null) {
-            return this.automaton.toString();
+            synchronized (automatonOperationLock) {
+                return this.automaton.toString();
+            }
         }
 
         return "<UNKNOWN>";
     }
 
     public static RegexStringGenerator createFromBlacklist(Set<String> blacklist) {
-        String[] blacklistStrings = blacklist.toArray(new String[0]);
-        Automaton automaton = Automaton.makeStringUnion(blacklistStrings).complement();
+        AutomatonKey key = AutomatonKey.blacklist(blacklist);
+        Automaton automaton = automatonCache.computeIfAbsent(
+            key,
+            k -> Automaton.makeStringUnion(blacklist.toArray(new String[0])).complement());
         List<RegexPattern> constraints = blacklist.stream()
             .map(regex -> new SingleRegexPattern(regex, true))
             .collect(Collectors.toList());
 
-        return new RegexStringGenerator(automaton, new NegatedRegexPattern(new AnyRegexPatterns(constraints)));
+        return new RegexStringGenerator(key, automaton, new NegatedRegexPattern(new AnyRegexPatterns(constraints)));
     }
 
     @Override
@@ -99,9 +184,13 @@ public class RegexStringGenerator implements StringGenerator {
         }
 
         RegexStringGenerator otherRegexGenerator = (RegexStringGenerator) otherGenerator;
-        Automaton b = otherRegexGenerator.automaton;
-        Automaton merged = automaton.intersection(b);
-        if (merged.isEmpty()) {
+        AutomatonKey mergedKey = AutomatonKey.intersection(automatonKey, otherRegexGenerator.automatonKey);
+        Automaton merged = automatonCache.computeIfAbsent(mergedKey, key -> {
+            synchronized (automatonOperationLock) {
+                return automaton.intersection(otherRegexGenerator.automaton);
+            }
+        });
+        if (isEmpty(merged)) {
             return new NoStringsStringGenerator("regex combination was contradictory");
         }
 
@@ -110,27 +199,90 @@ public class RegexStringGenerator implements StringGenerator {
                 this.regexPattern,
                 otherRegexGenerator.regexPattern));
 
-        return new RegexStringGenerator(merged, intersectedPatterns);
+        return new RegexStringGenerator(mergedKey, merged, intersectedPatterns);
     }
 
     @Override
     public StringGenerator complement() {
-        return new RegexStringGenerator(
-            this.automaton.clone().complement().intersection(DEFAULT.automaton),
-            this.regexPattern.complement());
+        AutomatonKey complementKey = AutomatonKey.complement(automatonKey);
+        Automaton complement = automatonCache.computeIfAbsent(complementKey, key -> {
+            synchronized (automatonOperationLock) {
+                return this.automaton.clone().complement().intersection(DEFAULT.automaton);
+            }
+        });
+
+        return new RegexStringGenerator(complementKey, complement, this.regexPattern.complement());
+    }
+
+    private static boolean isEmpty(Automaton automaton) {
+        synchronized (automatonOperationLock) {
+            return automaton.isEmpty();
+        }
+    }
+
+    private Automaton cloneAutomaton() {
+        synchronized (automatonOperationLock) {
+            return automaton.clone();
+        }
     }
 
     @Override
     public Stream<String> generateAllValues() {
-        Iterator<String> iterator = new FiniteStringAutomatonIterator(automaton);
+        Iterator<String> iterator = new FiniteStringAutomatonIterator(cloneAutomaton());
         return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.SORTED), false);
     }
 
+    @Override
+    public Stream<String> generateAllValues(long offset, int stride) {
+        Optional<RankedAutomaton> rankedAutomaton = getRankedAutomaton();
+        if (!rankedAutomaton.isPresent() || (offset == 0 && stride == 1)) {
+            return StringGenerator.super.generateAllValues(offset, stride);
+        }
+
+        return rankedAutomaton.get().generateFrom(offset, stride);
+    }
+
+    @Override
+    public Stream<String> generateUniqueRandomValues(long key, long offset, int stride) {
+        Optional<RankedAutomaton> rankedAutomaton = getRankedAutomaton();
+        if (!rankedAutomaton.isPresent()) {
+            return StringGenerator.super.generateUniqueRandomValues(key, offset, stride);
+        }
+
+        RankedAutomaton ranked = rankedAutomaton.get();
+        return new IndexPermutation(ranked.count(), key)
+            .permutedIndexes(offset, stride)
+            .mapToObj(ranked::nth);
+    }
+
+    /**
+     * @return access by position to the strings produced by {@link #generateAllValues()}, or empty if there are
+     * infinitely many
+     */
+    public Optional<RankedAutomaton> getRankedAutomaton() {
+        return rankedAutomatonCache.computeIfAbsent(automatonKey, key -> {
+            synchronized (automatonOperationLock) {
+                return RankedAutomaton.create(automaton);
+            }
+        });
+    }
+
     @Override
     public Stream<String> generateRandomValues(RandomNumberGenerator randomNumberGenerator) {
+        Optional<UniformRandomStringSampler> sampler = samplerCache.computeIfAbsent(automatonKey, key -> {
+            synchronized (automatonOperationLock) {
+                return UniformRandomStringSampler.create(automaton, Defaults.MAX_STRING_LENGTH);
+            }
+        });
+        if (sampler.isPresent()) {
+            UniformRandomStringSampler uniformSampler = sampler.get();
+            return Stream.generate(() -> uniformSampler.createRandomString(randomNumberGenerator));
+        }
+
+        Automaton walkedAutomaton = cloneAutomaton();
         return Stream.generate(
             () -> randomStringFactory.createRandomString(
-                automaton.getInitialState(),
+                walkedAutomaton.getInitialState(),
                 randomNumberGenerator));
     }
 
@@ -139,7 +291,9 @@ public class RegexStringGenerator implements StringGenerator {
     }
 
     public boolean matches(String subject) {
-        return automaton.run(subject);
+        synchronized (automatonOperationLock) {
+            return automaton.run(subject);
+        }
     }
 
     public boolean equals(Object o) {
@@ -147,11 +301,71 @@ public class RegexStringGenerator implements StringGenerator {
         if (o == null || getClass() != o.getClass())
             return false;
         RegexStringGenerator constraint = (RegexStringGenerator) o;
-        return this.automaton.equals(constraint.automaton);
+        synchronized (automatonOperationLock) {
+            return this.automaton.equals(constraint.automaton);
+        }
     }
 
     public int hashCode() {
-        return Objects.hash(this.automaton, this.getClass());
+        synchronized (automatonOperationLock) {
+            return Objects.hash(this.automaton, this.getClass());
+        }
     }
-}
 
+    /**
+     * Identifies an automaton by what it was built from. Intersections are keyed on the set of their operands, so
+     * the same patterns intersected in any order or grouping share one automaton.
+     */
+    private static final class AutomatonKey {
+        private final String operation;
+        private final Object operands;
+        private final int hashCode;
+
+        private AutomatonKey(String operation, Object operands) {
+            this.operation = operation;
+            this.operands = operands;
+            this.hashCode = Objects.hash(operation, operands);
+        }
+
+        static AutomatonKey regex(String regex, boolean matchFullString) {
+            return new AutomatonKey(matchFullString ? "matching" : "containing", regex);
+        }
+
+        static AutomatonKey blacklist(Set<String> blacklist) {
+            return new AutomatonKey("blacklist", new HashSet<>(blacklist));
+        }
+
+        static AutomatonKey complement(AutomatonKey key) {
+            return new AutomatonKey("complement", key);
+        }
+
+        static AutomatonKey intersection(AutomatonKey left, AutomatonKey right) {
+            Set<AutomatonKey> operands = new HashSet<>();
+            left.addIntersectionOperandsTo(operands);
+            right.addIntersectionOperandsTo(operands);
+            return new AutomatonKey("intersection", operands);
+        }
+
+        @SuppressWarnings("unchecked")
+        private void addIntersectionOperandsTo(Set<AutomatonKey> operands) {
+            if (operation.equals("intersection")) {
+                operands.addAll((Set<AutomatonKey>) this.operands);
+            } else {
+                operands.add(this);
+            }
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            AutomatonKey that = (AutomatonKey) o;
+            return operation.equals(that.operation) && operands.equals(that.operands);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.scottlogic.datahelix.generator.core.generation.uniqueness;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Exact tracker which sets a few bits per value in a bloom filter held off the Java heap, using around 2.5 bytes of
+ * memory per value, and keeps the 128 bit fingerprint of every value in temporary files. The filter answers almost
+ * every lookup of a new value on its own; only values it reports as present (duplicates and about 1 in 10,000 new
+ * values) are looked up in the files, so new values are never dropped.
+ *
+ * At most 64MB of filter is reserved up front however many values are expected. Once as many values have been added
+ * as a filter was sized for, a filter twice the size is added for the values which follow.
+ */
+public class BloomFilterTracker implements UniqueValueTracker {
+    private static final double FALSE_POSITIVE_RATE = 0.0001;
+    private static final double BITS_PER_VALUE = -Math.log(FALSE_POSITIVE_RATE) / (Math.log(2) * Math.log(2));
+    private static final int HASH_COUNT = Math.max(1, (int) Math.round(BITS_PER_VALUE * Math.log(2)));
+    private static final long MINIMUM_EXPECTED_VALUES = 1 << 10;
+    private static final long MAXIMUM_INITIAL_WORDS = (64L << 20) / Long.BYTES;
+
+    private final ValueFingerprint fingerprint = new ValueFingerprint();
+    private final List<Filter> filters = new ArrayList<>();
+    private final FingerprintSpillFile fingerprints;
+
+    /**
+     * @param expectedValues number of values expected to be added, which the first filter is sized for up to its limit
+     */
+    public BloomFilterTracker(long expectedValues) {
+        long words = (long) Math.ceil(Math.max(expectedValues, MINIMUM_EXPECTED_VALUES) * BITS_PER_VALUE / Long.SIZE);
+        this.filters.add(new Filter(Math.min(words, MAXIMUM_INITIAL_WORDS)));
+        this.fingerprints = new FingerprintSpillFile(expectedValues);
+    }
+
+    @Override
+    public boolean contains(Object value) {
+        fingerprint.set(value);
+        for (Filter filter : filters) {
+            if (filter.mightContain(fingerprint)) {
+                return fingerprints.contains(fingerprint.getHigh(), fingerprint.getLow());
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void add(Object value) {
+        if (contains(value)) {
+            return;
+        }
+
+        Filter filter = filters.get(filters.size() - 1);
+        if (filter.isFull()) {
+            filter = new Filter(filter.words * 2);
+            filters.add(filter);
+        }
+        filter.add(fingerprint);
+        fingerprints.add(fingerprint.getHigh(), fingerprint.getLow());
+    }
+
+    @Override
+    public void close() {
+        filters.clear();
+        fingerprints.close();
+    }
+
+    private static final class Filter {
+        private final long words;
+        private final long bitCount;
+        private final long capacity;
+        private final OffHeapLongArray bits;
+        private long size;
+
+        Filter(long words) {
+            this.words = words;
+            this.bitCount = words * Long.SIZE;
+            this.capacity = (long) (bitCount / BITS_PER_VALUE);
+            this.bits = new OffHeapLongArray(words);
+        }
+
+        boolean mightContain(ValueFingerprint fingerprint) {
+            for (int hash = 0; hash < HASH_COUNT; hash++) {
+                long bit = bitFor(fingerprint, hash);
+                if ((bits.get(bit >>> 6) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        void add(ValueFingerprint fingerprint) {
+            for (int hash = 0; hash < HASH_COUNT; hash++) {
+                long bit = bitFor(fingerprint, hash);
+                bits.set(bit >>> 6, bits.get(bit >>> 6) | (1L << bit));
+            }
+            size++;
+        }
+
+        boolean isFull() {
+            return size >= capacity;
+        }
+
+        private long bitFor(ValueFingerprint fingerprint, int hash) {
+            // double hashing, deriving each of the filter's hashes from the two halves of the fingerprint
+            return Long.remainderUnsigned(fingerprint.getHigh() + hash * fingerprint.getLow(), bitCount);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.scottlogic.datahelix.generator.core.generation.uniqueness;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.stream.Stream;
+
+/**
+ * Exact set of 128 bit fingerprints kept in temporary files rather than in memory, split into buckets by the top bits
+ * of the fingerprint so that a lookup reads only one bucket. Lookups read the whole bucket, so are only cheap enough
+ * when a filter in front of the set answers most of them.
+ */
+final class FingerprintSpillFile implements AutoCloseable {
+    private static final int RECORD_BYTES = 2 * Long.BYTES;
+    private static final int PENDING_RECORDS = 128;
+    private static final long RECORDS_PER_BUCKET = 1 << 16;
+    private static final int MAXIMUM_BUCKET_BITS = 10;
+
+    private final Path directory;
+    private final int bucketBits;
+    private final long[][] pending;
+    private final int[] pendingCount;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(RECORD_BYTES * 4096);
+
+    FingerprintSpillFile(long expectedValues) {
+        int bits = 0;
+        while (bits < MAXIMUM_BUCKET_BITS && (RECORDS_PER_BUCKET << bits) < expectedValues) {
+            bits++;
+        }
+        this.bucketBits = bits;
+        this.pending = new long[1 << bits][];
+        this.pendingCount = new int[1 << bits];
+        try {
+            this.directory = Files.createTempDirectory("datahelix-unique-");
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create a directory to hold the values of a unique field", e);
+        }
+    }
+
+    boolean contains(long high, long low) {
+        int bucket = bucketFor(low);
+        long[] records = pending[bucket];
+        for (int record = 0; record < pendingCount[bucket]; record++) {
+            if (records[record * 2] == high && records[record * 2 + 1] == low) {
+                return true;
+            }
+        }
+
+        Path file = bucketFile(bucket);
+        if (!Files.exists(file)) {
+            return false;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            buffer.clear();
+            while (channel.read(buffer) >= 0) {
+                buffer.flip();
+                while (buffer.remaining() >= RECORD_BYTES) {
+                    long recordHigh = buffer.getLong();
+                    long recordLow = buffer.getLong();
+                    if (recordHigh == high && recordLow == low) {
+                        return true;
+                    }
+                }
+                buffer.compact();
+            }
+            return false;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    void add(long high, long low) {
+        int bucket = bucketFor(low);
+        if (pending[bucket] == null) {
+            pending[bucket] = new long[PENDING_RECORDS * 2];
+        }
+        int record = pendingCount[bucket]++;
+        pending[bucket][record * 2] = high;
+        pending[bucket][record * 2 + 1] = low;
+        if (pendingCount[bucket] == PENDING_RECORDS) {
+            flush(bucket);
+        }
+    }
+
+    @Override
+    public void close() {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.delete(file);
+            }
+            Files.delete(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void flush(int bucket) {
+        buffer.clear();
+        for (int record = 0; record < pendingCount[bucket]; record++) {
+            buffer.putLong(pending[bucket][record * 2]).putLong(pending[bucket][record * 2 + 1]);
+        }
+        buffer.flip();
+        try (FileChannel channel = FileChannel.open(
+            bucketFile(bucket), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        pendingCount[bucket] = 0;
+    }
+
+    private int bucketFor(long low) {
+        return bucketBits == 0 ? 0 : (int) (low >>> (Long.SIZE - bucketBits));
+    }
+
+    private Path bucketFile(int bucket) {
+        return directory.resolve(bucket + ".bin");
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.datahelix.generator.core.generation.uniqueness;
+
+/**
+ * Exact tracker which keeps the 128 bit fingerprint of every value in an open addressing hash table held off the
+ * Java heap. Uses 32 to 64 bytes per value, doubling in size whenever it becomes half full.
+ */
+public class OffHeapHashSetTracker implements UniqueValueTracker {
+    private static final long MINIMUM_CAPACITY = 1 << 10;
+    private static final long MAXIMUM_INITIAL_CAPACITY = 1 << 22;
+
+    private final ValueFingerprint fingerprint = new ValueFingerprint();
+    private OffHeapLongArray slots;
+    private long capacity;
+    private long size;
+
+    /**
+     * @param expectedValues number of values expected to be added, so the table rarely needs to grow; at most 64MB
+     *                       is reserved up front however many are expected
+     */
+    public OffHeapHashSetTracker(long expectedValues) {
+        this.capacity = capacityFor(expectedValues);
+        this.slots = new OffHeapLongArray(capacity * 2);
+    }
+
+    @Override
+    public boolean contains(Object value) {
+        fingerprint.set(value);
+        long slot = findSlot(slots, capacity, fingerprint.getHigh(), fingerprint.getLow());
+        return !isEmpty(slots, slot);
+    }
+
+    @Override
+    public void add(Object value) {
+        fingerprint.set(value);
+        long slot = findSlot(slots, capacity, fingerprint.getHigh(), fingerprint.getLow());
+        if (!isEmpty(slots, slot)) {
+            return;
+        }
+
+        write(slots, slot, fingerprint.getHigh(), fingerprint.getLow());
+        size++;
+        if (size * 2 > capacity) {
+            grow();
+        }
+    }
+
+    public long size() {
+        return size;
+    }
+
+    @Override
+    public void close() {
+        slots = null;
+    }
+
+    private void grow() {
+        long newCapacity = capacity * 2;
+        OffHeapLongArray newSlots = new OffHeapLongArray(newCapacity * 2);
+        for (long slot = 0; slot < capacity; slot++) {
+            if (!isEmpty(slots, slot)) {
+                long high = slots.get(slot * 2);
+                long low = slots.get(slot * 2 + 1);
+                write(newSlots, findSlot(newSlots, newCapacity, high, low), high, low);
+            }
+        }
+        slots = newSlots;
+        capacity = newCapacity;
+    }
+
+    /**
+     * @return the slot holding the given fingerprint, or the empty slot it would be added to
+     */
+    private static long findSlot(OffHeapLongArray slots, long capacity, long high, long low) {
+        long mask = capacity - 1;
+        for (long slot = high & mask; ; slot = (slot + 1) & mask) {
+            long slotHigh = slots.get(slot * 2);
+            long slotLow = slots.get(slot * 2 + 1);
+            if ((slotHigh == high && slotLow == low) || (slotHigh == 0 && slotLow == 0)) {
+                return slot;
+            }
+        }
+    }
+
+    private static boolean isEmpty(OffHeapLongArray slots, long slot) {
+        return slots.get(slot * 2) == 0 && slots.get(slot * 2 + 1) == 0;
+    }
+
+    private static void write(OffHeapLongArray slots, long slot, long high, long low) {
+        slots.set(slot * 2, high);
+        slots.set(slot * 2 + 1, low);
+    }
+
+    private static long capacityFor(long expectedValues) {
+        long capacity = MINIMUM_CAPACITY;
+        while (capacity < expectedValues * 2 && capacity < MAXIMUM_INITIAL_CAPACITY) {
+            capacity *= 2;
+        }
+        return capacity;
+    }
+}
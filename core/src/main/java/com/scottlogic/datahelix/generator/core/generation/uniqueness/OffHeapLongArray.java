@@ -0,0 +1,57 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.datahelix.generator.core.generation.uniqueness;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+
+/**
+ * Fixed length array of longs held outside the Java heap, so that it adds nothing to garbage collection however large
+ * it is. Split into segments, as a single direct buffer can hold at most 2GB. Elements start as zero.
+ */
+final class OffHeapLongArray {
+    private static final int SEGMENT_BITS = 24;
+    private static final long SEGMENT_MASK = (1L << SEGMENT_BITS) - 1;
+
+    private final LongBuffer[] segments;
+    private final long length;
+
+    OffHeapLongArray(long length) {
+        this.length = length;
+        int segmentCount = (int) ((length + SEGMENT_MASK) >>> SEGMENT_BITS);
+        this.segments = new LongBuffer[segmentCount];
+        for (int segment = 0; segment < segmentCount; segment++) {
+            long segmentLength = Math.min(SEGMENT_MASK + 1, length - ((long) segment << SEGMENT_BITS));
+            segments[segment] = ByteBuffer.allocateDirect((int) segmentLength * Long.BYTES)
+                .order(ByteOrder.nativeOrder())
+                .asLongBuffer();
+        }
+    }
+
+    long get(long index) {
+        return segments[(int) (index >>> SEGMENT_BITS)].get((int) (index & SEGMENT_MASK));
+    }
+
+    void set(long index, long value) {
+        segments[(int) (index >>> SEGMENT_BITS)].put((int) (index & SEGMENT_MASK), value);
+    }
+
+    long length() {
+        return length;
+    }
+}
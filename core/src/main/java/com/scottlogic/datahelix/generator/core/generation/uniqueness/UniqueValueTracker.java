@@ -0,0 +1,36 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.datahelix.generator.core.generation.uniqueness;
+
+/**
+ * Remembers the values of a unique field which have already been emitted, so that rows repeating one can be dropped.
+ * Values are compared by their string form, ignoring trailing zeros of decimals. Implementations are not thread-safe.
+ */
+public interface UniqueValueTracker extends AutoCloseable {
+    /**
+     * @return whether the value may already have been added
+     */
+    boolean contains(Object value);
+
+    void add(Object value);
+
+    /**
+     * Release the memory held by the tracker. Off-heap memory is returned once the tracker is garbage collected.
+     */
+    @Override
+    void close();
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.datahelix.generator.core.generation.uniqueness;
+
+import com.scottlogic.datahelix.generator.core.utils.RandomSeeds;
+
+import java.math.BigDecimal;
+
+/**
+ * 128 bit hash of the string form of a value, wide enough that hundreds of millions of distinct values are
+ * vanishingly unlikely to share one. Reused for every value to avoid allocating, so not thread-safe.
+ */
+final class ValueFingerprint {
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private long high;
+    private long low;
+
+    void set(Object value) {
+        String string = String.valueOf(normalise(value));
+        long first = FNV_OFFSET_BASIS;
+        long second = 0;
+        for (int i = 0; i < string.length(); i++) {
+            char character = string.charAt(i);
+            first = (first ^ character) * FNV_PRIME;
+            second = Long.rotateLeft((second + character) * GOLDEN_GAMMA, 31);
+        }
+
+        high = RandomSeeds.derive(first, string.length());
+        low = RandomSeeds.derive(second, ~string.length());
+        if (high == 0 && low == 0) {
+            // all zeroes marks an empty slot in the off-heap hash set
+            low = 1;
+        }
+    }
+
+    /**
+     * Decimals which differ only in trailing zeros are the same value, as they are for inSet lists
+     */
+    private static Object normalise(Object value) {
+        if (value instanceof BigDecimal) {
+            BigDecimal number = (BigDecimal) value;
+            return number.signum() == 0 ? BigDecimal.ZERO : number.stripTrailingZeros();
+        }
+        return value;
+    }
+
+    long getHigh() {
+        return high;
+    }
+
+    long getLow() {
+        return low;
+    }
+}
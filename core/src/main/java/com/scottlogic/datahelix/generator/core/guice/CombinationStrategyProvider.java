@@ -18,20 +18,42 @@ package com.scottlogic.datahelix.generator.core.guice;
 
 import com.google.inject.Inject;
 import com.google.inject.Provider;
+import com.google.inject.name.Named;
 import com.scottlogic.datahelix.generator.core.config.detail.DataGenerationType;
 import com.scottlogic.datahelix.generator.core.generation.GenerationConfigSource;
 import com.scottlogic.datahelix.generator.core.generation.combinationstrategies.*;
 
 public class CombinationStrategyProvider  implements Provider<CombinationStrategy> {
     private final GenerationConfigSource config;
+    private final PartitionWorkers partitionWorkers;
+    private final int partitionPrefetchSize;
 
     @Inject
-    public CombinationStrategyProvider(GenerationConfigSource config){
+    public CombinationStrategyProvider(
+        GenerationConfigSource config,
+        PartitionWorkers partitionWorkers,
+        @Named("config:partitionPrefetchSize") int partitionPrefetchSize){
         this.config = config;
+        this.partitionWorkers = partitionWorkers;
+        this.partitionPrefetchSize = partitionPrefetchSize;
     }
 
     @Override
     public CombinationStrategy get() {
+        CombinationStrategy combinationStrategy = getCombinationStrategy();
+        if (!config.getParallelPartitions()) {
+            return combinationStrategy;
+        }
+
+        // The exhaustive strategy walks every inner partition again for each row of the outer one
+        return new ParallelCombinationStrategy(
+            combinationStrategy,
+            partitionWorkers,
+            partitionPrefetchSize,
+            combinationStrategy instanceof ExhaustiveCombinationStrategy);
+    }
+
+    private CombinationStrategy getCombinationStrategy() {
         if (config.getGenerationType() == DataGenerationType.RANDOM){
             // The minimal combination strategy doesn't reuse values for fields.
             // This is required to get truly random data.
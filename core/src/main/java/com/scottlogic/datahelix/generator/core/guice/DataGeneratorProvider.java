@@ -17,33 +17,64 @@
 package com.scottlogic.datahelix.generator.core.guice;
 
 import com.google.inject.Inject;
+import com.google.inject.Injector;
 import com.google.inject.Provider;
 import com.google.inject.name.Named;
+import com.scottlogic.datahelix.generator.common.RandomNumberGenerator;
+import com.scottlogic.datahelix.generator.core.config.detail.DataGenerationType;
 import com.scottlogic.datahelix.generator.core.config.detail.MonitorType;
+import com.scottlogic.datahelix.generator.core.config.detail.UniquenessCheckType;
 import com.scottlogic.datahelix.generator.core.generation.*;
+import com.scottlogic.datahelix.generator.core.generation.uniqueness.BloomFilterTracker;
+import com.scottlogic.datahelix.generator.core.generation.uniqueness.OffHeapHashSetTracker;
+import com.scottlogic.datahelix.generator.core.generation.uniqueness.UniqueValueTracker;
+import com.scottlogic.datahelix.generator.core.utils.JavaUtilRandomNumberGenerator;
+import com.scottlogic.datahelix.generator.core.utils.RandomSeeds;
+import com.scottlogic.datahelix.generator.core.utils.SplittableRandomNumberGenerator;
 
 import javax.annotation.Nullable;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 public class DataGeneratorProvider implements Provider<DataGenerator> {
-    private final DataGenerator coreGenerator;
+    private static final long UNBOUNDED_EXPECTED_UNIQUE_VALUES = 10_000_000L;
+
+    private final Injector injector;
+    private final GenerationConfigSource config;
+    private final long masterSeed;
+    private final int pipelineHandoffSize;
     private final Long maxRows;
     private final MonitorType monitorType;
     private final DataGeneratorMonitor monitor;
+    private final UniquenessCheckType uniquenessCheckType;
+    private final int uniquenessRejectLimit;
 
     @Inject
     public DataGeneratorProvider(
-        DecisionTreeDataGenerator coreGenerator,
+        Injector injector,
+        GenerationConfigSource config,
+        @Named("config:masterSeed") long masterSeed,
+        @Named("config:pipelineHandoffSize") int pipelineHandoffSize,
         @Nullable @Named("config:maxRows") Long maxRows,
         MonitorType monitorType,
-        DataGeneratorMonitor monitor) {
-        this.coreGenerator = coreGenerator;
+        DataGeneratorMonitor monitor,
+        UniquenessCheckType uniquenessCheckType,
+        @Named("config:uniquenessRejectLimit") int uniquenessRejectLimit) {
+        this.injector = injector;
+        this.config = config;
+        this.masterSeed = masterSeed;
+        this.pipelineHandoffSize = pipelineHandoffSize;
         this.maxRows = maxRows;
         this.monitorType = monitorType;
         this.monitor = monitor;
+        this.uniquenessCheckType = uniquenessCheckType;
+        this.uniquenessRejectLimit = uniquenessRejectLimit;
     }
 
     @Override
     public DataGenerator get() {
+        DataGenerator coreGenerator = getShardedGenerator(getUniqueFieldsGenerator(getCoreGenerator()));
         DataGenerator limitingGenerator = maxRows == null
             ? coreGenerator
             : new LimitingDataGenerator(coreGenerator, maxRows);
@@ -56,4 +87,99 @@ public class DataGeneratorProvider implements Provider<DataGenerator> {
             limitingGenerator,
             monitor);
     }
+
+    /**
+     * Duplicates are dropped before sharding, so that sequential shards still split the same rows as a single run
+     */
+    private DataGenerator getUniqueFieldsGenerator(DataGenerator coreGenerator) {
+        if (uniquenessCheckType == UniquenessCheckType.NONE) {
+            return coreGenerator;
+        }
+
+        long expectedValues = maxRows == null ? UNBOUNDED_EXPECTED_UNIQUE_VALUES : maxRows;
+        return new UniqueFieldsDataGenerator(
+            coreGenerator,
+            () -> createUniqueValueTracker(expectedValues),
+            monitor,
+            uniquenessRejectLimit);
+    }
+
+    private UniqueValueTracker createUniqueValueTracker(long expectedValues) {
+        switch (uniquenessCheckType) {
+            case HASH_SET:
+                return new OffHeapHashSetTracker(expectedValues);
+            case BLOOM_FILTER:
+                return new BloomFilterTracker(expectedValues);
+            default:
+                throw new UnsupportedOperationException(
+                    "Uniqueness check type " + uniquenessCheckType + " is unsupported.");
+        }
+    }
+
+    private DataGenerator getShardedGenerator(DataGenerator coreGenerator) {
+        if (config.getShardCount() <= 1 || maxRows == null) {
+            return coreGenerator;
+        }
+
+        ShardRange shardRange = ShardRange.of(maxRows, config.getShardIndex(), config.getShardCount());
+
+        // Random shards are seeded independently, so there are no preceding rows to skip over
+        long rowsToSkip = config.getGenerationType() == DataGenerationType.RANDOM ? 0 : shardRange.getStart();
+        return new ShardingDataGenerator(coreGenerator, rowsToSkip, shardRange.getSize());
+    }
+
+    private DataGenerator getCoreGenerator() {
+        RandomNumberGenerator shardRandom =
+            createRandomNumberGenerator(RandomSeeds.derive(masterSeed, config.getShardIndex()));
+
+        if (config.getGenerationType() != DataGenerationType.RANDOM || config.getThreads() <= 1) {
+            return createPipeline(shardRandom.split(), 0, 1);
+        }
+
+        // Each pipeline generates independently from its own random stream, so only random data can be split.
+        // Pipelines are split from the shard's generator in order, so the same seed always gives the same pipelines
+        List<DataGenerator> pipelines = IntStream.range(0, config.getThreads())
+            .mapToObj(pipelineIndex -> createPipeline(shardRandom.split(), pipelineIndex, config.getThreads()))
+            .collect(Collectors.toList());
+
+        return new MultiThreadedDataGenerator(
+            injector.getInstance(GenerationPlanner.class),
+            pipelines,
+            pipelineHandoffSize);
+    }
+
+    private DataGenerator createPipeline(RandomNumberGenerator randomNumberGenerator, int pipelineIndex, int pipelineCount) {
+
+        // Rows are taken from each pipeline in turn, so pipeline i produces rows i, i + count, i + 2 * count, ...
+        // of this shard, and should use the unique values in the same positions
+        long uniqueValueOffset = getRandomShardStart() + pipelineIndex;
+
+        return injector
+            .createChildInjector(new GenerationPipelineModule(randomNumberGenerator, uniqueValueOffset, pipelineCount))
+            .getInstance(DecisionTreeDataGenerator.class);
+    }
+
+    private RandomNumberGenerator createRandomNumberGenerator(long seed) {
+        switch (config.getRandomNumberGeneratorType()) {
+            case JAVA_UTIL:
+                return new JavaUtilRandomNumberGenerator(seed);
+            case SPLITTABLE:
+                return new SplittableRandomNumberGenerator(seed);
+            default:
+                throw new UnsupportedOperationException(
+                    "Random number generator type " + config.getRandomNumberGeneratorType() + " is unsupported.");
+        }
+    }
+
+    /**
+     * Random shards each generate their rows independently, so each starts enumerating unique values from the
+     * position of its first row in the whole run, to avoid producing the same values as any other shard.
+     */
+    private long getRandomShardStart() {
+        if (config.getGenerationType() != DataGenerationType.RANDOM || config.getShardCount() <= 1 || maxRows == null) {
+            return 0;
+        }
+
+        return ShardRange.of(maxRows, config.getShardIndex(), config.getShardCount()).getStart();
+    }
 }
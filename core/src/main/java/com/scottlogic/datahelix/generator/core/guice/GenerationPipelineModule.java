@@ -0,0 +1,64 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.datahelix.generator.core.guice;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.name.Names;
+import com.scottlogic.datahelix.generator.common.RandomNumberGenerator;
+import com.scottlogic.datahelix.generator.core.walker.DecisionTreeWalker;
+import com.scottlogic.datahelix.generator.core.walker.DecisionTreeWalkerFactory;
+import com.scottlogic.datahelix.generator.core.walker.decisionbased.OptionPicker;
+
+/**
+ * Bindings which are specific to a single generation pipeline. Installed into a child injector of the
+ * {@link GeneratorModule} injector for each pipeline, so that every pipeline has its own random number generator and
+ * everything which depends on it.
+ */
+public class GenerationPipelineModule extends AbstractModule {
+    private final RandomNumberGenerator randomNumberGenerator;
+    private final long uniqueValueOffset;
+    private final int uniqueValueStride;
+
+    /**
+     * @param randomNumberGenerator random number generator for this pipeline only
+     * @param uniqueValueOffset     position of the first unique value this pipeline should emit
+     * @param uniqueValueStride     distance between successive unique values emitted by this pipeline, so that
+     *                              pipelines running side by side never emit the same unique value
+     */
+    public GenerationPipelineModule(
+        RandomNumberGenerator randomNumberGenerator,
+        long uniqueValueOffset,
+        int uniqueValueStride) {
+        this.randomNumberGenerator = randomNumberGenerator;
+        this.uniqueValueOffset = uniqueValueOffset;
+        this.uniqueValueStride = uniqueValueStride;
+    }
+
+    @Override
+    protected void configure() {
+        bind(RandomNumberGenerator.class).toInstance(randomNumberGenerator);
+        bind(long.class)
+            .annotatedWith(Names.named("config:uniqueValueOffset"))
+            .toInstance(uniqueValueOffset);
+        bind(int.class)
+            .annotatedWith(Names.named("config:uniqueValueStride"))
+            .toInstance(uniqueValueStride);
+        bind(DecisionTreeWalker.class).toProvider(DecisionTreeWalkerProvider.class);
+        bind(DecisionTreeWalkerFactory.class).to(SplittingDecisionTreeWalkerFactory.class);
+        bind(OptionPicker.class).toProvider(OptionPickerProvider.class);
+    }
+}
@@ -23,11 +23,13 @@ import com.google.inject.util.Providers;
 import com.scottlogic.datahelix.generator.core.config.detail.CombinationStrategyType;
 import com.scottlogic.datahelix.generator.core.config.detail.DataGenerationType;
 import com.scottlogic.datahelix.generator.core.config.detail.MonitorType;
+import com.scottlogic.datahelix.generator.core.config.detail.UniquenessCheckType;
+import com.scottlogic.datahelix.generator.core.fieldspecs.FieldSpecMerger;
 import com.scottlogic.datahelix.generator.core.generation.*;
 import com.scottlogic.datahelix.generator.core.generation.combinationstrategies.CombinationStrategy;
-import com.scottlogic.datahelix.generator.core.utils.JavaUtilRandomNumberGenerator;
-import com.scottlogic.datahelix.generator.core.walker.DecisionTreeWalker;
-import com.scottlogic.datahelix.generator.core.walker.decisionbased.OptionPicker;
+import com.scottlogic.datahelix.generator.core.generation.combinationstrategies.PartitionWorkers;
+import com.scottlogic.datahelix.generator.core.generation.string.generators.RegexStringGenerator;
+import com.scottlogic.datahelix.generator.core.walker.pruner.TreePruner;
 
 import java.time.OffsetDateTime;
 
@@ -50,10 +52,8 @@ public class GeneratorModule extends AbstractModule {
         bind(GenerationConfigSource.class).toInstance(generationConfigSource);
 
         // Bind providers - used to retrieve implementations based on user input
-        bind(DecisionTreeWalker.class).toProvider(DecisionTreeWalkerProvider.class);
         bind(AbstractDataGeneratorMonitor.class).toProvider(MonitorProvider.class).in(Singleton.class);
         bind(CombinationStrategy.class).toProvider(CombinationStrategyProvider.class);
-        bind(OptionPicker.class).toProvider(OptionPickerProvider.class);
 
         // bind config directly
         bind(DataGenerationType.class).toInstance(generationConfigSource.getGenerationType());
@@ -66,15 +66,64 @@ public class GeneratorModule extends AbstractModule {
         bind(MonitorType.class)
             .toInstance(generationConfigSource.getMonitorType());
 
+        bind(UniquenessCheckType.class)
+            .toInstance(generationConfigSource.getUniquenessCheckType());
+
         // Bind known implementations - no user input required
         bind(DataGeneratorMonitor.class).to(AbstractDataGeneratorMonitor.class);
         bind(DataGenerator.class).toProvider(DataGeneratorProvider.class);
-
-        bind(JavaUtilRandomNumberGenerator.class)
-            .toInstance(new JavaUtilRandomNumberGenerator(OffsetDateTime.now().getNano()));
+        bind(FieldSpecMerger.class).in(Singleton.class);
+        bind(TreePruner.class).in(Singleton.class);
+        bind(PartitionWorkers.class).in(Singleton.class);
+        bind(GenerationPlanner.class).in(Singleton.class);
+
+        // Random number generators are bound per pipeline, see GenerationPipelineModule
+        bind(long.class)
+            .annotatedWith(Names.named("config:masterSeed"))
+            .toInstance(getMasterSeed(generationConfigSource));
+        bind(boolean.class)
+            .annotatedWith(Names.named("config:uniqueRandom"))
+            .toInstance(generationConfigSource.getUniqueRandom());
         bind(int.class)
             .annotatedWith(Names.named("config:internalRandomRowSpecStorage"))
             .toInstance(256);
+        bind(int.class)
+            .annotatedWith(Names.named("config:partitionPrefetchSize"))
+            .toInstance(1024);
+        bind(int.class)
+            .annotatedWith(Names.named("config:partitionWorkerCount"))
+            .toInstance(Runtime.getRuntime().availableProcessors());
+        bind(int.class)
+            .annotatedWith(Names.named("config:pipelineHandoffSize"))
+            .toInstance(1024);
+        bind(int.class)
+            .annotatedWith(Names.named("config:fieldSpecMergeCacheSize"))
+            .toInstance(10_000);
+        bind(int.class)
+            .annotatedWith(Names.named("config:prunedDecisionCacheSize"))
+            .toInstance(10_000);
+        bind(int.class)
+            .annotatedWith(Names.named("config:uniquenessRejectLimit"))
+            .toInstance(100_000);
+        bind(int.class)
+            .annotatedWith(Names.named("config:outputBatchSize"))
+            .toInstance(1024);
+        bind(int.class)
+            .annotatedWith(Names.named("config:regexAutomatonCacheSize"))
+            .toInstance(1024);
+        bind(long.class)
+            .annotatedWith(Names.named("config:regexSamplerCacheBytes"))
+            .toInstance(64L << 20);
+
+        requestStaticInjection(RegexStringGenerator.class);
+    }
+
+    private static long getMasterSeed(GenerationConfigSource generationConfigSource) {
+        Long requestedSeed = generationConfigSource.getSeed();
+
+        return requestedSeed == null
+            ? OffsetDateTime.now().getNano()
+            : requestedSeed;
     }
 
     private static Long getMaxRows(GenerationConfigSource generationConfigSource) {
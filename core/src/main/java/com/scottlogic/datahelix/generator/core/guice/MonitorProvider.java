@@ -18,16 +18,26 @@ package com.scottlogic.datahelix.generator.core.guice;
 
 import com.google.inject.Inject;
 import com.google.inject.Provider;
+import com.scottlogic.datahelix.generator.core.fieldspecs.FieldSpecMerger;
 import com.scottlogic.datahelix.generator.core.generation.*;
+import com.scottlogic.datahelix.generator.core.generation.string.generators.RegexStringGenerator;
+import com.scottlogic.datahelix.generator.core.utils.LruCache;
+import com.scottlogic.datahelix.generator.core.walker.pruner.TreePruner;
 
 import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
 
 public class MonitorProvider implements Provider<AbstractDataGeneratorMonitor>  {
     private GenerationConfigSource commandLine;
+    private FieldSpecMerger fieldSpecMerger;
+    private TreePruner treePruner;
 
     @Inject
-    MonitorProvider(GenerationConfigSource commandLine) {
+    MonitorProvider(GenerationConfigSource commandLine, FieldSpecMerger fieldSpecMerger, TreePruner treePruner) {
         this.commandLine = commandLine;
+        this.fieldSpecMerger = fieldSpecMerger;
+        this.treePruner = treePruner;
     }
 
     @Override
@@ -35,7 +45,8 @@ public class MonitorProvider implements Provider<AbstractDataGeneratorMonitor>
         switch (commandLine.getMonitorType()) {
             case VERBOSE:
                 return new MessagePrintingDataGeneratorMonitor(
-                    new PrintWriter(System.err, true));
+                    new PrintWriter(System.err, true),
+                    getCaches());
 
             case QUIET:
                 return new NoopDataGeneratorMonitor();
@@ -45,4 +56,14 @@ public class MonitorProvider implements Provider<AbstractDataGeneratorMonitor>
                     new PrintWriter(System.err, true));
         }
     }
+
+    private List<LruCache<?, ?>> getCaches() {
+        List<LruCache<?, ?>> caches = new ArrayList<>();
+        fieldSpecMerger.getCache().ifPresent(caches::add);
+        caches.addAll(treePruner.getCaches());
+        caches.add(RegexStringGenerator.getAutomatonCache());
+        caches.add(RegexStringGenerator.getSamplerCache());
+        caches.add(RegexStringGenerator.getRankedAutomatonCache());
+        return caches;
+    }
 }
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.datahelix.generator.core.guice;
+
+import com.google.inject.Inject;
+import com.google.inject.Injector;
+import com.google.inject.name.Named;
+import com.scottlogic.datahelix.generator.common.RandomNumberGenerator;
+import com.scottlogic.datahelix.generator.core.walker.DecisionTreeWalker;
+import com.scottlogic.datahelix.generator.core.walker.DecisionTreeWalkerFactory;
+
+/**
+ * Creates each walker from a new {@link GenerationPipelineModule} child of the generator injector, bound to a random
+ * number generator split from this pipeline's, so that the walker and the value generators it uses share nothing
+ * random with any other walker.
+ */
+public class SplittingDecisionTreeWalkerFactory implements DecisionTreeWalkerFactory {
+    private final Injector pipelineInjector;
+    private final RandomNumberGenerator randomNumberGenerator;
+    private final long uniqueValueOffset;
+    private final int uniqueValueStride;
+
+    @Inject
+    public SplittingDecisionTreeWalkerFactory(
+        Injector pipelineInjector,
+        RandomNumberGenerator randomNumberGenerator,
+        @Named("config:uniqueValueOffset") long uniqueValueOffset,
+        @Named("config:uniqueValueStride") int uniqueValueStride) {
+        this.pipelineInjector = pipelineInjector;
+        this.randomNumberGenerator = randomNumberGenerator;
+        this.uniqueValueOffset = uniqueValueOffset;
+        this.uniqueValueStride = uniqueValueStride;
+    }
+
+    @Override
+    public DecisionTreeWalker createWalker() {
+        return pipelineInjector.getParent()
+            .createChildInjector(new GenerationPipelineModule(
+                randomNumberGenerator.split(),
+                uniqueValueOffset,
+                uniqueValueStride))
+            .getInstance(DecisionTreeWalker.class);
+    }
+}
@@ -66,12 +66,12 @@ public class InSetConstraint implements AtomicConstraint {
     }
 
     public String toString(){
-        boolean overLimit = legalValues.list().size() > 3;
+        boolean overLimit = legalValues.size() > 3;
         return String.format("%s in [%s%s](%d values)",
             field.getName(),
             legalValues.stream().limit(3).map(Object::toString).collect(Collectors.joining(", ")),
             overLimit ? ", ..." : "",
-            legalValues.list().size());
+            legalValues.size());
     }
 
     @Override
@@ -77,19 +77,24 @@ public class ConstraintReducer {
     public Optional<FieldSpec> reduceConstraintsToFieldSpec(Field field, Iterable<AtomicConstraint> constraints) {
         return constraints == null
             ? Optional.of(FieldSpecFactory.fromType(field.getType()))
-            : getRootFieldSpec(field, constraints);
+            : applyConstraintsToFieldSpec(FieldSpecFactory.fromType(field.getType()), constraints);
     }
 
-    private Optional<FieldSpec> getRootFieldSpec(Field field, Iterable<AtomicConstraint> rootConstraints) {
-        final Stream<FieldSpec> rootConstraintsStream =
+    /**
+     * Narrow a FieldSpec, which may already have been reduced from other constraints, by some further constraints on
+     * the same field
+     * @return the narrowed FieldSpec, or empty if the constraints contradict the FieldSpec
+     */
+    public Optional<FieldSpec> applyConstraintsToFieldSpec(FieldSpec fieldSpec, Iterable<AtomicConstraint> constraints) {
+        final Stream<FieldSpec> constraintsStream =
             StreamSupport
-                .stream(rootConstraints.spliterator(), false)
+                .stream(constraints.spliterator(), false)
                 .map(AtomicConstraint::toFieldSpec);
 
-        return rootConstraintsStream
+        return constraintsStream
             .map(Optional::of)
             .reduce(
-                Optional.of(FieldSpecFactory.fromType(field.getType())),
+                Optional.of(fieldSpec),
                 (optSpec1, optSpec2) -> optSpec1.flatMap(
                     spec1 -> optSpec2.flatMap(
                         spec2 -> fieldSpecMerger.merge(spec1, spec2, false))));
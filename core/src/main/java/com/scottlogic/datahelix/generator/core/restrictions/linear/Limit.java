@@ -16,6 +16,8 @@
 
 package com.scottlogic.datahelix.generator.core.restrictions.linear;
 
+import java.util.Objects;
+
 public class Limit<T extends Comparable<? super T>> {
     private final T limit;
     private final boolean isInclusive;
@@ -32,4 +34,23 @@ public class Limit<T extends Comparable<? super T>> {
     public boolean isInclusive() {
         return isInclusive;
     }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Limit<?> that = (Limit<?>) o;
+        return isInclusive == that.isInclusive &&
+            Objects.equals(limit, that.limit);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(limit, isInclusive);
+    }
+
+    @Override
+    public String toString() {
+        return (isInclusive ? "inclusive " : "exclusive ") + limit;
+    }
 }
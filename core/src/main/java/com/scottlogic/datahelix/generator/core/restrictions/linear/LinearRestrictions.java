@@ -19,6 +19,7 @@ package com.scottlogic.datahelix.generator.core.restrictions.linear;
 import com.scottlogic.datahelix.generator.common.profile.Granularity;
 import com.scottlogic.datahelix.generator.core.generation.fieldvaluesources.FieldValueSource;
 import com.scottlogic.datahelix.generator.core.generation.fieldvaluesources.LinearFieldValueSource;
+import com.scottlogic.datahelix.generator.core.generation.fieldvaluesources.LongLinearFieldValueSource;
 import com.scottlogic.datahelix.generator.core.generation.fieldvaluesources.NullOnlySource;
 import com.scottlogic.datahelix.generator.core.restrictions.TypedRestrictions;
 
@@ -59,7 +60,8 @@ public class LinearRestrictions<T extends Comparable<T>> implements TypedRestric
         if (isContradictory) {
             return new NullOnlySource();
         }
-        return new LinearFieldValueSource<>(this, blacklist);
+        return LongLinearFieldValueSource.<T>create(this, blacklist)
+            .orElseGet(() -> new LinearFieldValueSource<>(this, blacklist));
     }
 
     public T getMax() {
@@ -387,7 +387,7 @@ public class StringRestrictions implements TypedRestrictions<String>
             && matchingRegex.equals(that.matchingRegex)
             && notContainingRegex.equals(that.notContainingRegex)
             && notMatchingRegex.equals(that.notMatchingRegex)
-            && (fakerSpec == null && that.fakerSpec == null) || (fakerSpec != null && fakerSpec.equals(that.fakerSpec));
+            && ((fakerSpec == null && that.fakerSpec == null) || (fakerSpec != null && fakerSpec.equals(that.fakerSpec)));
     }
 
     @Override
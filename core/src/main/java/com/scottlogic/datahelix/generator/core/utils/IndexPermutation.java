@@ -0,0 +1,103 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.datahelix.generator.core.utils;
+
+import java.util.stream.LongStream;
+
+/**
+ * Pseudo-random one-to-one mapping of the positions [0, size) onto themselves, so that a range of values can be
+ * visited in a shuffled order without holding the order, or the values already visited, in memory.
+ * <p>
+ * Positions are enciphered with a balanced Feistel network over the smallest even number of bits that holds them,
+ * repeating the encipherment until the result falls back within the range. The domain is at most four times the
+ * size, so few repeats are needed.
+ * </p>
+ */
+public class IndexPermutation {
+    private static final int ROUNDS = 4;
+
+    private final long size;
+    private final int halfBits;
+    private final long halfMask;
+    private final long[] roundKeys;
+
+    /**
+     * @param size number of positions to permute
+     * @param key  seed for the order; the same key always gives the same order
+     */
+    public IndexPermutation(long size, long key) {
+        if (size < 0) {
+            throw new IllegalArgumentException("Size must not be negative, was " + size);
+        }
+        this.size = size;
+        int bits = Math.max(2, 64 - Long.numberOfLeadingZeros(size - 1));
+        this.halfBits = (bits + 1) / 2;
+        this.halfMask = (1L << halfBits) - 1;
+        this.roundKeys = new long[ROUNDS];
+        for (int round = 0; round < ROUNDS; round++) {
+            roundKeys[round] = RandomSeeds.derive(key, round);
+        }
+    }
+
+    public long size() {
+        return size;
+    }
+
+    /**
+     * @param index a position in [0, size)
+     * @return the position the given one is mapped to, different for every different index
+     */
+    public long permute(long index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " is outside a permutation of size " + size);
+        }
+
+        long permuted = index;
+        do {
+            permuted = encipher(permuted);
+        } while (Long.compareUnsigned(permuted, size) >= 0);
+        return permuted;
+    }
+
+    /**
+     * Produce the permuted positions of every stride-th index, starting from the given offset. Streams with the same
+     * key and stride but different offsets below the stride together produce every position exactly once.
+     * @param offset first index to permute
+     * @param stride distance between consecutive indexes, must be positive
+     */
+    public LongStream permutedIndexes(long offset, int stride) {
+        if (offset >= size) {
+            return LongStream.empty();
+        }
+
+        long count = (size - 1 - offset) / stride + 1;
+        return LongStream.iterate(offset, index -> index + stride)
+            .limit(count)
+            .map(this::permute);
+    }
+
+    private long encipher(long value) {
+        long left = value >>> halfBits;
+        long right = value & halfMask;
+        for (long roundKey : roundKeys) {
+            long next = left ^ (RandomSeeds.derive(roundKey, right) & halfMask);
+            left = right;
+            right = next;
+        }
+        return (left << halfBits) | right;
+    }
+}
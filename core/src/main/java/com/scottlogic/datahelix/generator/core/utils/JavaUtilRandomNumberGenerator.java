@@ -34,6 +34,11 @@ public class JavaUtilRandomNumberGenerator implements RandomNumberGenerator
         random = new Random(seed);
     }
 
+    @Override
+    public RandomNumberGenerator split() {
+        return new JavaUtilRandomNumberGenerator(random.nextLong());
+    }
+
     @Override
     public int nextInt() {
         return random.nextInt();
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.datahelix.generator.core.utils;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * Thread-safe cache which holds entries up to a maximum total weight, evicting the least recently used entries when
+ * full. By default each entry weighs one, so the maximum is a number of entries. Values are computed outside the lock,
+ * so a slow computation does not hold up other threads; two threads missing on the same key at once may both compute
+ * it, and the last to finish wins.
+ */
+public class LruCache<K, V> {
+    private final String name;
+    private final long maximumWeight;
+    private final ToLongFunction<? super V> weigher;
+    private final Map<K, V> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private long totalWeight;
+
+    /**
+     * @param name        name of the cache, used when reporting its statistics
+     * @param maximumSize maximum number of entries to hold, must be positive
+     */
+    public LruCache(String name, int maximumSize) {
+        this(name, maximumSize, value -> 1);
+    }
+
+    /**
+     * @param name          name of the cache, used when reporting its statistics
+     * @param maximumWeight maximum total weight of the entries to hold, must be positive; a value weighing more than
+     *                      this on its own is returned but not held
+     * @param weigher       weight of a value, such as its size in bytes
+     */
+    public LruCache(String name, long maximumWeight, ToLongFunction<? super V> weigher) {
+        if (maximumWeight <= 0) {
+            throw new IllegalArgumentException("Cache size must be positive, was " + maximumWeight);
+        }
+        this.name = name;
+        this.maximumWeight = maximumWeight;
+        this.weigher = weigher;
+    }
+
+    /**
+     * Get the value cached for the given key, computing and caching it if there is none
+     * @param key     key to look up, must implement equals and hashCode
+     * @param compute function to create the value on a miss, must not return null
+     * @return the cached or newly computed value
+     */
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> compute) {
+        V value;
+        synchronized (entries) {
+            value = entries.get(key);
+        }
+        if (value != null) {
+            hits.increment();
+            return value;
+        }
+
+        misses.increment();
+        value = compute.apply(key);
+        long weight = weigher.applyAsLong(value);
+        synchronized (entries) {
+            V replaced = entries.put(key, value);
+            if (replaced != null) {
+                totalWeight -= weigher.applyAsLong(replaced);
+            }
+            totalWeight += weight;
+            evictUntilWithinMaximumWeight();
+        }
+        return value;
+    }
+
+    private void evictUntilWithinMaximumWeight() {
+        Iterator<V> leastRecentlyUsed = entries.values().iterator();
+        while (totalWeight > maximumWeight && leastRecentlyUsed.hasNext()) {
+            totalWeight -= weigher.applyAsLong(leastRecentlyUsed.next());
+            leastRecentlyUsed.remove();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * @return the total weight of the entries held, which is their number unless the cache was given a weigher
+     */
+    public long weight() {
+        synchronized (entries) {
+            return totalWeight;
+        }
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %d hits, %d misses, %d entries", name, getHits(), getMisses(), size());
+    }
+}
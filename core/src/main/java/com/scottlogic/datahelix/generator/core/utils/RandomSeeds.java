@@ -0,0 +1,39 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.datahelix.generator.core.utils;
+
+public final class RandomSeeds {
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private RandomSeeds() {
+        throw new UnsupportedOperationException("No instantiation of static class");
+    }
+
+    /**
+     * Derive a seed for one of several independent random streams from a single master seed. Uses the SplitMix64
+     * mixing function, so that streams with adjacent indexes are not correlated.
+     * @param masterSeed seed the whole run was started with
+     * @param streamIndex index of the stream to derive a seed for
+     * @return the seed for the given stream, always the same for the same master seed and index
+     */
+    public static long derive(long masterSeed, long streamIndex) {
+        long z = masterSeed + (streamIndex + 1) * GOLDEN_GAMMA;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
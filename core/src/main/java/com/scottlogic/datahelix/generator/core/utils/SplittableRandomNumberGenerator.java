@@ -0,0 +1,127 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.datahelix.generator.core.utils;
+
+import com.scottlogic.datahelix.generator.common.RandomNumberGenerator;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.SplittableRandom;
+
+/**
+ * Random number generator backed by {@link SplittableRandom}, which unlike {@link java.util.Random} is not
+ * synchronised and does not allocate when generating primitive values. Instances must not be shared between threads;
+ * use {@link #split()} to create an independent generator for each thread.
+ */
+public class SplittableRandomNumberGenerator implements RandomNumberGenerator {
+    /**
+     * Unscaled values with at most this many digits are guaranteed to fit in a long, as does the difference between
+     * any two of them.
+     */
+    private static final int MAX_LONG_SAFE_PRECISION = 18;
+
+    private final SplittableRandom random;
+
+    public SplittableRandomNumberGenerator() {
+        this(new SplittableRandom());
+    }
+
+    public SplittableRandomNumberGenerator(long seed) {
+        this(new SplittableRandom(seed));
+    }
+
+    private SplittableRandomNumberGenerator(SplittableRandom random) {
+        this.random = random;
+    }
+
+    @Override
+    public SplittableRandomNumberGenerator split() {
+        return new SplittableRandomNumberGenerator(random.split());
+    }
+
+    @Override
+    public int nextInt() {
+        return random.nextInt();
+    }
+
+    @Override
+    public int nextInt(int bound) {
+        return random.nextInt(bound);
+    }
+
+    @Override
+    public long nextLong(long lowerInclusive, long upperExclusive) {
+        if (upperExclusive <= lowerInclusive) {
+            return lowerInclusive;
+        }
+        return random.nextLong(lowerInclusive, upperExclusive);
+    }
+
+    @Override
+    public double nextDouble(double lowerInclusive, double upperExclusive) {
+        return (random.nextDouble()
+            * (upperExclusive - lowerInclusive))
+            + lowerInclusive;
+    }
+
+    @Override
+    public BigDecimal nextBigDecimal(BigDecimal lowerInclusive, BigDecimal upperExclusive) {
+        int greatestScale = Math.max(lowerInclusive.scale(), upperExclusive.scale());
+        BigDecimal lowerUnscaled = lowerInclusive.movePointRight(greatestScale);
+        BigDecimal upperUnscaled = upperExclusive.movePointRight(greatestScale);
+
+        if (lowerUnscaled.precision() <= MAX_LONG_SAFE_PRECISION
+            && upperUnscaled.precision() <= MAX_LONG_SAFE_PRECISION) {
+            long lower = lowerUnscaled.longValue();
+            long upper = upperUnscaled.longValue();
+            return BigDecimal.valueOf(nextLong(lower, upper), greatestScale);
+        }
+
+        return new BigDecimal(
+            nextBigInteger(lowerUnscaled.toBigInteger(), upperUnscaled.toBigInteger()),
+            greatestScale);
+    }
+
+    private BigInteger nextBigInteger(BigInteger lowerInclusive, BigInteger upperExclusive) {
+        BigInteger range = upperExclusive.subtract(lowerInclusive);
+        if (range.signum() <= 0) {
+            return lowerInclusive;
+        }
+
+        int bitLength = range.bitLength();
+        BigInteger randomValue;
+        do {
+            randomValue = randomBits(bitLength);
+        } while (randomValue.compareTo(range) >= 0);
+        return lowerInclusive.add(randomValue);
+    }
+
+    private BigInteger randomBits(int bitLength) {
+        byte[] bytes = new byte[(bitLength + 7) / 8];
+        for (int i = 0; i < bytes.length; i += 8) {
+            long bits = random.nextLong();
+            for (int j = i; j < Math.min(i + 8, bytes.length); j++) {
+                bytes[j] = (byte) bits;
+                bits >>>= 8;
+            }
+        }
+
+        int excessBits = bytes.length * 8 - bitLength;
+        bytes[0] &= (byte) (0xFF >>> excessBits);
+        return new BigInteger(1, bytes);
+    }
+}
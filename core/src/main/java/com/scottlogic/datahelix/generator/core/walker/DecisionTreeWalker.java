@@ -23,4 +23,12 @@ import java.util.stream.Stream;
 
 public interface DecisionTreeWalker {
     Stream<DataBag> walk(DecisionTree tree);
+
+    /**
+     * Produce the data bags of {@link #walk(DecisionTree)} after the first few
+     * @param skip number of data bags to leave out
+     */
+    default Stream<DataBag> walk(DecisionTree tree, long skip) {
+        return walk(tree).skip(skip);
+    }
 }
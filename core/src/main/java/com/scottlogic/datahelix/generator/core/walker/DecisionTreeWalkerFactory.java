@@ -0,0 +1,26 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.datahelix.generator.core.walker;
+
+public interface DecisionTreeWalkerFactory {
+    /**
+     * Create a walker with a random number generator of its own, split from the pipeline's. Each partition of a
+     * profile is walked by its own walker, so partitions can be walked on separate threads and give the same data
+     * as when they are walked in turn.
+     */
+    DecisionTreeWalker createWalker();
+}
@@ -15,6 +15,9 @@
  */
 package com.scottlogic.datahelix.generator.core.walker.decisionbased;
 
+import com.google.inject.Inject;
+import com.scottlogic.datahelix.generator.common.RandomNumberGenerator;
+import com.scottlogic.datahelix.generator.common.util.DelegatingRandom;
 import com.scottlogic.datahelix.generator.core.decisiontree.ConstraintNode;
 import com.scottlogic.datahelix.generator.core.decisiontree.DecisionNode;
 
@@ -27,8 +30,9 @@ import java.util.stream.Stream;
 public class RandomOptionPicker implements OptionPicker {
     private final Random random;
 
-    public RandomOptionPicker() {
-        this.random = new Random();
+    @Inject
+    public RandomOptionPicker(RandomNumberGenerator randomNumberGenerator) {
+        this.random = new DelegatingRandom(randomNumberGenerator);
     }
 
     @Override
@@ -41,7 +45,7 @@ public class RandomOptionPicker implements OptionPicker {
     @Override
     public Stream<ConstraintNode> streamOptions(DecisionNode decisionNode) {
         List<ConstraintNode> options = new ArrayList<>(decisionNode.getOptions());
-        Collections.shuffle(options);
+        Collections.shuffle(options, random);
         return options.stream();
     }
 }
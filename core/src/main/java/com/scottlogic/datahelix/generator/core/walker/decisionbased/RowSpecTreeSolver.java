@@ -29,14 +29,19 @@ import com.scottlogic.datahelix.generator.core.reducer.ConstraintReducer;
 import com.scottlogic.datahelix.generator.core.walker.pruner.Merged;
 import com.scottlogic.datahelix.generator.core.walker.pruner.TreePruner;
 
-import java.util.Map;
-import java.util.Optional;
+import java.util.*;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static com.scottlogic.datahelix.generator.common.util.FlatMappingSpliterator.flatMap;
 
+/**
+ * Solves a tree into row specs by picking an option of each decision in turn.
+ * <p>
+ * Each node carries the FieldSpecs reduced from its atomic constraints down the recursion, so combining a node with an
+ * option only reduces the constraints the option adds, rather than every constraint of the node again.
+ */
 public class RowSpecTreeSolver {
     private final ConstraintReducer constraintReducer;
     private final TreePruner treePruner;
@@ -52,27 +57,38 @@ public class RowSpecTreeSolver {
     }
 
     public Stream<RowSpec> createRowSpecs(DecisionTree tree) {
-        return flatMap(reduceToRowNodes(tree.rootNode),
-            rootNode -> toRowspec(tree.fields, rootNode));
+        Merged<Map<Field, FieldSpec>> rootFieldSpecs =
+            addConstraints(Collections.emptyMap(), new ArrayList<>(tree.rootNode.getAtomicConstraints()));
+        if (rootFieldSpecs.isContradictory()) {
+            return Stream.empty();
+        }
+
+        return reduceToRowNodes(new ReducedNode(tree.rootNode, rootFieldSpecs.get()))
+            .map(rowNode -> toRowspec(tree.fields, rowNode));
     }
 
-    private Stream<RowSpec> toRowspec(Fields fields, ConstraintNode rootNode) {
-        Optional<RowSpec> result = constraintReducer.reduceConstraintsToRowSpec(fields, rootNode);
-        return result.map(Stream::of).orElseGet(Stream::empty);
+    private RowSpec toRowspec(Fields fields, ReducedNode rowNode) {
+        Map<Field, FieldSpec> fieldSpecs = fields.stream()
+            .collect(Collectors.toMap(
+                Function.identity(),
+                field -> rowNode.fieldSpecs.getOrDefault(field, FieldSpecFactory.fromType(field.getType()))));
+        return new RowSpec(fields, fieldSpecs, new ArrayList<>(rowNode.node.getRelations()));
     }
 
     /**
      * a row node is a constraint node with no further decisions
      */
-    private Stream<ConstraintNode> reduceToRowNodes(ConstraintNode rootNode) {
+    private Stream<ReducedNode> reduceToRowNodes(ReducedNode root) {
+        ConstraintNode rootNode = root.node;
         if (rootNode.getDecisions().isEmpty()) {
-            return Stream.of(rootNode);
+            return Stream.of(root);
         }
 
         DecisionNode decisionNode = optionPicker.pickDecision(rootNode);
-        ConstraintNode rootWithoutDecision = rootNode.builder().removeDecision(decisionNode).build();
+        ReducedNode rootWithoutDecision =
+            new ReducedNode(rootNode.builder().removeDecision(decisionNode).build(), root.fieldSpecs);
 
-        Stream<ConstraintNode> rootOnlyConstraintNodes = optionPicker.streamOptions(decisionNode)
+        Stream<ReducedNode> rootOnlyConstraintNodes = optionPicker.streamOptions(decisionNode)
             .map(option -> combineWithRootNode(rootWithoutDecision, option))
             .filter(newNode -> !newNode.isContradictory())
             .map(Merged::get);
@@ -82,23 +98,90 @@ public class RowSpecTreeSolver {
             this::reduceToRowNodes);
     }
 
-    private Merged<ConstraintNode> combineWithRootNode(ConstraintNode rootNode, ConstraintNode option) {
+    private Merged<ReducedNode> combineWithRootNode(ReducedNode root, ConstraintNode option) {
+        ConstraintNode rootNode = root.node;
+        Merged<Map<Field, FieldSpec>> combinedFieldSpecs = addConstraints(
+            root.fieldSpecs,
+            getNewConstraints(option.getAtomicConstraints(), rootNode.getAtomicConstraints()));
+        if (combinedFieldSpecs.isContradictory()) {
+            return Merged.contradictory();
+        }
+
         ConstraintNode constraintNode = rootNode.builder()
             .addDecisions(option.getDecisions())
             .addAtomicConstraints(option.getAtomicConstraints())
             .addRelations(option.getRelations())
             .build();
 
-        return treePruner.pruneConstraintNode(constraintNode, getFields(option));
+        Merged<ConstraintNode> prunedNode = treePruner.pruneReducedConstraintNode(
+            constraintNode,
+            getFields(option, combinedFieldSpecs.get()));
+        if (prunedNode.isContradictory()) {
+            return Merged.contradictory();
+        }
+
+        // decisions left with a single option are pulled up into the node by the pruner, so reduce their constraints too
+        Merged<Map<Field, FieldSpec>> prunedFieldSpecs = addConstraints(
+            combinedFieldSpecs.get(),
+            getNewConstraints(prunedNode.get().getAtomicConstraints(), constraintNode.getAtomicConstraints()));
+        if (prunedFieldSpecs.isContradictory()) {
+            return Merged.contradictory();
+        }
+
+        return Merged.of(new ReducedNode(prunedNode.get(), prunedFieldSpecs.get()));
     }
 
-    private Map<Field, FieldSpec> getFields(ConstraintNode option) {
+    private Map<Field, FieldSpec> getFields(ConstraintNode option, Map<Field, FieldSpec> fieldSpecs) {
         return option.getAtomicConstraints().stream()
             .map(AtomicConstraint::getField)
             .distinct()
             .collect(Collectors.toMap(
                 Function.identity(),
-                field -> FieldSpecFactory.fromType(field.getType())));
+                fieldSpecs::get));
     }
 
+    private static List<AtomicConstraint> getNewConstraints(Set<AtomicConstraint> constraints, Set<AtomicConstraint> existingConstraints) {
+        return constraints.stream()
+            .filter(constraint -> !existingConstraints.contains(constraint))
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Narrow the FieldSpecs of only those fields which the new constraints apply to, leaving the given map unchanged
+     */
+    private Merged<Map<Field, FieldSpec>> addConstraints(Map<Field, FieldSpec> fieldSpecs, List<AtomicConstraint> newConstraints) {
+        if (newConstraints.isEmpty()) {
+            return Merged.of(fieldSpecs);
+        }
+
+        Map<Field, List<AtomicConstraint>> newConstraintsByField = newConstraints.stream()
+            .collect(Collectors.groupingBy(AtomicConstraint::getField));
+
+        Map<Field, FieldSpec> newFieldSpecs = new HashMap<>(fieldSpecs);
+        for (Map.Entry<Field, List<AtomicConstraint>> fieldConstraints : newConstraintsByField.entrySet()) {
+            Field field = fieldConstraints.getKey();
+            FieldSpec fieldSpec = fieldSpecs.getOrDefault(field, FieldSpecFactory.fromType(field.getType()));
+            Optional<FieldSpec> narrowedFieldSpec =
+                constraintReducer.applyConstraintsToFieldSpec(fieldSpec, fieldConstraints.getValue());
+            if (!narrowedFieldSpec.isPresent()) {
+                return Merged.contradictory();
+            }
+            newFieldSpecs.put(field, narrowedFieldSpec.get());
+        }
+
+        return Merged.of(newFieldSpecs);
+    }
+
+    /**
+     * A constraint node, along with the FieldSpec of every field its atomic constraints apply to
+     */
+    private static class ReducedNode {
+        private final ConstraintNode node;
+        private final Map<Field, FieldSpec> fieldSpecs;
+
+        ReducedNode(ConstraintNode node, Map<Field, FieldSpec> fieldSpecs) {
+            this.node = node;
+            this.fieldSpecs = fieldSpecs;
+        }
+    }
 }
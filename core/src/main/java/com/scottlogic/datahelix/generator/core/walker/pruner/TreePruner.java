@@ -17,28 +17,63 @@
 package com.scottlogic.datahelix.generator.core.walker.pruner;
 
 import com.google.inject.Inject;
+import com.google.inject.name.Named;
 import com.scottlogic.datahelix.generator.common.profile.Field;
 import com.scottlogic.datahelix.generator.core.decisiontree.ConstraintNode;
 import com.scottlogic.datahelix.generator.core.decisiontree.DecisionNode;
 import com.scottlogic.datahelix.generator.core.fieldspecs.FieldSpec;
+import com.scottlogic.datahelix.generator.core.fieldspecs.FieldSpecFactory;
 import com.scottlogic.datahelix.generator.core.fieldspecs.FieldSpecHelper;
 import com.scottlogic.datahelix.generator.core.fieldspecs.FieldSpecMerger;
 import com.scottlogic.datahelix.generator.core.generation.databags.DataBagValue;
 import com.scottlogic.datahelix.generator.core.profile.constraints.atomic.AtomicConstraint;
 import com.scottlogic.datahelix.generator.core.reducer.ConstraintReducer;
+import com.scottlogic.datahelix.generator.core.utils.LruCache;
 
 import java.util.*;
+import java.util.stream.Collectors;
 
+/**
+ * Prunes decisions of a tree which can no longer be satisfied once some fields are known to be restricted.
+ * <p>
+ * Pruning a decision depends only on the decision and the FieldSpecs of the fields it constrains, so pruned decisions
+ * can optionally be memoised in a bounded cache. The same decisions are pruned many times over while solving a tree,
+ * mostly against FieldSpecs for fields they do not constrain at all.
+ */
 public class TreePruner {
     private final FieldSpecMerger merger;
     private final ConstraintReducer constraintReducer;
     private final FieldSpecHelper fieldSpecHelper;
+    private final LruCache<PruneKey, Merged<DecisionNode>> prunedDecisionCache;
+    private final LruCache<NodeIdentity, Set<Field>> decisionFieldsCache;
 
-    @Inject
     public TreePruner(FieldSpecMerger merger, ConstraintReducer constraintReducer, FieldSpecHelper fieldSpecHelper) {
+        this(merger, constraintReducer, fieldSpecHelper, 0);
+    }
+
+    /**
+     * @param cacheSize maximum number of pruned decisions to remember, or 0 to prune every time
+     */
+    @Inject
+    public TreePruner(
+        FieldSpecMerger merger,
+        ConstraintReducer constraintReducer,
+        FieldSpecHelper fieldSpecHelper,
+        @Named("config:prunedDecisionCacheSize") int cacheSize) {
         this.merger = merger;
         this.constraintReducer = constraintReducer;
         this.fieldSpecHelper = fieldSpecHelper;
+        this.prunedDecisionCache = cacheSize > 0 ? new LruCache<>("Pruned decision cache", cacheSize) : null;
+        this.decisionFieldsCache = cacheSize > 0 ? new LruCache<>("Decision fields cache", cacheSize) : null;
+    }
+
+    /**
+     * @return the caches of pruned decisions, empty if pruning is not memoised
+     */
+    public List<LruCache<?, ?>> getCaches() {
+        return prunedDecisionCache == null
+            ? Collections.emptyList()
+            : Arrays.asList(prunedDecisionCache, decisionFieldsCache);
     }
 
     /**
@@ -59,9 +94,29 @@ public class TreePruner {
             return Merged.contradictory();
         }
 
+        return pruneDecisions(constraintNode, fieldSpecs, newFieldSpecs.get());
+    }
+
+    /**
+     * Prunes the decisions of a tree whose own atomic constraints have already been reduced, saving reducing them again
+     * @param constraintNode The Tree to be pruned
+     * @param reducedFieldSpecs the fields to prune for, each with its FieldSpec already narrowed by every atomic
+     *                          constraint of the tree on that field
+     * @return A pruned tree if the new tree is valid, Merged.contradictory otherwise
+     */
+    public Merged<ConstraintNode> pruneReducedConstraintNode(ConstraintNode constraintNode, Map<Field, FieldSpec> reducedFieldSpecs) {
+        Map<Field, FieldSpec> unreducedFieldSpecs = reducedFieldSpecs.keySet().stream()
+            .collect(Collectors.toMap(field -> field, field -> FieldSpecFactory.fromType(field.getType())));
+        return pruneDecisions(constraintNode, unreducedFieldSpecs, reducedFieldSpecs);
+    }
+
+    private Merged<ConstraintNode> pruneDecisions(
+        ConstraintNode constraintNode,
+        Map<Field, FieldSpec> fieldSpecs,
+        Map<Field, FieldSpec> newFieldSpecs) {
         PrunedConstraintState state = new PrunedConstraintState(constraintNode);
         for (DecisionNode decision : constraintNode.getDecisions()) {
-            Merged<DecisionNode> prunedDecisionNode = pruneDecisionNode(decision, newFieldSpecs.get());
+            Merged<DecisionNode> prunedDecisionNode = pruneDecisionNode(decision, newFieldSpecs);
             if (prunedDecisionNode.isContradictory()) {
                 return Merged.contradictory();
             }
@@ -79,6 +134,16 @@ public class TreePruner {
     }
 
     private Merged<DecisionNode> pruneDecisionNode(DecisionNode decisionNode,  Map<Field, FieldSpec> fieldSpecs) {
+        if (prunedDecisionCache == null) {
+            return pruneDecisionNodeUncached(decisionNode, fieldSpecs);
+        }
+
+        return prunedDecisionCache.computeIfAbsent(
+            new PruneKey(decisionNode, getRelevantFieldSpecs(decisionNode, fieldSpecs)),
+            key -> pruneDecisionNodeUncached(key.decisionNode, key.fieldSpecs));
+    }
+
+    private Merged<DecisionNode> pruneDecisionNodeUncached(DecisionNode decisionNode,  Map<Field, FieldSpec> fieldSpecs) {
         Set<ConstraintNode> newConstraintNodes = new HashSet<>();
 
         for (ConstraintNode constraintNode : decisionNode.getOptions()) {
@@ -141,6 +206,31 @@ public class TreePruner {
         return Merged.of(newMap);
     }
 
+    private Map<Field, FieldSpec> getRelevantFieldSpecs(DecisionNode decisionNode, Map<Field, FieldSpec> fieldSpecs) {
+        Set<Field> decisionFields = decisionFieldsCache.computeIfAbsent(
+            new NodeIdentity(decisionNode),
+            key -> getConstrainedFields(decisionNode));
+
+        Map<Field, FieldSpec> relevantFieldSpecs = new HashMap<>();
+        for (Map.Entry<Field, FieldSpec> entry : fieldSpecs.entrySet()) {
+            if (decisionFields.contains(entry.getKey())) {
+                relevantFieldSpecs.put(entry.getKey(), entry.getValue());
+            }
+        }
+        return relevantFieldSpecs;
+    }
+
+    private static Set<Field> getConstrainedFields(DecisionNode decisionNode) {
+        Set<Field> fields = new HashSet<>();
+        Deque<ConstraintNode> remaining = new ArrayDeque<>(decisionNode.getOptions());
+        while (!remaining.isEmpty()) {
+            ConstraintNode constraintNode = remaining.pop();
+            constraintNode.getAtomicConstraints().forEach(constraint -> fields.add(constraint.getField()));
+            constraintNode.getDecisions().forEach(decision -> remaining.addAll(decision.getOptions()));
+        }
+        return fields;
+    }
+
     private void addToConstraintsMap(Map<Field, Collection<AtomicConstraint>> map, AtomicConstraint constraint) {
         if (!map.containsKey(constraint.getField())) {
             map.put(constraint.getField(), new ArrayList<>());
@@ -149,4 +239,50 @@ public class TreePruner {
         map.get(constraint.getField())
             .add(constraint);
     }
+
+    /**
+     * Decision nodes compare by value, recursively, which is too slow for a cache key; identify them by reference
+     */
+    private static final class NodeIdentity {
+        private final DecisionNode decisionNode;
+
+        NodeIdentity(DecisionNode decisionNode) {
+            this.decisionNode = decisionNode;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof NodeIdentity && ((NodeIdentity) o).decisionNode == decisionNode;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(decisionNode);
+        }
+    }
+
+    private static final class PruneKey {
+        private final DecisionNode decisionNode;
+        private final Map<Field, FieldSpec> fieldSpecs;
+        private final int hashCode;
+
+        PruneKey(DecisionNode decisionNode, Map<Field, FieldSpec> fieldSpecs) {
+            this.decisionNode = decisionNode;
+            this.fieldSpecs = fieldSpecs;
+            this.hashCode = 31 * System.identityHashCode(decisionNode) + fieldSpecs.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            PruneKey that = (PruneKey) o;
+            return decisionNode == that.decisionNode && fieldSpecs.equals(that.fieldSpecs);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
 }
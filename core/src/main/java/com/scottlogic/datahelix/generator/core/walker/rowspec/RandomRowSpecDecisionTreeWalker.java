@@ -17,11 +17,11 @@
 package com.scottlogic.datahelix.generator.core.walker.rowspec;
 
 import com.google.inject.Inject;
+import com.scottlogic.datahelix.generator.common.RandomNumberGenerator;
 import com.scottlogic.datahelix.generator.core.decisiontree.DecisionTree;
 import com.scottlogic.datahelix.generator.core.fieldspecs.RowSpec;
 import com.scottlogic.datahelix.generator.core.generation.databags.DataBag;
 import com.scottlogic.datahelix.generator.core.generation.databags.RowSpecDataBagGenerator;
-import com.scottlogic.datahelix.generator.core.utils.JavaUtilRandomNumberGenerator;
 import com.scottlogic.datahelix.generator.core.walker.DecisionTreeWalker;
 import com.scottlogic.datahelix.generator.core.walker.decisionbased.RowSpecTreeSolver;
 
@@ -34,13 +34,13 @@ public class RandomRowSpecDecisionTreeWalker implements DecisionTreeWalker {
     private final RowSpecTreeSolver rowSpecTreeSolver;
     private final RowSpecDataBagGenerator rowSpecDataBagGenerator;
     private PotentialRowSpecCount potentialRowSpecCount;
-    private final JavaUtilRandomNumberGenerator random;
+    private final RandomNumberGenerator random;
 
     @Inject
     public RandomRowSpecDecisionTreeWalker(RowSpecTreeSolver rowSpecTreeSolver,
                                            RowSpecDataBagGenerator rowSpecDataBagGenerator,
                                            PotentialRowSpecCount potentialRowSpecCount,
-                                           JavaUtilRandomNumberGenerator random) {
+                                           RandomNumberGenerator random) {
         this.rowSpecTreeSolver = rowSpecTreeSolver;
         this.rowSpecDataBagGenerator = rowSpecDataBagGenerator;
         this.potentialRowSpecCount = potentialRowSpecCount;
@@ -41,4 +41,30 @@ public class RowSpecDecisionTreeWalker implements DecisionTreeWalker {
             rowSpecTreeSolver.createRowSpecs(tree),
             rowSpecDataBagGenerator::createDataBags);
     }
+
+    /**
+     * Row specs whose data bags all fall within the skipped ones are only counted, and the first row spec which is
+     * still needed skips straight to its first needed data bag
+     */
+    @Override
+    public Stream<DataBag> walk(DecisionTree tree, long skip) {
+        long[] remaining = {skip};
+        return FlatMappingSpliterator.flatMap(
+            rowSpecTreeSolver.createRowSpecs(tree),
+            rowSpec -> {
+                if (remaining[0] == 0) {
+                    return rowSpecDataBagGenerator.createDataBags(rowSpec);
+                }
+
+                long dataBags = rowSpecDataBagGenerator.countDataBags(rowSpec, remaining[0] + 1);
+                if (dataBags <= remaining[0]) {
+                    remaining[0] -= dataBags;
+                    return Stream.empty();
+                }
+
+                Stream<DataBag> neededDataBags = rowSpecDataBagGenerator.createDataBags(rowSpec, remaining[0]);
+                remaining[0] = 0;
+                return neededDataBags;
+            });
+    }
 }
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.datahelix.generator.core.fieldspecs;
+
+import com.scottlogic.datahelix.generator.common.profile.FieldType;
+import com.scottlogic.datahelix.generator.core.restrictions.linear.Limit;
+import com.scottlogic.datahelix.generator.core.restrictions.linear.LinearRestrictionsFactory;
+import com.scottlogic.datahelix.generator.core.utils.LruCache;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FieldSpecMergerTest {
+
+    @Test
+    void merge_withCacheAndEqualInputs_returnsCachedResult() {
+        FieldSpecMerger merger = new FieldSpecMerger(10);
+
+        Optional<FieldSpec> first = merger.merge(
+            FieldSpecFactory.fromType(FieldType.STRING), FieldSpecFactory.fromType(FieldType.STRING).withNotNull(), false);
+        Optional<FieldSpec> second = merger.merge(
+            FieldSpecFactory.fromType(FieldType.STRING), FieldSpecFactory.fromType(FieldType.STRING).withNotNull(), false);
+
+        LruCache<?, ?> cache = merger.getCache().get();
+        assertSame(first, second);
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    void merge_withCacheAndEqualLinearSpecsBuiltSeparately_returnsCachedResult() {
+        FieldSpecMerger merger = new FieldSpecMerger(10);
+
+        Optional<FieldSpec> first = merger.merge(numericSpec("1", "10"), numericSpec("5", "20"), false);
+        Optional<FieldSpec> second = merger.merge(numericSpec("1", "10"), numericSpec("5", "20"), false);
+
+        LruCache<?, ?> cache = merger.getCache().get();
+        assertSame(first, second);
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    void merge_withCacheAndDifferentGranularityFlag_mergesAgain() {
+        FieldSpecMerger merger = new FieldSpecMerger(10);
+        FieldSpec left = FieldSpecFactory.fromType(FieldType.NUMERIC);
+        FieldSpec right = FieldSpecFactory.fromType(FieldType.NUMERIC);
+
+        merger.merge(left, right, false);
+        merger.merge(left, right, true);
+
+        assertEquals(2, merger.getCache().get().getMisses());
+    }
+
+    @Test
+    void merge_withCacheAndWithoutCache_givesSameResult() {
+        FieldSpec left = FieldSpecFactory.fromType(FieldType.STRING);
+        FieldSpec right = FieldSpecFactory.nullOnly();
+
+        assertEquals(
+            new FieldSpecMerger().merge(left, right, false),
+            new FieldSpecMerger(10).merge(left, right, false));
+    }
+
+    @Test
+    void getCache_withoutCacheSize_isEmpty() {
+        assertFalse(new FieldSpecMerger().getCache().isPresent());
+    }
+
+    private static FieldSpec numericSpec(String min, String max) {
+        return FieldSpecFactory.fromRestriction(LinearRestrictionsFactory.createNumericRestrictions(
+            new Limit<>(new BigDecimal(min), true),
+            new Limit<>(new BigDecimal(max), false)));
+    }
+}
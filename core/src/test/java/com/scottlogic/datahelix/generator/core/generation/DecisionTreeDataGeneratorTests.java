@@ -28,7 +28,7 @@ import com.scottlogic.datahelix.generator.core.generation.relationships.Relation
 import com.scottlogic.datahelix.generator.core.generation.visualiser.Visualiser;
 import com.scottlogic.datahelix.generator.core.generation.visualiser.VisualiserFactory;
 import com.scottlogic.datahelix.generator.core.profile.Profile;
-import com.scottlogic.datahelix.generator.core.walker.DecisionTreeWalker;
+import com.scottlogic.datahelix.generator.core.walker.DecisionTreeWalkerFactory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -60,15 +60,18 @@ class DecisionTreeDataGeneratorTests {
         combinationStrategy = Mockito.mock(CombinationStrategy.class);
         upfrontTreePruner = Mockito.mock(UpfrontTreePruner.class);
         visualiserFactory = Mockito.mock(VisualiserFactory.class);
-        generator = new DecisionTreeDataGenerator(
+        GenerationPlanner planner = new GenerationPlanner(
             factory,
-            Mockito.mock(DecisionTreeWalker.class),
             treePartitioner,
             optimiser,
             Mockito.mock(DataGeneratorMonitor.class),
-            combinationStrategy,
             upfrontTreePruner,
-            visualiserFactory,
+            visualiserFactory
+        );
+        generator = new DecisionTreeDataGenerator(
+            planner,
+            Mockito.mock(DecisionTreeWalkerFactory.class),
+            combinationStrategy,
             Mockito.mock(RelationshipsDataGenerator.class)
         );
     }
@@ -128,5 +131,22 @@ class DecisionTreeDataGeneratorTests {
             // Verify
             verify(visualiser, times(2)).printTree(any(), any());
         }
+
+        @Test
+        void generateData_forSameProfileRepeatedly_onlyPlansProfileOnce() {
+            //Arrange
+            DecisionTree outputTree = Mockito.mock(DecisionTree.class);
+            Mockito.when(outputTree.getRootNode()).thenReturn(rootNode);
+            Mockito.when(upfrontTreePruner.runUpfrontPrune(eq(tree), any())).thenReturn(outputTree);
+
+            //Act
+            generator.generateData(profile);
+            generator.generateData(profile);
+
+            // Verify
+            verify(factory, times(1)).analyse(profile);
+            verify(upfrontTreePruner, times(1)).runUpfrontPrune(eq(tree), any());
+            verify(treePartitioner, times(1)).splitTreeIntoPartitions(any());
+        }
     }
 }
@@ -86,4 +86,9 @@ class DeterministicRandomForSet implements RandomNumberGenerator {
             .multiply(BigDecimal.valueOf(nextInt));
         return randomInRange.add(lowerInclusive);
     }
+
+    @Override
+    public RandomNumberGenerator split() {
+        return this;
+    }
 }
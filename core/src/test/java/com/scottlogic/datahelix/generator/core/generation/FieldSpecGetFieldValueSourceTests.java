@@ -179,6 +179,11 @@ public class FieldSpecGetFieldValueSourceTests {
             public BigDecimal nextBigDecimal(BigDecimal lowerInclusive, BigDecimal upperExclusive) {
                 return BigDecimal.valueOf(randomValueThatWillYieldNull);
             }
+
+            @Override
+            public RandomNumberGenerator split() {
+                return this;
+            }
         };
 
         Iterator<?> shouldBeNullValueIterator = combi.generateRandomValues(rng).iterator();
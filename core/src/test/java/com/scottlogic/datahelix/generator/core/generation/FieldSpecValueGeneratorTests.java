@@ -112,6 +112,7 @@ class FieldSpecValueGeneratorTests {
             when(fieldSpec.getFieldValueSource()).thenReturn(fieldValueSource);
             when(fieldValueSource.generateAllValues()).thenReturn(Stream.empty());
             when(fieldValueSource.generateRandomValues(randomNumberGenerator)).thenReturn(Stream.empty());
+            when(fieldValueSource.generateUniqueRandomValues(anyLong(), anyLong(), anyInt())).thenReturn(Stream.empty());
         }
 
         @Test
@@ -127,6 +128,24 @@ class FieldSpecValueGeneratorTests {
             verify(fieldValueSource, times(0)).generateRandomValues(randomNumberGenerator);
         }
 
+        @Test
+        void generateRandom_uniqueFieldSpecWithUniqueRandom_returnsUniqueRandomValues() {
+            FieldSpecValueGenerator fieldSpecFulfiller = new FieldSpecValueGenerator(
+                RANDOM,
+                randomNumberGenerator,
+                2,
+                3,
+                0,
+                true
+            );
+
+            fieldSpecFulfiller.generate(new Field(null, StandardSpecificFieldType.STRING.toSpecificFieldType(), true, null, false, false, null), fieldSpec).collect(Collectors.toSet());
+
+            verify(fieldValueSource, times(1)).generateUniqueRandomValues(anyLong(), eq(2L), eq(3));
+            verify(fieldValueSource, times(0)).generateAllValues();
+            verify(fieldValueSource, times(0)).generateRandomValues(randomNumberGenerator);
+        }
+
         @Test
         void generateRandom_notUniqueFieldSpec_returnsRandomValues() {
             FieldSpecValueGenerator fieldSpecFulfiller = new FieldSpecValueGenerator(
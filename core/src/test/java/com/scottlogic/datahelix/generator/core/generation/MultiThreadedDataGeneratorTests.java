@@ -0,0 +1,110 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.datahelix.generator.core.generation;
+
+import com.scottlogic.datahelix.generator.common.output.GeneratedObject;
+import com.scottlogic.datahelix.generator.core.profile.Profile;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class MultiThreadedDataGeneratorTests {
+    private final Profile profile = Mockito.mock(Profile.class);
+    private final GenerationPlanner planner = Mockito.mock(GenerationPlanner.class);
+
+    @Test
+    void generateData_takesRowsFromEachPipelineInTurn() {
+        GeneratedObject a1 = row(), a2 = row(), b1 = row(), b2 = row();
+        MultiThreadedDataGenerator generator = new MultiThreadedDataGenerator(
+            planner,
+            Arrays.asList(pipeline(a1, a2), pipeline(b1, b2)),
+            1);
+
+        List<GeneratedObject> rows = generator.generateData(profile).collect(Collectors.toList());
+
+        assertEquals(Arrays.asList(a1, b1, a2, b2), rows);
+    }
+
+    @Test
+    void generateData_continuesWithRemainingPipelinesWhenOneIsExhausted() {
+        GeneratedObject a1 = row(), b1 = row(), b2 = row(), b3 = row();
+        MultiThreadedDataGenerator generator = new MultiThreadedDataGenerator(
+            planner,
+            Arrays.asList(pipeline(a1), pipeline(b1, b2, b3)),
+            4);
+
+        List<GeneratedObject> rows = generator.generateData(profile).collect(Collectors.toList());
+
+        assertEquals(Arrays.asList(a1, b1, b2, b3), rows);
+    }
+
+    @Test
+    void generateData_withInfinitePipelines_canBeLimited() {
+        GeneratedObject a = row(), b = row();
+        DataGenerator infiniteA = p -> Stream.generate(() -> a);
+        DataGenerator infiniteB = p -> Stream.generate(() -> b);
+        MultiThreadedDataGenerator generator =
+            new MultiThreadedDataGenerator(planner, Arrays.asList(infiniteA, infiniteB), 8);
+
+        List<GeneratedObject> rows = generator.generateData(profile).limit(5).collect(Collectors.toList());
+
+        assertEquals(Arrays.asList(a, b, a, b, a), rows);
+    }
+
+    @Test
+    void generateData_plansProfileOnCallingThreadBeforeAnyPipelineStarts() {
+        Set<String> planningThreads = ConcurrentHashMap.newKeySet();
+        AtomicBoolean pipelineStarted = new AtomicBoolean();
+        Mockito.when(planner.plan(profile)).thenAnswer(invocation -> {
+            assertFalse(pipelineStarted.get());
+            planningThreads.add(Thread.currentThread().getName());
+            return GenerationPlan.contradictory();
+        });
+        DataGenerator pipeline = p -> {
+            pipelineStarted.set(true);
+            return Stream.empty();
+        };
+        MultiThreadedDataGenerator generator =
+            new MultiThreadedDataGenerator(planner, Arrays.asList(pipeline, pipeline), 1);
+
+        generator.generateData(profile).count();
+
+        verify(planner, times(1)).plan(profile);
+        assertEquals(Collections.singleton(Thread.currentThread().getName()), planningThreads);
+    }
+
+    private static DataGenerator pipeline(GeneratedObject... rows) {
+        return p -> Stream.of(rows);
+    }
+
+    private static GeneratedObject row() {
+        return Mockito.mock(GeneratedObject.class);
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.datahelix.generator.core.generation;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ShardRangeTests {
+    @Test
+    void of_withRowsDividingEvenly_givesEqualContiguousShards() {
+        assertEquals(0, ShardRange.of(9, 0, 3).getStart());
+        assertEquals(3, ShardRange.of(9, 1, 3).getStart());
+        assertEquals(6, ShardRange.of(9, 2, 3).getStart());
+        assertEquals(3, ShardRange.of(9, 2, 3).getSize());
+    }
+
+    @Test
+    void of_withRemainder_coversEveryRowExactlyOnce() {
+        long total = 0;
+        long expectedStart = 0;
+        for (int shardIndex = 0; shardIndex < 4; shardIndex++) {
+            ShardRange range = ShardRange.of(10, shardIndex, 4);
+
+            assertEquals(expectedStart, range.getStart());
+            expectedStart += range.getSize();
+            total += range.getSize();
+        }
+
+        assertEquals(10, total);
+    }
+
+    @Test
+    void of_withVeryLargeRowCount_doesNotOverflow() {
+        ShardRange range = ShardRange.of(Long.MAX_VALUE, 6, 7);
+
+        assertEquals(Long.MAX_VALUE, range.getStart() + range.getSize());
+    }
+
+    @Test
+    void of_withShardIndexOutOfRange_throws() {
+        assertThrows(IllegalArgumentException.class, () -> ShardRange.of(10, 3, 3));
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.datahelix.generator.core.generation;
+
+import com.scottlogic.datahelix.generator.common.output.GeneratedObject;
+import com.scottlogic.datahelix.generator.common.profile.Field;
+import com.scottlogic.datahelix.generator.common.profile.StandardSpecificFieldType;
+import com.scottlogic.datahelix.generator.core.generation.uniqueness.OffHeapHashSetTracker;
+import com.scottlogic.datahelix.generator.core.profile.Profile;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.scottlogic.datahelix.generator.common.profile.FieldBuilder.createField;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.*;
+
+class UniqueFieldsDataGeneratorTests {
+    private final Field uniqueField = new Field("id", StandardSpecificFieldType.STRING.toSpecificFieldType(), true, null, false, false, null);
+    private final Field otherField = createField("name");
+    private final Profile profile = new Profile(
+        Arrays.asList(uniqueField, otherField), Collections.emptyList(), Collections.emptyList());
+    private final DataGeneratorMonitor monitor = mock(DataGeneratorMonitor.class);
+
+    @Test
+    void generateData_dropsRowsRepeatingAUniqueValue() {
+        GeneratedObject a = row(1, "x"), b = row(2, "x"), repeat = row(1, "y"), c = row(3, "z");
+        UniqueFieldsDataGenerator generator = generator(100, a, b, repeat, c);
+
+        List<GeneratedObject> rows = generator.generateData(profile).collect(Collectors.toList());
+
+        assertEquals(Arrays.asList(a, b, c), rows);
+        verify(monitor, times(3)).rowCheckedForUniqueness(false);
+        verify(monitor, times(1)).rowCheckedForUniqueness(true);
+    }
+
+    @Test
+    void generateData_doesNotTrackNullValues() {
+        GeneratedObject a = row(null, "x"), b = row(null, "y");
+        UniqueFieldsDataGenerator generator = generator(100, a, b);
+
+        List<GeneratedObject> rows = generator.generateData(profile).collect(Collectors.toList());
+
+        assertEquals(Arrays.asList(a, b), rows);
+    }
+
+    @Test
+    void generateData_stopsAfterTooManyConsecutiveRejections() {
+        GeneratedObject a = row(1, "x"), repeat = row(1, "y"), b = row(2, "z");
+        UniqueFieldsDataGenerator generator = generator(2, a, repeat, repeat, b);
+
+        List<GeneratedObject> rows = generator.generateData(profile).collect(Collectors.toList());
+
+        assertEquals(Collections.singletonList(a), rows);
+        verify(monitor).addLineToPrintAtEndOfGeneration(anyString());
+    }
+
+    @Test
+    void generateData_withoutUniqueFields_returnsRowsUnchanged() {
+        Profile noUniqueFields = new Profile(
+            Collections.singletonList(otherField), Collections.emptyList(), Collections.emptyList());
+        GeneratedObject a = row(1, "x"), repeat = row(1, "x");
+        UniqueFieldsDataGenerator generator = generator(100, a, repeat);
+
+        List<GeneratedObject> rows = generator.generateData(noUniqueFields).collect(Collectors.toList());
+
+        assertEquals(Arrays.asList(a, repeat), rows);
+        verifyZeroInteractions(monitor);
+    }
+
+    private UniqueFieldsDataGenerator generator(int maxConsecutiveRejections, GeneratedObject... rows) {
+        return new UniqueFieldsDataGenerator(
+            p -> Stream.of(rows),
+            () -> new OffHeapHashSetTracker(16),
+            monitor,
+            maxConsecutiveRejections);
+    }
+
+    private GeneratedObject row(Object id, Object name) {
+        GeneratedObject row = Mockito.mock(GeneratedObject.class);
+        when(row.getValue(uniqueField)).thenReturn(id);
+        when(row.getValue(otherField)).thenReturn(name);
+        return row;
+    }
+}
@@ -16,12 +16,19 @@
 
 package com.scottlogic.datahelix.generator.core.generation.combinationstrategies;
 
+import com.scottlogic.datahelix.generator.core.generation.databags.DataBag;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static com.scottlogic.datahelix.generator.core.generation.combinationstrategies.CombinationStrategyTester.bag;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
 
 class ExhaustiveCombinationStrategyTests {
     private CombinationStrategyTester tester;
@@ -91,4 +98,40 @@ class ExhaustiveCombinationStrategyTests {
 
         tester.expectEmpty();
     }
+
+    @Test
+    void permuteWithSkip_shouldGiveTheSameBagsAsSkippingTheCombinations() {
+        ExhaustiveCombinationStrategy strategy = new ExhaustiveCombinationStrategy();
+        List<Supplier<Stream<DataBag>>> sequences = Arrays.asList(
+            ()->Stream.of(bag("A"), bag("B"), bag("C")),
+            ()->Stream.of(bag("1"), bag("2")),
+            ()->Stream.of(bag("W"), bag("X"), bag("Y"), bag("Z")));
+        List<DataBag> combinations = strategy.permute(sequences.stream()).collect(Collectors.toList());
+
+        for (int skip = 0; skip <= combinations.size(); skip++) {
+            assertThat(
+                strategy.permute(sequences.stream(), skip).collect(Collectors.toList()),
+                equalTo(combinations.subList(skip, combinations.size())));
+        }
+    }
+
+    @Test
+    void permuteWithSkip_shouldGiveNoResultsWhenALaterSequenceIsEmpty() {
+        ExhaustiveCombinationStrategy strategy = new ExhaustiveCombinationStrategy();
+
+        assertThat(
+            strategy.permute(Stream.of(()->Stream.of(bag("A"), bag("B")), Stream::empty), 1).count(),
+            equalTo(0L));
+    }
+
+    @Test
+    void count_shouldMultiplyTheLengthsOfTheSequencesUpToTheLimit() {
+        ExhaustiveCombinationStrategy strategy = new ExhaustiveCombinationStrategy();
+        List<Supplier<Stream<DataBag>>> sequences = Arrays.asList(
+            ()->Stream.of(bag("A"), bag("B"), bag("C")),
+            ()->Stream.of(bag("1"), bag("2")));
+
+        assertThat(strategy.count(sequences.stream(), 100), equalTo(6L));
+        assertThat(strategy.count(sequences.stream(), 4), equalTo(4L));
+    }
 }
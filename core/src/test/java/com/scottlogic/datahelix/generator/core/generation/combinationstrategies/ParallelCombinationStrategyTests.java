@@ -0,0 +1,165 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.datahelix.generator.core.generation.combinationstrategies;
+
+import com.scottlogic.datahelix.generator.core.builders.DataBagBuilder;
+import com.scottlogic.datahelix.generator.core.generation.databags.DataBag;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.scottlogic.datahelix.generator.common.profile.FieldBuilder.createField;
+import static com.scottlogic.datahelix.generator.core.generation.combinationstrategies.CombinationStrategyTester.bag;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ParallelCombinationStrategyTests {
+    private static final PartitionWorkers WORKERS = new PartitionWorkers(4);
+
+    @Test
+    void shouldCombineInTheSameOrderAsTheUnderlyingStrategy() {
+        List<DataBag> sequential = new ExhaustiveCombinationStrategy().permute(partitions()).collect(Collectors.toList());
+
+        List<DataBag> parallel = new ParallelCombinationStrategy(new ExhaustiveCombinationStrategy(), WORKERS, 1, true)
+            .permute(partitions())
+            .collect(Collectors.toList());
+
+        assertEquals(sequential, parallel);
+    }
+
+    @Test
+    void shouldCombineMinimallyWhenDecoratingMinimalStrategy() {
+        CombinationStrategyTester tester = new CombinationStrategyTester(
+            new ParallelCombinationStrategy(new MinimalCombinationStrategy(), WORKERS, 2, false));
+
+        tester.given(
+            () -> Stream.of(bag("A"), bag("B"), bag("C")),
+            () -> Stream.of(bag("1"), bag("2"), bag("3")));
+
+        tester.expect(
+            Stream.of(bag("A", "1"), bag("B", "2"), bag("C", "3")));
+    }
+
+    @Test
+    void shouldGiveNoResultsForEmptyPartition() {
+        CombinationStrategyTester tester = new CombinationStrategyTester(
+            new ParallelCombinationStrategy(new MinimalCombinationStrategy(), WORKERS, 2, false));
+
+        tester.given(
+            () -> Stream.of(bag("A"), bag("B")),
+            Stream::empty);
+
+        tester.expectEmpty();
+    }
+
+    @Test
+    void shouldRethrowErrorsFromPartitionWorkers() {
+        CombinationStrategy strategy = new ParallelCombinationStrategy(new MinimalCombinationStrategy(), WORKERS, 2, false);
+        Supplier<Stream<DataBag>> failingPartition = () -> {
+            throw new UnsupportedOperationException("walk failed");
+        };
+
+        assertThrows(
+            UnsupportedOperationException.class,
+            () -> strategy.permute(Stream.of(failingPartition)).count());
+    }
+
+    @Test
+    void shouldGiveTheSameRowsAsSequentialWhenEachPartitionHasItsOwnRandomStream() {
+        List<DataBag> sequential = new MinimalCombinationStrategy()
+            .permute(randomPartitions())
+            .limit(1000)
+            .collect(Collectors.toList());
+
+        List<DataBag> parallel = new ParallelCombinationStrategy(new MinimalCombinationStrategy(), WORKERS, 16, false)
+            .permute(randomPartitions())
+            .limit(1000)
+            .collect(Collectors.toList());
+
+        assertEquals(sequential, parallel);
+    }
+
+    @Test
+    void shouldOnlyWalkOutermostPartitionOnAWorkerForExhaustiveStrategy() {
+        Set<String> innerThreads = ConcurrentHashMap.newKeySet();
+        Supplier<Stream<DataBag>> inner = () -> {
+            innerThreads.add(Thread.currentThread().getName());
+            return Stream.of(bag("1"), bag("2"));
+        };
+
+        long rows = new ParallelCombinationStrategy(new ExhaustiveCombinationStrategy(), WORKERS, 1, true)
+            .permute(Stream.of(() -> Stream.of(bag("A"), bag("B"), bag("C")), inner))
+            .count();
+
+        assertEquals(6, rows);
+        assertEquals(Stream.of(Thread.currentThread().getName()).collect(Collectors.toSet()), innerThreads);
+    }
+
+    @Test
+    void shouldWalkPartitionsOnTheConsumingThreadWhenEveryWorkerIsBusy() {
+        CombinationStrategy strategy =
+            new ParallelCombinationStrategy(new MinimalCombinationStrategy(), new PartitionWorkers(1), 1, false);
+
+        CombinationStrategyTester tester = new CombinationStrategyTester(strategy);
+        tester.given(
+            () -> Stream.of(bag("A"), bag("B")),
+            () -> Stream.of(bag("1"), bag("2")),
+            () -> Stream.of(bag("X"), bag("Y")));
+        tester.expect(Stream.of(bag("A", "1", "X"), bag("B", "2", "Y")));
+    }
+
+    @Test
+    void shouldFreeWorkersWhenCombinationIsClosed() throws InterruptedException {
+        PartitionWorkers workers = new PartitionWorkers(1);
+        CombinationStrategy strategy = new ParallelCombinationStrategy(new MinimalCombinationStrategy(), workers, 1, false);
+
+        try (Stream<DataBag> rows = strategy.permute(randomPartitions())) {
+            assertEquals(3, rows.limit(3).count());
+        }
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!workers.reserve().isPresent()) {
+            assertTrue(System.currentTimeMillis() < deadline, "worker was not freed after the combination was closed");
+            Thread.sleep(10);
+        }
+    }
+
+    private static Stream<Supplier<Stream<DataBag>>> partitions() {
+        return Stream.of(
+            () -> Stream.of(bag("A"), bag("B"), bag("C")),
+            () -> Stream.of(bag("1"), bag("2")),
+            () -> Stream.of(bag("X"), bag("Y")));
+    }
+
+    private static Stream<Supplier<Stream<DataBag>>> randomPartitions() {
+        return Stream.of(randomPartition("A", 1), randomPartition("B", 2), randomPartition("C", 3));
+    }
+
+    private static Supplier<Stream<DataBag>> randomPartition(String fieldName, long seed) {
+        return () -> {
+            Random random = new Random(seed);
+            return Stream.generate(() -> new DataBagBuilder().set(createField(fieldName), random.nextInt()).build());
+        };
+    }
+}
@@ -17,11 +17,14 @@
 package com.scottlogic.datahelix.generator.core.generation.databags;
 
 import com.scottlogic.datahelix.generator.common.profile.Field;
+import com.scottlogic.datahelix.generator.common.profile.FieldSchema;
 import com.scottlogic.datahelix.generator.core.builders.DataBagBuilder;
 import org.junit.Assert;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.util.Arrays;
+
 import static org.hamcrest.Matchers.equalTo;
 import static com.scottlogic.datahelix.generator.common.profile.FieldBuilder.createField;
 
@@ -109,4 +112,60 @@ class DataBagTests {
             IllegalArgumentException.class,
             () -> DataBag.merge(dataBag1, dataBag2));
     }
+
+    @Test
+    void mergedDataBagsOfTheSameSchemaShouldContainTheSameValuesAsInputs() {
+        // ARRANGE
+        Field idField = createField("id");
+        Field priceField = createField("price");
+        Field nameField = createField("name");
+        FieldSchema schema = new FieldSchema(Arrays.asList(idField, priceField, nameField));
+
+        DataBag dataBag1 = DataBag.of(schema, idField, new DataBagValue(3));
+        DataBag dataBag2 = DataBag.of(schema, nameField, new DataBagValue("foo"));
+
+        // ACT
+        DataBag mergedDataBag = DataBag.merge(dataBag1, DataBag.empty, dataBag2);
+
+        // ASSERT
+        Assert.assertThat(
+            mergedDataBag,
+            equalTo(new DataBagBuilder().set(idField, 3).set(nameField, "foo").build()));
+        Assert.assertThat(
+            mergedDataBag.getFormattedValue(schema, 2),
+            equalTo("foo"));
+        Assertions.assertThrows(
+            IllegalStateException.class,
+            () -> mergedDataBag.getFormattedValue(schema, 1));
+    }
+
+    @Test
+    void mergeShouldThrowIfDataBagsOfTheSameSchemaOverlap() {
+        // ARRANGE
+        Field idField = createField("id");
+        FieldSchema schema = new FieldSchema(Arrays.asList(idField, createField("price")));
+
+        DataBag dataBag1 = DataBag.of(schema, idField, new DataBagValue(3));
+        DataBag dataBag2 = DataBag.of(schema, idField, new DataBagValue(4));
+
+        // ACT / ASSERT
+        Assertions.assertThrows(
+            IllegalArgumentException.class,
+            () -> DataBag.merge(dataBag1, dataBag2));
+    }
+
+    @Test
+    void getFormattedValueByOrdinalShouldReadFieldOfADifferentSchema() {
+        // ARRANGE
+        Field idField = createField("id");
+        Field priceField = createField("price");
+        FieldSchema otherSchema = new FieldSchema(Arrays.asList(priceField, idField));
+
+        DataBag objectUnderTest = new DataBagBuilder().set(idField, 3).set(priceField, 4).build();
+
+        // ACT / ASSERT
+        Assert.assertThat(
+            objectUnderTest.getFormattedValue(otherSchema, 0),
+            equalTo(4));
+    }
 }
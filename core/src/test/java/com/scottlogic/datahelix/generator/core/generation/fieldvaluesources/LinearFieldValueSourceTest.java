@@ -21,7 +21,11 @@ import com.scottlogic.datahelix.generator.core.utils.JavaUtilRandomNumberGenerat
 import org.junit.jupiter.api.Test;
 
 import java.math.BigDecimal;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -40,4 +44,33 @@ class LinearFieldValueSourceTest {
         assertTrue(results.limit(100).allMatch(x -> x.intValue() >= 0 & x.intValue() < 5));
     }
 
+    @Test
+    public void generateAllValues_withBlacklistOfDifferentScale_skipsBlacklistedValues() {
+        LinearRestrictions<BigDecimal> restrictions = new LinearRestrictions<>(
+            BigDecimal.ZERO,
+            BigDecimal.valueOf(6),
+            new NumericGranularity(0));
+        LinearFieldValueSource<BigDecimal> source = new LinearFieldValueSource<>(
+            restrictions,
+            new HashSet<>(Arrays.asList(new BigDecimal("0.0"), new BigDecimal("2.00"), new BigDecimal("3"), BigDecimal.TEN)));
+
+        List<Integer> results = source.generateAllValues().map(BigDecimal::intValue).collect(Collectors.toList());
+
+        assertEquals(Arrays.asList(1, 4, 5, 6), results);
+    }
+
+    @Test
+    public void generateRandomValues_withBlacklistOfDifferentScale_neverReturnsBlacklistedValues() {
+        LinearRestrictions<BigDecimal> restrictions = new LinearRestrictions<>(
+            BigDecimal.ZERO,
+            BigDecimal.valueOf(4),
+            new NumericGranularity(0));
+        LinearFieldValueSource<BigDecimal> source = new LinearFieldValueSource<>(
+            restrictions,
+            new HashSet<>(Arrays.asList(new BigDecimal("1.0"), new BigDecimal("3.00"))));
+
+        Stream<BigDecimal> results = source.generateRandomValues(new JavaUtilRandomNumberGenerator());
+
+        assertTrue(results.limit(100).allMatch(x -> x.intValue() != 1 && x.intValue() != 3));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.datahelix.generator.core.generation.fieldvaluesources;
+
+import com.scottlogic.datahelix.generator.common.profile.DateTimeGranularity;
+import com.scottlogic.datahelix.generator.common.profile.NumericGranularity;
+import com.scottlogic.datahelix.generator.core.restrictions.linear.LinearRestrictions;
+import com.scottlogic.datahelix.generator.core.utils.JavaUtilRandomNumberGenerator;
+import com.scottlogic.datahelix.generator.core.utils.SplittableRandomNumberGenerator;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.junit.jupiter.api.Assertions.*;
+
+class LongLinearFieldValueSourceTest {
+    private static final OffsetDateTime START = OffsetDateTime.of(2020, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+
+    @Test
+    void generateAllValues_forIntegers_givesSameValuesAsLinearFieldValueSource() {
+        LinearRestrictions<BigDecimal> restrictions = new LinearRestrictions<>(
+            BigDecimal.valueOf(-5),
+            new BigDecimal("20.5"),
+            NumericGranularity.INTEGER_DEFAULT);
+        Set<BigDecimal> blacklist = new HashSet<>(Arrays.asList(
+            BigDecimal.valueOf(-5), new BigDecimal("3.0"), new BigDecimal("7.9"), BigDecimal.valueOf(100)));
+
+        FieldValueSource<BigDecimal> source = restrictions.createFieldValueSource(blacklist);
+
+        assertThat(source, instanceOf(LongLinearFieldValueSource.class));
+        assertEquals(
+            new LinearFieldValueSource<>(restrictions, blacklist).generateAllValues().collect(Collectors.toList()),
+            source.generateAllValues().collect(Collectors.toList()));
+    }
+
+    @Test
+    void generateAllValues_forDateTimesWithFixedLengthUnit_givesSameValuesAsLinearFieldValueSource() {
+        for (ChronoUnit unit : Arrays.asList(ChronoUnit.MILLIS, ChronoUnit.SECONDS, ChronoUnit.MINUTES, ChronoUnit.HOURS, ChronoUnit.DAYS)) {
+            LinearRestrictions<OffsetDateTime> restrictions = new LinearRestrictions<>(
+                START,
+                START.plus(100, unit),
+                new DateTimeGranularity(unit));
+            Set<OffsetDateTime> blacklist = new HashSet<>(Arrays.asList(START.plus(3, unit), START.plus(5, unit)));
+
+            FieldValueSource<OffsetDateTime> source = restrictions.createFieldValueSource(blacklist);
+
+            assertThat(source, instanceOf(LongLinearFieldValueSource.class));
+            assertEquals(
+                new LinearFieldValueSource<>(restrictions, blacklist).generateAllValues().collect(Collectors.toList()),
+                source.generateAllValues().collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    void generateRandomValues_forIntegers_givesValuesInRangeAndNotBlacklisted() {
+        LinearRestrictions<BigDecimal> restrictions = new LinearRestrictions<>(
+            BigDecimal.ONE,
+            BigDecimal.valueOf(6),
+            NumericGranularity.INTEGER_DEFAULT);
+
+        Set<BigDecimal> results = restrictions.createFieldValueSource(Collections.singleton(BigDecimal.valueOf(3)))
+            .generateRandomValues(new JavaUtilRandomNumberGenerator(0))
+            .limit(1000)
+            .collect(Collectors.toCollection(TreeSet::new));
+
+        assertEquals(
+            new TreeSet<>(Arrays.asList(BigDecimal.valueOf(1), BigDecimal.valueOf(2), BigDecimal.valueOf(4), BigDecimal.valueOf(5), BigDecimal.valueOf(6))),
+            results);
+    }
+
+    @Test
+    void generateRandomValues_forIntegersUpToLongMaxValue_givesEveryValueInRange() {
+        LinearRestrictions<BigDecimal> restrictions = new LinearRestrictions<>(
+            BigDecimal.valueOf(Long.MAX_VALUE - 3),
+            BigDecimal.valueOf(Long.MAX_VALUE),
+            NumericGranularity.INTEGER_DEFAULT);
+        FieldValueSource<BigDecimal> source = restrictions.createFieldValueSource(Collections.emptySet());
+
+        Set<BigDecimal> results = source
+            .generateRandomValues(new SplittableRandomNumberGenerator(0))
+            .limit(1000)
+            .collect(Collectors.toCollection(TreeSet::new));
+
+        assertThat(source, instanceOf(LongLinearFieldValueSource.class));
+        assertEquals(
+            source.generateAllValues().collect(Collectors.toCollection(TreeSet::new)),
+            results);
+    }
+
+    @Test
+    void createFieldValueSource_forDecimalsOrMonthsOrUnalignedMinimum_usesLinearFieldValueSource() {
+        assertThat(
+            new LinearRestrictions<>(BigDecimal.ZERO, BigDecimal.ONE, new NumericGranularity(1))
+                .createFieldValueSource(Collections.emptySet()),
+            instanceOf(LinearFieldValueSource.class));
+        assertThat(
+            new LinearRestrictions<>(START, START.plusYears(1), new DateTimeGranularity(ChronoUnit.MONTHS))
+                .createFieldValueSource(Collections.emptySet()),
+            instanceOf(LinearFieldValueSource.class));
+        assertThat(
+            new LinearRestrictions<>(START.plusMinutes(30), START.plusDays(1), new DateTimeGranularity(ChronoUnit.HOURS))
+                .createFieldValueSource(Collections.emptySet()),
+            instanceOf(LinearFieldValueSource.class));
+    }
+
+    @Test
+    void createFieldValueSource_forIntegersBeyondLongRange_usesLinearFieldValueSource() {
+        LinearRestrictions<BigDecimal> restrictions = new LinearRestrictions<>(
+            new BigDecimal("-1e20"),
+            new BigDecimal("1e20"),
+            NumericGranularity.INTEGER_DEFAULT);
+
+        assertThat(restrictions.createFieldValueSource(Collections.emptySet()), instanceOf(LinearFieldValueSource.class));
+    }
+
+    @Test
+    void generateUniqueRandomValues_forIntegersSplitByStride_givesEveryValueOnceBetweenStreams() {
+        LinearRestrictions<BigDecimal> restrictions = new LinearRestrictions<>(
+            BigDecimal.ONE,
+            BigDecimal.valueOf(100),
+            NumericGranularity.INTEGER_DEFAULT);
+        Set<BigDecimal> blacklist = Collections.singleton(BigDecimal.TEN);
+        FieldValueSource<BigDecimal> source = restrictions.createFieldValueSource(blacklist);
+
+        List<BigDecimal> values = new ArrayList<>();
+        for (int offset = 0; offset < 3; offset++) {
+            source.generateUniqueRandomValues(42, offset, 3).forEach(values::add);
+        }
+
+        assertEquals(
+            source.generateAllValues().collect(Collectors.toSet()),
+            new HashSet<>(values));
+        assertEquals(99, values.size());
+        assertNotEquals(
+            source.generateAllValues().collect(Collectors.toList()),
+            source.generateUniqueRandomValues(42, 0, 1).collect(Collectors.toList()));
+    }
+}
@@ -0,0 +1,240 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.datahelix.generator.core.generation.relationships;
+
+import com.google.inject.Guice;
+import com.google.inject.Module;
+import com.google.inject.name.Names;
+import com.google.inject.util.Modules;
+import com.scottlogic.datahelix.generator.common.output.GeneratedObject;
+import com.scottlogic.datahelix.generator.common.output.OutputFormat;
+import com.scottlogic.datahelix.generator.common.output.RelationalGeneratedObject;
+import com.scottlogic.datahelix.generator.common.profile.Field;
+import com.scottlogic.datahelix.generator.common.profile.NumericGranularity;
+import com.scottlogic.datahelix.generator.common.profile.ProfileFields;
+import com.scottlogic.datahelix.generator.common.profile.StandardSpecificFieldType;
+import com.scottlogic.datahelix.generator.core.config.detail.CombinationStrategyType;
+import com.scottlogic.datahelix.generator.core.config.detail.DataGenerationType;
+import com.scottlogic.datahelix.generator.core.config.detail.MonitorType;
+import com.scottlogic.datahelix.generator.core.config.detail.RandomNumberGeneratorType;
+import com.scottlogic.datahelix.generator.core.config.detail.UniquenessCheckType;
+import com.scottlogic.datahelix.generator.core.config.detail.VisualiserLevel;
+import com.scottlogic.datahelix.generator.core.generation.DataGenerator;
+import com.scottlogic.datahelix.generator.core.generation.GenerationConfigSource;
+import com.scottlogic.datahelix.generator.core.guice.GeneratorModule;
+import com.scottlogic.datahelix.generator.core.profile.Profile;
+import com.scottlogic.datahelix.generator.core.profile.constraints.Constraint;
+import com.scottlogic.datahelix.generator.core.profile.constraints.atomic.EqualToConstraint;
+import com.scottlogic.datahelix.generator.core.profile.constraints.atomic.GranularToNumericConstraint;
+import com.scottlogic.datahelix.generator.core.profile.constraints.atomic.GreaterThanOrEqualToConstraint;
+import com.scottlogic.datahelix.generator.core.profile.constraints.atomic.LessThanConstraint;
+import com.scottlogic.datahelix.generator.core.profile.constraints.atomic.NotNullConstraint;
+import com.scottlogic.datahelix.generator.core.profile.constraints.grammatical.AndConstraint;
+import com.scottlogic.datahelix.generator.core.profile.relationships.Relationship;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.scottlogic.datahelix.generator.common.profile.FieldBuilder.createField;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ParallelRelationalGenerationTests {
+    private static final long ROWS = 200;
+    private static final int PARTITION_WORKERS = 8;
+
+    @Test
+    void generateData_withParallelPartitions_givesTheSameRelationalRowsAsSequentially() {
+        Profile profile = relationalProfile();
+
+        List<List<Object>> sequential = generate(profile, false, 1);
+        List<List<Object>> parallel = generate(profile, true, 1);
+
+        assertEquals(ROWS, sequential.size());
+        assertEquals(sequential, parallel);
+    }
+
+    @Test
+    void generateData_withSeveralPipelines_givesTheSameRelationalRowsOnEveryRun() {
+        Profile profile = relationalProfile();
+
+        List<List<Object>> first = generate(profile, true, 3);
+        List<List<Object>> second = generate(profile, true, 3);
+
+        assertEquals(ROWS, first.size());
+        assertEquals(first, second);
+    }
+
+    private static List<List<Object>> generate(Profile profile, boolean parallelPartitions, int threads) {
+        // Enough workers for the partitions of the sub-profile as well, however many processors there are
+        GenerationConfigSource config = new RandomConfigSource(parallelPartitions, threads);
+        Module module = Modules.override(new GeneratorModule(config)).with(binder -> {
+            binder.bind(OutputFormat.class).toInstance(OutputFormat.JSON);
+            binder.bind(int.class)
+                .annotatedWith(Names.named("config:partitionWorkerCount"))
+                .toInstance(PARTITION_WORKERS);
+        });
+        DataGenerator generator = Guice.createInjector(module).getInstance(DataGenerator.class);
+
+        try (Stream<GeneratedObject> rows = generator.generateData(profile)) {
+            return rows
+                .map(row -> values(profile, row))
+                .collect(Collectors.toList());
+        }
+    }
+
+    private static List<Object> values(Profile profile, GeneratedObject row) {
+        List<Object> values = new ArrayList<>();
+        profile.getFields().forEach(field -> values.add(row.getValue(field)));
+
+        profile.getRelationships().forEach(relationship -> {
+            Profile subProfile = relationship.getProfile();
+            ((RelationalGeneratedObject) row).getSubObjects().get(relationship.getName()).getData()
+                .forEach(subObject -> values.add(values(subProfile, subObject)));
+        });
+        return values;
+    }
+
+    /**
+     * A profile whose rows and whose one-to-many sub-objects each come from two independent partitions, so both are
+     * walked on partition workers when partitions are generated in parallel
+     */
+    private static Profile relationalProfile() {
+        Field childId = integerField("childId");
+        Field childAge = integerField("childAge");
+        Profile children = new Profile(
+            Arrays.asList(childId, childAge),
+            Arrays.asList(between(childId, 0, 1_000_000), between(childAge, 0, 18)),
+            Collections.emptyList());
+
+        ExtentAugmentedFields extentFields = new ExtentAugmentedFields(new ProfileFields(Collections.emptyList()));
+        List<Constraint> extents = Arrays.asList(
+            new EqualToConstraint(extentFields.getByName("min"), 1),
+            new EqualToConstraint(extentFields.getByName("max"), 5));
+
+        Field parentId = integerField("parentId");
+        Field parentAge = integerField("parentAge");
+        return new Profile(
+            Arrays.asList(parentId, parentAge),
+            Arrays.asList(between(parentId, 0, 1_000_000), between(parentAge, 18, 100)),
+            Collections.singletonList(new Relationship("children", null, children, extents)));
+    }
+
+    private static Field integerField(String name) {
+        return createField(name, StandardSpecificFieldType.INTEGER.toSpecificFieldType());
+    }
+
+    private static Constraint between(Field field, int minInclusive, int maxExclusive) {
+        return new AndConstraint(
+            new NotNullConstraint(field),
+            new GranularToNumericConstraint(field, NumericGranularity.create(BigDecimal.ONE)),
+            new GreaterThanOrEqualToConstraint(field, BigDecimal.valueOf(minInclusive)),
+            new LessThanConstraint(field, BigDecimal.valueOf(maxExclusive)));
+    }
+
+    private static class RandomConfigSource implements GenerationConfigSource {
+        private final boolean parallelPartitions;
+        private final int threads;
+
+        RandomConfigSource(boolean parallelPartitions, int threads) {
+            this.parallelPartitions = parallelPartitions;
+            this.threads = threads;
+        }
+
+        @Override
+        public DataGenerationType getGenerationType() {
+            return DataGenerationType.RANDOM;
+        }
+
+        @Override
+        public CombinationStrategyType getCombinationStrategyType() {
+            return CombinationStrategyType.MINIMAL;
+        }
+
+        @Override
+        public Long getMaxRows() {
+            return ROWS;
+        }
+
+        @Override
+        public boolean getInfiniteOutput() {
+            return false;
+        }
+
+        @Override
+        public boolean getParallelPartitions() {
+            return parallelPartitions;
+        }
+
+        @Override
+        public int getThreads() {
+            return threads;
+        }
+
+        @Override
+        public int getShardIndex() {
+            return 0;
+        }
+
+        @Override
+        public int getShardCount() {
+            return 1;
+        }
+
+        @Override
+        public Long getSeed() {
+            return 42L;
+        }
+
+        @Override
+        public RandomNumberGeneratorType getRandomNumberGeneratorType() {
+            return RandomNumberGeneratorType.SPLITTABLE;
+        }
+
+        @Override
+        public boolean getUniqueRandom() {
+            return false;
+        }
+
+        @Override
+        public UniquenessCheckType getUniquenessCheckType() {
+            return UniquenessCheckType.NONE;
+        }
+
+        @Override
+        public MonitorType getMonitorType() {
+            return MonitorType.QUIET;
+        }
+
+        @Override
+        public VisualiserLevel getVisualiserLevel() {
+            return VisualiserLevel.OFF;
+        }
+
+        @Override
+        public Path getVisualiserOutputFolder() {
+            return Paths.get(".");
+        }
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.datahelix.generator.core.generation.string;
+
+import com.scottlogic.datahelix.generator.core.generation.string.iterators.FiniteStringAutomatonIterator;
+import dk.brics.automaton.Automaton;
+import dk.brics.automaton.RegExp;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RankedAutomatonTests {
+    @Test
+    void nth_forEveryIndex_matchesIteratorOrder() {
+        Automaton automaton = new RegExp("[a-c]{0,2}|x[yz]").toAutomaton();
+        List<String> expected = allStrings(automaton);
+
+        RankedAutomaton ranked = RankedAutomaton.create(automaton).get();
+
+        assertThat(ranked.count(), is((long) expected.size()));
+        for (int index = 0; index < expected.size(); index++) {
+            assertThat(ranked.nth(index), equalTo(expected.get(index)));
+        }
+    }
+
+    @Test
+    void rank_ofEveryString_isItsPosition() {
+        Automaton automaton = new RegExp("[a-c]{0,2}|x[yz]").toAutomaton();
+        List<String> expected = allStrings(automaton);
+
+        RankedAutomaton ranked = RankedAutomaton.create(automaton).get();
+
+        for (int index = 0; index < expected.size(); index++) {
+            assertThat(ranked.rank(expected.get(index)), is((long) index));
+        }
+    }
+
+    @Test
+    void rank_ofStringNotAccepted_isMinusOne() {
+        RankedAutomaton ranked = RankedAutomaton.create(new RegExp("[a-c]{2}").toAutomaton()).get();
+
+        assertThat(ranked.rank("a"), is(-1L));
+        assertThat(ranked.rank("ad"), is(-1L));
+        assertThat(ranked.rank("abc"), is(-1L));
+    }
+
+    @Test
+    void nth_outsideStrings_throws() {
+        RankedAutomaton ranked = RankedAutomaton.create(new RegExp("[a-c]").toAutomaton()).get();
+
+        assertThrows(IndexOutOfBoundsException.class, () -> ranked.nth(3));
+    }
+
+    @Test
+    void create_forInfiniteLanguage_isEmpty() {
+        assertThat(RankedAutomaton.create(new RegExp("a+").toAutomaton()).isPresent(), is(false));
+    }
+
+    @Test
+    void nth_forMoreStringsThanFitInALong_reachesEveryIndex() {
+        Automaton automaton = new RegExp("[a-z]{20}").toAutomaton();
+
+        RankedAutomaton ranked = RankedAutomaton.create(automaton).get();
+        String last = ranked.nth(Long.MAX_VALUE - 1);
+
+        assertThat(ranked.count(), is(Long.MAX_VALUE));
+        assertThat(automaton.run(last), is(true));
+        assertThat(ranked.rank(last), is(Long.MAX_VALUE - 1));
+    }
+
+    @Test
+    void generateFrom_withOffsetAndStride_producesEveryStrideString() {
+        Automaton automaton = new RegExp("[a-c]{0,2}|x[yz]").toAutomaton();
+        List<String> all = allStrings(automaton);
+        List<String> expected = new ArrayList<>();
+        for (int index = 2; index < all.size(); index += 3) {
+            expected.add(all.get(index));
+        }
+
+        RankedAutomaton ranked = RankedAutomaton.create(automaton).get();
+
+        assertThat(ranked.generateFrom(2, 3).collect(Collectors.toList()), equalTo(expected));
+    }
+
+    private static List<String> allStrings(Automaton automaton) {
+        List<String> strings = new ArrayList<>();
+        new FiniteStringAutomatonIterator(automaton).forEachRemaining(strings::add);
+        return strings;
+    }
+}
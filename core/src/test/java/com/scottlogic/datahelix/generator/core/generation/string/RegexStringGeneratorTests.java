@@ -255,6 +255,7 @@ class RegexStringGeneratorTests {
     @BeforeEach
     private void beforeEach() {
         this.regexes.clear();
+        RegexStringGenerator.configureCaches(1024, 64L << 20);
     }
 
     private StringGenerator constructGenerator(boolean matchFullString) {
@@ -375,4 +376,47 @@ class RegexStringGeneratorTests {
 
         assertThat(match, is(false));
     }
+
+    @Test
+    void intersect_withSamePatternsInDifferentOrder_reusesCachedAutomaton(){
+        RegexStringGenerator a = new RegexStringGenerator("[a-c]{1,5}", true);
+        RegexStringGenerator b = new RegexStringGenerator("[b-d]{2,6}", true);
+        RegexStringGenerator c = new RegexStringGenerator("[a-z]{3,4}", true);
+        StringGenerator first = a.intersect(b.intersect(c));
+        StringGenerator partial = c.intersect(a);
+        assertThat(RegexStringGenerator.getAutomatonCache().getHits(), is(0L));
+
+        StringGenerator second = partial.intersect(b);
+
+        assertThat(RegexStringGenerator.getAutomatonCache().getHits(), is(1L));
+        assertThat(second.generateAllValues().collect(Collectors.toList()),
+            equalTo(first.generateAllValues().collect(Collectors.toList())));
+    }
+
+    @Test
+    void complement_forSameRegexRepeatedly_reusesCachedAutomaton(){
+        new RegexStringGenerator("[a-c]{1,5}", true).complement();
+        RegexStringGenerator generator = new RegexStringGenerator("[a-c]{1,5}", true);
+        assertThat(RegexStringGenerator.getAutomatonCache().getHits(), is(1L));
+
+        StringGenerator complement = generator.complement();
+
+        assertThat(RegexStringGenerator.getAutomatonCache().getHits(), is(2L));
+        assertThat(complement.matches("abc"), is(false));
+        assertThat(complement.matches("abcd1"), is(true));
+    }
+
+    @Test
+    void generateAllValues_withOffsetAndStride_skipsToEveryStrideValue(){
+        RegexStringGenerator generator = new RegexStringGenerator("[a-c]{1,3}", true);
+        List<String> all = generator.generateAllValues().collect(Collectors.toList());
+
+        List<String> strided = generator.generateAllValues(5, 4).collect(Collectors.toList());
+
+        List<String> expected = new ArrayList<>();
+        for (int index = 5; index < all.size(); index += 4) {
+            expected.add(all.get(index));
+        }
+        assertThat(strided, equalTo(expected));
+    }
 }
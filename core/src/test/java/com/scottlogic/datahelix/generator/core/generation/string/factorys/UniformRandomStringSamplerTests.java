@@ -0,0 +1,94 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.datahelix.generator.core.generation.string.factorys;
+
+import com.scottlogic.datahelix.generator.common.ValidationException;
+import com.scottlogic.datahelix.generator.core.utils.JavaUtilRandomNumberGenerator;
+import dk.brics.automaton.Automaton;
+import dk.brics.automaton.RegExp;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class UniformRandomStringSamplerTests {
+    private final JavaUtilRandomNumberGenerator random = new JavaUtilRandomNumberGenerator(0);
+
+    @Test
+    void createRandomString_forUnionOfUnevenBranches_drawsEachStringEquallyOften() {
+        UniformRandomStringSampler sampler = samplerFor("[ab]c|d[ef]|gh", 1000);
+
+        Map<String, Long> counts = draw(sampler, 50_000);
+
+        assertThat(counts.keySet(), containsInAnyOrder("ac", "bc", "de", "df", "gh"));
+        counts.values().forEach(count -> assertThat(count, allOf(greaterThan(9_500L), lessThan(10_500L))));
+    }
+
+    @Test
+    void createRandomString_forRangeOfLengths_drawsEachLengthEquallyOften() {
+        UniformRandomStringSampler sampler = samplerFor("[a-z]{2,4}", 1000);
+
+        Map<Integer, Long> counts = Stream.generate(() -> sampler.createRandomString(random))
+            .limit(30_000)
+            .collect(Collectors.groupingBy(String::length, Collectors.counting()));
+
+        assertThat(counts.keySet(), containsInAnyOrder(2, 3, 4));
+        counts.values().forEach(count -> assertThat(count, allOf(greaterThan(9_500L), lessThan(10_500L))));
+    }
+
+    @Test
+    void createRandomString_forUnboundedAutomaton_drawsStringsUpToMaxLength() {
+        UniformRandomStringSampler sampler = samplerFor("a+", 3);
+
+        Map<String, Long> counts = draw(sampler, 1_000);
+
+        assertThat(counts.keySet(), containsInAnyOrder("a", "aa", "aaa"));
+    }
+
+    @Test
+    void createRandomString_forRangeIncludingSurrogates_onlyDrawsValidCharacters() {
+        Automaton automaton = Automaton.makeCharRange('\uD7FF', '\uE000');
+        UniformRandomStringSampler sampler = UniformRandomStringSampler.create(automaton, 1000).get();
+
+        Map<String, Long> counts = draw(sampler, 1_000);
+
+        assertThat(counts.keySet(), containsInAnyOrder("\uD7FF", "\uE000"));
+    }
+
+    @Test
+    void createRandomString_forEmptyAutomaton_throws() {
+        UniformRandomStringSampler sampler = UniformRandomStringSampler.create(Automaton.makeEmpty(), 1000).get();
+
+        assertThrows(ValidationException.class, () -> sampler.createRandomString(random));
+    }
+
+    private static UniformRandomStringSampler samplerFor(String regex, int maxLength) {
+        return UniformRandomStringSampler.create(new RegExp(regex).toAutomaton(), maxLength).get();
+    }
+
+    private Map<String, Long> draw(UniformRandomStringSampler sampler, int count) {
+        return Stream.generate(() -> sampler.createRandomString(random))
+            .limit(count)
+            .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.datahelix.generator.core.generation.uniqueness;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class BloomFilterTrackerTest {
+    @Test
+    void contains_valueAdded_returnsTrue() {
+        try (BloomFilterTracker tracker = new BloomFilterTracker(100_000)) {
+            for (int i = 0; i < 100_000; i++) {
+                tracker.add("value " + i);
+            }
+
+            for (int i = 0; i < 100_000; i++) {
+                assertThat(tracker.contains("value " + i), is(true));
+            }
+        }
+    }
+
+    @Test
+    void contains_valuesNotAdded_returnsFalse() {
+        try (BloomFilterTracker tracker = new BloomFilterTracker(100_000)) {
+            for (int i = 0; i < 100_000; i++) {
+                tracker.add("value " + i);
+            }
+
+            for (int i = 0; i < 100_000; i++) {
+                assertThat(tracker.contains("other " + i), is(false));
+            }
+        }
+    }
+
+    @Test
+    void add_moreValuesThanExpected_keepsEveryValue() {
+        try (BloomFilterTracker tracker = new BloomFilterTracker(10)) {
+            for (int i = 0; i < 10_000; i++) {
+                assertThat(tracker.contains(i), is(false));
+                tracker.add(i);
+            }
+
+            for (int i = 0; i < 10_000; i++) {
+                assertThat(tracker.contains(i), is(true));
+            }
+        }
+    }
+
+    @Test
+    void contains_decimalDifferingOnlyInTrailingZeros_returnsTrue() {
+        try (BloomFilterTracker tracker = new BloomFilterTracker(10)) {
+            tracker.add(new BigDecimal("1.5"));
+            tracker.add(new BigDecimal("0.00"));
+
+            assertThat(tracker.contains(new BigDecimal("1.50")), is(true));
+            assertThat(tracker.contains(BigDecimal.ZERO), is(true));
+        }
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.datahelix.generator.core.generation.uniqueness;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class OffHeapHashSetTrackerTest {
+    @Test
+    void contains_valueNotAdded_returnsFalse() {
+        try (OffHeapHashSetTracker tracker = new OffHeapHashSetTracker(10)) {
+            assertThat(tracker.contains("a"), is(false));
+        }
+    }
+
+    @Test
+    void contains_valueAdded_returnsTrue() {
+        try (OffHeapHashSetTracker tracker = new OffHeapHashSetTracker(10)) {
+            tracker.add("a");
+
+            assertThat(tracker.contains("a"), is(true));
+            assertThat(tracker.contains("b"), is(false));
+        }
+    }
+
+    @Test
+    void add_sameValueTwice_isOnlyTrackedOnce() {
+        try (OffHeapHashSetTracker tracker = new OffHeapHashSetTracker(10)) {
+            tracker.add(new BigDecimal("1.5"));
+            tracker.add(new BigDecimal("1.5"));
+
+            assertThat(tracker.size(), equalTo(1L));
+        }
+    }
+
+    @Test
+    void add_moreValuesThanExpected_growsAndKeepsEveryValue() {
+        try (OffHeapHashSetTracker tracker = new OffHeapHashSetTracker(10)) {
+            for (int i = 0; i < 10_000; i++) {
+                assertThat(tracker.contains(i), is(false));
+                tracker.add(i);
+            }
+
+            assertThat(tracker.size(), equalTo(10_000L));
+            for (int i = 0; i < 10_000; i++) {
+                assertThat(tracker.contains(i), is(true));
+            }
+        }
+    }
+}
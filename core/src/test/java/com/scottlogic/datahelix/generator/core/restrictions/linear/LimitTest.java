@@ -0,0 +1,41 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.datahelix.generator.core.restrictions.linear;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LimitTest {
+    @Test
+    void equals_limitsBuiltSeparatelyFromEqualValues_areEqualWithSameHashCode() {
+        Limit<BigDecimal> first = new Limit<>(new BigDecimal("1.5"), true);
+        Limit<BigDecimal> second = new Limit<>(new BigDecimal("1.5"), true);
+
+        assertEquals(first, second);
+        assertEquals(first.hashCode(), second.hashCode());
+    }
+
+    @Test
+    void equals_limitsDifferingOnlyInInclusivity_areNotEqual() {
+        assertNotEquals(
+            new Limit<>(new BigDecimal("1.5"), true),
+            new Limit<>(new BigDecimal("1.5"), false));
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.datahelix.generator.core.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IndexPermutationTest {
+    @Test
+    void permutedIndexes_forVariousSizes_givesEveryPositionOnce() {
+        for (long size : new long[]{1, 2, 3, 17, 1000, 4097}) {
+            Set<Long> positions = new IndexPermutation(size, 7).permutedIndexes(0, 1)
+                .boxed()
+                .collect(Collectors.toSet());
+
+            assertEquals(LongStream.range(0, size).boxed().collect(Collectors.toSet()), positions);
+        }
+    }
+
+    @Test
+    void permutedIndexes_splitByStride_givesEveryPositionOnceBetweenStreams() {
+        IndexPermutation permutation = new IndexPermutation(1000, 7);
+        Set<Long> positions = new HashSet<>();
+
+        for (int offset = 0; offset < 4; offset++) {
+            permutation.permutedIndexes(offset, 4).forEach(position -> assertTrue(positions.add(position)));
+        }
+
+        assertEquals(1000, positions.size());
+    }
+
+    @Test
+    void permute_withSameKey_givesSameOrder() {
+        assertArrayEquals(
+            new IndexPermutation(1000, 7).permutedIndexes(0, 1).toArray(),
+            new IndexPermutation(1000, 7).permutedIndexes(0, 1).toArray());
+    }
+
+    @Test
+    void permute_withDifferentKeys_givesDifferentOrders() {
+        assertFalse(Arrays.equals(
+            new IndexPermutation(1000, 7).permutedIndexes(0, 1).toArray(),
+            new IndexPermutation(1000, 8).permutedIndexes(0, 1).toArray()));
+    }
+
+    @Test
+    void permute_forLargestSize_staysInRange() {
+        IndexPermutation permutation = new IndexPermutation(Long.MAX_VALUE, 7);
+
+        LongStream.of(0, 1, Long.MAX_VALUE - 1)
+            .map(permutation::permute)
+            .forEach(position -> assertTrue(position >= 0 && position < Long.MAX_VALUE));
+    }
+
+    @Test
+    void permute_outsideRange_throws() {
+        assertThrows(IndexOutOfBoundsException.class, () -> new IndexPermutation(10, 7).permute(10));
+    }
+}
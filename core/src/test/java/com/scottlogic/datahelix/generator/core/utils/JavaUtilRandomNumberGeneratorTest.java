@@ -15,12 +15,14 @@
  */
 package com.scottlogic.datahelix.generator.core.utils;
 
+import com.scottlogic.datahelix.generator.common.RandomNumberGenerator;
 import com.scottlogic.datahelix.generator.common.SetUtils;
 import com.scottlogic.datahelix.generator.common.util.Defaults;
 import org.junit.jupiter.api.Test;
 
 import java.math.BigDecimal;
 import java.util.Set;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -106,4 +108,14 @@ class JavaUtilRandomNumberGeneratorTest {
     private String lastFourLetters(String input) {
         return input.substring(input.length() - 4);
     }
+
+    @Test
+    void split_fromSameSeed_givesSameGenerator() {
+        RandomNumberGenerator first = new JavaUtilRandomNumberGenerator(42).split();
+        RandomNumberGenerator second = new JavaUtilRandomNumberGenerator(42).split();
+
+        assertEquals(
+            Stream.generate(first::nextInt).limit(20).collect(Collectors.toList()),
+            Stream.generate(second::nextInt).limit(20).collect(Collectors.toList()));
+    }
 }
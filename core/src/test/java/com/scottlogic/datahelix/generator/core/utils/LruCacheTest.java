@@ -0,0 +1,90 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.datahelix.generator.core.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LruCacheTest {
+
+    @Test
+    void computeIfAbsent_forRepeatedKey_onlyComputesOnce() {
+        LruCache<String, Integer> cache = new LruCache<>("test", 10);
+        AtomicInteger computations = new AtomicInteger();
+
+        cache.computeIfAbsent("a", key -> computations.incrementAndGet());
+        Integer result = cache.computeIfAbsent("a", key -> computations.incrementAndGet());
+
+        assertEquals(1, (int) result);
+        assertEquals(1, computations.get());
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    void computeIfAbsent_whenFull_evictsLeastRecentlyUsedEntry() {
+        LruCache<String, String> cache = new LruCache<>("test", 2);
+        cache.computeIfAbsent("a", key -> key);
+        cache.computeIfAbsent("b", key -> key);
+        cache.computeIfAbsent("a", key -> key);
+
+        cache.computeIfAbsent("c", key -> key);
+        cache.computeIfAbsent("a", key -> key);
+        cache.computeIfAbsent("b", key -> key);
+
+        assertEquals(2, cache.size());
+        assertEquals(2, cache.getHits());
+        assertEquals(4, cache.getMisses());
+    }
+
+    @Test
+    void computeIfAbsent_whenOverMaximumWeight_evictsLeastRecentlyUsedEntriesUntilWithinIt() {
+        LruCache<String, String> cache = new LruCache<>("test", 10, String::length);
+        cache.computeIfAbsent("a", key -> "1234");
+        cache.computeIfAbsent("b", key -> "1234");
+        cache.computeIfAbsent("a", key -> "1234");
+
+        cache.computeIfAbsent("c", key -> "123456");
+
+        assertEquals(2, cache.size());
+        assertEquals(10, cache.weight());
+        cache.computeIfAbsent("a", key -> "1234");
+        assertEquals(2, cache.getHits());
+        cache.computeIfAbsent("b", key -> "1234");
+        assertEquals(4, cache.getMisses());
+    }
+
+    @Test
+    void computeIfAbsent_valueHeavierThanMaximumWeight_returnsValueWithoutHoldingIt() {
+        LruCache<String, String> cache = new LruCache<>("test", 3, String::length);
+        cache.computeIfAbsent("a", key -> "1");
+
+        String value = cache.computeIfAbsent("b", key -> "1234");
+
+        assertEquals("1234", value);
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.weight());
+    }
+
+    @Test
+    void constructor_withNonPositiveSize_throws() {
+        assertThrows(IllegalArgumentException.class, () -> new LruCache<>("test", 0));
+    }
+}
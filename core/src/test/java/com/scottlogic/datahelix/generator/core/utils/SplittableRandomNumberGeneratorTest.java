@@ -0,0 +1,102 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.datahelix.generator.core.utils;
+
+import com.scottlogic.datahelix.generator.common.util.Defaults;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SplittableRandomNumberGeneratorTest {
+
+    @Test
+    void nextBigDecimal_withSameSeed_givesSameValues() {
+        BigDecimal lower = new BigDecimal("0.08");
+        BigDecimal upper = new BigDecimal("100");
+
+        assertEquals(
+            generate(new SplittableRandomNumberGenerator(42), lower, upper),
+            generate(new SplittableRandomNumberGenerator(42), lower, upper));
+    }
+
+    @Test
+    void nextBigDecimal_withDifferentScales_givesValuesInRangeAtGreatestScale() {
+        BigDecimal lower = new BigDecimal("0.9");
+        BigDecimal upper = new BigDecimal("10.00");
+
+        List<BigDecimal> results = generate(new SplittableRandomNumberGenerator(0), lower, upper);
+
+        assertTrue(results.stream().allMatch(x -> lower.compareTo(x) <= 0 && upper.compareTo(x) > 0));
+        assertTrue(results.stream().allMatch(x -> x.scale() == 2));
+    }
+
+    @Test
+    void nextBigDecimal_withRangeTooLargeForLong_givesValuesInRange() {
+        BigDecimal lower = Defaults.NUMERIC_MIN.setScale(20);
+        BigDecimal upper = Defaults.NUMERIC_MAX.setScale(20);
+
+        List<BigDecimal> results = generate(new SplittableRandomNumberGenerator(0), lower, upper);
+
+        assertTrue(results.stream().allMatch(x -> lower.compareTo(x) <= 0 && upper.compareTo(x) > 0));
+        assertTrue(results.stream().map(BigDecimal::toPlainString).noneMatch(x -> x.endsWith("0000")));
+    }
+
+    @Test
+    void nextBigDecimal_withEmptyRange_givesLowerBound() {
+        SplittableRandomNumberGenerator random = new SplittableRandomNumberGenerator(0);
+
+        assertEquals(BigDecimal.ONE, random.nextBigDecimal(BigDecimal.ONE, BigDecimal.ONE));
+    }
+
+    @Test
+    void nextLong_withEmptyRange_givesLowerBound() {
+        SplittableRandomNumberGenerator random = new SplittableRandomNumberGenerator(0);
+
+        assertEquals(5L, random.nextLong(5L, 5L));
+    }
+
+    @Test
+    void split_givesGeneratorIndependentOfParent() {
+        SplittableRandomNumberGenerator parent = new SplittableRandomNumberGenerator(42);
+        SplittableRandomNumberGenerator child = parent.split();
+
+        assertNotEquals(
+            generate(parent, BigDecimal.ZERO, BigDecimal.valueOf(1_000_000)),
+            generate(child, BigDecimal.ZERO, BigDecimal.valueOf(1_000_000)));
+    }
+
+    @Test
+    void split_fromSameSeed_givesSameGenerator() {
+        SplittableRandomNumberGenerator first = new SplittableRandomNumberGenerator(42).split();
+        SplittableRandomNumberGenerator second = new SplittableRandomNumberGenerator(42).split();
+
+        assertEquals(
+            generate(first, BigDecimal.ZERO, BigDecimal.valueOf(1_000_000)),
+            generate(second, BigDecimal.ZERO, BigDecimal.valueOf(1_000_000)));
+    }
+
+    private static List<BigDecimal> generate(SplittableRandomNumberGenerator random, BigDecimal lower, BigDecimal upper) {
+        return Stream.generate(() -> random.nextBigDecimal(lower, upper))
+            .limit(20)
+            .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.datahelix.generator.core.walker.decisionbased;
+
+import com.scottlogic.datahelix.generator.core.decisiontree.ConstraintNode;
+import com.scottlogic.datahelix.generator.core.decisiontree.DecisionNode;
+import com.scottlogic.datahelix.generator.core.utils.JavaUtilRandomNumberGenerator;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.scottlogic.datahelix.generator.common.profile.FieldBuilder.createField;
+import static com.scottlogic.datahelix.generator.core.builders.TestConstraintNodeBuilder.constraintNode;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RandomOptionPickerTests {
+    private final DecisionNode decisionNode = new DecisionNode(IntStream.range(0, 20)
+        .mapToObj(index -> constraintNode().where(createField("field" + index)).isNull().build())
+        .toArray(ConstraintNode[]::new));
+
+    @Test
+    void streamOptions_withSameSeed_shufflesOptionsTheSameWay() {
+        RandomOptionPicker first = new RandomOptionPicker(new JavaUtilRandomNumberGenerator(42));
+        RandomOptionPicker second = new RandomOptionPicker(new JavaUtilRandomNumberGenerator(42));
+
+        List<ConstraintNode> firstOptions = first.streamOptions(decisionNode).collect(Collectors.toList());
+        List<ConstraintNode> secondOptions = second.streamOptions(decisionNode).collect(Collectors.toList());
+
+        assertEquals(firstOptions, secondOptions);
+    }
+}
@@ -111,4 +111,43 @@ class RowSpecTreeSolverTests {
 
         assertThat(rowSpecs, sameBeanAs(expectedRowSpecs));
     }
+
+    @Test
+    void createRowSpecs_whenOptionsContradictOtherDecisions_returnsOnlyConsistentRowSpecs() {
+        //Arrange
+        ConstraintNode root = TestConstraintNodeBuilder.constraintNode()
+            .withDecision(
+                TestConstraintNodeBuilder.constraintNode()
+                    .where(fieldA).isNotNull(),
+                TestConstraintNodeBuilder.constraintNode()
+                    .where(fieldB).isNotNull())
+            .withDecision(
+                TestConstraintNodeBuilder.constraintNode()
+                    .where(fieldA).isNull()
+                    .where(fieldB).isInSet("1"),
+                TestConstraintNodeBuilder.constraintNode()
+                    .where(fieldB).isInSet("2"))
+            .build();
+        DecisionTree tree = new DecisionTree(root, fields);
+
+        //Act
+        Set<RowSpec> rowSpecs = rowSpecTreeSolver.createRowSpecs(tree).collect(Collectors.toSet());
+
+        //Assert
+        Set<RowSpec> expectedRowSpecs = new HashSet<>();
+        Map<Field, FieldSpec> aNotNullWithB2 = new HashMap<>();
+        aNotNullWithB2.put(fieldA, FieldSpecFactory.fromType(fieldA.getType()).withNotNull());
+        aNotNullWithB2.put(fieldB, FieldSpecFactory.fromList(DistributedList.uniform(Collections.singletonList("2"))));
+        expectedRowSpecs.add(new RowSpec(fields, aNotNullWithB2, Collections.emptyList()));
+        Map<Field, FieldSpec> aNullWithB1 = new HashMap<>();
+        aNullWithB1.put(fieldA, FieldSpecFactory.nullOnly());
+        aNullWithB1.put(fieldB, FieldSpecFactory.fromList(DistributedList.uniform(Collections.singletonList("1"))).withNotNull());
+        expectedRowSpecs.add(new RowSpec(fields, aNullWithB1, Collections.emptyList()));
+        Map<Field, FieldSpec> bNotNullWithB2 = new HashMap<>();
+        bNotNullWithB2.put(fieldA, FieldSpecFactory.fromType(fieldA.getType()));
+        bNotNullWithB2.put(fieldB, FieldSpecFactory.fromList(DistributedList.uniform(Collections.singletonList("2"))).withNotNull());
+        expectedRowSpecs.add(new RowSpec(fields, bNotNullWithB2, Collections.emptyList()));
+
+        assertThat(rowSpecs, sameBeanAs(expectedRowSpecs));
+    }
 }
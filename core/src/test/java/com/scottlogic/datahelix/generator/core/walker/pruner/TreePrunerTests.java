@@ -32,7 +32,9 @@ import org.junit.jupiter.api.Test;
 
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 
 import static com.scottlogic.datahelix.generator.common.profile.FieldBuilder.createField;
@@ -413,6 +415,62 @@ class TreePrunerTests {
         assertThat(actual, sameBeanAs(expected));
     }
 
+    // Memoised -> a decision is pruned once for each distinct FieldSpec of the fields it constrains
+    @Test
+    public void pruneConstraintNode_withCacheAndOnlyUnrelatedFieldChanging_prunesDecisionOnce() {
+        //Arrange
+        TreePruner memoisingTreePruner = new TreePruner(
+            new FieldSpecMerger(),
+            new ConstraintReducer(new FieldSpecMerger()),
+            fieldSpecHelper,
+            100);
+        ConstraintNode tree =
+            constraintNode()
+                .withDecision(
+                    constraintNode().where(field).isInSet("a"),
+                    constraintNode().where(field).isInSet("b"))
+                .build();
+        FieldSpec fieldSpec = FieldSpecFactory.fromList(DistributedList.uniform(Collections.singleton("a")));
+        Map<Field, FieldSpec> firstFieldSpecs = new HashMap<>();
+        firstFieldSpecs.put(field, fieldSpec);
+        firstFieldSpecs.put(unrelatedField, FieldSpecFactory.fromList(DistributedList.uniform(Collections.singleton("x"))));
+        Map<Field, FieldSpec> secondFieldSpecs = new HashMap<>();
+        secondFieldSpecs.put(field, fieldSpec);
+        secondFieldSpecs.put(unrelatedField, FieldSpecFactory.fromList(DistributedList.uniform(Collections.singleton("y"))));
+
+        //Act
+        ConstraintNode first = memoisingTreePruner.pruneConstraintNode(tree, firstFieldSpecs).get();
+        ConstraintNode second = memoisingTreePruner.pruneConstraintNode(tree, secondFieldSpecs).get();
+
+        //Assert
+        assertThat(second, sameBeanAs(first));
+        assertEquals(1, memoisingTreePruner.getCaches().get(0).getHits());
+        assertEquals(1, memoisingTreePruner.getCaches().get(0).getMisses());
+    }
+
+    // Already reduced -> decisions are pruned against the given FieldSpecs only
+    @Test
+    public void pruneReducedConstraintNode_withContradictoryDecision_returnsContradictory() {
+        //Arrange
+        ConstraintNode tree =
+            constraintNode()
+                .where(field).isInSet("a", "b")
+                .withDecision(
+                    constraintNode().where(field).isInSet("a"),
+                    constraintNode().where(field).isInSet("b"))
+                .build();
+        Map<Field, FieldSpec> reducedFieldSpecs = Collections.singletonMap(
+            field,
+            FieldSpecFactory.fromList(DistributedList.uniform(Collections.singleton("c"))).withNotNull());
+
+        //Act
+        Merged<ConstraintNode> actual = treePruner.pruneReducedConstraintNode(tree, reducedFieldSpecs);
+
+        //Assert
+        Merged<Object> expected = Merged.contradictory();
+        assertThat(actual, sameBeanAs(expected));
+    }
+
     private DataBagValue fieldValue() {
         return new DataBagValue("TODO");
     }
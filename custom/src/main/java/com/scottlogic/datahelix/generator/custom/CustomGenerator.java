@@ -16,6 +16,7 @@
 
 package com.scottlogic.datahelix.generator.custom;
 
+import java.util.Random;
 import java.util.stream.Stream;
 
 public interface CustomGenerator<T> {
@@ -42,6 +43,19 @@ public interface CustomGenerator<T> {
      */
     Stream<T> generateRandom();
 
+    /**
+     * the part of the generator to be used during random generation, given the source of randomness for the run
+     *
+     * Override this instead of generateRandom() if you want your custom generator to produce the same values
+     * whenever the generator is run with the same seed
+     *
+     * @param random the source of randomness to draw values from
+     * @return your stream of random values
+     */
+    default Stream<T> generateRandom(Random random) {
+        return generateRandom();
+    }
+
     /**
      * the part of the generator to be used when the generator constraint is negated during random generation
      *  - this should be implemented as the values that your regular generator should not be outputting
@@ -53,6 +67,20 @@ public interface CustomGenerator<T> {
      */
     Stream<T> generateNegatedRandom();
 
+    /**
+     * the part of the generator to be used when the generator constraint is negated during random generation, given
+     * the source of randomness for the run
+     *
+     * Override this instead of generateNegatedRandom() if you want your custom generator to produce the same values
+     * whenever the generator is run with the same seed
+     *
+     * @param random the source of randomness to draw values from
+     * @return your stream of random values that are not what would be produced by the generator if it were not negated
+     */
+    default Stream<T> generateNegatedRandom(Random random) {
+        return generateNegatedRandom();
+    }
+
     /**
      * the part of the generator to be used during sequential generation
      *
@@ -20,6 +20,7 @@ package com.scottlogic.datahelix.generator.custom.builder;
 import com.scottlogic.datahelix.generator.custom.CustomGenerator;
 import com.scottlogic.datahelix.generator.custom.CustomGeneratorFieldType;
 
+import java.util.Random;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
@@ -29,18 +30,35 @@ public class BuiltCustomGenerator<T> implements CustomGenerator<T>
     private final CustomGeneratorFieldType fieldType;
     private final String name;
     private final Function<T, Boolean> matchingFunction;
-    private final Supplier<Stream<T>> randomGenerator;
-    private final Supplier<Stream<T>>  negatedRandomGenerator;
+    private final Function<Random, Stream<T>> randomGenerator;
+    private final Function<Random, Stream<T>> negatedRandomGenerator;
     private final Supplier<Stream<T>> sequentialGenerator;
     private final Supplier<Stream<T>> negatedSequentialGenerator;
+    private final long seed;
 
     public BuiltCustomGenerator(CustomGeneratorFieldType fieldType,
                                 String name,
                                 Function<T, Boolean> matchingFunction,
-                                Supplier<Stream<T>> randomGenerator,
-                                Supplier<Stream<T>>  negatedRandomGenerator,
+                                Function<Random, Stream<T>> randomGenerator,
+                                Function<Random, Stream<T>> negatedRandomGenerator,
                                 Supplier<Stream<T>> sequentialGenerator,
                                 Supplier<Stream<T>> negatedSequentialGenerator) {
+        this(fieldType, name, matchingFunction, randomGenerator, negatedRandomGenerator, sequentialGenerator,
+            negatedSequentialGenerator, name.hashCode());
+    }
+
+    /**
+     * @param seed seeds the values produced when the generator is called without the source of randomness for the run,
+     *             so they are the same on every call
+     */
+    public BuiltCustomGenerator(CustomGeneratorFieldType fieldType,
+                                String name,
+                                Function<T, Boolean> matchingFunction,
+                                Function<Random, Stream<T>> randomGenerator,
+                                Function<Random, Stream<T>> negatedRandomGenerator,
+                                Supplier<Stream<T>> sequentialGenerator,
+                                Supplier<Stream<T>> negatedSequentialGenerator,
+                                long seed) {
         this.fieldType = fieldType;
         this.name = name;
         this.matchingFunction = matchingFunction;
@@ -48,6 +66,7 @@ public class BuiltCustomGenerator<T> implements CustomGenerator<T>
         this.negatedRandomGenerator = negatedRandomGenerator;
         this.sequentialGenerator = sequentialGenerator;
         this.negatedSequentialGenerator = negatedSequentialGenerator;
+        this.seed = seed;
     }
 
     @Override
@@ -62,12 +81,22 @@ public class BuiltCustomGenerator<T> implements CustomGenerator<T>
 
     @Override
     public Stream<T> generateRandom() {
-        return randomGenerator.get();
+        return randomGenerator.apply(new Random(seed));
+    }
+
+    @Override
+    public Stream<T> generateRandom(Random random) {
+        return randomGenerator.apply(random);
     }
 
     @Override
     public Stream<T> generateNegatedRandom() {
-        return negatedRandomGenerator.get();
+        return negatedRandomGenerator.apply(new Random(seed));
+    }
+
+    @Override
+    public Stream<T> generateNegatedRandom(Random random) {
+        return negatedRandomGenerator.apply(random);
     }
 
     @Override
@@ -21,6 +21,7 @@ import com.scottlogic.datahelix.generator.custom.CustomGeneratorFieldType;
 
 import java.math.BigDecimal;
 import java.time.OffsetDateTime;
+import java.util.Random;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
@@ -31,17 +32,19 @@ public class CustomGeneratorBuilder<T> {
 
     private Function<T, Boolean> matchingFunction;
 
-    private Supplier<Stream<T>> randomGenerator;
-    private Supplier<Stream<T>> negatedRandomGenerator;
+    private Function<Random, Stream<T>> randomGenerator;
+    private Function<Random, Stream<T>> negatedRandomGenerator;
     private Supplier<Stream<T>> sequentialGenerator;
     private Supplier<Stream<T>> negatedSequentialGenerator;
+    private long seed;
 
     private CustomGeneratorBuilder(CustomGeneratorFieldType fieldType, String name) {
         this.fieldType = fieldType;
         this.name = name;
+        seed = name == null ? 0 : name.hashCode();
         matchingFunction = (value) -> { throw new CustomGeneratorNotImplementedException(name + " custom generator does not support being used with inSet or equalsTo constraints"); };
-        randomGenerator = () -> { throw new CustomGeneratorNotImplementedException(name + " custom generator does not support random mode"); };
-        negatedRandomGenerator = () -> { throw new CustomGeneratorNotImplementedException(name + " custom generator does not support being negated in random mode"); };
+        randomGenerator = random -> { throw new CustomGeneratorNotImplementedException(name + " custom generator does not support random mode"); };
+        negatedRandomGenerator = random -> { throw new CustomGeneratorNotImplementedException(name + " custom generator does not support being negated in random mode"); };
         sequentialGenerator = () -> { throw new CustomGeneratorNotImplementedException(name + " custom generator does not support sequential mode"); };
         negatedSequentialGenerator = () -> { throw new CustomGeneratorNotImplementedException(name + " custom generator does not support being negated in sequential mode"); };
     }
@@ -66,7 +69,20 @@ public class CustomGeneratorBuilder<T> {
      * @return
      */
     public CustomGeneratorBuilder<T> withRandomGenerator(Supplier<T> supplier){
-        this.randomGenerator = () -> Stream.generate(supplier);
+        this.randomGenerator = random -> Stream.generate(supplier);
+        return this;
+    }
+
+    /**
+     * the part of the generator to be used during random generation, drawing from the source of randomness for the run
+     * so that the same values are produced whenever the generator is run with the same seed
+     *
+     * Required if you want your custom generator to support random generation
+     * @param generator function producing a random value from the given source of randomness
+     * @return
+     */
+    public CustomGeneratorBuilder<T> withSeededRandomGenerator(Function<Random, T> generator){
+        this.randomGenerator = random -> Stream.generate(() -> generator.apply(random));
         return this;
     }
 
@@ -80,7 +96,21 @@ public class CustomGeneratorBuilder<T> {
      * @return
      */
     public CustomGeneratorBuilder<T> withNegatedRandomGenerator(Supplier<T> supplier){
-        this.negatedRandomGenerator = () -> Stream.generate(supplier);
+        this.negatedRandomGenerator = random -> Stream.generate(supplier);
+        return this;
+    }
+
+    /**
+     * the part of the generator to be used when the generator constraint is negated during random generation, drawing
+     * from the source of randomness for the run so that the same values are produced whenever the generator is run with
+     * the same seed
+     *
+     * Required if you want your custom generator to support being negated in random mode
+     * @param generator function producing a random value that would not be produced by the non negated generator
+     * @return
+     */
+    public CustomGeneratorBuilder<T> withSeededNegatedRandomGenerator(Function<Random, T> generator){
+        this.negatedRandomGenerator = random -> Stream.generate(() -> generator.apply(random));
         return this;
     }
 
@@ -123,11 +153,24 @@ public class CustomGeneratorBuilder<T> {
         return this;
     }
 
+    /**
+     * The seed for the values produced when the generator is called without the source of randomness for the run.
+     * During generation the run's source of randomness is always given, so this does not affect the generated data
+     *
+     * Defaults to a seed derived from the generator's name
+     * @param seed the seed to use
+     * @return
+     */
+    public CustomGeneratorBuilder<T> withSeed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
     public CustomGenerator<T> build(){
         if (name == null){
             throw new UnsupportedOperationException("Custom Generators must be named");
         }
 
-        return new BuiltCustomGenerator<>(fieldType, name, matchingFunction, randomGenerator, negatedRandomGenerator, sequentialGenerator, negatedSequentialGenerator);
+        return new BuiltCustomGenerator<>(fieldType, name, matchingFunction, randomGenerator, negatedRandomGenerator, sequentialGenerator, negatedSequentialGenerator, seed);
     }
 }
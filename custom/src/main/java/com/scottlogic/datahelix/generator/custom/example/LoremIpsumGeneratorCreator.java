@@ -27,7 +27,7 @@ public class LoremIpsumGeneratorCreator {
 
         return CustomGeneratorBuilder
             .createStringGenerator("lorem ipsum")
-            .withRandomGenerator(() -> randomLoremIpsum.generateString())
+            .withSeededRandomGenerator(random -> randomLoremIpsum.generateString(random))
             .withSequentialGenerator(() -> Stream.generate(() -> loremIpsumText))
             .build();
     }
@@ -19,16 +19,14 @@ package com.scottlogic.datahelix.generator.custom.example;
 import java.util.Random;
 
 public class RandomLoremIpsum {
-    private Random random = new Random();
-
-    public String generateString(){
+    public String generateString(Random random){
         StringBuilder stringBuilder = new StringBuilder();
         stringBuilder.append("Lorem ipsum");
 
         int length = random.nextInt(950);
 
         while (stringBuilder.length() < length){
-            stringBuilder.append(getRandomPunctuation());
+            stringBuilder.append(getRandomPunctuation(random));
             stringBuilder.append(getRandomWord());
         }
 
@@ -39,7 +37,7 @@ public class RandomLoremIpsum {
         return "lorem ipsum";
     }
 
-    private String getRandomPunctuation() {
+    private String getRandomPunctuation(Random random) {
         int i = random.nextInt(20);
         switch (i) {
             case 1:
@@ -22,10 +22,13 @@ import com.google.inject.Module;
 import com.scottlogic.datahelix.generator.core.config.detail.CombinationStrategyType;
 import com.scottlogic.datahelix.generator.core.config.detail.DataGenerationType;
 import com.scottlogic.datahelix.generator.core.config.detail.MonitorType;
+import com.scottlogic.datahelix.generator.core.config.detail.RandomNumberGeneratorType;
+import com.scottlogic.datahelix.generator.core.config.detail.UniquenessCheckType;
 import com.scottlogic.datahelix.generator.core.config.detail.VisualiserLevel;
 import com.scottlogic.datahelix.generator.orchestrator.CommonOptionInfo;
 import com.scottlogic.datahelix.generator.orchestrator.guice.AllConfigSource;
 import com.scottlogic.datahelix.generator.orchestrator.guice.AllModule;
+import com.scottlogic.datahelix.generator.common.output.OutputCompression;
 import com.scottlogic.datahelix.generator.common.output.OutputFormat;
 import com.scottlogic.datahelix.generator.profile.ProfileConfiguration;
 import picocli.CommandLine;
@@ -123,6 +126,52 @@ public class GenerateCommandLine implements AllConfigSource, Callable<Integer> {
         description = "Permits infinite generation of data")
     private boolean infiniteGeneration = false;
 
+    @SuppressWarnings("FieldCanBeLocal")
+    @CommandLine.Option(
+        names = {"--parallel-partitions"},
+        description = "Walks each independent partition of the profile on its own thread")
+    private boolean parallelPartitions = false;
+
+    @SuppressWarnings("FieldCanBeLocal")
+    @CommandLine.Option(
+        names = {"--threads"},
+        description = "Number of independent generation pipelines to run in RANDOM mode")
+    private int threads = 1;
+
+    @SuppressWarnings("FieldCanBeLocal")
+    @CommandLine.Option(
+        names = {"--shard-index"},
+        description = "Zero-based index of the slice of the data set to produce when it is split into shards")
+    private int shardIndex = 0;
+
+    @SuppressWarnings("FieldCanBeLocal")
+    @CommandLine.Option(
+        names = {"--shard-count"},
+        description = "Number of shards the data set is split into, each produced by a separate invocation")
+    private int shardCount = 1;
+
+    @SuppressWarnings("FieldCanBeLocal")
+    @CommandLine.Option(
+        names = {"--seed"},
+        description = "Seeds all random generation, so that a run can be reproduced by using the same seed")
+    private Long seed = null;
+
+    @CommandLine.Option(
+        names = {"--random-number-generator"},
+        description = "Random number generator to use (${COMPLETION-CANDIDATES})")
+    private RandomNumberGeneratorType randomNumberGeneratorType = RandomNumberGeneratorType.SPLITTABLE;
+
+    @SuppressWarnings("FieldCanBeLocal")
+    @CommandLine.Option(
+        names = {"--unique-random"},
+        description = "Emits the values of unique fields in a random order in RANDOM mode, rather than in sequence")
+    private boolean uniqueRandom = false;
+
+    @CommandLine.Option(
+        names = {"--uniqueness-check"},
+        description = "Drops rows repeating a value of a unique field, tracking values with (${COMPLETION-CANDIDATES})")
+    private UniquenessCheckType uniquenessCheckType = UniquenessCheckType.NONE;
+
     @SuppressWarnings("FieldCanBeLocal")
     @CommandLine.Option(
         names = {"--quiet"},
@@ -140,6 +189,21 @@ public class GenerateCommandLine implements AllConfigSource, Callable<Integer> {
         description = "Output format (${COMPLETION-CANDIDATES})")
     private OutputFormat outputFormat = CSV;
 
+    @CommandLine.Option(
+        names = {"--output-compression"},
+        description = "Compresses the output file (${COMPLETION-CANDIDATES}), by default chosen from the file extension")
+    private OutputCompression outputCompression = OutputCompression.AUTO;
+
+    @CommandLine.Option(
+        names = {"--max-rows-per-file"},
+        description = "Splits the output over numbered files holding at most this many rows each")
+    private Long maxRowsPerFile = null;
+
+    @CommandLine.Option(
+        names = {"--max-bytes-per-file"},
+        description = "Splits the output over numbered files, starting a new file once this many bytes are written")
+    private Long maxBytesPerFile = null;
+
     @SuppressWarnings("FieldCanBeLocal")
     @CommandLine.Option(
         names = {"--set-from-file-directory"},
@@ -208,10 +272,65 @@ public class GenerateCommandLine implements AllConfigSource, Callable<Integer> {
         return infiniteGeneration;
     }
 
+    @Override
+    public boolean getParallelPartitions() {
+        return parallelPartitions;
+    }
+
+    @Override
+    public int getThreads() {
+        return threads;
+    }
+
+    @Override
+    public int getShardIndex() {
+        return shardIndex;
+    }
+
+    @Override
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    @Override
+    public Long getSeed() {
+        return seed;
+    }
+
+    @Override
+    public RandomNumberGeneratorType getRandomNumberGeneratorType() {
+        return randomNumberGeneratorType;
+    }
+
+    @Override
+    public boolean getUniqueRandom() {
+        return uniqueRandom;
+    }
+
+    @Override
+    public UniquenessCheckType getUniquenessCheckType() {
+        return uniquenessCheckType;
+    }
+
     public OutputFormat getOutputFormat() {
         return outputFormat;
     }
 
+    @Override
+    public OutputCompression getOutputCompression() {
+        return outputCompression;
+    }
+
+    @Override
+    public Long getMaxRowsPerFile() {
+        return maxRowsPerFile;
+    }
+
+    @Override
+    public Long getMaxBytesPerFile() {
+        return maxBytesPerFile;
+    }
+
     @Override
     public String fromFilePath() {
         return fromFilePath;
@@ -19,9 +19,12 @@ package com.scottlogic.datahelix.generator.orchestrator.generate;
 import com.google.inject.Inject;
 import com.google.inject.name.Named;
 import com.scottlogic.datahelix.generator.common.output.GeneratedObject;
+import com.scottlogic.datahelix.generator.common.output.batch.ColumnBatch;
 import com.scottlogic.datahelix.generator.core.generation.DataGenerator;
 import com.scottlogic.datahelix.generator.core.generation.DataGeneratorMonitor;
 import com.scottlogic.datahelix.generator.core.profile.Profile;
+import com.scottlogic.datahelix.generator.orchestrator.validator.ShardingConfigValidator;
+import com.scottlogic.datahelix.generator.orchestrator.validator.ThreadsConfigValidator;
 import com.scottlogic.datahelix.generator.output.outputtarget.SingleDatasetOutputTarget;
 import com.scottlogic.datahelix.generator.output.writer.DataSetWriter;
 import com.scottlogic.datahelix.generator.profile.reader.ProfileReader;
@@ -36,6 +39,9 @@ public class GenerateExecute {
     private final DataGenerator dataGenerator;
     private final DataGeneratorMonitor monitor;
     private final File profileFile;
+    private final ShardingConfigValidator shardingConfigValidator;
+    private final ThreadsConfigValidator threadsConfigValidator;
+    private final int outputBatchSize;
 
     @Inject
     GenerateExecute(
@@ -43,33 +49,55 @@ public class GenerateExecute {
         SingleDatasetOutputTarget singleDatasetOutputTarget,
         ProfileReader profileReader,
         DataGeneratorMonitor monitor,
-        @Named("config:profileFile") File profileFile) {
+        @Named("config:profileFile") File profileFile,
+        ShardingConfigValidator shardingConfigValidator,
+        ThreadsConfigValidator threadsConfigValidator,
+        @Named("config:outputBatchSize") int outputBatchSize) {
         this.dataGenerator = dataGenerator;
         this.singleDatasetOutputTarget = singleDatasetOutputTarget;
         this.profileReader = profileReader;
         this.monitor = monitor;
         this.profileFile = profileFile;
+        this.shardingConfigValidator = shardingConfigValidator;
+        this.threadsConfigValidator = threadsConfigValidator;
+        this.outputBatchSize = outputBatchSize;
     }
 
     public void execute() throws IOException {
+        shardingConfigValidator.validateCommandLine();
+        threadsConfigValidator.validateCommandLine();
         Profile profile = profileReader.read(profileFile);
-        Stream<GeneratedObject> generatedDataItems = dataGenerator.generateData(profile);
-
-        outputData(profile, generatedDataItems);
-    }
-
-    private void outputData(Profile profile, Stream<GeneratedObject> generatedDataItems) throws IOException {
         singleDatasetOutputTarget.validate();
 
         try (DataSetWriter writer = singleDatasetOutputTarget.openWriter(profile.getFields())) {
-            generatedDataItems.forEach(row -> {
-                try {
-                    writer.writeRow(row);
-                } catch (IOException e) {
-                    throw new RuntimeException(e);
-                }
-            });
+            // rows are only gathered into batches for writers which read whole columns, as batching holds rows back;
+            // related sub-objects are only carried by rows, so profiles with relationships are written row by row
+            if (writer.writesBatches() && profile.getRelationships().isEmpty()) {
+                outputBatches(writer, dataGenerator.generateBatches(profile, outputBatchSize));
+            } else {
+                outputData(writer, dataGenerator.generateData(profile));
+            }
         }
         monitor.endGeneration();
     }
+
+    private static void outputBatches(DataSetWriter writer, Stream<ColumnBatch> batches) {
+        batches.forEach(batch -> {
+            try {
+                writer.writeBatch(batch);
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        });
+    }
+
+    private static void outputData(DataSetWriter writer, Stream<GeneratedObject> generatedDataItems) {
+        generatedDataItems.forEach(row -> {
+            try {
+                writer.writeRow(row);
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        });
+    }
 }
\ No newline at end of file
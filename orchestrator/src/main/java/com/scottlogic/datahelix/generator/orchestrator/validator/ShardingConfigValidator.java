@@ -0,0 +1,50 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.datahelix.generator.orchestrator.validator;
+
+import com.google.inject.Inject;
+import com.scottlogic.datahelix.generator.common.ValidationException;
+import com.scottlogic.datahelix.generator.core.generation.GenerationConfigSource;
+
+/**
+ * Class used to determine whether the command line options are valid for splitting generation into shards
+ */
+public class ShardingConfigValidator {
+    private final GenerationConfigSource generationConfigSource;
+
+    @Inject
+    public ShardingConfigValidator(GenerationConfigSource generationConfigSource) {
+        this.generationConfigSource = generationConfigSource;
+    }
+
+    public void validateCommandLine() {
+        int shardCount = generationConfigSource.getShardCount();
+        int shardIndex = generationConfigSource.getShardIndex();
+
+        if (shardCount < 1) {
+            throw new ValidationException("Invalid Shard - shard count must be at least 1");
+        }
+        if (shardIndex < 0 || shardIndex >= shardCount) {
+            throw new ValidationException(
+                "Invalid Shard - shard index must be between 0 and " + (shardCount - 1) + " inclusive");
+        }
+        if (shardCount > 1 && generationConfigSource.getInfiniteOutput() && generationConfigSource.getMaxRows() == null) {
+            throw new ValidationException(
+                "Invalid Shard - the number of rows must be bounded to split it into shards, please use the --max-rows option");
+        }
+    }
+}
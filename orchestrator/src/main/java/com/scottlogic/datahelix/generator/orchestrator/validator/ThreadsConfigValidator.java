@@ -0,0 +1,46 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.datahelix.generator.orchestrator.validator;
+
+import com.google.inject.Inject;
+import com.scottlogic.datahelix.generator.common.ValidationException;
+import com.scottlogic.datahelix.generator.core.config.detail.DataGenerationType;
+import com.scottlogic.datahelix.generator.core.generation.GenerationConfigSource;
+
+/**
+ * Class used to determine whether the command line options are valid for running generation on several threads
+ */
+public class ThreadsConfigValidator {
+    private final GenerationConfigSource generationConfigSource;
+
+    @Inject
+    public ThreadsConfigValidator(GenerationConfigSource generationConfigSource) {
+        this.generationConfigSource = generationConfigSource;
+    }
+
+    public void validateCommandLine() {
+        int threads = generationConfigSource.getThreads();
+
+        if (threads < 1) {
+            throw new ValidationException("Invalid Threads - thread count must be at least 1");
+        }
+        if (threads > 1 && generationConfigSource.getGenerationType() != DataGenerationType.RANDOM) {
+            throw new ValidationException(
+                "Invalid Threads - only RANDOM data can be generated on more than one thread, please remove the --threads option");
+        }
+    }
+}
@@ -20,8 +20,11 @@ import com.google.inject.Inject;
 import com.scottlogic.datahelix.generator.core.config.detail.CombinationStrategyType;
 import com.scottlogic.datahelix.generator.core.config.detail.DataGenerationType;
 import com.scottlogic.datahelix.generator.core.config.detail.MonitorType;
+import com.scottlogic.datahelix.generator.core.config.detail.RandomNumberGeneratorType;
+import com.scottlogic.datahelix.generator.core.config.detail.UniquenessCheckType;
 import com.scottlogic.datahelix.generator.core.config.detail.VisualiserLevel;
 import com.scottlogic.datahelix.generator.orchestrator.guice.AllConfigSource;
+import com.scottlogic.datahelix.generator.common.output.OutputCompression;
 import com.scottlogic.datahelix.generator.common.output.OutputFormat;
 
 import java.io.File;
@@ -60,6 +63,46 @@ public class CucumberGenerationConfigSource implements AllConfigSource {
         return false;
     }
 
+    @Override
+    public boolean getParallelPartitions() {
+        return false;
+    }
+
+    @Override
+    public int getThreads() {
+        return 1;
+    }
+
+    @Override
+    public int getShardIndex() {
+        return 0;
+    }
+
+    @Override
+    public int getShardCount() {
+        return 1;
+    }
+
+    @Override
+    public Long getSeed() {
+        return null;
+    }
+
+    @Override
+    public RandomNumberGeneratorType getRandomNumberGeneratorType() {
+        return RandomNumberGeneratorType.SPLITTABLE;
+    }
+
+    @Override
+    public boolean getUniqueRandom() {
+        return false;
+    }
+
+    @Override
+    public UniquenessCheckType getUniquenessCheckType() {
+        return UniquenessCheckType.NONE;
+    }
+
     @Override
     public Path getOutputPath() {
         return new File("mockFilePath").toPath();
@@ -85,6 +128,21 @@ public class CucumberGenerationConfigSource implements AllConfigSource {
         return OutputFormat.JSON;
     }
 
+    @Override
+    public OutputCompression getOutputCompression() {
+        return OutputCompression.AUTO;
+    }
+
+    @Override
+    public Long getMaxRowsPerFile() {
+        return null;
+    }
+
+    @Override
+    public Long getMaxBytesPerFile() {
+        return null;
+    }
+
     @Override
     public String fromFilePath() {
         return "";
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.datahelix.generator.orchestrator.validator;
+
+import com.scottlogic.datahelix.generator.common.ValidationException;
+import com.scottlogic.datahelix.generator.core.config.detail.DataGenerationType;
+import com.scottlogic.datahelix.generator.core.generation.GenerationConfigSource;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ThreadsConfigValidatorTests {
+    @Test
+    void validateCommandLine_withSeveralThreadsInRandomMode_doesNotThrow() {
+        ThreadsConfigValidator validator = validator(4, DataGenerationType.RANDOM);
+
+        assertDoesNotThrow(validator::validateCommandLine);
+    }
+
+    @Test
+    void validateCommandLine_withOneThreadInFullSequentialMode_doesNotThrow() {
+        ThreadsConfigValidator validator = validator(1, DataGenerationType.FULL_SEQUENTIAL);
+
+        assertDoesNotThrow(validator::validateCommandLine);
+    }
+
+    @Test
+    void validateCommandLine_withZeroThreads_throwsException() {
+        ThreadsConfigValidator validator = validator(0, DataGenerationType.RANDOM);
+
+        assertThrows(ValidationException.class, validator::validateCommandLine);
+    }
+
+    @Test
+    void validateCommandLine_withNegativeThreads_throwsException() {
+        ThreadsConfigValidator validator = validator(-2, DataGenerationType.RANDOM);
+
+        assertThrows(ValidationException.class, validator::validateCommandLine);
+    }
+
+    @Test
+    void validateCommandLine_withSeveralThreadsInFullSequentialMode_throwsException() {
+        ThreadsConfigValidator validator = validator(4, DataGenerationType.FULL_SEQUENTIAL);
+
+        assertThrows(ValidationException.class, validator::validateCommandLine);
+    }
+
+    private static ThreadsConfigValidator validator(int threads, DataGenerationType generationType) {
+        GenerationConfigSource configSource = mock(GenerationConfigSource.class);
+        when(configSource.getThreads()).thenReturn(threads);
+        when(configSource.getGenerationType()).thenReturn(generationType);
+        return new ThreadsConfigValidator(configSource);
+    }
+}
@@ -16,12 +16,16 @@
 
 package com.scottlogic.datahelix.generator.output.guice;
 
+import com.scottlogic.datahelix.generator.common.output.OutputCompression;
 import com.scottlogic.datahelix.generator.common.output.OutputFormat;
 
 import java.nio.file.Path;
 
 public interface OutputConfigSource {
     OutputFormat getOutputFormat();
+    OutputCompression getOutputCompression();
+    Long getMaxRowsPerFile();
+    Long getMaxBytesPerFile();
     Path getOutputPath();
     boolean overwriteOutputFiles();
     boolean useStdOut();
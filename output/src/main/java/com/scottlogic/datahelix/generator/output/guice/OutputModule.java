@@ -19,6 +19,7 @@ package com.scottlogic.datahelix.generator.output.guice;
 import com.google.inject.AbstractModule;
 import com.google.inject.name.Names;
 import com.google.inject.util.Providers;
+import com.scottlogic.datahelix.generator.common.output.OutputCompression;
 import com.scottlogic.datahelix.generator.common.output.OutputFormat;
 import com.scottlogic.datahelix.generator.output.OutputPath;
 import com.scottlogic.datahelix.generator.output.outputtarget.SingleDatasetOutputTarget;
@@ -50,5 +51,19 @@ public class OutputModule extends AbstractModule {
 
         bind(OutputFormat.class)
             .toProvider(Providers.of(outputConfigSource.getOutputFormat()));
+
+        bind(OutputCompression.class).toInstance(outputConfigSource.getOutputCompression());
+
+        bind(long.class)
+            .annotatedWith(Names.named("config:maxRowsPerFile"))
+            .toInstance(unlimitedIfNull(outputConfigSource.getMaxRowsPerFile()));
+
+        bind(long.class)
+            .annotatedWith(Names.named("config:maxBytesPerFile"))
+            .toInstance(unlimitedIfNull(outputConfigSource.getMaxBytesPerFile()));
+    }
+
+    private static long unlimitedIfNull(Long limit) {
+        return limit == null ? Long.MAX_VALUE : limit;
     }
 }
@@ -21,21 +21,25 @@ import com.google.inject.Provider;
 import com.scottlogic.datahelix.generator.output.writer.OutputWriterFactory;
 import com.scottlogic.datahelix.generator.output.writer.csv.CsvOutputWriterFactory;
 import com.scottlogic.datahelix.generator.output.writer.json.JsonOutputWriterFactory;
+import com.scottlogic.datahelix.generator.output.writer.parquet.ParquetOutputWriterFactory;
 
 public class OutputWriterFactoryProvider implements Provider<OutputWriterFactory> {
     private final OutputConfigSource configSource;
     private final CsvOutputWriterFactory csvOutputWriterFactory;
     private final JsonOutputWriterFactory jsonOutputWriterFactory;
+    private final ParquetOutputWriterFactory parquetOutputWriterFactory;
 
     @Inject
     public OutputWriterFactoryProvider(
         OutputConfigSource configSource,
         CsvOutputWriterFactory csvOutputWriterFactory,
-        JsonOutputWriterFactory jsonOutputWriterFactory)
+        JsonOutputWriterFactory jsonOutputWriterFactory,
+        ParquetOutputWriterFactory parquetOutputWriterFactory)
     {
         this.configSource = configSource;
         this.csvOutputWriterFactory = csvOutputWriterFactory;
         this.jsonOutputWriterFactory = jsonOutputWriterFactory;
+        this.parquetOutputWriterFactory = parquetOutputWriterFactory;
     }
 
     @Override
@@ -45,10 +49,12 @@ public class OutputWriterFactoryProvider implements Provider<OutputWriterFactory
                 return csvOutputWriterFactory;
             case JSON:
                 return jsonOutputWriterFactory;
+            case PARQUET:
+                return parquetOutputWriterFactory;
         }
 
         throw new RuntimeException(String.format(
-            "Unknown output format %s, options are CSV or JSON",
+            "Unknown output format %s, options are CSV, JSON or PARQUET",
             configSource.getOutputFormat()
         ));
     }
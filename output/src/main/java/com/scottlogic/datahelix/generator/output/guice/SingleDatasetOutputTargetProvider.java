@@ -19,6 +19,7 @@ package com.scottlogic.datahelix.generator.output.guice;
 import com.google.inject.Inject;
 import com.google.inject.Provider;
 import com.scottlogic.datahelix.generator.output.outputtarget.FileOutputTarget;
+import com.scottlogic.datahelix.generator.output.outputtarget.RollingFileOutputTarget;
 import com.scottlogic.datahelix.generator.output.outputtarget.SingleDatasetOutputTarget;
 import com.scottlogic.datahelix.generator.output.outputtarget.StdoutOutputTarget;
 
@@ -26,15 +27,18 @@ public class SingleDatasetOutputTargetProvider implements Provider<SingleDataset
     private final OutputConfigSource outputConfigSource;
     private final FileOutputTarget fileOutputTarget;
     private final StdoutOutputTarget stdoutOutputTarget;
+    private final Provider<RollingFileOutputTarget> rollingFileOutputTarget;
 
     @Inject
     SingleDatasetOutputTargetProvider(
         OutputConfigSource outputConfigSource,
         FileOutputTarget fileOutputTarget,
-        StdoutOutputTarget stdoutOutputTarget){
+        StdoutOutputTarget stdoutOutputTarget,
+        Provider<RollingFileOutputTarget> rollingFileOutputTarget){
         this.outputConfigSource = outputConfigSource;
         this.fileOutputTarget = fileOutputTarget;
         this.stdoutOutputTarget = stdoutOutputTarget;
+        this.rollingFileOutputTarget = rollingFileOutputTarget;
     }
 
     @Override
@@ -42,6 +46,9 @@ public class SingleDatasetOutputTargetProvider implements Provider<SingleDataset
         if (outputConfigSource.useStdOut()){
             return stdoutOutputTarget;
         }
+        if (outputConfigSource.getMaxRowsPerFile() != null || outputConfigSource.getMaxBytesPerFile() != null) {
+            return rollingFileOutputTarget.get();
+        }
         return fileOutputTarget;
     }
 }
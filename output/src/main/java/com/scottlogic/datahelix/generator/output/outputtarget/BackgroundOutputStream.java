@@ -0,0 +1,197 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.datahelix.generator.output.outputtarget;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Output stream which collects writes into chunks and writes them to an underlying stream on a worker thread, so that
+ * expensive work done by the underlying stream, such as compression, runs alongside generation rather than in turn
+ * with it. Chunks are recycled, so at most a fixed number of them are ever allocated.
+ */
+class BackgroundOutputStream extends OutputStream {
+    private static final int CHUNK_SIZE = 64 * 1024;
+    private static final int CHUNK_COUNT = 8;
+    private static final Chunk FLUSH = new Chunk(0);
+    private static final Chunk END = new Chunk(0);
+
+    private final OutputStream underlying;
+    private final BlockingQueue<Chunk> filled = new ArrayBlockingQueue<>(CHUNK_COUNT + 2);
+    private final BlockingQueue<Chunk> empty = new ArrayBlockingQueue<>(CHUNK_COUNT);
+    private final CountDownLatch finished = new CountDownLatch(1);
+    private volatile IOException failure;
+    private Chunk current;
+    private boolean closed;
+
+    BackgroundOutputStream(OutputStream underlying, String threadName) {
+        this.underlying = underlying;
+        for (int i = 0; i < CHUNK_COUNT; i++) {
+            empty.add(new Chunk(CHUNK_SIZE));
+        }
+
+        Thread worker = new Thread(this::drain, threadName);
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        Chunk chunk = currentChunk();
+        chunk.bytes[chunk.length++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        while (len > 0) {
+            Chunk chunk = currentChunk();
+            int count = Math.min(len, chunk.bytes.length - chunk.length);
+            System.arraycopy(b, off, chunk.bytes, chunk.length, count);
+            chunk.length += count;
+            off += count;
+            len -= count;
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        checkOpen();
+        handOver();
+        put(FLUSH);
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+
+        try {
+            // the end is always handed over, even after a failure, so the worker closes the underlying stream
+            if (current != null) {
+                filled.put(current);
+                current = null;
+            }
+            filled.put(END);
+            finished.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while finishing output");
+        } finally {
+            closed = true;
+        }
+
+        throwIfFailed();
+    }
+
+    private Chunk currentChunk() throws IOException {
+        checkOpen();
+        if (current != null && current.length == current.bytes.length) {
+            handOver();
+        }
+        if (current == null) {
+            try {
+                current = empty.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting to write output");
+            }
+        }
+        return current;
+    }
+
+    private void handOver() throws IOException {
+        if (current != null) {
+            put(current);
+            current = null;
+        }
+    }
+
+    private void put(Chunk chunk) throws IOException {
+        throwIfFailed();
+        try {
+            filled.put(chunk);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting to write output");
+        }
+    }
+
+    private void checkOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Stream is closed");
+        }
+        throwIfFailed();
+    }
+
+    private void throwIfFailed() throws IOException {
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private void drain() {
+        try {
+            for (Chunk chunk = filled.take(); chunk != END; chunk = filled.take()) {
+                // after a failure, keep taking chunks so the writing thread is never left waiting for one
+                if (failure == null) {
+                    writeChunk(chunk);
+                }
+                if (chunk != FLUSH) {
+                    chunk.length = 0;
+                    empty.put(chunk);
+                }
+            }
+        } catch (InterruptedException e) {
+            failure = new InterruptedIOException("Interrupted while writing output");
+        } finally {
+            try {
+                underlying.close();
+            } catch (IOException e) {
+                if (failure == null) {
+                    failure = e;
+                }
+            }
+            finished.countDown();
+        }
+    }
+
+    private void writeChunk(Chunk chunk) {
+        try {
+            if (chunk == FLUSH) {
+                underlying.flush();
+            } else {
+                underlying.write(chunk.bytes, 0, chunk.length);
+            }
+        } catch (IOException e) {
+            failure = e;
+        }
+    }
+
+    private static class Chunk {
+        private final byte[] bytes;
+        private int length;
+
+        Chunk(int size) {
+            this.bytes = new byte[size];
+        }
+    }
+}
@@ -18,39 +18,54 @@ package com.scottlogic.datahelix.generator.output.outputtarget;
 
 import com.google.inject.Inject;
 import com.google.inject.name.Named;
+import com.scottlogic.datahelix.generator.common.output.OutputCompression;
 import com.scottlogic.datahelix.generator.common.profile.Fields;
 import com.scottlogic.datahelix.generator.common.util.FileUtils;
 import com.scottlogic.datahelix.generator.output.OutputPath;
 import com.scottlogic.datahelix.generator.output.writer.DataSetWriter;
 import com.scottlogic.datahelix.generator.output.writer.OutputWriterFactory;
+import com.github.luben.zstd.ZstdOutputStream;
 
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.file.Path;
+import java.util.zip.GZIPOutputStream;
 
 public class FileOutputTarget implements SingleDatasetOutputTarget {
+    private static final int COMPRESSION_BUFFER_SIZE = 64 * 1024;
+    private static final String COMPRESSOR_THREAD_NAME = "datahelix-output-compressor";
+
     private final Path filePath;
     private final boolean canOverwriteExistingFiles;
     private final OutputWriterFactory outputWriterFactory;
     private final FileUtils fileUtils;
+    private final OutputCompression compression;
+
+    public FileOutputTarget(
+        OutputPath outputPath,
+        OutputWriterFactory outputWriterFactory,
+        boolean canOverwriteOutputFiles,
+        FileUtils fileUtils) {
+        this(outputPath, outputWriterFactory, canOverwriteOutputFiles, fileUtils, OutputCompression.AUTO);
+    }
 
     @Inject
     public FileOutputTarget(
         OutputPath outputPath,
         OutputWriterFactory outputWriterFactory,
-        @Named("config:canOverwriteOutputFiles") boolean canOverwriteOutputFiles, FileUtils fileUtils) {
+        @Named("config:canOverwriteOutputFiles") boolean canOverwriteOutputFiles, FileUtils fileUtils,
+        OutputCompression compression) {
         this.canOverwriteExistingFiles = canOverwriteOutputFiles;
         this.outputWriterFactory = outputWriterFactory;
         this.fileUtils = fileUtils;
         this.filePath = outputPath.getPath();
+        this.compression = compression;
     }
 
     @Override
     public DataSetWriter openWriter(Fields fields) throws IOException {
-        final OutputStream stream = new FileOutputStream(
-            this.filePath.toFile(),
-            false);
+        final OutputStream stream = openStream();
 
         try {
             return outputWriterFactory.createWriter(stream, fields);
@@ -60,6 +75,24 @@ public class FileOutputTarget implements SingleDatasetOutputTarget {
         }
     }
 
+    OutputStream openStream() throws IOException {
+        final OutputStream file = new FileOutputStream(this.filePath.toFile(), false);
+
+        try {
+            switch (compression.resolve(filePath)) {
+                case GZIP:
+                    return new BackgroundOutputStream(new GZIPOutputStream(file, COMPRESSION_BUFFER_SIZE), COMPRESSOR_THREAD_NAME);
+                case ZSTD:
+                    return new BackgroundOutputStream(new ZstdOutputStream(file), COMPRESSOR_THREAD_NAME);
+                default:
+                    return file;
+            }
+        } catch (IOException | RuntimeException e) {
+            file.close();
+            throw e;
+        }
+    }
+
     @Override
     public void validate() throws OutputTargetValidationException, IOException {
         if (fileUtils.isDirectory(filePath)) {
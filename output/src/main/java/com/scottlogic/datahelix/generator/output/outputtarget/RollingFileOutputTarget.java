@@ -0,0 +1,275 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.datahelix.generator.output.outputtarget;
+
+import com.google.inject.Inject;
+import com.google.inject.name.Named;
+import com.scottlogic.datahelix.generator.common.output.GeneratedObject;
+import com.scottlogic.datahelix.generator.common.output.OutputCompression;
+import com.scottlogic.datahelix.generator.common.output.batch.ColumnBatch;
+import com.scottlogic.datahelix.generator.common.profile.Fields;
+import com.scottlogic.datahelix.generator.common.util.FileUtils;
+import com.scottlogic.datahelix.generator.output.OutputPath;
+import com.scottlogic.datahelix.generator.output.writer.DataSetWriter;
+import com.scottlogic.datahelix.generator.output.writer.OutputWriterFactory;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Output target which splits the data over a sequence of files, starting a new file once the current one holds a
+ * given number of rows or bytes. Each file is named after the output path with a sequence number before its
+ * extension, e.g. data-00001.csv, and is a complete file in the output format, so CSV files each have a header.
+ * Finished files are closed on a background thread, so generation carries on into the next file meanwhile; if two
+ * files are still being closed, generation waits for the older one before starting another.
+ *
+ * The size of a file is taken from the writer where it buffers output itself (see {@link DataSetWriter#getDataSize()}),
+ * and from the bytes reaching the file otherwise, before any compression. It is checked before each row, so a file
+ * runs over the limit by at most one row, plus whatever the writer adds when it is closed, such as a Parquet footer.
+ * Sizes reported by writers are estimates: Parquet reports the row group it is buffering before compression, so its
+ * files usually come out smaller than the limit, and CSV counts characters, so non-ASCII text may run over it.
+ */
+public class RollingFileOutputTarget implements SingleDatasetOutputTarget {
+    private static final String CLOSER_THREAD_NAME = "datahelix-output-closer";
+    private static final int MAX_PENDING_CLOSES = 2;
+
+    private final Path filePath;
+    private final boolean canOverwriteExistingFiles;
+    private final OutputWriterFactory outputWriterFactory;
+    private final FileUtils fileUtils;
+    private final OutputCompression compression;
+    private final long maxRowsPerFile;
+    private final long maxBytesPerFile;
+
+    @Inject
+    public RollingFileOutputTarget(
+        OutputPath outputPath,
+        OutputWriterFactory outputWriterFactory,
+        @Named("config:canOverwriteOutputFiles") boolean canOverwriteOutputFiles,
+        FileUtils fileUtils,
+        OutputCompression compression,
+        @Named("config:maxRowsPerFile") long maxRowsPerFile,
+        @Named("config:maxBytesPerFile") long maxBytesPerFile) {
+        this.filePath = outputPath.getPath();
+        this.canOverwriteExistingFiles = canOverwriteOutputFiles;
+        this.outputWriterFactory = outputWriterFactory;
+        this.fileUtils = fileUtils;
+        this.compression = compression;
+        this.maxRowsPerFile = maxRowsPerFile;
+        this.maxBytesPerFile = maxBytesPerFile;
+    }
+
+    @Override
+    public DataSetWriter openWriter(Fields fields) throws IOException {
+        return new RollingDataSetWriter(fields);
+    }
+
+    @Override
+    public void validate() throws OutputTargetValidationException, IOException {
+        if (maxRowsPerFile <= 0 || maxBytesPerFile <= 0) {
+            throw new OutputTargetValidationException(
+                "the maximum rows and bytes per file must be greater than zero"
+            );
+        }
+        if (fileUtils.isDirectory(filePath)) {
+            throw new OutputTargetValidationException(
+                "target is a directory; please use a different output filename"
+            );
+        }
+        part(1).validate();
+    }
+
+    /**
+     * @return the path of the file with the given sequence number, e.g. data-00002.csv.gz for data.csv.gz
+     */
+    Path partPath(int sequence) {
+        String fileName = filePath.getFileName().toString();
+        int extensionStart = fileName.indexOf('.', 1);
+        if (extensionStart < 0) {
+            extensionStart = fileName.length();
+        }
+
+        return filePath.resolveSibling(String.format(
+            "%s-%05d%s",
+            fileName.substring(0, extensionStart),
+            sequence,
+            fileName.substring(extensionStart)));
+    }
+
+    private FileOutputTarget part(int sequence) {
+        return new FileOutputTarget(
+            new OutputPath(partPath(sequence)),
+            outputWriterFactory,
+            canOverwriteExistingFiles,
+            fileUtils,
+            compression);
+    }
+
+    private class RollingDataSetWriter implements DataSetWriter {
+        private final Fields fields;
+        private final ExecutorService closer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, CLOSER_THREAD_NAME);
+            thread.setDaemon(true);
+            return thread;
+        });
+        private final Deque<Future<?>> closingWriters = new ArrayDeque<>();
+        private int sequence;
+        private DataSetWriter writer;
+        private CountingOutputStream stream;
+        private long rowsInFile;
+
+        RollingDataSetWriter(Fields fields) throws IOException {
+            this.fields = fields;
+            openNextFile();
+        }
+
+        @Override
+        public void writeRow(GeneratedObject row) throws IOException {
+            rollIfFull();
+            writer.writeRow(row);
+            rowsInFile++;
+        }
+
+        @Override
+        public void writeBatch(ColumnBatch batch) throws IOException {
+            rollIfFull();
+            if (batch.size() > maxRowsPerFile - rowsInFile || maxBytesPerFile != Long.MAX_VALUE) {
+                // the batch may span files, so write it row by row
+                DataSetWriter.super.writeBatch(batch);
+                return;
+            }
+
+            writer.writeBatch(batch);
+            rowsInFile += batch.size();
+        }
+
+        @Override
+        public boolean writesBatches() {
+            // the size of a file is checked between rows, so a byte limit means writing row by row
+            return maxBytesPerFile == Long.MAX_VALUE && writer.writesBatches();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                if (writer != null) {
+                    DataSetWriter last = writer;
+                    writer = null;
+                    last.close();
+                }
+            } catch (IOException | RuntimeException | Error e) {
+                awaitPendingCloses(e);
+                throw e;
+            } finally {
+                closer.shutdown();
+            }
+
+            awaitPendingCloses(null);
+        }
+
+        /**
+         * Wait for every file still being closed, carrying on past any which fail
+         * @param failure exception already being thrown, to which any failures are added as suppressed, or null to
+         *                throw the first failure with the rest added to it
+         */
+        private void awaitPendingCloses(Throwable failure) throws IOException {
+            Exception firstFailure = null;
+            while (!closingWriters.isEmpty()) {
+                try {
+                    awaitClose(closingWriters.removeFirst());
+                } catch (IOException | RuntimeException e) {
+                    if (failure != null) {
+                        failure.addSuppressed(e);
+                    } else if (firstFailure == null) {
+                        firstFailure = e;
+                    } else {
+                        firstFailure.addSuppressed(e);
+                    }
+                }
+            }
+
+            if (firstFailure instanceof IOException) {
+                throw (IOException) firstFailure;
+            }
+            if (firstFailure != null) {
+                throw (RuntimeException) firstFailure;
+            }
+        }
+
+        private void rollIfFull() throws IOException {
+            if (rowsInFile < maxRowsPerFile && bytesInFile() < maxBytesPerFile) {
+                return;
+            }
+
+            // closing writers hold their buffered output, so only a couple are left closing at a time
+            while (!closingWriters.isEmpty()
+                && (closingWriters.size() >= MAX_PENDING_CLOSES || closingWriters.peekFirst().isDone())) {
+                awaitClose(closingWriters.removeFirst());
+            }
+
+            DataSetWriter finished = writer;
+            writer = null;
+            closingWriters.addLast(closer.submit(() -> {
+                finished.close();
+                return null;
+            }));
+            openNextFile();
+        }
+
+        private long bytesInFile() {
+            return Math.max(stream.getCount(), writer.getDataSize().orElse(0));
+        }
+
+        private void openNextFile() throws IOException {
+            FileOutputTarget part = part(++sequence);
+            if (sequence > 1) {
+                part.validate();
+            }
+
+            CountingOutputStream nextStream = new CountingOutputStream(part.openStream());
+            try {
+                writer = outputWriterFactory.createWriter(nextStream, fields);
+            } catch (Exception e) {
+                nextStream.close();
+                throw e;
+            }
+            stream = nextStream;
+            rowsInFile = 0;
+        }
+
+        private void awaitClose(Future<?> closing) throws IOException {
+            try {
+                closing.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while closing output files");
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof IOException) {
+                    throw (IOException) e.getCause();
+                }
+                throw new RuntimeException(e.getCause());
+            }
+        }
+    }
+}
@@ -17,9 +17,11 @@
 package com.scottlogic.datahelix.generator.output.writer;
 
 import com.scottlogic.datahelix.generator.common.output.GeneratedObject;
+import com.scottlogic.datahelix.generator.common.output.batch.ColumnBatch;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.util.OptionalLong;
 
 /**
  * An object that can persist generated data to some destination (whether that be memory, a filesystem, a service, etc).
@@ -28,4 +30,30 @@ import java.io.IOException;
  **/
 public interface DataSetWriter extends Closeable {
     void writeRow(GeneratedObject row) throws IOException;
+
+    /**
+     * Write every row of a batch, in order. Writers which can consume whole columns should override this, and
+     * {@link #writesBatches()}.
+     */
+    default void writeBatch(ColumnBatch batch) throws IOException {
+        for (int row = 0; row < batch.size(); row++) {
+            writeRow(batch.getRow(row));
+        }
+    }
+
+    /**
+     * @return whether {@link #writeBatch(ColumnBatch)} reads the columns of a batch directly; rows are only gathered
+     * into batches for writers which do
+     */
+    default boolean writesBatches() {
+        return false;
+    }
+
+    /**
+     * @return approximate number of bytes of output produced so far, including output still held in the writer's own
+     * buffers, for writers which hold output back from their stream; empty for writers which do not
+     */
+    default OptionalLong getDataSize() {
+        return OptionalLong.empty();
+    }
 }
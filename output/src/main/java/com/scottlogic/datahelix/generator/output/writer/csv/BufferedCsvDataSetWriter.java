@@ -0,0 +1,291 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.datahelix.generator.output.writer.csv;
+
+import com.scottlogic.datahelix.generator.common.output.GeneratedObject;
+import com.scottlogic.datahelix.generator.common.output.batch.ColumnBatch;
+import com.scottlogic.datahelix.generator.common.output.batch.ColumnVector;
+import com.scottlogic.datahelix.generator.common.output.batch.DecimalColumnVector;
+import com.scottlogic.datahelix.generator.common.profile.Field;
+import com.scottlogic.datahelix.generator.common.profile.FieldSchema;
+import com.scottlogic.datahelix.generator.common.profile.Fields;
+import com.scottlogic.datahelix.generator.output.writer.DataSetWriter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+import static com.scottlogic.datahelix.generator.common.output.IndexedGeneratedObject.formattedValueOf;
+
+/**
+ * Writes RFC4180 CSV, quoting values in the same way as {@link CsvDataSetWriter}, but through a large reusable buffer
+ * which is only written out when it is full, and only flushed when a time interval has passed since the last flush.
+ * Suitable for writing large data sets to files, where flushing every row would make a system call per row.
+ */
+class BufferedCsvDataSetWriter implements DataSetWriter {
+    private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+    private static final long DEFAULT_FLUSH_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private static final char DELIMITER = ',';
+    private static final char QUOTE = '"';
+    private static final char CR = '\r';
+    private static final char LF = '\n';
+    private static final char SPACE = ' ';
+    private static final char COMMENT = '#';
+    private static final int MAXIMUM_LONG_CHARACTERS = 20;
+
+    private final Writer writer;
+    private final Field[] externalFields;
+    private final FieldSchema schema;
+    private final int[] externalOrdinals;
+    private final char[] buffer;
+    private final long flushIntervalNanos;
+    private int position;
+    private long charactersWritten;
+    private long lastFlushNanos;
+
+    BufferedCsvDataSetWriter(Writer writer, Fields fields, int bufferSize, long flushIntervalNanos) {
+        this.writer = writer;
+        this.externalFields = fields.getExternalStream().toArray(Field[]::new);
+        this.schema = fields.getSchema();
+        this.externalOrdinals = Arrays.stream(externalFields).mapToInt(schema::ordinalOf).toArray();
+        this.buffer = new char[bufferSize];
+        this.flushIntervalNanos = flushIntervalNanos;
+        this.lastFlushNanos = System.nanoTime();
+    }
+
+    static DataSetWriter open(OutputStream stream, Fields fields) throws IOException {
+        BufferedCsvDataSetWriter dataSetWriter = new BufferedCsvDataSetWriter(
+            new OutputStreamWriter(stream, StandardCharsets.UTF_8),
+            fields,
+            DEFAULT_BUFFER_SIZE,
+            DEFAULT_FLUSH_INTERVAL_NANOS);
+        dataSetWriter.writeHeader();
+        return dataSetWriter;
+    }
+
+    @Override
+    public void writeRow(GeneratedObject row) throws IOException {
+        for (int i = 0; i < externalFields.length; i++) {
+            if (i > 0) {
+                append(DELIMITER);
+            }
+
+            appendFormattedValue(formattedValueOf(row, schema, externalOrdinals[i]), i == 0);
+        }
+        endRecord();
+    }
+
+    @Override
+    public void writeBatch(ColumnBatch batch) throws IOException {
+        if (batch.getSchema() != schema) {
+            DataSetWriter.super.writeBatch(batch);
+            return;
+        }
+
+        ColumnVector[] columns = new ColumnVector[externalOrdinals.length];
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = batch.getColumn(externalOrdinals[i]);
+        }
+
+        for (int row = 0; row < batch.size(); row++) {
+            for (int i = 0; i < columns.length; i++) {
+                if (i > 0) {
+                    append(DELIMITER);
+                }
+
+                if (isUnformattedInteger(columns[i], row)) {
+                    append(((DecimalColumnVector) columns[i]).getUnscaledValue(row));
+                } else {
+                    appendFormattedValue(columns[i].getFormatted(row), i == 0);
+                }
+            }
+            endRecord();
+        }
+    }
+
+    @Override
+    public boolean writesBatches() {
+        return true;
+    }
+
+    /**
+     * Counts characters, which is the number of bytes for ASCII text; the buffer holds up to 64K characters
+     */
+    @Override
+    public OptionalLong getDataSize() {
+        return OptionalLong.of(charactersWritten + position);
+    }
+
+    /**
+     * Whole numbers without formatting are written straight from the column, as they never need quoting
+     */
+    private static boolean isUnformattedInteger(ColumnVector column, int row) {
+        return column instanceof DecimalColumnVector
+            && column.getField().getFormatting() == null
+            && !column.isNull(row)
+            && !column.isOther(row)
+            && ((DecimalColumnVector) column).getScale(row) == 0;
+    }
+
+    private void appendFormattedValue(Object formattedValue, boolean firstInRecord) throws IOException {
+        Object value = CsvDataSetWriter.applyTypeSpecificFormatting(formattedValue);
+        if (value != null) {
+            appendValue(value.toString(), firstInRecord);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+        writer.close();
+    }
+
+    private void writeHeader() throws IOException {
+        for (int i = 0; i < externalFields.length; i++) {
+            if (i > 0) {
+                append(DELIMITER);
+            }
+            appendValue(externalFields[i].getName(), i == 0);
+        }
+        endRecord();
+    }
+
+    private void endRecord() throws IOException {
+        append(CR);
+        append(LF);
+
+        if (System.nanoTime() - lastFlushNanos >= flushIntervalNanos) {
+            flush();
+        }
+    }
+
+    private void appendValue(String value, boolean firstInRecord) throws IOException {
+        if (!needsQuotes(value, firstInRecord)) {
+            append(value);
+            return;
+        }
+
+        append(QUOTE);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == QUOTE) {
+                append(QUOTE);
+            }
+            append(c);
+        }
+        append(QUOTE);
+    }
+
+    /**
+     * Matches the decision made by commons-csv for {@link org.apache.commons.csv.QuoteMode#MINIMAL}
+     */
+    private static boolean needsQuotes(String value, boolean firstInRecord) {
+        if (value.isEmpty()) {
+            // an empty first value is quoted, otherwise a record with only that value would be an empty line
+            return firstInRecord;
+        }
+
+        char first = value.charAt(0);
+        if (firstInRecord && (first < 0x20 || first > 0x21 && first < 0x23 || first > 0x2B && first < 0x2D || first > 0x7E)) {
+            return true;
+        }
+        if (first <= COMMENT) {
+            return true;
+        }
+
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == LF || c == CR || c == QUOTE || c == DELIMITER) {
+                return true;
+            }
+        }
+
+        return value.charAt(value.length() - 1) <= SPACE;
+    }
+
+    private void append(char c) throws IOException {
+        if (position == buffer.length) {
+            writeBuffer();
+        }
+        buffer[position++] = c;
+    }
+
+    /**
+     * Append the digits of a number straight into the buffer, without building a string
+     */
+    private void append(long value) throws IOException {
+        if (value == Long.MIN_VALUE || buffer.length < MAXIMUM_LONG_CHARACTERS) {
+            append(Long.toString(value));
+            return;
+        }
+
+        if (buffer.length - position < MAXIMUM_LONG_CHARACTERS) {
+            writeBuffer();
+        }
+        if (value < 0) {
+            buffer[position++] = '-';
+            value = -value;
+        }
+
+        int end = position + digitCount(value);
+        for (int index = end - 1; index >= position; index--) {
+            buffer[index] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        position = end;
+    }
+
+    private static int digitCount(long value) {
+        int digits = 1;
+        for (long bound = 10; digits < 19 && value >= bound; bound *= 10) {
+            digits++;
+        }
+        return digits;
+    }
+
+    private void append(String value) throws IOException {
+        int start = 0;
+        while (start < value.length()) {
+            if (position == buffer.length) {
+                writeBuffer();
+            }
+
+            int count = Math.min(value.length() - start, buffer.length - position);
+            value.getChars(start, start + count, buffer, position);
+            position += count;
+            start += count;
+        }
+    }
+
+    private void writeBuffer() throws IOException {
+        writer.write(buffer, 0, position);
+        charactersWritten += position;
+        position = 0;
+    }
+
+    private void flush() throws IOException {
+        writeBuffer();
+        writer.flush();
+        lastFlushNanos = System.nanoTime();
+    }
+}
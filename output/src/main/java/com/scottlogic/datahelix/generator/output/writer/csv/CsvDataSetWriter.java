@@ -17,6 +17,7 @@
 package com.scottlogic.datahelix.generator.output.writer.csv;
 
 import com.scottlogic.datahelix.generator.common.output.GeneratedObject;
+import com.scottlogic.datahelix.generator.common.profile.FieldSchema;
 import com.scottlogic.datahelix.generator.common.profile.Fields;
 import com.scottlogic.datahelix.generator.output.writer.DataSetWriter;
 import org.apache.commons.csv.CSVFormat;
@@ -30,18 +31,21 @@ import java.math.BigDecimal;
 import java.nio.charset.StandardCharsets;
 import java.time.OffsetDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.stream.Collectors;
+
+import static com.scottlogic.datahelix.generator.common.output.IndexedGeneratedObject.formattedValueOf;
 
 class CsvDataSetWriter implements DataSetWriter {
     private static final DateTimeFormatter standardDateFormat = DateTimeFormatter.ISO_OFFSET_DATE_TIME;
     private static final CSVFormat writerFormat = CSVFormat.RFC4180;
 
     private final CSVPrinter csvPrinter;
-    private final Fields fieldOrder;
+    private final FieldSchema schema;
+    private final int[] externalOrdinals;
 
     private CsvDataSetWriter(CSVPrinter csvPrinter, Fields fieldOrder) {
         this.csvPrinter = csvPrinter;
-        this.fieldOrder = fieldOrder;
+        this.schema = fieldOrder.getSchema();
+        this.externalOrdinals = fieldOrder.getExternalStream().mapToInt(schema::ordinalOf).toArray();
     }
 
     static DataSetWriter open(OutputStream stream, Fields fields) throws IOException {
@@ -59,10 +63,11 @@ class CsvDataSetWriter implements DataSetWriter {
 
     @Override
     public void writeRow(GeneratedObject row) throws IOException {
-        csvPrinter.printRecord(fieldOrder.getExternalStream()
-                .map(row::getFormattedValue)
-                .map(CsvDataSetWriter::applyTypeSpecificFormatting)
-                .collect(Collectors.toList()));
+        Object[] values = new Object[externalOrdinals.length];
+        for (int i = 0; i < externalOrdinals.length; i++) {
+            values[i] = applyTypeSpecificFormatting(formattedValueOf(row, schema, externalOrdinals[i]));
+        }
+        csvPrinter.printRecord(values);
 
         csvPrinter.flush();
     }
@@ -72,7 +77,7 @@ class CsvDataSetWriter implements DataSetWriter {
         csvPrinter.close();
     }
 
-    private static Object applyTypeSpecificFormatting(Object value) {
+    static Object applyTypeSpecificFormatting(Object value) {
         if (value == null) {
             return null;
         }
@@ -16,18 +16,37 @@
 
 package com.scottlogic.datahelix.generator.output.writer.csv;
 
+import com.google.inject.Inject;
+import com.google.inject.name.Named;
 import com.scottlogic.datahelix.generator.common.profile.Fields;
 import com.scottlogic.datahelix.generator.output.writer.DataSetWriter;
 import com.scottlogic.datahelix.generator.output.writer.OutputWriterFactory;
 
 import java.io.IOException;
-    import java.io.OutputStream;
-    import java.util.Optional;
+import java.io.OutputStream;
+import java.util.Optional;
 
 public class CsvOutputWriterFactory implements OutputWriterFactory {
+    private final boolean streamOutput;
+
+    /**
+     * Create a factory for writers which flush each row as it is written
+     */
+    public CsvOutputWriterFactory() {
+        this(true);
+    }
+
+    @Inject
+    public CsvOutputWriterFactory(@Named("config:streamOutput") boolean streamOutput) {
+        this.streamOutput = streamOutput;
+    }
+
     @Override
     public DataSetWriter createWriter(OutputStream stream, Fields fields) throws IOException {
-        return CsvDataSetWriter.open(stream, fields);
+        // Streamed rows are flushed as they are written, so that whatever is reading the stream sees them straight away
+        return streamOutput
+            ? CsvDataSetWriter.open(stream, fields)
+            : BufferedCsvDataSetWriter.open(stream, fields);
     }
 
     @Override
@@ -21,6 +21,7 @@ import com.scottlogic.datahelix.generator.common.output.GeneratedObject;
 import com.scottlogic.datahelix.generator.common.output.RelationalGeneratedObject;
 import com.scottlogic.datahelix.generator.common.output.SubGeneratedObject;
 import com.scottlogic.datahelix.generator.common.profile.Field;
+import com.scottlogic.datahelix.generator.common.profile.FieldSchema;
 import com.scottlogic.datahelix.generator.common.profile.Fields;
 import com.scottlogic.datahelix.generator.output.writer.DataSetWriter;
 
@@ -33,20 +34,29 @@ import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
+import static com.scottlogic.datahelix.generator.common.output.IndexedGeneratedObject.formattedValueOf;
+
 class JsonDataSetWriter implements DataSetWriter {
     private static final DateTimeFormatter standardDateFormat = DateTimeFormatter.ISO_OFFSET_DATE_TIME;
 
     private final SequenceWriter writer;
     private final List<Field> fields;
+    private final FieldSchema schema;
+    private final int[] ordinals;
 
     JsonDataSetWriter(SequenceWriter writer, Fields fields) {
-        this.writer = writer;
-        this.fields = fields.getExternalStream().collect(Collectors.toList());
+        this(writer, fields.getExternalStream().collect(Collectors.toList()), fields.getSchema());
     }
 
     private JsonDataSetWriter(List<Field> fields) {
+        this(null, fields, new FieldSchema(fields));
+    }
+
+    private JsonDataSetWriter(SequenceWriter writer, List<Field> fields, FieldSchema schema) {
+        this.writer = writer;
         this.fields = fields;
-        this.writer = null;
+        this.schema = schema;
+        this.ordinals = fields.stream().mapToInt(schema::ordinalOf).toArray();
     }
 
     @Override
@@ -59,9 +69,9 @@ class JsonDataSetWriter implements DataSetWriter {
     private Map<Field, Object> convertRow(GeneratedObject row) {
         Map<Field, Object> jsonObject = new HashMap<>();
 
-        fields
-            .forEach(field ->
-                jsonObject.put(field, convertValue(row.getFormattedValue(field))));
+        for (int i = 0; i < ordinals.length; i++) {
+            jsonObject.put(fields.get(i), convertValue(formattedValueOf(row, schema, ordinals[i])));
+        }
 
         if (row instanceof RelationalGeneratedObject) {
             writeRelatedObjects(jsonObject, (RelationalGeneratedObject)row);
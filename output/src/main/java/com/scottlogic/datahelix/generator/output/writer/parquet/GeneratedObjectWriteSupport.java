@@ -0,0 +1,107 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.datahelix.generator.output.writer.parquet;
+
+import com.scottlogic.datahelix.generator.common.output.GeneratedObject;
+import com.scottlogic.datahelix.generator.common.output.batch.ColumnBatch;
+import com.scottlogic.datahelix.generator.common.profile.Field;
+import com.scottlogic.datahelix.generator.common.profile.FieldSchema;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.parquet.hadoop.api.WriteSupport;
+import org.apache.parquet.io.api.RecordConsumer;
+import org.apache.parquet.schema.MessageType;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.stream.Collectors;
+
+import static com.scottlogic.datahelix.generator.common.output.IndexedGeneratedObject.valueOf;
+
+/**
+ * Writes each generated row as one Parquet record, reading its values by ordinal, or straight from the columns of the
+ * batch for a {@link BatchRow}
+ */
+class GeneratedObjectWriteSupport extends WriteSupport<GeneratedObject> {
+    private static final String SCHEMA_NAME = "datahelix";
+
+    private final FieldSchema schema;
+    private final ParquetColumn[] columns;
+    private final int[] ordinals;
+    private RecordConsumer recordConsumer;
+
+    GeneratedObjectWriteSupport(FieldSchema schema, ParquetColumn[] columns) {
+        this.schema = schema;
+        this.columns = columns;
+        this.ordinals = Arrays.stream(columns).mapToInt(column -> schema.ordinalOf(column.getField())).toArray();
+    }
+
+    static MessageType messageType(ParquetColumn[] columns) {
+        return new MessageType(
+            SCHEMA_NAME,
+            Arrays.stream(columns).map(ParquetColumn::getType).collect(Collectors.toList()));
+    }
+
+    @Override
+    public WriteContext init(Configuration configuration) {
+        return new WriteContext(messageType(columns), Collections.emptyMap());
+    }
+
+    @Override
+    public void prepareForWrite(RecordConsumer recordConsumer) {
+        this.recordConsumer = recordConsumer;
+    }
+
+    @Override
+    public void write(GeneratedObject row) {
+        recordConsumer.startMessage();
+        if (row instanceof BatchRow && ((BatchRow) row).batch.getSchema() == schema) {
+            BatchRow batchRow = (BatchRow) row;
+            for (int i = 0; i < columns.length; i++) {
+                columns[i].write(recordConsumer, batchRow.batch.getColumn(ordinals[i]), batchRow.row);
+            }
+        } else {
+            for (int i = 0; i < columns.length; i++) {
+                columns[i].write(recordConsumer, valueOf(row, schema, ordinals[i]));
+            }
+        }
+        recordConsumer.endMessage();
+    }
+
+    /**
+     * A row of a {@link ColumnBatch} to be written as a record. One instance is moved along the rows of each batch, as
+     * Parquet only reads a record while it is being written.
+     */
+    static final class BatchRow implements GeneratedObject {
+        private ColumnBatch batch;
+        private int row;
+
+        void moveTo(ColumnBatch batch, int row) {
+            this.batch = batch;
+            this.row = row;
+        }
+
+        @Override
+        public Object getFormattedValue(Field field) {
+            return batch.getRow(row).getFormattedValue(field);
+        }
+
+        @Override
+        public Object getValue(Field field) {
+            return batch.getRow(row).getValue(field);
+        }
+    }
+}
@@ -0,0 +1,373 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.datahelix.generator.output.writer.parquet;
+
+import com.scottlogic.datahelix.generator.common.output.ValueFormatter;
+import com.scottlogic.datahelix.generator.common.output.batch.*;
+import com.scottlogic.datahelix.generator.common.profile.Field;
+import com.scottlogic.datahelix.generator.common.profile.StandardSpecificFieldType;
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.io.api.RecordConsumer;
+import org.apache.parquet.schema.LogicalTypeAnnotation;
+import org.apache.parquet.schema.Type;
+import org.apache.parquet.schema.Types;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Objects;
+
+import static org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName.*;
+
+/**
+ * Maps one field of a profile to a column of the Parquet schema, and writes its values.
+ * <p>
+ * Fields do not carry their numeric granularity, so numbers are written as 38 digit decimals, the widest most readers
+ * support: integers with no decimal places, and decimals with the 17 decimal places left once the default numeric
+ * range of 21 integer digits is allowed for. Decimals with more than 17 decimal places, including those of the default
+ * granularity of 20 decimal places, are rounded half-even to 17 places, so their last digits are lost; fields which
+ * need them should be given a formatting. Fields with a formatting of their own are written as formatted text.
+ * <p>
+ * Values can also be read straight from the columns of a {@link ColumnBatch}, which avoids boxing them where the
+ * column holds them in primitive form.
+ */
+abstract class ParquetColumn {
+    static final int DECIMAL_PRECISION = 38;
+    static final int DECIMAL_SCALE = 17;
+    private static final int DECIMAL_BYTES = 16;
+    private static final String INTEGER_TYPE = StandardSpecificFieldType.INTEGER.getType();
+    private static final String DATE_TYPE = StandardSpecificFieldType.DATE.getType();
+
+    private final Field field;
+    private final int index;
+    private final Type type;
+
+    private ParquetColumn(Field field, int index, Type type) {
+        this.field = field;
+        this.index = index;
+        this.type = type;
+    }
+
+    static ParquetColumn forField(Field field, int index) {
+        Type.Repetition repetition = field.isNullable() ? Type.Repetition.OPTIONAL : Type.Repetition.REQUIRED;
+
+        if (hasOwnFormatting(field)) {
+            return new StringColumn(field, index, repetition, true);
+        }
+
+        switch (field.getType()) {
+            case NUMERIC:
+                return new DecimalColumn(
+                    field,
+                    index,
+                    repetition,
+                    INTEGER_TYPE.equals(field.getSpecificType().getType()) ? 0 : DECIMAL_SCALE);
+            case DATETIME:
+                return DATE_TYPE.equals(field.getSpecificType().getType())
+                    ? new DateColumn(field, index, repetition)
+                    : new TimestampColumn(field, index, repetition);
+            case TIME:
+                return new TimeColumn(field, index, repetition);
+            case BOOLEAN:
+                return new BooleanColumn(field, index, repetition);
+            default:
+                return new StringColumn(field, index, repetition, false);
+        }
+    }
+
+    private static boolean hasOwnFormatting(Field field) {
+        return field.getFormatting() != null
+            && !Objects.equals(field.getFormatting(), field.getSpecificType().getFormatting());
+    }
+
+    Type getType() {
+        return type;
+    }
+
+    Field getField() {
+        return field;
+    }
+
+    /**
+     * Write the value of this column for the current record; null values are left out of the record
+     */
+    void write(RecordConsumer consumer, Object value) {
+        if (value == null) {
+            if (type.isRepetition(Type.Repetition.REQUIRED)) {
+                throw new IllegalArgumentException("Field " + field.getName() + " is not nullable but has no value");
+            }
+            return;
+        }
+
+        consumer.startField(field.getName(), index);
+        writeValue(consumer, value);
+        consumer.endField(field.getName(), index);
+    }
+
+    /**
+     * Write the value of this column for the current record from the given row of a column of a batch; null values are
+     * left out of the record
+     */
+    void write(RecordConsumer consumer, ColumnVector column, int row) {
+        if (column.isNull(row) || column.isOther(row)) {
+            write(consumer, column.get(row));
+            return;
+        }
+
+        consumer.startField(field.getName(), index);
+        writeValue(consumer, column, row);
+        consumer.endField(field.getName(), index);
+    }
+
+    abstract void writeValue(RecordConsumer consumer, Object value);
+
+    /**
+     * Write a non-null value held in the primitive form of the column; by default the value is read as an object
+     */
+    void writeValue(RecordConsumer consumer, ColumnVector column, int row) {
+        writeValue(consumer, column.get(row));
+    }
+
+    IllegalArgumentException unsupportedValue(Object value) {
+        return new IllegalArgumentException(String.format(
+            "Cannot write value %s of type %s for field %s as Parquet %s",
+            value,
+            value.getClass().getSimpleName(),
+            field.getName(),
+            type));
+    }
+
+    private static class DecimalColumn extends ParquetColumn {
+        private static final long[] POWERS_OF_TEN = {
+            1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L, 100_000_000L, 1_000_000_000L,
+            10_000_000_000L, 100_000_000_000L, 1_000_000_000_000L, 10_000_000_000_000L, 100_000_000_000_000L,
+            1_000_000_000_000_000L, 10_000_000_000_000_000L, 100_000_000_000_000_000L, 1_000_000_000_000_000_000L
+        };
+
+        private final int scale;
+
+        DecimalColumn(Field field, int index, Type.Repetition repetition, int scale) {
+            super(field, index, Types.primitive(FIXED_LEN_BYTE_ARRAY, repetition)
+                .length(DECIMAL_BYTES)
+                .as(LogicalTypeAnnotation.decimalType(scale, DECIMAL_PRECISION))
+                .named(field.getName()));
+            this.scale = scale;
+        }
+
+        @Override
+        void writeValue(RecordConsumer consumer, Object value) {
+            if (!(value instanceof BigDecimal)) {
+                throw unsupportedValue(value);
+            }
+
+            BigDecimal scaled = ((BigDecimal) value).setScale(scale, RoundingMode.HALF_EVEN);
+            if (scaled.precision() > DECIMAL_PRECISION) {
+                throw unsupportedValue(value);
+            }
+
+            BigInteger unscaled = scaled.unscaledValue();
+            byte[] bytes = unscaled.toByteArray();
+
+            // sign extend the big-endian two's complement value to the fixed width
+            byte[] fixed = new byte[DECIMAL_BYTES];
+            byte padding = (byte) (unscaled.signum() < 0 ? -1 : 0);
+            int offset = DECIMAL_BYTES - bytes.length;
+            for (int i = 0; i < offset; i++) {
+                fixed[i] = padding;
+            }
+            System.arraycopy(bytes, 0, fixed, offset, bytes.length);
+
+            consumer.addBinary(Binary.fromConstantByteArray(fixed));
+        }
+
+        /**
+         * Values which only need padding with zeros to reach the scale of the column, and still fit in a long, are
+         * written without building a BigDecimal; the rest are rounded as objects
+         */
+        @Override
+        void writeValue(RecordConsumer consumer, ColumnVector column, int row) {
+            if (!(column instanceof DecimalColumnVector)) {
+                super.writeValue(consumer, column, row);
+                return;
+            }
+
+            DecimalColumnVector decimals = (DecimalColumnVector) column;
+            long padding = (long) scale - decimals.getScale(row);
+            long unscaled = decimals.getUnscaledValue(row);
+            if (padding < 0 || padding >= POWERS_OF_TEN.length) {
+                super.writeValue(consumer, column, row);
+                return;
+            }
+            long multiplier = POWERS_OF_TEN[(int) padding];
+            if (unscaled > Long.MAX_VALUE / multiplier || unscaled < Long.MIN_VALUE / multiplier) {
+                super.writeValue(consumer, column, row);
+                return;
+            }
+
+            long scaled = unscaled * multiplier;
+
+            // sign extend the big-endian two's complement value to the fixed width
+            byte[] fixed = new byte[DECIMAL_BYTES];
+            byte signPadding = (byte) (scaled < 0 ? -1 : 0);
+            for (int i = 0; i < DECIMAL_BYTES - Long.BYTES; i++) {
+                fixed[i] = signPadding;
+            }
+            for (int i = DECIMAL_BYTES - 1; i >= DECIMAL_BYTES - Long.BYTES; i--) {
+                fixed[i] = (byte) scaled;
+                scaled >>= 8;
+            }
+
+            consumer.addBinary(Binary.fromConstantByteArray(fixed));
+        }
+    }
+
+    private static class TimestampColumn extends ParquetColumn {
+        TimestampColumn(Field field, int index, Type.Repetition repetition) {
+            super(field, index, Types.primitive(INT64, repetition)
+                .as(LogicalTypeAnnotation.timestampType(true, LogicalTypeAnnotation.TimeUnit.MICROS))
+                .named(field.getName()));
+        }
+
+        @Override
+        void writeValue(RecordConsumer consumer, Object value) {
+            if (!(value instanceof OffsetDateTime)) {
+                throw unsupportedValue(value);
+            }
+
+            OffsetDateTime dateTime = (OffsetDateTime) value;
+            consumer.addLong(toMicros(dateTime.toEpochSecond(), dateTime.getNano()));
+        }
+
+        @Override
+        void writeValue(RecordConsumer consumer, ColumnVector column, int row) {
+            if (!(column instanceof TimestampColumnVector)) {
+                super.writeValue(consumer, column, row);
+                return;
+            }
+
+            TimestampColumnVector timestamps = (TimestampColumnVector) column;
+            consumer.addLong(toMicros(timestamps.getEpochSecond(row), timestamps.getNano(row)));
+        }
+
+        private static long toMicros(long epochSecond, int nano) {
+            return Math.addExact(Math.multiplyExact(epochSecond, 1_000_000L), nano / 1_000);
+        }
+    }
+
+    private static class DateColumn extends ParquetColumn {
+        private static final long SECONDS_PER_DAY = 24 * 60 * 60;
+
+        DateColumn(Field field, int index, Type.Repetition repetition) {
+            super(field, index, Types.primitive(INT32, repetition)
+                .as(LogicalTypeAnnotation.dateType())
+                .named(field.getName()));
+        }
+
+        @Override
+        void writeValue(RecordConsumer consumer, Object value) {
+            if (!(value instanceof OffsetDateTime)) {
+                throw unsupportedValue(value);
+            }
+
+            OffsetDateTime dateTime = ((OffsetDateTime) value).withOffsetSameInstant(ZoneOffset.UTC);
+            consumer.addInteger(Math.toIntExact(dateTime.toLocalDate().toEpochDay()));
+        }
+
+        @Override
+        void writeValue(RecordConsumer consumer, ColumnVector column, int row) {
+            if (!(column instanceof TimestampColumnVector)) {
+                super.writeValue(consumer, column, row);
+                return;
+            }
+
+            long epochSecond = ((TimestampColumnVector) column).getEpochSecond(row);
+            consumer.addInteger(Math.toIntExact(Math.floorDiv(epochSecond, SECONDS_PER_DAY)));
+        }
+    }
+
+    private static class TimeColumn extends ParquetColumn {
+        TimeColumn(Field field, int index, Type.Repetition repetition) {
+            super(field, index, Types.primitive(INT64, repetition)
+                .as(LogicalTypeAnnotation.timeType(true, LogicalTypeAnnotation.TimeUnit.MICROS))
+                .named(field.getName()));
+        }
+
+        @Override
+        void writeValue(RecordConsumer consumer, Object value) {
+            if (!(value instanceof LocalTime)) {
+                throw unsupportedValue(value);
+            }
+
+            consumer.addLong(((LocalTime) value).toNanoOfDay() / 1_000);
+        }
+
+        @Override
+        void writeValue(RecordConsumer consumer, ColumnVector column, int row) {
+            if (!(column instanceof TimeColumnVector)) {
+                super.writeValue(consumer, column, row);
+                return;
+            }
+
+            consumer.addLong(((TimeColumnVector) column).getNanoOfDay(row) / 1_000);
+        }
+    }
+
+    private static class BooleanColumn extends ParquetColumn {
+        BooleanColumn(Field field, int index, Type.Repetition repetition) {
+            super(field, index, Types.primitive(BOOLEAN, repetition).named(field.getName()));
+        }
+
+        @Override
+        void writeValue(RecordConsumer consumer, Object value) {
+            if (!(value instanceof Boolean)) {
+                throw unsupportedValue(value);
+            }
+
+            consumer.addBoolean((Boolean) value);
+        }
+
+        @Override
+        void writeValue(RecordConsumer consumer, ColumnVector column, int row) {
+            if (!(column instanceof BooleanColumnVector)) {
+                super.writeValue(consumer, column, row);
+                return;
+            }
+
+            consumer.addBoolean(((BooleanColumnVector) column).getBoolean(row));
+        }
+    }
+
+    private static class StringColumn extends ParquetColumn {
+        private final boolean formatted;
+
+        StringColumn(Field field, int index, Type.Repetition repetition, boolean formatted) {
+            super(field, index, Types.primitive(BINARY, repetition)
+                .as(LogicalTypeAnnotation.stringType())
+                .named(field.getName()));
+            this.formatted = formatted;
+        }
+
+        @Override
+        void writeValue(RecordConsumer consumer, Object value) {
+            Object text = formatted ? ValueFormatter.format(getField(), value) : value;
+            consumer.addBinary(Binary.fromString(text.toString()));
+        }
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.datahelix.generator.output.writer.parquet;
+
+import com.scottlogic.datahelix.generator.common.output.GeneratedObject;
+import com.scottlogic.datahelix.generator.common.output.batch.ColumnBatch;
+import com.scottlogic.datahelix.generator.common.profile.Field;
+import com.scottlogic.datahelix.generator.common.profile.Fields;
+import com.scottlogic.datahelix.generator.output.writer.DataSetWriter;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.parquet.hadoop.ParquetFileWriter;
+import org.apache.parquet.hadoop.ParquetWriter;
+import org.apache.parquet.hadoop.api.WriteSupport;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import org.apache.parquet.io.OutputFile;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.stream.Collectors;
+
+/**
+ * Writes the external fields of each row to a Parquet file. Rows are buffered column by column until a row group is
+ * full, so memory use is bounded by the row group size rather than by the size of the data set. Batches of rows are
+ * written straight from their columns.
+ */
+class ParquetDataSetWriter implements DataSetWriter {
+    private static final int ROW_GROUP_SIZE = 64 * 1024 * 1024;
+    private static final int PAGE_SIZE = 1024 * 1024;
+    private static final CompressionCodecName COMPRESSION = CompressionCodecName.SNAPPY;
+
+    private final ParquetWriter<GeneratedObject> writer;
+    private final GeneratedObjectWriteSupport.BatchRow batchRow = new GeneratedObjectWriteSupport.BatchRow();
+
+    private ParquetDataSetWriter(ParquetWriter<GeneratedObject> writer) {
+        this.writer = writer;
+    }
+
+    static DataSetWriter open(OutputStream stream, Fields fields) throws IOException {
+        List<Field> externalFields = fields.getExternalStream().collect(Collectors.toList());
+        ParquetColumn[] columns = new ParquetColumn[externalFields.size()];
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = ParquetColumn.forField(externalFields.get(i), i);
+        }
+
+        ParquetWriter<GeneratedObject> writer = new Builder(new StreamOutputFile(stream))
+            .withWriteSupport(new GeneratedObjectWriteSupport(fields.getSchema(), columns))
+            .withWriteMode(ParquetFileWriter.Mode.OVERWRITE)
+            .withCompressionCodec(COMPRESSION)
+            .withRowGroupSize(ROW_GROUP_SIZE)
+            .withPageSize(PAGE_SIZE)
+            .build();
+
+        return new ParquetDataSetWriter(writer);
+    }
+
+    @Override
+    public void writeRow(GeneratedObject row) throws IOException {
+        writer.write(row);
+    }
+
+    @Override
+    public boolean writesBatches() {
+        return true;
+    }
+
+    @Override
+    public void writeBatch(ColumnBatch batch) throws IOException {
+        for (int row = 0; row < batch.size(); row++) {
+            batchRow.moveTo(batch, row);
+            writer.write(batchRow);
+        }
+    }
+
+    /**
+     * Includes Parquet's estimate of the size of the row group it is still buffering, before compression
+     */
+    @Override
+    public OptionalLong getDataSize() {
+        return OptionalLong.of(writer.getDataSize());
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+
+    private static class Builder extends ParquetWriter.Builder<GeneratedObject, Builder> {
+        private WriteSupport<GeneratedObject> writeSupport;
+
+        Builder(OutputFile file) {
+            super(file);
+        }
+
+        Builder withWriteSupport(WriteSupport<GeneratedObject> writeSupport) {
+            this.writeSupport = writeSupport;
+            return this;
+        }
+
+        @Override
+        protected Builder self() {
+            return this;
+        }
+
+        @Override
+        protected WriteSupport<GeneratedObject> getWriteSupport(Configuration conf) {
+            return writeSupport;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.datahelix.generator.output.writer.parquet;
+
+import org.apache.parquet.io.OutputFile;
+import org.apache.parquet.io.PositionOutputStream;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Lets Parquet write to a stream it has been given rather than a file it opens itself. Parquet files are written
+ * front to back, so the stream only needs to count the bytes written to it.
+ */
+class StreamOutputFile implements OutputFile {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final OutputStream stream;
+
+    StreamOutputFile(OutputStream stream) {
+        this.stream = stream;
+    }
+
+    @Override
+    public PositionOutputStream create(long blockSizeHint) {
+        return new CountingPositionOutputStream(new BufferedOutputStream(stream, BUFFER_SIZE));
+    }
+
+    @Override
+    public PositionOutputStream createOrOverwrite(long blockSizeHint) {
+        return create(blockSizeHint);
+    }
+
+    @Override
+    public boolean supportsBlockSize() {
+        return false;
+    }
+
+    @Override
+    public long defaultBlockSize() {
+        return 0;
+    }
+
+    private static class CountingPositionOutputStream extends PositionOutputStream {
+        private final OutputStream stream;
+        private long position;
+
+        CountingPositionOutputStream(OutputStream stream) {
+            this.stream = stream;
+        }
+
+        @Override
+        public long getPos() {
+            return position;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            stream.write(b);
+            position++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            stream.write(b, off, len);
+            position += len;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            stream.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            stream.close();
+        }
+    }
+}
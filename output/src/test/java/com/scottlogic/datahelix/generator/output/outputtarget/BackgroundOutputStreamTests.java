@@ -0,0 +1,102 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.datahelix.generator.output.outputtarget;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BackgroundOutputStreamTests {
+    @Test
+    void write_moreThanAllChunks_writesAllBytesInOrder() throws IOException {
+        byte[] data = new byte[1024 * 1024 + 7];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) (i % 251);
+        }
+        ByteArrayOutputStream underlying = new ByteArrayOutputStream();
+
+        try (OutputStream stream = new BackgroundOutputStream(underlying, "test")) {
+            stream.write(data, 0, 100);
+            stream.write(data[100]);
+            stream.write(data, 101, data.length - 101);
+        }
+
+        assertThat(underlying.toByteArray(), equalTo(data));
+    }
+
+    @Test
+    void close_compressingUnderlyingStream_finishesCompressedData() throws IOException {
+        byte[] data = "a,b,c\n1,2,3\n".getBytes();
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+
+        try (OutputStream stream = new BackgroundOutputStream(new GZIPOutputStream(compressed), "test")) {
+            stream.write(data);
+        }
+
+        ByteArrayOutputStream decompressed = new ByteArrayOutputStream();
+        try (GZIPInputStream input = new GZIPInputStream(new ByteArrayInputStream(compressed.toByteArray()))) {
+            byte[] buffer = new byte[64];
+            for (int read = input.read(buffer); read >= 0; read = input.read(buffer)) {
+                decompressed.write(buffer, 0, read);
+            }
+        }
+        assertThat(decompressed.toByteArray(), equalTo(data));
+    }
+
+    @Test
+    void close_underlyingStreamFailsToWrite_throwsFailureAndClosesUnderlyingStream() {
+        FailingOutputStream underlying = new FailingOutputStream();
+        BackgroundOutputStream stream = new BackgroundOutputStream(underlying, "test");
+
+        IOException exception = assertThrows(IOException.class, () -> {
+            stream.write(new byte[10]);
+            stream.close();
+        });
+
+        assertThat(exception.getMessage(), equalTo("disk full"));
+        assertThat(underlying.closed, is(true));
+    }
+
+    private static class FailingOutputStream extends OutputStream {
+        private volatile boolean closed;
+
+        @Override
+        public void write(int b) throws IOException {
+            throw new IOException("disk full");
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            throw new IOException("disk full");
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
@@ -0,0 +1,318 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.datahelix.generator.output.outputtarget;
+
+import com.scottlogic.datahelix.generator.common.output.GeneratedObject;
+import com.scottlogic.datahelix.generator.common.output.OutputCompression;
+import com.scottlogic.datahelix.generator.common.profile.Field;
+import com.scottlogic.datahelix.generator.common.profile.Fields;
+import com.scottlogic.datahelix.generator.common.profile.ProfileFields;
+import com.scottlogic.datahelix.generator.common.util.FileUtils;
+import com.scottlogic.datahelix.generator.output.OutputPath;
+import com.scottlogic.datahelix.generator.output.writer.DataSetWriter;
+import com.scottlogic.datahelix.generator.output.writer.OutputWriterFactory;
+import com.scottlogic.datahelix.generator.output.writer.csv.CsvOutputWriterFactory;
+import com.scottlogic.datahelix.generator.output.writer.parquet.ParquetOutputWriterFactory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static com.scottlogic.datahelix.generator.common.profile.FieldBuilder.createField;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RollingFileOutputTargetTests {
+    private static final Fields FIELDS = new ProfileFields(Collections.emptyList());
+    private static final Field TEXT = createField("text");
+    private static final Fields TEXT_FIELDS = new ProfileFields(Collections.singletonList(TEXT));
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void partPath_fileWithExtensions_insertsSequenceBeforeExtensions() {
+        RollingFileOutputTarget target = target(Paths.get("out", "data.csv.gz"), 10, Long.MAX_VALUE);
+
+        assertThat(target.partPath(12), equalTo(Paths.get("out", "data-00012.csv.gz")));
+    }
+
+    @Test
+    void partPath_fileWithoutExtension_appendsSequence() {
+        RollingFileOutputTarget target = target(Paths.get(".data"), 10, Long.MAX_VALUE);
+
+        assertThat(target.partPath(1), equalTo(Paths.get(".data-00001")));
+    }
+
+    @Test
+    void openWriter_moreRowsThanLimit_writesFilesOfAtMostLimitRowsEachWithHeader() throws IOException {
+        RollingFileOutputTarget target = target(directory.resolve("data.csv"), 2, Long.MAX_VALUE);
+
+        target.validate();
+        try (DataSetWriter writer = target.openWriter(FIELDS)) {
+            for (int row = 0; row < 5; row++) {
+                writer.writeRow(null);
+            }
+        }
+
+        assertThat(lines("data-00001.csv"), equalTo(Arrays.asList("header", "row", "row")));
+        assertThat(lines("data-00002.csv"), equalTo(Arrays.asList("header", "row", "row")));
+        assertThat(lines("data-00003.csv"), equalTo(Arrays.asList("header", "row")));
+        assertThat(Files.exists(directory.resolve("data-00004.csv")), equalTo(false));
+    }
+
+    @Test
+    void openWriter_moreBytesThanLimit_startsNewFileOnceLimitReached() throws IOException {
+        RollingFileOutputTarget target = target(directory.resolve("data.csv"), Long.MAX_VALUE, 11);
+
+        target.validate();
+        try (DataSetWriter writer = target.openWriter(FIELDS)) {
+            for (int row = 0; row < 3; row++) {
+                writer.writeRow(null);
+            }
+        }
+
+        assertThat(lines("data-00001.csv"), equalTo(Arrays.asList("header", "row")));
+        assertThat(lines("data-00002.csv"), equalTo(Arrays.asList("header", "row")));
+        assertThat(lines("data-00003.csv"), equalTo(Arrays.asList("header", "row")));
+    }
+
+    @Test
+    void openWriter_bufferedCsvWriter_keepsEachFileWithinOneRowOfByteLimit() throws IOException {
+        RollingFileOutputTarget target = target(
+            directory.resolve("data.csv"), new CsvOutputWriterFactory(false), Long.MAX_VALUE, 1000);
+
+        target.validate();
+        try (DataSetWriter writer = target.openWriter(TEXT_FIELDS)) {
+            for (int row = 0; row < 1000; row++) {
+                writer.writeRow(textRow(String.format("row %04d", row)));
+            }
+        }
+
+        List<String> rows = new ArrayList<>();
+        int files = 0;
+        for (Path file = target.partPath(1); Files.exists(file); file = target.partPath(++files + 1)) {
+            // each row is 10 bytes, including the line break
+            assertThat(Files.size(file), lessThanOrEqualTo(1000L + 10));
+            List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+            assertThat(lines.get(0), equalTo("text"));
+            rows.addAll(lines.subList(1, lines.size()));
+        }
+        assertThat(files, equalTo(10));
+        assertThat(rows.size(), equalTo(1000));
+        assertThat(rows.get(999), equalTo("row 0999"));
+    }
+
+    @Test
+    void openWriter_parquetWriter_startsNewFileBeforeRowGroupIsWritten() throws IOException {
+        RollingFileOutputTarget target = target(
+            directory.resolve("data.parquet"), new ParquetOutputWriterFactory(), Long.MAX_VALUE, 64 * 1024);
+
+        target.validate();
+        try (DataSetWriter writer = target.openWriter(TEXT_FIELDS)) {
+            for (int row = 0; row < 50_000; row++) {
+                writer.writeRow(textRow(String.format("row %08d", row)));
+            }
+        }
+
+        int files = 0;
+        for (Path file = target.partPath(1); Files.exists(file); file = target.partPath(++files + 1)) {
+            // the buffered row group is counted before compression, so only the footer can take a file over the limit
+            assertThat(Files.size(file), lessThanOrEqualTo(64 * 1024L + 4096));
+        }
+        assertThat(files, greaterThan(1));
+    }
+
+    @Test
+    void openWriter_noRows_writesOneFileWithHeader() throws IOException {
+        RollingFileOutputTarget target = target(directory.resolve("data.csv"), 2, Long.MAX_VALUE);
+
+        target.validate();
+        target.openWriter(FIELDS).close();
+
+        assertThat(lines("data-00001.csv"), equalTo(Collections.singletonList("header")));
+    }
+
+    @Test
+    void close_lastFileFailsToClose_stillWaitsForEarlierFilesAndSuppressesTheirFailures() throws IOException {
+        FailingCloseOutputWriterFactory factory = new FailingCloseOutputWriterFactory(true);
+        RollingFileOutputTarget target = target(directory.resolve("data.csv"), factory, 1, Long.MAX_VALUE);
+
+        target.validate();
+        DataSetWriter writer = target.openWriter(FIELDS);
+        for (int row = 0; row < 3; row++) {
+            writer.writeRow(null);
+        }
+
+        IOException failure = assertThrows(IOException.class, writer::close);
+
+        assertThat(failure.getMessage(), equalTo("failed to close file 3"));
+        assertThat(
+            suppressedMessages(failure),
+            equalTo(Arrays.asList("failed to close file 1", "failed to close file 2")));
+        assertThat(factory.closedFiles.size(), equalTo(3));
+    }
+
+    @Test
+    void close_earlierFilesFailToClose_throwsFirstFailureWithLaterOnesSuppressed() throws IOException {
+        FailingCloseOutputWriterFactory factory = new FailingCloseOutputWriterFactory(false);
+        RollingFileOutputTarget target = target(directory.resolve("data.csv"), factory, 1, Long.MAX_VALUE);
+
+        target.validate();
+        DataSetWriter writer = target.openWriter(FIELDS);
+        for (int row = 0; row < 3; row++) {
+            writer.writeRow(null);
+        }
+
+        IOException failure = assertThrows(IOException.class, writer::close);
+
+        assertThat(failure.getMessage(), equalTo("failed to close file 1"));
+        assertThat(suppressedMessages(failure), equalTo(Collections.singletonList("failed to close file 2")));
+        assertThat(factory.closedFiles.size(), equalTo(3));
+    }
+
+    @Test
+    void validate_zeroRowsPerFile_throwsException() {
+        RollingFileOutputTarget target = target(directory.resolve("data.csv"), 0, Long.MAX_VALUE);
+
+        assertThrows(OutputTargetValidationException.class, target::validate);
+    }
+
+    private List<String> lines(String fileName) throws IOException {
+        return Files.readAllLines(directory.resolve(fileName), StandardCharsets.UTF_8);
+    }
+
+    private static RollingFileOutputTarget target(Path path, long maxRowsPerFile, long maxBytesPerFile) {
+        return target(path, new LineOutputWriterFactory(), maxRowsPerFile, maxBytesPerFile);
+    }
+
+    private static RollingFileOutputTarget target(
+        Path path,
+        OutputWriterFactory outputWriterFactory,
+        long maxRowsPerFile,
+        long maxBytesPerFile) {
+        return new RollingFileOutputTarget(
+            new OutputPath(path),
+            outputWriterFactory,
+            false,
+            new FileUtils(),
+            OutputCompression.NONE,
+            maxRowsPerFile,
+            maxBytesPerFile);
+    }
+
+    private static List<String> suppressedMessages(Throwable failure) {
+        return Arrays.stream(failure.getSuppressed()).map(Throwable::getMessage).collect(Collectors.toList());
+    }
+
+    private static GeneratedObject textRow(String value) {
+        return new GeneratedObject() {
+            @Override
+            public Object getFormattedValue(Field field) {
+                return value;
+            }
+
+            @Override
+            public Object getValue(Field field) {
+                return value;
+            }
+        };
+    }
+
+    /**
+     * Writes a header line when opened and a line per row, without buffering.
+     */
+    private static class LineOutputWriterFactory implements OutputWriterFactory {
+        @Override
+        public DataSetWriter createWriter(OutputStream stream, Fields fields) throws IOException {
+            stream.write("header\n".getBytes(StandardCharsets.UTF_8));
+            return new DataSetWriter() {
+                @Override
+                public void writeRow(GeneratedObject row) throws IOException {
+                    stream.write("row\n".getBytes(StandardCharsets.UTF_8));
+                }
+
+                @Override
+                public void close() throws IOException {
+                    stream.close();
+                }
+            };
+        }
+
+        @Override
+        public Optional<String> getFileExtensionWithoutDot() {
+            return Optional.of("csv");
+        }
+    }
+
+    /**
+     * Writes nothing, and takes a while to close each file before failing, so earlier files are still being closed
+     * in the background when the last one is closed.
+     */
+    private static class FailingCloseOutputWriterFactory implements OutputWriterFactory {
+        private final boolean lastFileFails;
+        private final List<Integer> closedFiles = Collections.synchronizedList(new ArrayList<>());
+        private volatile int files;
+
+        FailingCloseOutputWriterFactory(boolean lastFileFails) {
+            this.lastFileFails = lastFileFails;
+        }
+
+        @Override
+        public DataSetWriter createWriter(OutputStream stream, Fields fields) {
+            int file = ++files;
+            return new DataSetWriter() {
+                @Override
+                public void writeRow(GeneratedObject row) {
+                }
+
+                @Override
+                public void close() throws IOException {
+                    try {
+                        Thread.sleep(200);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    stream.close();
+                    closedFiles.add(file);
+                    if (file < files || lastFileFails) {
+                        throw new IOException("failed to close file " + file);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public Optional<String> getFileExtensionWithoutDot() {
+            return Optional.of("csv");
+        }
+    }
+}
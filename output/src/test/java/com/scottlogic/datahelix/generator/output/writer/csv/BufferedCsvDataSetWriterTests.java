@@ -0,0 +1,163 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.datahelix.generator.output.writer.csv;
+
+import com.scottlogic.datahelix.generator.common.output.GeneratedObject;
+import com.scottlogic.datahelix.generator.common.output.batch.ColumnBatch;
+import com.scottlogic.datahelix.generator.common.profile.Field;
+import com.scottlogic.datahelix.generator.common.profile.Fields;
+import com.scottlogic.datahelix.generator.common.profile.ProfileFields;
+import com.scottlogic.datahelix.generator.common.profile.StandardSpecificFieldType;
+import com.scottlogic.datahelix.generator.output.writer.DataSetWriter;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static com.scottlogic.datahelix.generator.common.profile.FieldBuilder.createField;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BufferedCsvDataSetWriterTests {
+    private final Field fieldOne = createField("one");
+    private final Field fieldTwo = createField("two");
+    private final Fields fields = new ProfileFields(Arrays.asList(fieldOne, fieldTwo));
+    private final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+
+    @Test
+    void writeRow_withCommasAndQuotes_quotesValues() throws IOException {
+        try (DataSetWriter writer = BufferedCsvDataSetWriter.open(stream, fields)) {
+            writer.writeRow(row(",,", ",\""));
+        }
+
+        assertEquals("one,two\r\n\",,\",\",\"\"\"\r\n", output());
+    }
+
+    @Test
+    void writeRow_withLeadingAndTrailingWhitespace_quotesValues() throws IOException {
+        try (DataSetWriter writer = BufferedCsvDataSetWriter.open(stream, fields)) {
+            writer.writeRow(row(" a", "b "));
+        }
+
+        assertEquals("one,two\r\n\" a\",\"b \"\r\n", output());
+    }
+
+    @Test
+    void writeRow_withEmptyAndNullValues_onlyQuotesEmptyFirstValue() throws IOException {
+        try (DataSetWriter writer = BufferedCsvDataSetWriter.open(stream, fields)) {
+            writer.writeRow(row("", ""));
+            writer.writeRow(row(null, null));
+        }
+
+        assertEquals("one,two\r\n\"\",\r\n,\r\n", output());
+    }
+
+    @Test
+    void writeRow_withValueLongerThanBuffer_writesWholeValue() throws IOException {
+        try (DataSetWriter writer = new BufferedCsvDataSetWriter(writer(), fields, 4, Long.MAX_VALUE)) {
+            writer.writeRow(row("abcdefghij", "k"));
+        }
+
+        assertEquals("abcdefghij,k\r\n", output());
+    }
+
+    @Test
+    void writeRow_beforeBufferIsFullOrIntervalHasPassed_doesNotWriteRow() throws IOException {
+        DataSetWriter writer = new BufferedCsvDataSetWriter(writer(), fields, 1024, Long.MAX_VALUE);
+
+        writer.writeRow(row("a", "b"));
+
+        assertEquals("", output());
+        writer.close();
+        assertEquals("a,b\r\n", output());
+    }
+
+    @Test
+    void writeRow_afterIntervalHasPassed_flushesRows() throws IOException {
+        DataSetWriter writer = new BufferedCsvDataSetWriter(writer(), fields, 1024, 0);
+
+        writer.writeRow(row("a", "b"));
+
+        assertEquals("a,b\r\n", output());
+        writer.close();
+    }
+
+    @Test
+    void writeBatch_withNumericAndTextColumns_writesSameOutputAsRows() throws IOException {
+        Field number = createField("number", StandardSpecificFieldType.DECIMAL.toSpecificFieldType());
+        Fields batchFields = new ProfileFields(Arrays.asList(number, fieldTwo));
+        ColumnBatch batch = new ColumnBatch(batchFields, 4);
+        batch.add(valueRow(number, new BigDecimal("-12"), "a,b"));
+        batch.add(valueRow(number, new BigDecimal("1.50"), null));
+        batch.add(valueRow(number, null, ""));
+
+        try (DataSetWriter writer = BufferedCsvDataSetWriter.open(stream, batchFields)) {
+            writer.writeBatch(batch);
+        }
+
+        assertEquals("number,two\r\n-12,\"a,b\"\r\n1.50,\r\n,\r\n", output());
+    }
+
+    @Test
+    void writeBatch_wholeNumbersOfEveryLength_writesEveryDigit() throws IOException {
+        Field number = createField("number", StandardSpecificFieldType.DECIMAL.toSpecificFieldType());
+        Fields batchFields = new ProfileFields(Arrays.asList(number, fieldTwo));
+        ColumnBatch batch = new ColumnBatch(batchFields, 6);
+        batch.add(valueRow(number, BigDecimal.ZERO, "a"));
+        batch.add(valueRow(number, new BigDecimal("999999999999999999"), "b"));
+        batch.add(valueRow(number, new BigDecimal("-1000000000000000000"), "c"));
+        batch.add(valueRow(number, BigDecimal.valueOf(Long.MAX_VALUE), "d"));
+        batch.add(valueRow(number, BigDecimal.valueOf(Long.MIN_VALUE), "e"));
+        batch.add(valueRow(number, new BigDecimal("12345678901234567890"), "f"));
+
+        try (DataSetWriter writer = BufferedCsvDataSetWriter.open(stream, batchFields)) {
+            writer.writeBatch(batch);
+        }
+
+        assertEquals(
+            "number,two\r\n0,a\r\n999999999999999999,b\r\n-1000000000000000000,c\r\n" +
+                "9223372036854775807,d\r\n-9223372036854775808,e\r\n12345678901234567890,f\r\n",
+            output());
+    }
+
+    private OutputStreamWriter writer() {
+        return new OutputStreamWriter(stream, StandardCharsets.UTF_8);
+    }
+
+    private GeneratedObject row(Object one, Object two) {
+        GeneratedObject row = mock(GeneratedObject.class);
+        when(row.getFormattedValue(fieldOne)).thenReturn(one);
+        when(row.getFormattedValue(fieldTwo)).thenReturn(two);
+        return row;
+    }
+
+    private GeneratedObject valueRow(Field number, Object one, Object two) {
+        GeneratedObject row = mock(GeneratedObject.class);
+        when(row.getValue(number)).thenReturn(one);
+        when(row.getValue(fieldTwo)).thenReturn(two);
+        return row;
+    }
+
+    private String output() throws IOException {
+        return stream.toString(StandardCharsets.UTF_8.name());
+    }
+}
@@ -112,6 +112,18 @@ class CsvOutputWriterFactoryTests {
         );
     }
 
+    @Test
+    void writeRow_withBufferedOutput_shouldOutputSameAsStreamedOutput() throws IOException {
+        Fields fields = fields("my_text");
+        GeneratedObject mockGeneratedObject = mock(GeneratedObject.class);
+        when(mockGeneratedObject.getFormattedValue(eq(fields.iterator().next()))).thenReturn("a, \"quoted\" value");
+
+        String bufferedCsv = generateCsv(new CsvOutputWriterFactory(false), fields, mockGeneratedObject);
+
+        Assert.assertThat(bufferedCsv, Matchers.equalTo(generateCsv(fields, mockGeneratedObject)));
+        Assert.assertThat(bufferedCsv, Matchers.equalTo("my_text\n\"a, \"\"quoted\"\" value\"\n"));
+    }
+
     private static Fields fields(String ...names) {
         return new ProfileFields(
             Arrays.stream(names)
@@ -130,9 +142,14 @@ class CsvOutputWriterFactoryTests {
     }
 
     private static String generateCsv(Fields fields, GeneratedObject generatedObject) throws IOException {
+        return generateCsv(new CsvOutputWriterFactory(), fields, generatedObject);
+    }
+
+    private static String generateCsv(CsvOutputWriterFactory factory, Fields fields, GeneratedObject generatedObject)
+        throws IOException {
         ByteArrayOutputStream stream = new ByteArrayOutputStream();
 
-        try (DataSetWriter writer = new CsvOutputWriterFactory().createWriter(stream, fields)) {
+        try (DataSetWriter writer = factory.createWriter(stream, fields)) {
             writer.writeRow(generatedObject);
         }
 
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.datahelix.generator.output.writer.parquet;
+
+import com.scottlogic.datahelix.generator.common.output.batch.ColumnVector;
+import com.scottlogic.datahelix.generator.common.profile.Field;
+import com.scottlogic.datahelix.generator.common.profile.StandardSpecificFieldType;
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.io.api.RecordConsumer;
+import org.apache.parquet.schema.LogicalTypeAnnotation;
+import org.apache.parquet.schema.PrimitiveType;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.math.BigDecimal;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+
+class ParquetColumnTests {
+    private final RecordConsumer consumer = mock(RecordConsumer.class);
+
+    @Test
+    void forField_integerField_writesDecimalWithNoDecimalPlaces() {
+        ParquetColumn column = ParquetColumn.forField(field(StandardSpecificFieldType.INTEGER, null, true), 0);
+
+        column.write(consumer, new BigDecimal("-2"));
+
+        assertThat(
+            column.getType().getLogicalTypeAnnotation(),
+            equalTo(LogicalTypeAnnotation.decimalType(0, ParquetColumn.DECIMAL_PRECISION)));
+        byte[] expected = new byte[16];
+        for (int i = 0; i < 15; i++) {
+            expected[i] = -1;
+        }
+        expected[15] = -2;
+        verify(consumer).startField("field", 0);
+        verify(consumer).addBinary(Binary.fromConstantByteArray(expected));
+        verify(consumer).endField("field", 0);
+    }
+
+    @Test
+    void forField_decimalField_roundsToDecimalScale() {
+        ParquetColumn column = ParquetColumn.forField(field(StandardSpecificFieldType.DECIMAL, null, true), 1);
+
+        column.write(consumer, new BigDecimal("1.5"));
+
+        byte[] expected = new BigDecimal("1.5").setScale(ParquetColumn.DECIMAL_SCALE).unscaledValue().toByteArray();
+        byte[] padded = new byte[16];
+        System.arraycopy(expected, 0, padded, 16 - expected.length, expected.length);
+        verify(consumer).addBinary(Binary.fromConstantByteArray(padded));
+    }
+
+    @Test
+    void write_decimalsFromBatchColumn_writesSameBytesAsFromValues() {
+        Field field = field(StandardSpecificFieldType.DECIMAL, null, true);
+        ParquetColumn column = ParquetColumn.forField(field, 0);
+        List<BigDecimal> values = Arrays.asList(
+            new BigDecimal("-1.25"),
+            new BigDecimal("3"),
+            new BigDecimal("1E+3"),
+            new BigDecimal("0.123456789012345678"),
+            new BigDecimal("-92233.72036854775808"));
+        ColumnVector vector = ColumnVector.forField(field, values.size());
+        for (int row = 0; row < values.size(); row++) {
+            vector.set(row, values.get(row));
+        }
+        RecordConsumer valueConsumer = mock(RecordConsumer.class);
+
+        for (int row = 0; row < values.size(); row++) {
+            column.write(consumer, vector, row);
+            column.write(valueConsumer, values.get(row));
+        }
+
+        ArgumentCaptor<Binary> fromBatch = ArgumentCaptor.forClass(Binary.class);
+        ArgumentCaptor<Binary> fromValues = ArgumentCaptor.forClass(Binary.class);
+        verify(consumer, times(values.size())).addBinary(fromBatch.capture());
+        verify(valueConsumer, times(values.size())).addBinary(fromValues.capture());
+        assertThat(fromBatch.getAllValues(), equalTo(fromValues.getAllValues()));
+    }
+
+    @Test
+    void forField_datetimeField_writesMicrosecondsSinceEpoch() {
+        ParquetColumn column = ParquetColumn.forField(field(StandardSpecificFieldType.DATETIME, null, true), 0);
+
+        column.write(consumer, OffsetDateTime.of(1970, 1, 1, 0, 0, 1, 2_000_000, ZoneOffset.UTC));
+
+        assertThat(column.getType().asPrimitiveType().getPrimitiveTypeName(), equalTo(PrimitiveType.PrimitiveTypeName.INT64));
+        verify(consumer).addLong(1_002_000L);
+    }
+
+    @Test
+    void forField_dateField_writesDaysSinceEpoch() {
+        ParquetColumn column = ParquetColumn.forField(
+            field(StandardSpecificFieldType.DATE, StandardSpecificFieldType.DATE.toSpecificFieldType().getFormatting(), true),
+            0);
+
+        column.write(consumer, OffsetDateTime.of(1970, 1, 3, 12, 0, 0, 0, ZoneOffset.UTC));
+
+        verify(consumer).addInteger(2);
+    }
+
+    @Test
+    void forField_timeField_writesMicrosecondsSinceMidnight() {
+        ParquetColumn column = ParquetColumn.forField(
+            field(StandardSpecificFieldType.TIME, StandardSpecificFieldType.TIME.toSpecificFieldType().getFormatting(), true),
+            0);
+
+        column.write(consumer, LocalTime.of(0, 0, 2));
+
+        verify(consumer).addLong(2_000_000L);
+    }
+
+    @Test
+    void forField_fieldWithOwnFormatting_writesFormattedString() {
+        ParquetColumn column = ParquetColumn.forField(field(StandardSpecificFieldType.DECIMAL, "%.2f", true), 0);
+
+        column.write(consumer, new BigDecimal("1.5"));
+
+        verify(consumer).addBinary(Binary.fromString("1.50"));
+    }
+
+    @Test
+    void write_nullValueOfNullableField_leavesFieldOut() {
+        ParquetColumn column = ParquetColumn.forField(field(StandardSpecificFieldType.STRING, null, true), 0);
+
+        column.write(consumer, null);
+
+        verifyZeroInteractions(consumer);
+    }
+
+    @Test
+    void write_nullValueOfRequiredField_throws() {
+        ParquetColumn column = ParquetColumn.forField(field(StandardSpecificFieldType.STRING, null, false), 0);
+
+        assertThrows(IllegalArgumentException.class, () -> column.write(consumer, null));
+    }
+
+    @Test
+    void write_valueOfUnexpectedType_throws() {
+        ParquetColumn column = ParquetColumn.forField(field(StandardSpecificFieldType.BOOLEAN, null, true), 0);
+
+        assertThrows(IllegalArgumentException.class, () -> column.write(consumer, "true"));
+    }
+
+    private static Field field(StandardSpecificFieldType type, String formatting, boolean nullable) {
+        return new Field("field", type.toSpecificFieldType(), false, formatting, false, nullable, null);
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2019 Scott Logic Ltd
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.scottlogic.datahelix.generator.output.writer.parquet;
+
+import com.scottlogic.datahelix.generator.common.output.GeneratedObject;
+import com.scottlogic.datahelix.generator.common.output.batch.ColumnBatch;
+import com.scottlogic.datahelix.generator.common.profile.Field;
+import com.scottlogic.datahelix.generator.common.profile.Fields;
+import com.scottlogic.datahelix.generator.common.profile.ProfileFields;
+import com.scottlogic.datahelix.generator.common.profile.StandardSpecificFieldType;
+import com.scottlogic.datahelix.generator.output.writer.DataSetWriter;
+import org.apache.parquet.example.data.Group;
+import org.apache.parquet.hadoop.ParquetReader;
+import org.apache.parquet.hadoop.example.GroupReadSupport;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.scottlogic.datahelix.generator.common.profile.FieldBuilder.createField;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+class ParquetDataSetWriterTests {
+    private static final Field ID = createField("id", StandardSpecificFieldType.INTEGER.toSpecificFieldType());
+    private static final Field AMOUNT = createField("amount", StandardSpecificFieldType.DECIMAL.toSpecificFieldType());
+    private static final Field CREATED = createField("created", StandardSpecificFieldType.DATETIME.toSpecificFieldType());
+    private static final Field DAY = createField("day", StandardSpecificFieldType.DATE.toSpecificFieldType());
+    private static final Field START = createField("start", StandardSpecificFieldType.TIME.toSpecificFieldType());
+    private static final Field ACTIVE = createField("active", StandardSpecificFieldType.BOOLEAN.toSpecificFieldType());
+    private static final Field NAME = new Field(
+        "name", StandardSpecificFieldType.STRING.toSpecificFieldType(), false, null, false, true, null);
+    private static final Fields FIELDS = new ProfileFields(Arrays.asList(ID, AMOUNT, CREATED, DAY, START, ACTIVE, NAME));
+
+    private static final OffsetDateTime DATE_TIME = OffsetDateTime.of(2020, 2, 29, 23, 59, 1, 123_456_789, ZoneOffset.UTC);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void writeRow_readBack_givesValuesWritten() throws IOException {
+        Path file = directory.resolve("rows.parquet");
+
+        write(file, rows(), false);
+
+        assertThat(read(file), equalTo(expectedRecords()));
+    }
+
+    @Test
+    void writeBatch_readBack_givesValuesWritten() throws IOException {
+        Path file = directory.resolve("batches.parquet");
+
+        write(file, rows(), true);
+
+        assertThat(read(file), equalTo(expectedRecords()));
+    }
+
+    private static List<GeneratedObject> rows() {
+        return Arrays.asList(
+            row(new BigDecimal(1), new BigDecimal("12.5"), DATE_TIME, LocalTime.of(9, 30, 0, 1_000), true, "first"),
+            row(new BigDecimal(-2), new BigDecimal("-0.001"), DATE_TIME.minusYears(100), LocalTime.MIDNIGHT, false, null),
+            row(
+                new BigDecimal(Long.MAX_VALUE),
+                new BigDecimal("0.12345678901234567890"),
+                DATE_TIME.plusNanos(1),
+                LocalTime.MAX,
+                true,
+                ""));
+    }
+
+    /**
+     * The decimal with 20 decimal places is rounded to the 17 held by the column, and times lose their nanoseconds
+     */
+    private static List<List<Object>> expectedRecords() {
+        return Arrays.asList(
+            Arrays.asList(
+                new BigDecimal(1), new BigDecimal("12.50000000000000000"),
+                DATE_TIME.truncatedTo(ChronoUnit.MICROS), LocalDate.of(2020, 2, 29),
+                LocalTime.of(9, 30, 0, 1_000), true, "first"),
+            Arrays.asList(
+                new BigDecimal(-2), new BigDecimal("-0.00100000000000000"),
+                DATE_TIME.minusYears(100).truncatedTo(ChronoUnit.MICROS), LocalDate.of(1920, 2, 29),
+                LocalTime.MIDNIGHT, false, null),
+            Arrays.asList(
+                new BigDecimal(Long.MAX_VALUE), new BigDecimal("0.12345678901234568"),
+                DATE_TIME.truncatedTo(ChronoUnit.MICROS), LocalDate.of(2020, 2, 29),
+                LocalTime.MAX.truncatedTo(ChronoUnit.MICROS), true, ""));
+    }
+
+    private static void write(Path file, List<GeneratedObject> rows, boolean asBatch) throws IOException {
+        try (OutputStream stream = Files.newOutputStream(file);
+             DataSetWriter writer = ParquetDataSetWriter.open(stream, FIELDS)) {
+            if (asBatch) {
+                ColumnBatch batch = new ColumnBatch(FIELDS, rows.size());
+                rows.forEach(batch::add);
+                writer.writeBatch(batch);
+            } else {
+                for (GeneratedObject row : rows) {
+                    writer.writeRow(row);
+                }
+            }
+        }
+    }
+
+    private static List<List<Object>> read(Path file) throws IOException {
+        List<List<Object>> records = new ArrayList<>();
+        try (ParquetReader<Group> reader =
+                 ParquetReader.builder(new GroupReadSupport(), new org.apache.hadoop.fs.Path(file.toUri())).build()) {
+            for (Group record = reader.read(); record != null; record = reader.read()) {
+                long micros = record.getLong("created", 0);
+                records.add(Arrays.asList(
+                    new BigDecimal(new BigInteger(record.getBinary("id", 0).getBytes()), 0),
+                    new BigDecimal(new BigInteger(record.getBinary("amount", 0).getBytes()), ParquetColumn.DECIMAL_SCALE),
+                    OffsetDateTime.of(1970, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC).plus(micros, ChronoUnit.MICROS),
+                    LocalDate.ofEpochDay(record.getInteger("day", 0)),
+                    LocalTime.ofNanoOfDay(record.getLong("start", 0) * 1_000),
+                    record.getBoolean("active", 0),
+                    record.getFieldRepetitionCount("name") == 0 ? null : record.getString("name", 0)));
+            }
+        }
+        return records;
+    }
+
+    private static GeneratedObject row(Object... values) {
+        List<Field> fields = Arrays.asList(ID, AMOUNT, CREATED, DAY, START, ACTIVE, NAME);
+        return new GeneratedObject() {
+            @Override
+            public Object getFormattedValue(Field field) {
+                return getValue(field);
+            }
+
+            @Override
+            public Object getValue(Field field) {
+                return values[fields.indexOf(field)];
+            }
+        };
+    }
+}
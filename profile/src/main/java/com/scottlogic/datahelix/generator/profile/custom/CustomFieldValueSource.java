@@ -19,6 +19,7 @@ package com.scottlogic.datahelix.generator.profile.custom;
 import com.scottlogic.datahelix.generator.custom.CustomGenerator;
 import com.scottlogic.datahelix.generator.core.generation.fieldvaluesources.FieldValueSource;
 import com.scottlogic.datahelix.generator.common.RandomNumberGenerator;
+import com.scottlogic.datahelix.generator.common.util.DelegatingRandom;
 
 import java.util.stream.Stream;
 
@@ -41,9 +42,10 @@ public class CustomFieldValueSource<T> implements FieldValueSource<T> {
 
     @Override
     public Stream<T> generateRandomValues(RandomNumberGenerator randomNumberGenerator) {
+        DelegatingRandom random = new DelegatingRandom(randomNumberGenerator);
         if (negated){
-            return customGenerator.generateNegatedRandom();
+            return customGenerator.generateNegatedRandom(random);
         }
-        return customGenerator.generateRandom();
+        return customGenerator.generateRandom(random);
     }
 }